@@ -12,11 +12,17 @@ dependencies {
 
     // Project
     implementation(projects.core.common)
+    implementation(projects.core.database)
     implementation(projects.core.network)
+    api(projects.core.websocket)
 
     // Coroutines
     implementation(libs.kotlinx.coroutines.android)
 
+    // Background work
+    implementation(libs.androidx.work.ktx)
+    implementation(libs.hilt.ext.work)
+
     // Logging
     implementation(libs.timber)
 }
@@ -1,14 +1,20 @@
 package com.application.echo.core.api.auth
 
+import com.application.echo.core.api.session.SessionManager
 import com.application.echo.core.network.result.ApiResult
+import com.application.echo.core.network.result.onSuccess
 import com.application.echo.core.network.result.toApiResult
 import javax.inject.Inject
 
 /**
  * Default [AuthApiRepository] backed by [AuthApiService].
+ *
+ * The session returned by login and register is stored in [SessionManager],
+ * so the session headers go out from the next request on.
  */
 internal class AuthApiRepositoryImpl @Inject constructor(
     private val api: AuthApiService,
+    private val sessionManager: SessionManager,
 ) : AuthApiRepository {
 
     override suspend fun login(
@@ -23,7 +29,7 @@ internal class AuthApiRepositoryImpl @Inject constructor(
             fcmToken = fcmToken,
             apnsToken = apnsToken,
         ),
-    ).toApiResult()
+    ).toApiResult().onSuccess { saveSession(it.session) }
 
     override suspend fun register(
         email: String,
@@ -35,7 +41,7 @@ internal class AuthApiRepositoryImpl @Inject constructor(
             password = password,
             acceptTerms = acceptTerms,
         ),
-    ).toApiResult()
+    ).toApiResult().onSuccess { saveSession(it.session) }
 
     override suspend fun refreshToken(
         refreshToken: String,
@@ -44,4 +50,8 @@ internal class AuthApiRepositoryImpl @Inject constructor(
             refreshToken = refreshToken,
         ),
     ).toApiResult()
+
+    private fun saveSession(session: SessionInfo) {
+        sessionManager.saveSession(session.sessionId, session.sessionToken)
+    }
 }
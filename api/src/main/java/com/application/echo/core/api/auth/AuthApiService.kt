@@ -3,6 +3,8 @@ package com.application.echo.core.api.auth
 import com.application.echo.core.api.common.ApiConstants
 import com.application.echo.core.api.common.HealthResponse
 import com.application.echo.core.network.model.NetworkResponse
+import com.application.echo.core.network.priority.Priority
+import com.application.echo.core.network.priority.RequestPriority
 import retrofit2.http.Body
 import retrofit2.http.GET
 import retrofit2.http.POST
@@ -29,6 +31,7 @@ internal interface AuthApiService {
         @Body request: RefreshTokenRequest,
     ): NetworkResponse<RefreshTokenResponse>
 
+    @Priority(RequestPriority.Background)
     @GET(ApiConstants.AUTH_HEALTH)
     suspend fun health(): NetworkResponse<HealthResponse>
 }
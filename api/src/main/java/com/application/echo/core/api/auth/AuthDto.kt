@@ -74,6 +74,9 @@ data class RefreshTokenResponse(
     val accessToken: String,
     @SerializedName("refresh_token")
     val refreshToken: String,
+    /** Lifetime of [accessToken] in seconds, when the server reports it. */
+    @SerializedName("expires_in")
+    val expiresIn: Long? = null,
 )
 
 // ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
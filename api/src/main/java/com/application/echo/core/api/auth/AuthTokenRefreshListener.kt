@@ -0,0 +1,38 @@
+package com.application.echo.core.api.auth
+
+import com.application.echo.core.api.manager.AuthTokenManager
+import com.application.echo.core.api.session.SessionManager
+import com.application.echo.core.network.model.TokenData
+import javax.inject.Inject
+
+/**
+ * Default [TokenRefreshListener] — keeps refreshed tokens in [AuthTokenManager],
+ * where the auth interceptor picks them up, and signs out when the server
+ * rejects the refresh token.
+ */
+internal class AuthTokenRefreshListener @Inject constructor(
+    private val tokenManager: AuthTokenManager,
+    private val sessionManager: SessionManager,
+) : TokenRefreshListener {
+
+    override fun onTokenRefreshed(accessToken: String, refreshToken: String) =
+        onTokenRefreshed(accessToken, refreshToken, expiresAtSeconds = null)
+
+    override fun onTokenRefreshed(accessToken: String, refreshToken: String, expiresAtSeconds: Long?) {
+        tokenManager.saveTokenData(
+            TokenData(
+                accessToken = accessToken,
+                refreshToken = refreshToken,
+                // Unknown expiry: treat as valid until the server says otherwise with a 401.
+                expiresIn = expiresAtSeconds ?: Long.MAX_VALUE,
+            ),
+        )
+    }
+
+    override fun onRefreshFailed() {
+        tokenManager.clearTokenData()
+        sessionManager.clearSession()
+    }
+
+    override fun getRefreshToken(): String? = tokenManager.getLatestAuthTokenData()?.refreshToken
+}
@@ -1,10 +1,5 @@
 package com.application.echo.core.api.auth
 
-import com.application.echo.core.network.result.ApiResult
-import com.application.echo.core.network.result.toApiResult
-import kotlinx.coroutines.runBlocking
-import kotlinx.coroutines.sync.Mutex
-import kotlinx.coroutines.sync.withLock
 import okhttp3.Authenticator
 import okhttp3.Request
 import okhttp3.Response
@@ -18,38 +13,29 @@ import javax.inject.Inject
  *
  * **How it works:**
  * 1. OkHttp calls [authenticate] when any request returns 401.
- * 2. This class calls [AuthApiService.refreshToken] to get new tokens.
+ * 2. [TokenRefreshCoordinator] calls [AuthApiService.refreshToken] to get new tokens.
  * 3. Notifies [TokenRefreshListener] so the app can persist the new tokens.
  * 4. Retries the original request with the new access token.
  *
- * A [Mutex] prevents multiple concurrent 401s from triggering
- * multiple refresh calls — only the first refreshes, the rest reuse the result.
+ * Refreshes go through [TokenRefreshCoordinator], which makes one call
+ * per token generation: concurrent 401s share it, and 401s for a token
+ * that has already been replaced retry immediately with the newer one.
+ * OkHttp's authenticator contract is synchronous, so a thread still
+ * parks while a refresh is in flight — but it never refreshes itself or
+ * queues behind other threads' refreshes.
  *
  * **Setup:**
- * Implement [TokenRefreshListener] in your app module:
- * ```kotlin
- * @Singleton
- * class EchoTokenRefreshListener @Inject constructor(
- *     private val sessionStore: SessionStore,
- * ) : TokenRefreshListener {
- *     override fun onTokenRefreshed(accessToken: String, refreshToken: String) {
- *         sessionStore.saveTokens(accessToken, refreshToken)
- *     }
- *     override fun onRefreshFailed() {
- *         sessionStore.clearSession()
- *         // Navigate to login
- *     }
- *     override fun getRefreshToken(): String? = sessionStore.refreshToken
- * }
- * ```
+ * Installed on `EchoHttpClient.authenticated` through the `Authenticator`
+ * binding in `ApiBindsModule`. Refreshed tokens
+ * are stored by [AuthTokenRefreshListener]. Only requests that carried a
+ * Bearer token are retried, so a 401 from a third-party host such as a CDN
+ * never gets one attached.
  */
 internal class TokenRefreshAuthenticator @Inject constructor(
-    private val authApi: AuthApiService,
+    private val coordinator: TokenRefreshCoordinator,
     private val listener: TokenRefreshListener,
 ) : Authenticator {
 
-    private val mutex = Mutex()
-
     override fun authenticate(route: Route?, response: Response): Request? {
         // Bail if we've already retried once (prevent infinite loops)
         if (response.request.header(RETRY_HEADER) != null) {
@@ -58,60 +44,46 @@ internal class TokenRefreshAuthenticator @Inject constructor(
             return null
         }
 
-        return runBlocking {
-            mutex.withLock {
-                val refreshToken = listener.getRefreshToken()
-                if (refreshToken == null) {
-                    Timber.tag(TAG).w("No refresh token available")
-                    listener.onRefreshFailed()
-                    return@runBlocking null
-                }
-
-                Timber.tag(TAG).d("Refreshing access token…")
-                val result = authApi.refreshToken(
-                    RefreshTokenRequest(refreshToken),
-                ).toApiResult()
-
-                when (result) {
-                    is ApiResult.Success -> {
-                        val data = result.data
-                        Timber.tag(TAG).d("Token refreshed successfully")
-                        listener.onTokenRefreshed(data.accessToken, data.refreshToken)
+        // No Bearer token was sent (e.g. a CDN URL): refreshing would not help, and must not add one.
+        val staleToken = response.request.header(AUTHORIZATION_HEADER)?.removePrefix(BEARER_PREFIX)
+            ?: return null
+        val freshToken = coordinator.refreshBlocking(staleToken) ?: return null
 
-                        response.request.newBuilder()
-                            .header(AUTHORIZATION_HEADER, "Bearer ${data.accessToken}")
-                            .header(RETRY_HEADER, "true")
-                            .build()
-                    }
-
-                    is ApiResult.Failure -> {
-                        Timber.tag(TAG).e("Token refresh failed: ${result.exception}")
-                        listener.onRefreshFailed()
-                        null
-                    }
-                }
-            }
-        }
+        return response.request.newBuilder()
+            .header(AUTHORIZATION_HEADER, "$BEARER_PREFIX$freshToken")
+            .header(RETRY_HEADER, "true")
+            .build()
     }
 
     private companion object {
         const val TAG = "TokenRefresh"
         const val AUTHORIZATION_HEADER = "Authorization"
+        const val BEARER_PREFIX = "Bearer "
         const val RETRY_HEADER = "X-Token-Refresh-Retry"
     }
 }
 
 /**
- * Listener for token refresh events.
+ * Listener for token refresh events — persists tokens and handles logout.
  *
- * Implement this in your app module to persist tokens and handle logout.
+ * Bound to [AuthTokenRefreshListener] by default.
  */
 interface TokenRefreshListener {
 
     /** Called when the refresh succeeds. Persist the new tokens. */
     fun onTokenRefreshed(accessToken: String, refreshToken: String)
 
-    /** Called when the refresh fails. Clear session and navigate to login. */
+    /**
+     * Called when the refresh succeeds, with the new token's expiry in
+     * epoch seconds when known. Defaults to the two-argument overload.
+     */
+    fun onTokenRefreshed(accessToken: String, refreshToken: String, expiresAtSeconds: Long?) =
+        onTokenRefreshed(accessToken, refreshToken)
+
+    /**
+     * Called when the server rejects the refresh token. Clear session and
+     * navigate to login. Not called for transient network failures.
+     */
     fun onRefreshFailed()
 
     /** Returns the current stored refresh token, or `null` if not authenticated. */
@@ -0,0 +1,192 @@
+package com.application.echo.core.api.auth
+
+import android.util.Base64
+import com.application.echo.core.api.manager.AuthTokenManager
+import com.application.echo.core.network.model.NetworkException
+import com.application.echo.core.network.result.ApiResult
+import com.application.echo.core.network.result.toApiResult
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import timber.log.Timber
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Makes exactly one refresh call per access-token generation.
+ *
+ * A caller passes the access token that was rejected. If a newer token
+ * already exists it is returned immediately, without a network call. If
+ * a refresh for that token is already running, the caller joins it. Only
+ * the first caller for a generation starts a refresh, and it runs in the
+ * coordinator's own scope, so a cancelled caller never aborts it for the
+ * others.
+ *
+ * ```
+ * 401 (token A) ─┐
+ * 401 (token A) ─┼─→ one refresh A → B ─→ all retry with B
+ * 401 (token A) ─┘
+ * 401 (token A, arriving late) ─→ B already current ─→ retry with B, no call
+ * ```
+ *
+ * A proactive refresh is also scheduled [REFRESH_LEAD_MS] before the
+ * current token expires, so in the common case no request sees a 401. It
+ * follows [AuthTokenManager.tokenDataFlow], so tokens from a login or
+ * from any other writer are covered as well as this coordinator's own.
+ */
+@Singleton
+internal class TokenRefreshCoordinator @Inject constructor(
+    private val authApi: AuthApiService,
+    private val listener: TokenRefreshListener,
+    private val tokenManager: AuthTokenManager,
+) {
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+
+    private val lock = Any()
+    private var inFlight: InFlightRefresh? = null
+    private var proactiveJob: Job? = null
+
+    init {
+        scope.launch {
+            tokenManager.tokenDataFlow.collect { token ->
+                scheduleProactiveRefresh(
+                    accessToken = token?.accessToken,
+                    expiresAtSeconds = token?.let { expiresAtSeconds(it.accessToken, it.expiresIn) },
+                )
+            }
+        }
+    }
+
+    /** The access token requests should currently use, or `null` if signed out. */
+    fun currentAccessToken(): String? = tokenManager.getLatestAuthTokenData()?.accessToken
+
+    /**
+     * Returns a token newer than [staleAccessToken], refreshing if needed.
+     *
+     * @return the fresh access token, or `null` if the session could not be refreshed.
+     */
+    suspend fun refresh(staleAccessToken: String?): String? = refreshAsync(staleAccessToken)?.await()
+
+    /**
+     * Blocking variant of [refresh] for OkHttp's synchronous [okhttp3.Authenticator].
+     *
+     * The calling thread only parks when a refresh is genuinely needed; it
+     * never performs network I/O itself and never queues behind a lock.
+     */
+    fun refreshBlocking(staleAccessToken: String?): String? {
+        val pending = refreshAsync(staleAccessToken) ?: return currentAccessToken()
+        return runBlocking { pending.await() }
+    }
+
+    // ──────────────── Internal ────────────────
+
+    /**
+     * Returns the refresh that supersedes [staleAccessToken], or `null` if
+     * a newer token is already current.
+     *
+     * Only a refresh that is still running is joined. Once it completes it
+     * is forgotten, so a failed refresh is retried by the next caller
+     * instead of handing out its `null` forever.
+     */
+    private fun refreshAsync(staleAccessToken: String?): Deferred<String?>? = synchronized(lock) {
+        val current = currentAccessToken()
+        if (current != null && current != staleAccessToken) return@synchronized null
+
+        inFlight?.takeIf { it.staleToken == staleAccessToken && it.result.isActive }
+            ?.let { return@synchronized it.result }
+
+        val refresh = InFlightRefresh(staleAccessToken, scope.async { performRefresh() })
+        inFlight = refresh
+        refresh.result.invokeOnCompletion {
+            synchronized(lock) { if (inFlight === refresh) inFlight = null }
+        }
+        refresh.result
+    }
+
+    private suspend fun performRefresh(): String? {
+        val refreshToken = listener.getRefreshToken()
+        if (refreshToken == null) {
+            Timber.tag(TAG).w("No refresh token available")
+            listener.onRefreshFailed()
+            return null
+        }
+
+        Timber.tag(TAG).d("Refreshing access token…")
+        return when (val result = authApi.refreshToken(RefreshTokenRequest(refreshToken)).toApiResult()) {
+            is ApiResult.Success -> {
+                val data = result.data
+                val expiresAt = data.expiresIn
+                    ?.let { System.currentTimeMillis() / 1000 + it }
+                    ?: expiresAtSeconds(data.accessToken, fallback = null)
+                // The listener stores the tokens; the next proactive refresh is armed from tokenDataFlow.
+                listener.onTokenRefreshed(data.accessToken, data.refreshToken, expiresAt)
+                Timber.tag(TAG).d("Token refreshed successfully")
+                data.accessToken
+            }
+
+            is ApiResult.Failure -> {
+                val exception = result.exception
+                Timber.tag(TAG).e("Token refresh failed: %s", exception)
+                // Only a rejected refresh token ends the session; a dropped connection does not.
+                if (exception is NetworkException.Http && exception.code in SESSION_REJECTED_CODES) {
+                    listener.onRefreshFailed()
+                }
+                null
+            }
+        }
+    }
+
+    /** Replaces any pending proactive refresh; signed out or unknown expiry leaves none. */
+    private fun scheduleProactiveRefresh(accessToken: String?, expiresAtSeconds: Long?) {
+        synchronized(lock) {
+            proactiveJob?.cancel()
+            if (accessToken == null || expiresAtSeconds == null) return
+            // An expiry this far out means "unknown" — nothing to refresh ahead of.
+            if (expiresAtSeconds >= Long.MAX_VALUE / 1000) return
+
+            proactiveJob = scope.launch {
+                val delayMs = expiresAtSeconds * 1000 - System.currentTimeMillis() - REFRESH_LEAD_MS
+                delay(delayMs.coerceAtLeast(0))
+                if (currentAccessToken() == accessToken) {
+                    Timber.tag(TAG).d("Refreshing token ahead of expiry")
+                    refresh(accessToken)
+                }
+            }
+        }
+    }
+
+    /**
+     * Expiry (epoch seconds) from [fallback] if it looks like an absolute
+     * timestamp, otherwise from the JWT `exp` claim of [accessToken].
+     */
+    private fun expiresAtSeconds(accessToken: String, fallback: Long?): Long? {
+        if (fallback != null && fallback > MIN_EPOCH_SECONDS) return fallback
+        val payload = accessToken.split('.').getOrNull(1) ?: return null
+        val json = runCatching {
+            String(Base64.decode(payload, Base64.URL_SAFE or Base64.NO_PADDING or Base64.NO_WRAP))
+        }.getOrNull() ?: return null
+        return EXP_CLAIM.find(json)?.groupValues?.get(1)?.toLongOrNull()
+    }
+
+    private class InFlightRefresh(val staleToken: String?, val result: Deferred<String?>)
+
+    private companion object {
+        const val TAG = "TokenRefresh"
+
+        /** Refresh this long before expiry — covers clock skew and slow networks. */
+        const val REFRESH_LEAD_MS = 60_000L
+
+        /** Anything below this is a duration, not an epoch timestamp (2001-09-09). */
+        const val MIN_EPOCH_SECONDS = 1_000_000_000L
+
+        val SESSION_REJECTED_CODES = setOf(400, 401, 403)
+        val EXP_CLAIM = Regex("\"exp\"\\s*:\\s*(\\d+)")
+    }
+}
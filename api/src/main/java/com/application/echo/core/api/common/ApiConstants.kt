@@ -20,19 +20,27 @@ internal object ApiConstants {
     // ── Users ──
     const val USERS_PROFILE = "$API_PREFIX/users/profile"
     const val USERS_PROFILE_BY_ID = "$API_PREFIX/users/profile/{user_id}"
+    const val USERS_PROFILES_BATCH = "$API_PREFIX/users/profiles/batch"
     const val USERS_HEALTH = "$API_PREFIX/users/health"
 
     // ── Media ──
     const val MEDIA_UPLOAD = "$API_PREFIX/media/upload"
     const val MEDIA_PROFILE_PHOTO = "$API_PREFIX/media/profile-photo"
     const val MEDIA_HEALTH = "$API_PREFIX/media/health"
+    const val MEDIA_BY_HASH = "$API_PREFIX/media/by-hash/{sha256}"
+    const val MEDIA_UPLOADS = "$API_PREFIX/media/uploads"
+    const val MEDIA_UPLOAD_BY_ID = "$API_PREFIX/media/uploads/{upload_id}"
+    const val MEDIA_UPLOAD_PART = "$API_PREFIX/media/uploads/{upload_id}/parts/{part_number}"
+    const val MEDIA_UPLOAD_COMPLETE = "$API_PREFIX/media/uploads/{upload_id}/complete"
 
     // ── Messages ──
     const val MESSAGES = "$API_PREFIX/messages"
+    const val MESSAGES_PAGE = "$API_PREFIX/messages/page"
     const val MESSAGES_HEALTH = "$API_PREFIX/messages/health"
     const val CONVERSATIONS = "$API_PREFIX/messages/conversations"
     const val CONVERSATION_BY_ID = "$API_PREFIX/messages/conversations/{conversation_id}"
     const val MY_CONVERSATIONS = "$API_PREFIX/messages/conversations/me"
+    const val MY_CONVERSATION_CHANGES = "$API_PREFIX/messages/conversations/me/changes"
 
     // ── Headers ──
     const val HEADER_SESSION_ID = "X-Session-ID"
@@ -46,4 +54,5 @@ internal object ApiConstants {
     const val HEADER_DEVICE_MODEL = "X-Device-Model"
     const val HEADER_DEVICE_MANUFACTURER = "X-Device-Manufacturer"
     const val HEADER_REAL_IP = "X-Real-IP"
+    const val HEADER_IDEMPOTENCY_KEY = "Idempotency-Key"
 }
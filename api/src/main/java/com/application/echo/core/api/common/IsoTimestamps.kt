@@ -0,0 +1,61 @@
+package com.application.echo.core.api.common
+
+import java.text.SimpleDateFormat
+import java.util.Calendar
+import java.util.Locale
+import java.util.TimeZone
+
+/**
+ * Conversions between the backend's ISO-8601 timestamps and epoch milliseconds.
+ *
+ * Hand-rolled because `java.time` needs API 26 and `SimpleDateFormat`'s
+ * `X` zone pattern needs API 24, while the app supports API 23.
+ *
+ * Accepts `2024-05-01T12:30:00Z`, `2024-05-01T12:30:00.123456Z` and
+ * `2024-05-01T12:30:00+05:30`; fractional seconds beyond millis are truncated.
+ */
+internal object IsoTimestamps {
+
+    private val ISO_PATTERN = Regex(
+        """(\d{4})-(\d{2})-(\d{2})[T ](\d{2}):(\d{2}):(\d{2})(?:\.(\d{1,9}))?(Z|[+-]\d{2}:?\d{2})?""",
+    )
+
+    private val UTC = TimeZone.getTimeZone("UTC")
+
+    private val formatter = object : ThreadLocal<SimpleDateFormat>() {
+        override fun initialValue() = SimpleDateFormat(OUTPUT_FORMAT, Locale.US).apply {
+            timeZone = UTC
+        }
+    }
+
+    /**
+     * Parses [value] into epoch milliseconds, or returns `null` when it is
+     * absent or not a recognised ISO-8601 timestamp.
+     */
+    fun toEpochMillis(value: String?): Long? {
+        val match = value?.let { ISO_PATTERN.matchEntire(it.trim()) } ?: return null
+        val (year, month, day, hour, minute, second, fraction, zone) = match.destructured
+
+        val calendar = Calendar.getInstance(UTC).apply {
+            clear()
+            set(year.toInt(), month.toInt() - 1, day.toInt(), hour.toInt(), minute.toInt(), second.toInt())
+        }
+        val millis = if (fraction.isEmpty()) 0 else fraction.padEnd(3, '0').take(3).toInt()
+
+        return calendar.timeInMillis + millis - zone.offsetMillis()
+    }
+
+    /** Formats [epochMillis] as a UTC ISO-8601 timestamp with millisecond precision. */
+    fun format(epochMillis: Long): String = formatter.get()!!.format(epochMillis)
+
+    private fun String.offsetMillis(): Long {
+        if (isEmpty() || this == "Z") return 0L
+        val sign = if (this[0] == '-') -1 else 1
+        val digits = substring(1).replace(":", "")
+        val hours = digits.substring(0, 2).toLong()
+        val minutes = digits.substring(2, 4).toLong()
+        return sign * (hours * 60 + minutes) * 60_000L
+    }
+
+    private const val OUTPUT_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'"
+}
@@ -0,0 +1,24 @@
+package com.application.echo.core.api.common
+
+import com.application.echo.core.network.util.RetryBudget
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * One [RetryBudget] per Echo backend service.
+ *
+ * An outage of one service drains only that service's budget, so retries
+ * and hedges to the healthy services keep flowing. Inject this instead of
+ * falling back to [RetryBudget.DEFAULT]:
+ *
+ * ```kotlin
+ * retryApiCall(RetryPolicy(budget = budgets.message)) { api.getMessages(id).toApiResult() }
+ * ```
+ */
+@Singleton
+internal class RetryBudgets @Inject constructor() {
+    val auth = RetryBudget()
+    val user = RetryBudget()
+    val media = RetryBudget()
+    val message = RetryBudget()
+}
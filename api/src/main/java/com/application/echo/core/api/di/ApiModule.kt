@@ -4,29 +4,56 @@ import android.content.SharedPreferences
 import com.application.echo.core.api.auth.AuthApiRepository
 import com.application.echo.core.api.auth.AuthApiService
 import com.application.echo.core.api.auth.AuthApiRepositoryImpl
+import com.application.echo.core.api.auth.AuthTokenRefreshListener
+import com.application.echo.core.api.auth.TokenRefreshAuthenticator
+import com.application.echo.core.api.auth.TokenRefreshListener
 import com.application.echo.core.api.health.HealthRepository
 import com.application.echo.core.api.health.HealthRepositoryImpl
+import com.application.echo.core.api.health.ServiceGuards
 import com.application.echo.core.api.manager.AuthTokenManager
 import com.application.echo.core.api.manager.AuthTokenManagerImpl
 import com.application.echo.core.api.media.MediaApiService
 import com.application.echo.core.api.media.MediaApiRepository
 import com.application.echo.core.api.media.MediaApiRepositoryImpl
+import com.application.echo.core.api.media.MediaCache
+import com.application.echo.core.api.media.MediaCacheImpl
+import com.application.echo.core.api.media.MediaCacheInterceptor
+import com.application.echo.core.api.media.MediaUploadManager
+import com.application.echo.core.api.media.MediaUploadManagerImpl
+import com.application.echo.core.api.message.LiveMessageRepository
+import com.application.echo.core.api.message.LiveMessageRepositoryImpl
 import com.application.echo.core.api.message.MessageApiService
 import com.application.echo.core.api.message.MessageApiRepository
 import com.application.echo.core.api.message.MessageApiRepositoryImpl
+import com.application.echo.core.api.message.MessageSearch
+import com.application.echo.core.api.message.MessageSearchImpl
+import com.application.echo.core.api.message.MessageStore
+import com.application.echo.core.api.message.MessageStoreImpl
+import com.application.echo.core.api.mutation.MutationQueue
+import com.application.echo.core.api.mutation.MutationQueueImpl
 import com.application.echo.core.api.session.SessionHeaderInterceptor
+import com.application.echo.core.api.session.SessionHeaderProvider
+import com.application.echo.core.api.session.SessionManager
+import com.application.echo.core.api.session.SessionManagerImpl
 import com.application.echo.core.api.session.SessionProvider
 import com.application.echo.core.api.user.UserApiService
 import com.application.echo.core.api.user.UserApiRepository
 import com.application.echo.core.api.user.UserApiRepositoryImpl
 import com.application.echo.core.common.annotations.UnencryptedPreferences
 import com.application.echo.core.network.client.EchoHttpClient
+import com.application.echo.core.network.interceptor.AuthTokenProvider
+import com.application.echo.core.network.interceptor.HeaderProvider
+import com.application.echo.core.network.monitor.NetworkMonitor
+import com.application.echo.core.network.qualifier.EchoInterceptor
 import dagger.Binds
 import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
 import dagger.hilt.components.SingletonComponent
+import dagger.multibindings.IntoSet
+import okhttp3.Authenticator
 import okhttp3.Interceptor
+import javax.inject.Provider
 import javax.inject.Singleton
 
 // ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
@@ -37,6 +64,29 @@ import javax.inject.Singleton
 @InstallIn(SingletonComponent::class)
 internal abstract class ApiBindsModule {
 
+    /** The Echo HTTP clients read tokens through the manager that stores them. */
+    @Binds
+    abstract fun bindAuthTokenProvider(
+        manager: AuthTokenManager,
+    ): AuthTokenProvider
+
+    /** Refreshes the token on a 401 from the authenticated client. */
+    @Binds
+    abstract fun bindAuthenticator(
+        impl: TokenRefreshAuthenticator,
+    ): Authenticator
+
+    @Binds
+    abstract fun bindTokenRefreshListener(
+        impl: AuthTokenRefreshListener,
+    ): TokenRefreshListener
+
+    /** Session headers are read from the manager that stores the session. */
+    @Binds
+    abstract fun bindSessionProvider(
+        manager: SessionManager,
+    ): SessionProvider
+
     @Binds
     @Singleton
     abstract fun bindAuthRepository(
@@ -55,17 +105,69 @@ internal abstract class ApiBindsModule {
         impl: MediaApiRepositoryImpl,
     ): MediaApiRepository
 
+    @Binds
+    @Singleton
+    abstract fun bindMediaUploadManager(
+        impl: MediaUploadManagerImpl,
+    ): MediaUploadManager
+
+    @Binds
+    @Singleton
+    abstract fun bindMediaCache(
+        impl: MediaCacheImpl,
+    ): MediaCache
+
+    /** Serves cached media to every Echo HTTP client — see [MediaCacheInterceptor]. */
+    @Binds
+    @Singleton
+    @IntoSet
+    @EchoInterceptor
+    abstract fun bindMediaCacheInterceptor(
+        impl: MediaCacheInterceptor,
+    ): Interceptor
+
     @Binds
     @Singleton
     abstract fun bindMessageRepository(
         impl: MessageApiRepositoryImpl,
     ): MessageApiRepository
 
+    @Binds
+    @Singleton
+    abstract fun bindMessageStore(
+        impl: MessageStoreImpl,
+    ): MessageStore
+
+    @Binds
+    @Singleton
+    abstract fun bindLiveMessageRepository(
+        impl: LiveMessageRepositoryImpl,
+    ): LiveMessageRepository
+
+    @Binds
+    @Singleton
+    abstract fun bindMessageSearch(
+        impl: MessageSearchImpl,
+    ): MessageSearch
+
+    @Binds
+    @Singleton
+    abstract fun bindMutationQueue(
+        impl: MutationQueueImpl,
+    ): MutationQueue
+
     @Binds
     @Singleton
     abstract fun bindHealthRepository(
         impl: HealthRepositoryImpl,
     ): HealthRepository
+
+    /** Merges session + device headers into every Echo HTTP request. */
+    @Binds
+    @IntoSet
+    abstract fun bindSessionHeaderProvider(
+        impl: SessionHeaderProvider,
+    ): HeaderProvider
 }
 
 // ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
@@ -87,6 +189,17 @@ internal object ApiProvidesModule {
         sharedPreferences = sharedPreferences,
     )
 
+    /**
+     * Session manager — stores the session ID and token sent as session headers.
+     */
+    @Provides
+    @Singleton
+    fun provideSessionManager(
+        @UnencryptedPreferences sharedPreferences: SharedPreferences,
+    ): SessionManager = SessionManagerImpl(
+        sharedPreferences = sharedPreferences,
+    )
+
     /**
      * Auth endpoints are public (login, register, refresh) — use [EchoHttpClient.unauthenticated].
      */
@@ -127,13 +240,26 @@ internal object ApiProvidesModule {
      * Session header interceptor — attaches X-Session-ID, X-Session-Token,
      * and X-Device-* headers to every request.
      *
-     * The app module must provide a [SessionProvider] binding for this to work.
-     * Add this interceptor to your OkHttpClient via [HttpClientConfig].
+     * The Echo HTTP clients already get these headers via [SessionHeaderProvider];
+     * add this interceptor only to other OkHttp clients.
      */
     @Provides
     @Singleton
     @SessionInterceptor
     fun provideSessionHeaderInterceptor(
-        sessionProvider: SessionProvider,
-    ): Interceptor = SessionHeaderInterceptor(sessionProvider)
+        headerProvider: SessionHeaderProvider,
+    ): Interceptor = SessionHeaderInterceptor(headerProvider)
+
+    /**
+     * Per-service circuit breakers and adaptive concurrency limits for
+     * every Echo HTTP call — see [ServiceGuards].
+     */
+    @Provides
+    @Singleton
+    @IntoSet
+    @EchoInterceptor
+    fun provideServiceGuardInterceptor(
+        health: Provider<HealthRepository>,
+        networkMonitor: NetworkMonitor,
+    ): Interceptor = ServiceGuards.interceptor(health, networkMonitor)
 }
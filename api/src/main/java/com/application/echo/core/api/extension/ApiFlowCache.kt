@@ -0,0 +1,149 @@
+package com.application.echo.core.api.extension
+
+import com.application.echo.core.common.cache.MemoryCache
+import com.application.echo.core.common.model.CacheEntry
+import com.application.echo.core.network.result.ApiResult
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.FlowCollector
+import kotlinx.coroutines.flow.SharedFlow
+import kotlinx.coroutines.flow.SharingCommand
+import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.onEach
+import kotlinx.coroutines.flow.onSubscription
+import kotlinx.coroutines.flow.shareIn
+
+/**
+ * Process-wide state behind [cachedApiFlow]: the last successful value per
+ * key and the shared upstream per key.
+ *
+ * - **Values** are capped at [MAX_VALUES], drop the least recently used
+ *   keys first and are released under memory pressure. They keep their
+ *   own [CacheEntry] with no cache-level TTL, because [cachedApiFlow]
+ *   still shows a stale value while it refreshes.
+ * - **Upstreams** exist only while collected. Once the sharing policy
+ *   stops one and no collector is about to join it, it is removed and its
+ *   coroutine cancelled, so neither the upstream nor the last caller's
+ *   call outlives the screens that used it.
+ */
+internal object ApiFlowCache {
+
+    private const val MAX_VALUES = 64
+
+    /** Upstreams outlive the screens collecting them, so they run here. */
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+
+    private val lock = Any()
+    private val values = MemoryCache<Any, CacheEntry<Any?>>(maxWeight = MAX_VALUES.toLong())
+    private val upstreams = HashMap<Any, Upstream>()
+
+    fun get(key: Any): CacheEntry<Any?>? = values[key]
+
+    fun put(key: Any, value: Any?, ttlMs: Long) {
+        values[key] = CacheEntry(value = value, timestamp = System.currentTimeMillis(), ttl = ttlMs)
+    }
+
+    fun invalidate(key: Any) {
+        values.remove(key)
+    }
+
+    /**
+     * Collects the upstream shared under [key] into [collector], starting
+     * it from [upstream] under [started] when none is running.
+     *
+     * Every collector hands in its own [call] and the running upstream
+     * fetches with the most recent one, so a collector never depends on a
+     * closure captured by whoever happened to start the upstream.
+     */
+    @Suppress("UNCHECKED_CAST")
+    suspend fun <T> collect(
+        key: Any,
+        call: suspend () -> ApiResult<T>,
+        started: SharingStarted,
+        upstream: (fetch: suspend () -> ApiResult<T>) -> Flow<ApiResult<T>>,
+        collector: FlowCollector<ApiResult<T>>,
+    ) {
+        val entry = synchronized(lock) {
+            val entry = upstreams.getOrPut(key) { start(key, call, started, upstream) }
+            entry.call = call
+            entry.pending++
+            entry
+        }
+        var subscribed = false
+        try {
+            (entry.results as SharedFlow<ApiResult<T>>)
+                .onSubscription {
+                    subscribed = true
+                    release(entry)
+                }
+                .collect(collector)
+        } finally {
+            if (!subscribed) release(entry)
+        }
+    }
+
+    // ──────────────── Upstreams ────────────────
+
+    /** Creates and shares a new upstream. Caller holds [lock]. */
+    @Suppress("UNCHECKED_CAST")
+    private fun <T> start(
+        key: Any,
+        call: suspend () -> ApiResult<T>,
+        started: SharingStarted,
+        upstream: (fetch: suspend () -> ApiResult<T>) -> Flow<ApiResult<T>>,
+    ): Upstream {
+        val entry = Upstream(key, call, Job(scope.coroutineContext[Job]))
+        entry.results = upstream { entry.call() as ApiResult<T> }.shareIn(
+            scope = CoroutineScope(scope.coroutineContext + entry.job),
+            started = evicting(entry, started),
+            replay = 1,
+        )
+        return entry
+    }
+
+    /** Wraps [started] so every stop it issues also tries to evict [entry]. */
+    private fun evicting(entry: Upstream, started: SharingStarted) = object : SharingStarted {
+        override fun command(subscriptionCount: StateFlow<Int>): Flow<SharingCommand> {
+            entry.subscriptionCount = subscriptionCount
+            return started.command(subscriptionCount).onEach { command ->
+                synchronized(lock) {
+                    entry.stopped = command != SharingCommand.START
+                    evictIfUnused(entry)
+                }
+            }
+        }
+    }
+
+    private fun release(entry: Upstream) = synchronized(lock) {
+        entry.pending--
+        evictIfUnused(entry)
+    }
+
+    /** Drops [entry] once it is stopped and nothing collects it or is about to. Caller holds [lock]. */
+    private fun evictIfUnused(entry: Upstream) {
+        if (!entry.stopped || entry.pending > 0 || entry.subscriptionCount?.value != 0) return
+        if (upstreams[entry.key] === entry) upstreams.remove(entry.key)
+        entry.job.cancel()
+    }
+
+    private class Upstream(
+        val key: Any,
+        @Volatile var call: suspend () -> ApiResult<*>,
+        val job: Job,
+    ) {
+        lateinit var results: SharedFlow<ApiResult<*>>
+
+        @Volatile
+        var subscriptionCount: StateFlow<Int>? = null
+
+        /** Collectors that hold this upstream but have not subscribed yet. Guarded by [lock]. */
+        var pending = 0
+
+        /** Whether the sharing policy last stopped the upstream. Guarded by [lock]. */
+        var stopped = false
+    }
+}
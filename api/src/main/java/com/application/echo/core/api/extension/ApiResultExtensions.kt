@@ -2,8 +2,13 @@ package com.application.echo.core.api.extension
 
 import com.application.echo.core.network.model.NetworkException
 import com.application.echo.core.network.result.ApiResult
-import kotlinx.coroutines.delay
+import com.application.echo.core.network.util.LatencyTracker
+import com.application.echo.core.network.util.RetryBudget
+import com.application.echo.core.network.util.RetryPolicy
+import com.application.echo.core.network.util.hedging
+import com.application.echo.core.network.util.retrying
 import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.SharingStarted
 import kotlinx.coroutines.flow.catch
 import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.map
@@ -59,6 +64,80 @@ fun <T> apiFlowWithLoading(
     emit(UiState.Failure(NetworkException.Unknown(throwable)))
 }
 
+/**
+ * Like [apiFlow], but shared and cached under [key].
+ *
+ * - All collectors of the same [key] share one upstream (`shareIn` with
+ *   `WhileSubscribed`), which stays alive for [STOP_TIMEOUT_MS] after
+ *   the last collector leaves — long enough to ride out a rotation.
+ * - The last successful value is kept in a bounded in-memory cache and
+ *   emitted first; [call] only runs when nothing is cached or the cached
+ *   value is older than [ttlMs].
+ * - A failed refresh is emitted only when there is no cached value to show.
+ *
+ * ```kotlin
+ * val profile = cachedApiFlow(key = "profile:$userId", ttlMs = 60_000) {
+ *     userRepo.getProfile(userId)
+ * }.stateIn(viewModelScope, SharingStarted.WhileSubscribed(5_000), null)
+ * ```
+ *
+ * [key] must identify the request and its result type, e.g. the endpoint
+ * and its arguments. Collectors of one [key] join the same upstream, which
+ * fetches with the most recent collector's [call]; the upstream is dropped
+ * once its last collector has been gone for [STOP_TIMEOUT_MS].
+ */
+fun <T> cachedApiFlow(
+    key: Any,
+    ttlMs: Long = DEFAULT_CACHE_TTL_MS,
+    call: suspend () -> ApiResult<T>,
+): Flow<ApiResult<T>> = flow {
+    ApiFlowCache.collect(
+        key = key,
+        call = call,
+        started = SharingStarted.WhileSubscribed(STOP_TIMEOUT_MS, replayExpirationMillis = 0),
+        upstream = { fetch -> cachedFetch(key, ttlMs, fetch) },
+        collector = this,
+    )
+}
+
+/** Upstream of [cachedApiFlow]: the cached value first, then a refresh if it is stale. */
+private fun <T> cachedFetch(
+    key: Any,
+    ttlMs: Long,
+    fetch: suspend () -> ApiResult<T>,
+): Flow<ApiResult<T>> = flow {
+    val cached = ApiFlowCache.get(key)
+    if (cached != null) {
+        @Suppress("UNCHECKED_CAST")
+        emit(ApiResult.Success(cached.value as T))
+    }
+    if (cached != null && !cached.isExpired()) return@flow
+
+    when (val result = fetch()) {
+        is ApiResult.Success -> {
+            ApiFlowCache.put(key, result.data, ttlMs)
+            emit(result)
+        }
+
+        is ApiResult.Failure -> if (cached == null) {
+            emit(result)
+        } else {
+            Timber.d(result.exception.throwable, "Refresh of %s failed, keeping cached value", key)
+        }
+    }
+}
+
+/** Drops the cached value for [key]; the next new upstream for it refetches. */
+fun invalidateCachedApiFlow(key: Any) {
+    ApiFlowCache.invalidate(key)
+}
+
+/** Default freshness window of [cachedApiFlow] values. */
+const val DEFAULT_CACHE_TTL_MS = 60_000L
+
+/** How long a [cachedApiFlow] upstream outlives its last collector. */
+private const val STOP_TIMEOUT_MS = 5_000L
+
 // ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
 //  UiState
 // ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
@@ -89,10 +168,12 @@ inline fun <T, R> UiState<T>.map(transform: (T) -> R): UiState<R> = when (this)
 // ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
 
 /**
- * Retries a failing API call with exponential back-off.
+ * Retries a failing API call with jittered exponential back-off.
  *
- * Only retries on transient errors (network, timeout, 5xx).
- * Client errors (4xx) are returned immediately.
+ * Only retries on transient errors (network, timeout, 5xx, 429), honours
+ * `Retry-After`, and draws from [budget] — see
+ * [retrying], which this delegates to. Client errors (4xx) are returned
+ * immediately.
  *
  * ```kotlin
  * val result = retryApiCall(maxRetries = 3) {
@@ -104,26 +185,44 @@ suspend fun <T> retryApiCall(
     maxRetries: Int = 3,
     initialDelayMs: Long = 1_000L,
     backoffMultiplier: Double = 2.0,
+    budget: RetryBudget = RetryBudget.DEFAULT,
     call: suspend () -> ApiResult<T>,
-): ApiResult<T> {
-    var lastResult: ApiResult<T> = call()
-    var currentDelay = initialDelayMs
+): ApiResult<T> = retryApiCall(
+    policy = RetryPolicy(
+        maxRetries = maxRetries,
+        initialDelayMs = initialDelayMs,
+        backoffMultiplier = backoffMultiplier,
+        budget = budget,
+    ),
+    call = call,
+)
 
-    repeat(maxRetries) { attempt ->
-        if (lastResult is ApiResult.Success) return lastResult
-
-        val exception = (lastResult as ApiResult.Failure).exception
-        if (!exception.isRetryable()) return lastResult
-
-        Timber.d("Retrying API call (attempt ${attempt + 1}/$maxRetries)")
-        delay(currentDelay)
-        currentDelay = (currentDelay * backoffMultiplier).toLong()
-
-        lastResult = call()
-    }
+/**
+ * Retries a failing API call according to [policy].
+ */
+suspend fun <T> retryApiCall(
+    policy: RetryPolicy,
+    call: suspend () -> ApiResult<T>,
+): ApiResult<T> = retrying(
+    policy = policy,
+    errorOf = { (it as? ApiResult.Failure)?.exception },
+    block = call,
+)
 
-    return lastResult
-}
+/**
+ * Runs an **idempotent** API call with request hedging — see [hedging].
+ * Each hedge draws a token from [budget].
+ */
+suspend fun <T> hedgedApiCall(
+    tracker: LatencyTracker,
+    budget: RetryBudget = RetryBudget.DEFAULT,
+    call: suspend () -> ApiResult<T>,
+): ApiResult<T> = hedging(
+    tracker = tracker,
+    budget = budget,
+    errorOf = { (it as? ApiResult.Failure)?.exception },
+    block = call,
+)
 
 // ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
 //  Flow<ApiResult> operators
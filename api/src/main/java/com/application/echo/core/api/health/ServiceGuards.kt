@@ -0,0 +1,57 @@
+package com.application.echo.core.api.health
+
+import com.application.echo.core.api.common.ApiConstants
+import com.application.echo.core.network.monitor.NetworkMonitor
+import com.application.echo.core.network.resilience.AdaptiveConcurrencyLimiter
+import com.application.echo.core.network.resilience.CircuitBreaker
+import com.application.echo.core.network.resilience.ServiceGuard
+import com.application.echo.core.network.resilience.ServiceGuardInterceptor
+import com.application.echo.core.network.result.ApiResult
+import javax.inject.Provider
+
+/**
+ * Builds the [ServiceGuardInterceptor] that protects the four backend
+ * services, each with its own circuit breaker and concurrency limit.
+ *
+ * Breaker probes use the services' health endpoints through
+ * [HealthRepository]. It is taken as a [Provider] because the repository's
+ * own Retrofit services are built on the client this interceptor is part of.
+ * Errors while [NetworkMonitor] reports the device offline are not held
+ * against any service.
+ */
+internal object ServiceGuards {
+
+    fun interceptor(
+        health: Provider<HealthRepository>,
+        networkMonitor: NetworkMonitor,
+    ): ServiceGuardInterceptor = ServiceGuardInterceptor(
+        guards = listOf(
+            guard(HealthRepositoryImpl.SERVICE_AUTH, "auth", ApiConstants.AUTH_HEALTH) {
+                health.get().authHealth()
+            },
+            guard(HealthRepositoryImpl.SERVICE_USER, "users", ApiConstants.USERS_HEALTH) {
+                health.get().userHealth()
+            },
+            guard(HealthRepositoryImpl.SERVICE_MEDIA, "media", ApiConstants.MEDIA_HEALTH) {
+                health.get().mediaHealth()
+            },
+            guard(HealthRepositoryImpl.SERVICE_MESSAGE, "messages", ApiConstants.MESSAGES_HEALTH) {
+                health.get().messageHealth()
+            },
+        ),
+        isOnline = { networkMonitor.isCurrentlyOnline },
+    )
+
+    private fun guard(
+        name: String,
+        pathSegment: String,
+        healthPath: String,
+        check: suspend () -> ApiResult<*>,
+    ) = ServiceGuard(
+        name = name,
+        pathPrefix = "/${ApiConstants.API_PREFIX}/$pathSegment/",
+        healthPath = healthPath,
+        breaker = CircuitBreaker(name = name, probe = { check() is ApiResult.Success }),
+        limiter = AdaptiveConcurrencyLimiter(),
+    )
+}
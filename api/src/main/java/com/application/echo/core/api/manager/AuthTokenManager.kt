@@ -10,6 +10,9 @@ interface AuthTokenManager: AuthTokenProvider {
 
     val tokenDataFlow: Flow<TokenData?>
 
+    /** Replaces the stored tokens. Takes effect for the next request immediately. */
+    fun saveTokenData(tokenData: TokenData)
+
     fun clearTokenData()
 
 }
\ No newline at end of file
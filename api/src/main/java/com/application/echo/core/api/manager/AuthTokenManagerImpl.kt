@@ -3,15 +3,26 @@ package com.application.echo.core.api.manager
 import android.content.SharedPreferences
 import com.application.echo.core.common.platform.base.BaseDiskSource
 import com.application.echo.core.network.model.TokenData
+import com.application.echo.core.network.util.HeaderConstants
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableStateFlow
-import kotlinx.coroutines.flow.onSubscription
+import kotlinx.coroutines.flow.asStateFlow
+import java.util.concurrent.atomic.AtomicReference
 import javax.inject.Inject
 
 private const val ACCESS_TOKEN_KEY = "access_token"
 private const val REFRESH_TOKEN_KEY = "refresh_token"
 private const val EXPIRES_IN_KEY = "expires_in"
 
+/**
+ * [AuthTokenManager] backed by [SharedPreferences] with an in-memory snapshot.
+ *
+ * Preferences are read once, on first use. After that every read —
+ * including [getAuthorizationHeader] on each OkHttp request — is a single
+ * atomic load of an immutable [TokenSnapshot] whose `Authorization` value
+ * is precomputed. Writes swap the snapshot first and then write through
+ * to disk, so readers never see a half-updated token set.
+ */
 class AuthTokenManagerImpl @Inject constructor(
     sharedPreferences: SharedPreferences
 ): BaseDiskSource(
@@ -36,20 +47,51 @@ class AuthTokenManagerImpl @Inject constructor(
             putLong(EXPIRES_IN_KEY, value)
         }
 
-    private val _tokenDataFlow = MutableStateFlow<TokenData?>(null)
+    private val snapshot: AtomicReference<TokenSnapshot> by lazy {
+        AtomicReference(TokenSnapshot.of(readTokenDataFromDisk()))
+    }
+
+    private val _tokenDataFlow by lazy { MutableStateFlow(snapshot.get().tokenData) }
 
     override val isTokenValid: Boolean
-        get() = isTokenDataValid(getLatestAuthTokenData())
+        get() = isTokenDataValid(snapshot.get().tokenData)
 
     override val tokenDataFlow: Flow<TokenData?>
-        get() = _tokenDataFlow.onSubscription { emit(getLatestAuthTokenData()) }
+        get() = _tokenDataFlow.asStateFlow()
 
     private fun isTokenDataValid(tokenData: TokenData?): Boolean {
         val currentTime = System.currentTimeMillis() / 1000 // convert to seconds
         val tokenExpirationTime = tokenData?.expiresIn ?: 0L
         return currentTime < tokenExpirationTime
     }
-    override fun getLatestAuthTokenData(): TokenData? {
+
+    override fun getLatestAuthTokenData(): TokenData? = snapshot.get().tokenData
+
+    override fun getAuthorizationHeader(): String? = snapshot.get().authorizationHeader
+
+    @Synchronized
+    override fun saveTokenData(tokenData: TokenData) {
+        if (snapshot.get().tokenData == tokenData) return
+
+        snapshot.set(TokenSnapshot.of(tokenData))
+        _tokenDataFlow.value = tokenData
+
+        accessToken = tokenData.accessToken
+        refreshToken = tokenData.refreshToken
+        expiresIn = tokenData.expiresIn
+    }
+
+    @Synchronized
+    override fun clearTokenData() {
+        snapshot.set(TokenSnapshot.EMPTY)
+        _tokenDataFlow.value = null
+
+        accessToken = null
+        refreshToken = null
+        expiresIn = null
+    }
+
+    private fun readTokenDataFromDisk(): TokenData? {
         val accessToken = accessToken
         val refreshToken = refreshToken
         val expiresIn = expiresIn
@@ -65,10 +107,25 @@ class AuthTokenManagerImpl @Inject constructor(
         }
     }
 
-    override fun clearTokenData() {
-        accessToken = null
-        refreshToken = null
-        expiresIn = null
-        _tokenDataFlow.tryEmit(null)
+    /**
+     * Immutable view of the current tokens, swapped atomically on change.
+     */
+    private class TokenSnapshot private constructor(
+        val tokenData: TokenData?,
+        val authorizationHeader: String?,
+    ) {
+        companion object {
+            val EMPTY = TokenSnapshot(tokenData = null, authorizationHeader = null)
+
+            fun of(tokenData: TokenData?): TokenSnapshot =
+                if (tokenData == null) {
+                    EMPTY
+                } else {
+                    TokenSnapshot(
+                        tokenData = tokenData,
+                        authorizationHeader = "${HeaderConstants.BEARER} ${tokenData.accessToken}",
+                    )
+                }
+        }
     }
-}
\ No newline at end of file
+}
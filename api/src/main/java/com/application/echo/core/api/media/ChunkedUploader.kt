@@ -0,0 +1,306 @@
+package com.application.echo.core.api.media
+
+import android.content.Context
+import android.net.Uri
+import com.application.echo.core.database.dao.MediaUploadDao
+import com.application.echo.core.database.entity.MediaUploadEntity
+import com.application.echo.core.database.entity.MediaUploadPartEntity
+import com.application.echo.core.database.entity.MediaUploadState
+import com.application.echo.core.network.model.NetworkException
+import com.application.echo.core.network.result.ApiResult
+import com.application.echo.core.network.result.toApiResult
+import com.google.gson.Gson
+import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import kotlinx.coroutines.withContext
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.RequestBody.Companion.toRequestBody
+import timber.log.Timber
+import java.io.FileInputStream
+import java.io.IOException
+import java.io.InputStream
+import java.nio.ByteBuffer
+import javax.inject.Inject
+
+/**
+ * Drives one persisted chunked upload to completion.
+ *
+ * The source is split into [MediaUploadEntity.partSize] parts. Missing
+ * parts are uploaded [MAX_PARALLEL_PARTS] at a time — OkHttp multiplexes
+ * them over one HTTP/2 connection when the server supports it. Each part
+ * carries its SHA-256 and is recorded only once the server echoes the
+ * same checksum, so a resumed upload never trusts a corrupted part.
+ *
+ * [run] is idempotent: calling it again after a crash, a network drop or
+ * process death resumes from the parts the server already holds. If the
+ * upload is cancelled while running, its next write finds the row gone
+ * and [run] stops without recreating it.
+ */
+internal class ChunkedUploader @Inject constructor(
+    @ApplicationContext private val context: Context,
+    private val api: MediaApiService,
+    private val dao: MediaUploadDao,
+    private val gson: Gson,
+) {
+
+    /**
+     * Uploads every missing part of [uploadId] and completes the session.
+     *
+     * A failure leaves the upload resumable; call [markFailed] to give up on it.
+     */
+    suspend fun run(uploadId: String): ApiResult<MediaUploadResponse> {
+        val upload = dao.get(uploadId)
+            ?: return failure(IllegalStateException("Unknown upload $uploadId"))
+
+        if (upload.state == MediaUploadState.COMPLETED) {
+            upload.resultJson?.let { json ->
+                return ApiResult.Success(gson.fromJson(json, MediaUploadResponse::class.java))
+            }
+        }
+        dao.setState(uploadId, MediaUploadState.UPLOADING, resultJson = null, error = null, now = now())
+
+        val session = when (val result = ensureSession(upload)) {
+            is ApiResult.Success -> result.data
+            is ApiResult.Failure -> return result
+        }
+
+        val stored = dao.getParts(uploadId).mapTo(HashSet()) { it.partNumber }
+        val missing = (1..session.partCount).filter { it !in stored }
+        Timber.tag(TAG).d("Upload %s: %d/%d parts missing", uploadId, missing.size, session.partCount)
+
+        val semaphore = Semaphore(MAX_PARALLEL_PARTS)
+        val failure = coroutineScope {
+            missing.map { partNumber ->
+                async { semaphore.withPermit { uploadPart(session, partNumber) } }
+            }.awaitAll()
+        }.firstOrNull { it is ApiResult.Failure } as ApiResult.Failure?
+        if (failure != null) return failure
+
+        val parts = dao.getParts(uploadId)
+            .sortedBy { it.partNumber }
+            .map { UploadedPart(partNumber = it.partNumber, checksum = it.checksum, size = it.size) }
+
+        val result = api.completeUpload(
+            uploadId = session.remoteId,
+            request = CompleteUploadRequest(parts = parts),
+        ).toApiResult()
+        if (result is ApiResult.Success) {
+            dao.setState(
+                id = uploadId,
+                state = MediaUploadState.COMPLETED,
+                resultJson = gson.toJson(result.data),
+                error = null,
+                now = now(),
+            )
+            releaseSource(upload)
+        }
+        return result
+    }
+
+    /** Marks [uploadId] as permanently failed. */
+    suspend fun markFailed(uploadId: String, exception: NetworkException) {
+        dao.setState(
+            id = uploadId,
+            state = MediaUploadState.FAILED,
+            resultJson = null,
+            error = exception.throwable.message ?: exception::class.java.simpleName,
+            now = now(),
+        )
+        dao.get(uploadId)?.let { releaseSource(it) }
+    }
+
+    /** Deletes the temp copy [upload] was read from, if [MediaHelper] made one. */
+    suspend fun releaseSource(upload: MediaUploadEntity) = withContext(Dispatchers.IO) {
+        MediaHelper.releaseTempCopy(context, Uri.parse(upload.sourceUri))
+    }
+
+    // ──────────────── Session ────────────────
+
+    /**
+     * Returns the server session for [upload], creating it on first run.
+     *
+     * On resume the server's list of stored parts is authoritative and
+     * replaces the local one. An expired session (404) is recreated.
+     */
+    private suspend fun ensureSession(upload: MediaUploadEntity): ApiResult<Session> {
+        val remoteId = upload.remoteId
+        if (remoteId != null) {
+            when (val result = api.getUpload(remoteId).toApiResult()) {
+                is ApiResult.Success -> {
+                    val parts = result.data.uploadedParts.orEmpty().map { part ->
+                        MediaUploadPartEntity(
+                            uploadId = upload.id,
+                            partNumber = part.partNumber,
+                            size = part.size ?: partLength(upload.size, upload.partSize, part.partNumber),
+                            checksum = part.checksum,
+                        )
+                    }
+                    if (!dao.replaceParts(upload.id, parts)) return cancelled(upload.id)
+                    return ApiResult.Success(Session(upload, remoteId))
+                }
+
+                is ApiResult.Failure -> {
+                    val exception = result.exception
+                    if (exception !is NetworkException.Http || !exception.statusCode.isNotFound) return result
+                    Timber.tag(TAG).d("Upload session %s expired, starting over", remoteId)
+                    dao.deleteParts(upload.id)
+                }
+            }
+        }
+
+        val created = api.createUpload(
+            request = CreateUploadRequest(
+                fileName = upload.fileName,
+                contentType = upload.mimeType,
+                size = upload.size,
+                partSize = upload.partSize,
+            ),
+        ).toApiResult()
+        return when (created) {
+            is ApiResult.Success -> {
+                val session = created.data
+                val updated = upload.copy(
+                    remoteId = session.uploadId,
+                    partSize = session.partSize?.takeIf { it > 0 } ?: upload.partSize,
+                    state = MediaUploadState.UPLOADING,
+                    updatedAt = now(),
+                )
+                val bound = dao.setSession(
+                    id = updated.id,
+                    remoteId = session.uploadId,
+                    partSize = updated.partSize,
+                    state = updated.state,
+                    now = updated.updatedAt,
+                )
+                if (bound == 0) return cancelled(upload.id)
+                ApiResult.Success(Session(updated, session.uploadId))
+            }
+
+            is ApiResult.Failure -> created
+        }
+    }
+
+    // ──────────────── Parts ────────────────
+
+    private suspend fun uploadPart(session: Session, partNumber: Int): ApiResult<UploadedPart> {
+        val upload = session.upload
+        val bytes = try {
+            readPart(
+                uri = Uri.parse(upload.sourceUri),
+                offset = (partNumber - 1) * upload.partSize,
+                length = partLength(upload.size, upload.partSize, partNumber),
+            )
+        } catch (e: IOException) {
+            return ApiResult.Failure(NetworkException.Unknown(e))
+        }
+        val checksum = Sha256.hex(bytes)
+
+        val result = api.uploadPart(
+            uploadId = session.remoteId,
+            partNumber = partNumber,
+            checksum = checksum,
+            body = bytes.toRequestBody(PART_MEDIA_TYPE),
+        ).toApiResult()
+
+        return when (result) {
+            is ApiResult.Success -> {
+                if (!result.data.checksum.equals(checksum, ignoreCase = true)) {
+                    // Corrupted in transit — report as a retryable transport error.
+                    return ApiResult.Failure(
+                        NetworkException.Network(IOException("Checksum mismatch for part $partNumber")),
+                    )
+                }
+                val recorded = dao.insertPartIfPresent(
+                    MediaUploadPartEntity(
+                        uploadId = upload.id,
+                        partNumber = partNumber,
+                        size = bytes.size.toLong(),
+                        checksum = checksum,
+                    ),
+                )
+                if (recorded) result else cancelled(upload.id)
+            }
+
+            is ApiResult.Failure -> result
+        }
+    }
+
+    /**
+     * Reads [length] bytes at [offset] from [uri].
+     *
+     * Seekable sources (files, most providers) are read with a positional
+     * channel read; stream-only providers fall back to skipping.
+     */
+    private suspend fun readPart(uri: Uri, offset: Long, length: Long): ByteArray = withContext(Dispatchers.IO) {
+        val buffer = ByteBuffer.allocate(length.toInt())
+        val descriptor = context.contentResolver.openFileDescriptor(uri, "r")
+        if (descriptor != null) {
+            descriptor.use { fd ->
+                FileInputStream(fd.fileDescriptor).channel.use { channel ->
+                    var position = offset
+                    while (buffer.hasRemaining()) {
+                        val read = channel.read(buffer, position)
+                        if (read < 0) throw IOException("Source shorter than expected: $uri")
+                        position += read
+                    }
+                }
+            }
+        } else {
+            val stream = context.contentResolver.openInputStream(uri)
+                ?: throw IOException("Unable to open $uri")
+            stream.use { input ->
+                input.skipFully(offset)
+                while (buffer.hasRemaining()) {
+                    val read = input.read(buffer.array(), buffer.position(), buffer.remaining())
+                    if (read < 0) throw IOException("Source shorter than expected: $uri")
+                    buffer.position(buffer.position() + read)
+                }
+            }
+        }
+        buffer.array()
+    }
+
+    private fun InputStream.skipFully(count: Long) {
+        var remaining = count
+        while (remaining > 0) {
+            val skipped = skip(remaining)
+            if (skipped <= 0) {
+                if (read() < 0) throw IOException("Unexpected end of stream")
+                remaining--
+            } else {
+                remaining -= skipped
+            }
+        }
+    }
+
+    private fun partLength(size: Long, partSize: Long, partNumber: Int): Long =
+        minOf(partSize, size - (partNumber - 1) * partSize).coerceAtLeast(0)
+
+    private fun failure(cause: Throwable): ApiResult.Failure = ApiResult.Failure(NetworkException.Unknown(cause))
+
+    /** Not retryable, so the worker stops instead of resuming a deleted upload. */
+    private fun cancelled(uploadId: String): ApiResult.Failure =
+        failure(IllegalStateException("Upload $uploadId was cancelled"))
+
+    private fun now(): Long = System.currentTimeMillis()
+
+    /** An upload bound to its server-side session. */
+    private class Session(val upload: MediaUploadEntity, val remoteId: String) {
+        val partCount: Int =
+            if (upload.size <= 0) 1 else ((upload.size + upload.partSize - 1) / upload.partSize).toInt()
+    }
+
+    private companion object {
+        const val TAG = "ChunkedUploader"
+
+        /** Parts in flight per upload — enough to fill an HTTP/2 connection without ballooning memory. */
+        const val MAX_PARALLEL_PARTS = 3
+
+        val PART_MEDIA_TYPE = "application/octet-stream".toMediaType()
+    }
+}
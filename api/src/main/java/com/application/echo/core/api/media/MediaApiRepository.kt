@@ -9,7 +9,10 @@ import java.io.File
 interface MediaApiRepository {
 
     /**
-     * Upload a generic media file.
+     * Upload a generic media file in a single request.
+     *
+     * Large files (video) should go through [MediaUploadManager] instead,
+     * which uploads in resumable parts.
      *
      * @param file The local file to upload.
      * @param mimeType MIME type (e.g. `"image/jpeg"`, `"video/mp4"`).
@@ -29,4 +32,24 @@ interface MediaApiRepository {
         file: File,
         mimeType: String,
     ): ApiResult<MediaUploadResponse>
+
+    /**
+     * Upload media streamed from [source] — no temp copy is made.
+     *
+     * @param source Created with [MediaHelper.prepareStreamingUpload];
+     *   [released][UploadSource.release] once the upload finishes.
+     */
+    suspend fun uploadMedia(
+        source: UploadSource,
+    ): ApiResult<MediaUploadResponse>
+
+    /**
+     * Upload a profile photo streamed from [source].
+     *
+     * @param source Created with [MediaHelper.prepareStreamingUpload];
+     *   [released][UploadSource.release] once the upload finishes.
+     */
+    suspend fun uploadProfilePhoto(
+        source: UploadSource,
+    ): ApiResult<MediaUploadResponse>
 }
@@ -1,26 +1,46 @@
 package com.application.echo.core.api.media
 
+import com.application.echo.core.network.model.NetworkResponse
 import com.application.echo.core.network.result.ApiResult
 import com.application.echo.core.network.result.toApiResult
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.withContext
 import okhttp3.MediaType.Companion.toMediaType
 import okhttp3.MultipartBody
 import okhttp3.RequestBody.Companion.asRequestBody
+import timber.log.Timber
 import java.io.File
+import java.io.IOException
 import javax.inject.Inject
 
 /**
  * Default [MediaApiRepository] backed by [MediaApiService].
+ *
+ * Chat media uploads are deduplicated by content: the file's SHA-256 is
+ * looked up on the server first and, if it is already stored, the
+ * existing media is returned without sending any bytes. Hashing only
+ * reads the content; once an upload succeeds, files up to
+ * [MAX_CACHED_UPLOAD_BYTES] are put into the [MediaBlobStore], so
+ * displaying or forwarding them never downloads them again.
  */
 internal class MediaApiRepositoryImpl @Inject constructor(
     private val api: MediaApiService,
+    private val blobStore: MediaBlobStore,
 ) : MediaApiRepository {
 
     override suspend fun uploadMedia(
         file: File,
         mimeType: String,
     ): ApiResult<MediaUploadResponse> {
-        val part = file.toMultipartPart(mimeType)
-        return api.uploadMedia(part).toApiResult()
+        val hash = withContext(Dispatchers.IO) { file.inputStream().use(Sha256::hex) }
+        val cacheable = file.length() <= MAX_CACHED_UPLOAD_BYTES
+        return uploadDeduplicated(
+            hash = hash,
+            cache = { url -> if (cacheable) blobStore.put(file, mimeType, url) },
+        ) {
+            api.uploadMedia(file.toMultipartPart(mimeType))
+        }
     }
 
     override suspend fun uploadProfilePhoto(
@@ -31,8 +51,63 @@ internal class MediaApiRepositoryImpl @Inject constructor(
         return api.uploadProfilePhoto(part).toApiResult()
     }
 
+    override suspend fun uploadMedia(
+        source: UploadSource,
+    ): ApiResult<MediaUploadResponse> = source.releasedAfter {
+        // Re-encoded output isn't byte-stable, and huge sources aren't worth a second read.
+        if (source.isTransformed || source.contentLength !in 0..MAX_CACHED_UPLOAD_BYTES) {
+            return@releasedAfter api.uploadMedia(source.toMultipartPart()).toApiResult()
+        }
+
+        val hash = withContext(Dispatchers.IO) { source.openStream().use(Sha256::hex) }
+        uploadDeduplicated(
+            hash = hash,
+            cache = { url -> source.openStream().use { blobStore.put(it, source.mimeType, url) } },
+        ) {
+            api.uploadMedia(source.toMultipartPart())
+        }
+    }
+
+    override suspend fun uploadProfilePhoto(
+        source: UploadSource,
+    ): ApiResult<MediaUploadResponse> = source.releasedAfter {
+        api.uploadProfilePhoto(source.toMultipartPart()).toApiResult()
+    }
+
     // ──────────────── Helpers ────────────────
 
+    /**
+     * Returns the server's existing media for [hash] if there is one,
+     * otherwise runs [upload]. On success the URL is linked to the local
+     * blob, or [cache] stores the content under it when there is none
+     * yet. The lookup and caching are best-effort: a failed lookup falls
+     * back to a normal upload, and a failed cache write is only logged.
+     */
+    private suspend fun uploadDeduplicated(
+        hash: String,
+        cache: (url: String) -> Unit,
+        upload: suspend () -> NetworkResponse<MediaUploadResponse>,
+    ): ApiResult<MediaUploadResponse> {
+        val existing = api.findByHash(hash).toApiResult()
+        val result = if (existing is ApiResult.Success) {
+            Timber.tag(TAG).d("Upload deduplicated by hash %s", hash)
+            existing
+        } else {
+            upload().toApiResult()
+        }
+        if (result is ApiResult.Success) {
+            val url = result.data.url
+            withContext(Dispatchers.IO) {
+                try {
+                    if (!blobStore.link(url, hash)) cache(url)
+                } catch (e: IOException) {
+                    Timber.tag(TAG).w(e, "Unable to cache uploaded media %s", hash)
+                }
+            }
+        }
+        return result
+    }
+
     private fun File.toMultipartPart(mimeType: String): MultipartBody.Part {
         val requestBody = asRequestBody(mimeType.toMediaType())
         return MultipartBody.Part.createFormData(
@@ -42,7 +117,26 @@ internal class MediaApiRepositoryImpl @Inject constructor(
         )
     }
 
+    /** Runs [upload], then deletes any temp copy behind the source, whatever the outcome. */
+    private suspend inline fun <T> UploadSource.releasedAfter(upload: () -> T): T =
+        try {
+            upload()
+        } finally {
+            withContext(NonCancellable + Dispatchers.IO) { release() }
+        }
+
+    private fun UploadSource.toMultipartPart(): MultipartBody.Part =
+        MultipartBody.Part.createFormData(
+            name = PART_NAME,
+            filename = uploadFileName,
+            body = toRequestBody(),
+        )
+
     private companion object {
+        const val TAG = "MediaApiRepository"
         const val PART_NAME = "file"
+
+        /** Larger uploads (video) are hashed for dedup but not copied into the cache. */
+        const val MAX_CACHED_UPLOAD_BYTES = 32L * 1024 * 1024
     }
 }
@@ -3,11 +3,22 @@ package com.application.echo.core.api.media
 import com.application.echo.core.api.common.ApiConstants
 import com.application.echo.core.api.common.HealthResponse
 import com.application.echo.core.network.model.NetworkResponse
+import com.application.echo.core.network.priority.Priority
+import com.application.echo.core.network.priority.RequestPriority
 import okhttp3.MultipartBody
+import okhttp3.RequestBody
+import okhttp3.ResponseBody
+import retrofit2.Response
+import retrofit2.http.Body
 import retrofit2.http.GET
+import retrofit2.http.Header
 import retrofit2.http.Multipart
 import retrofit2.http.POST
+import retrofit2.http.PUT
 import retrofit2.http.Part
+import retrofit2.http.Path
+import retrofit2.http.Streaming
+import retrofit2.http.Url
 
 /**
  * Retrofit service definition for the Media API.
@@ -28,6 +39,59 @@ internal interface MediaApiService {
         @Part file: MultipartBody.Part,
     ): NetworkResponse<MediaUploadResponse>
 
+    /** Looks up media the server already stores with the given content hash (404 if none). */
+    @GET(ApiConstants.MEDIA_BY_HASH)
+    suspend fun findByHash(
+        @Path("sha256") sha256: String,
+    ): NetworkResponse<MediaUploadResponse>
+
+    /**
+     * Downloads a media URL returned by the backend. URLs off the API host
+     * (CDNs) are fetched without the Authorization header.
+     */
+    @Priority(RequestPriority.VisiblePrefetch)
+    @Streaming
+    @GET
+    suspend fun download(
+        @Url url: String,
+    ): Response<ResponseBody>
+
+    // ── Chunked upload ──
+
+    @Priority(RequestPriority.Background)
+    @POST(ApiConstants.MEDIA_UPLOADS)
+    suspend fun createUpload(
+        @Body request: CreateUploadRequest,
+    ): NetworkResponse<UploadSessionResponse>
+
+    @Priority(RequestPriority.Background)
+    @GET(ApiConstants.MEDIA_UPLOAD_BY_ID)
+    suspend fun getUpload(
+        @Path("upload_id") uploadId: String,
+    ): NetworkResponse<UploadSessionResponse>
+
+    @Priority(RequestPriority.Background)
+    @PUT(ApiConstants.MEDIA_UPLOAD_PART)
+    suspend fun uploadPart(
+        @Path("upload_id") uploadId: String,
+        @Path("part_number") partNumber: Int,
+        @Header(HEADER_PART_CHECKSUM) checksum: String,
+        @Body body: RequestBody,
+    ): NetworkResponse<UploadedPart>
+
+    @Priority(RequestPriority.Background)
+    @POST(ApiConstants.MEDIA_UPLOAD_COMPLETE)
+    suspend fun completeUpload(
+        @Path("upload_id") uploadId: String,
+        @Body request: CompleteUploadRequest,
+    ): NetworkResponse<MediaUploadResponse>
+
+    @Priority(RequestPriority.Background)
     @GET(ApiConstants.MEDIA_HEALTH)
     suspend fun health(): NetworkResponse<HealthResponse>
+
+    companion object {
+        /** Hex SHA-256 of a part body, verified by the server before it is stored. */
+        const val HEADER_PART_CHECKSUM = "X-Part-Checksum-SHA256"
+    }
 }
@@ -0,0 +1,214 @@
+package com.application.echo.core.api.media
+
+import android.content.Context
+import com.application.echo.core.database.dao.MediaBlobDao
+import com.application.echo.core.database.entity.MediaBlobEntity
+import dagger.hilt.android.qualifiers.ApplicationContext
+import okio.BufferedSource
+import okio.ForwardingSource
+import okio.buffer
+import okio.source
+import timber.log.Timber
+import java.io.File
+import java.io.FileOutputStream
+import java.io.IOException
+import java.io.InputStream
+import java.security.DigestInputStream
+import java.util.UUID
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Content-addressed blob store backing [MediaCache].
+ *
+ * Every blob lives at `echo_media/<first 2 hex chars>/<sha256>` and is
+ * written exactly once, however many URLs point at it. Writes stream
+ * through a digest into a temp file that is renamed into place, so a
+ * blob is never visible half-written.
+ *
+ * The index in Room tracks size and last access. Once the total exceeds
+ * [MAX_BYTES], least recently used blobs are deleted down to [TRIM_TO_BYTES].
+ * Blobs opened through [open] are pinned until closed and never trimmed.
+ *
+ * All methods block and are safe to call from any thread.
+ */
+@Singleton
+internal class MediaBlobStore @Inject constructor(
+    @ApplicationContext context: Context,
+    private val dao: MediaBlobDao,
+) {
+
+    private val root = File(context.cacheDir, ROOT_DIR)
+    private val tempDir = File(root, TEMP_DIR)
+
+    /** Running total, lazily seeded from the index. */
+    private val totalBytes = AtomicLong(UNKNOWN)
+
+    /** Open readers per hash. Guarded by `this`, like [trim]. */
+    private val pins = HashMap<String, Int>()
+
+    /** Returns the blob stored for [url], or `null` on a miss. */
+    fun getByUrl(url: String): StoredBlob? = dao.getBlobForUrl(url)?.let(::resolve)
+
+    /** Returns the blob with [hash], or `null` on a miss. */
+    fun getByHash(hash: String): StoredBlob? = dao.getBlob(hash)?.let(::resolve)
+
+    /** Points [url] at an already-stored blob. */
+    fun link(url: String, hash: String): Boolean {
+        val blob = getByHash(hash) ?: return false
+        dao.insert(blob.entity, url)
+        return true
+    }
+
+    /**
+     * Streams [input] into the store and returns the blob.
+     *
+     * If a blob with the same hash exists the new bytes are discarded.
+     * Does not close [input].
+     */
+    fun put(input: InputStream, mimeType: String?, url: String?): StoredBlob {
+        tempDir.mkdirs()
+        val temp = File(tempDir, UUID.randomUUID().toString())
+        try {
+            val digestInput = DigestInputStream(input, Sha256.newDigest())
+            val size = FileOutputStream(temp).use { output -> digestInput.copyTo(output) }
+            val hash = Sha256.toHex(digestInput.messageDigest.digest())
+
+            // Concurrent puts of the same bytes race here; only the one that moves the file counts its size.
+            val target = fileFor(hash)
+            val existed = synchronized(this) {
+                target.exists().also { exists ->
+                    if (!exists) {
+                        target.parentFile?.mkdirs()
+                        if (!temp.renameTo(target)) throw IOException("Unable to move blob into place: $hash")
+                    }
+                }
+            }
+
+            val entity = MediaBlobEntity(
+                hash = hash,
+                size = size,
+                mimeType = mimeType,
+                lastAccessedAt = System.currentTimeMillis(),
+            )
+            dao.insert(entity, url)
+            if (!existed) onBytesAdded(size)
+            return StoredBlob(entity, target)
+        } finally {
+            temp.delete()
+        }
+    }
+
+    /**
+     * Opens [blob] for reading, or returns `null` if it was evicted in
+     * the meantime. The blob stays pinned — safe from [trim] — until the
+     * returned source is closed.
+     */
+    fun open(blob: StoredBlob): BufferedSource? {
+        val hash = blob.hash
+        synchronized(this) { pins[hash] = (pins[hash] ?: 0) + 1 }
+        val source = try {
+            blob.file.takeIf(File::exists)?.source()
+        } catch (e: IOException) {
+            null
+        }
+        if (source == null) {
+            unpin(hash)
+            return null
+        }
+        val closed = AtomicBoolean()
+        return object : ForwardingSource(source) {
+            override fun close() {
+                try {
+                    super.close()
+                } finally {
+                    if (closed.compareAndSet(false, true)) unpin(hash)
+                }
+            }
+        }.buffer()
+    }
+
+    /** Copies [file] into the store, e.g. after uploading it. */
+    fun put(file: File, mimeType: String?, url: String?): StoredBlob =
+        file.inputStream().use { put(it, mimeType, url) }
+
+    /** Deletes every blob. */
+    fun clear() {
+        dao.deleteAll()
+        root.deleteRecursively()
+        totalBytes.set(0)
+    }
+
+    // ──────────────── Internal ────────────────
+
+    /**
+     * Maps an index row to its file, bumping its LRU position.
+     * Rows whose file was removed (e.g. the system cleared the cache) are dropped.
+     */
+    private fun resolve(entity: MediaBlobEntity): StoredBlob? {
+        val file = fileFor(entity.hash)
+        if (!file.exists()) {
+            dao.deleteBlobs(listOf(entity.hash))
+            totalBytes.set(UNKNOWN)
+            return null
+        }
+        dao.touch(entity.hash, System.currentTimeMillis())
+        return StoredBlob(entity, file)
+    }
+
+    @Synchronized
+    private fun unpin(hash: String) {
+        val count = pins[hash] ?: return
+        if (count <= 1) pins.remove(hash) else pins[hash] = count - 1
+    }
+
+    private fun onBytesAdded(size: Long) {
+        totalBytes.compareAndSet(UNKNOWN, dao.totalSize() - size)
+        if (totalBytes.addAndGet(size) > MAX_BYTES) trim()
+    }
+
+    @Synchronized
+    private fun trim() {
+        var total = dao.totalSize()
+        var skipped = 0
+        while (total > TRIM_TO_BYTES) {
+            val batch = dao.getLeastRecentlyUsed(EVICTION_BATCH, offset = skipped)
+            if (batch.isEmpty()) break
+            val (pinned, victims) = batch.partition { it.hash in pins }
+            skipped += pinned.size
+            victims.forEach { fileFor(it.hash).delete() }
+            dao.deleteBlobs(victims.map(MediaBlobEntity::hash))
+            total -= victims.sumOf(MediaBlobEntity::size)
+        }
+        totalBytes.set(total.coerceAtLeast(0))
+        Timber.tag(TAG).d("Trimmed media cache to %d bytes", total)
+    }
+
+    private fun fileFor(hash: String): File = File(root, "${hash.take(2)}/$hash")
+
+    private companion object {
+        const val TAG = "MediaBlobStore"
+        const val ROOT_DIR = "echo_media"
+        const val TEMP_DIR = "tmp"
+        const val UNKNOWN = -1L
+
+        const val MAX_BYTES = 256L * 1024 * 1024
+
+        /** Trimming below the limit avoids evicting on every insert once full. */
+        const val TRIM_TO_BYTES = MAX_BYTES * 9 / 10
+
+        const val EVICTION_BATCH = 32
+    }
+}
+
+/**
+ * A blob held by [MediaBlobStore].
+ */
+internal class StoredBlob(
+    val entity: MediaBlobEntity,
+    val file: File,
+) {
+    val hash: String get() = entity.hash
+}
@@ -0,0 +1,40 @@
+package com.application.echo.core.api.media
+
+import com.application.echo.core.network.result.ApiResult
+import okhttp3.Interceptor
+import java.io.File
+
+/**
+ * Local, content-addressed cache of media referenced by the backend.
+ *
+ * Blobs are keyed by SHA-256, so an image forwarded to ten chats — ten
+ * different URLs — is stored and downloaded once. Media this device
+ * uploaded is cached immediately and never downloaded at all.
+ *
+ * The Echo HTTP clients already route media GETs through the cache.
+ * Image loaders with their own OkHttp client use it by installing
+ * [interceptor]:
+ *
+ * ```kotlin
+ * ImageLoader.Builder(context)
+ *     .okHttpClient { OkHttpClient.Builder().addInterceptor(mediaCache.interceptor).build() }
+ *     .build()
+ * ```
+ */
+interface MediaCache {
+
+    /** Returns the local copy of [url], or `null` if it is not cached. */
+    suspend fun get(url: String): File?
+
+    /** Returns the local copy of [url], downloading and caching it on a miss. */
+    suspend fun fetch(url: String): ApiResult<File>
+
+    /**
+     * OkHttp interceptor that answers GETs for cached URLs from disk and
+     * caches successful media responses on the way through.
+     */
+    val interceptor: Interceptor
+
+    /** Deletes every cached blob. */
+    suspend fun clear()
+}
@@ -0,0 +1,47 @@
+package com.application.echo.core.api.media
+
+import com.application.echo.core.network.result.ApiResult
+import com.application.echo.core.network.util.toNetworkException
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
+import okhttp3.Interceptor
+import retrofit2.HttpException
+import java.io.File
+import javax.inject.Inject
+
+/**
+ * Default [MediaCache] backed by [MediaBlobStore].
+ */
+internal class MediaCacheImpl @Inject constructor(
+    private val api: MediaApiService,
+    private val store: MediaBlobStore,
+    cacheInterceptor: MediaCacheInterceptor,
+) : MediaCache {
+
+    override suspend fun get(url: String): File? = withContext(Dispatchers.IO) {
+        store.getByUrl(url)?.file
+    }
+
+    override suspend fun fetch(url: String): ApiResult<File> = withContext(Dispatchers.IO) {
+        store.getByUrl(url)?.let { return@withContext ApiResult.Success(it.file) }
+
+        try {
+            val response = api.download(url)
+            val body = response.body()
+            if (!response.isSuccessful || body == null) throw HttpException(response)
+            // The client's cache interceptor has usually stored it already.
+            val blob = body.use {
+                store.getByUrl(url) ?: store.put(it.byteStream(), it.contentType()?.toString(), url)
+            }
+            ApiResult.Success(blob.file)
+        } catch (e: Exception) {
+            ApiResult.Failure(e.toNetworkException())
+        }
+    }
+
+    override val interceptor: Interceptor = cacheInterceptor
+
+    override suspend fun clear() = withContext(Dispatchers.IO) {
+        store.clear()
+    }
+}
@@ -0,0 +1,88 @@
+package com.application.echo.core.api.media
+
+import okhttp3.Interceptor
+import okhttp3.MediaType.Companion.toMediaTypeOrNull
+import okhttp3.Protocol
+import okhttp3.Response
+import okhttp3.ResponseBody
+import okhttp3.ResponseBody.Companion.asResponseBody
+import java.io.IOException
+import javax.inject.Inject
+
+/**
+ * Answers GETs for cached media URLs from [MediaBlobStore] and caches
+ * successful media responses on the way through.
+ *
+ * Installed on the Echo HTTP clients, and exposed as [MediaCache.interceptor]
+ * for image loaders that build their own. Only image, video and audio
+ * bodies are stored, so API responses on the same client pass through.
+ */
+internal class MediaCacheInterceptor @Inject constructor(
+    private val store: MediaBlobStore,
+) : Interceptor {
+
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val request = chain.request()
+        if (request.method != "GET") return chain.proceed(request)
+
+        val url = request.url.toString()
+        store.getByUrl(url)?.toResponse(chain)?.let { return it }
+
+        val response = chain.proceed(request)
+        val body = response.body
+        if (!response.isSuccessful || body == null || !body.isCacheable()) return response
+
+        // Cache, then serve from disk so the loader reads the stored copy.
+        val blob = body.use { store.put(it.byteStream(), it.contentType()?.toString(), url) }
+        return blob.toResponse(chain, networkResponse = response)
+            ?: throw IOException("Media evicted before it could be read: $url")
+    }
+
+    // ──────────────── Internal ────────────────
+
+    /** Small media bodies, plus images of unknown length (chunked CDN responses). */
+    private fun ResponseBody.isCacheable(): Boolean {
+        val type = contentType()?.type ?: return false
+        if (type !in MEDIA_TYPES) return false
+        val length = contentLength()
+        return when {
+            length > MAX_INTERCEPTED_BYTES -> false
+            length >= 0 -> true
+            else -> type == "image"
+        }
+    }
+
+    /** Builds a response reading the pinned blob, or `null` if it is gone. */
+    private fun StoredBlob.toResponse(
+        chain: Interceptor.Chain,
+        networkResponse: Response? = null,
+    ): Response? {
+        val source = store.open(this) ?: return null
+        val mediaType = entity.mimeType?.toMediaTypeOrNull()
+        val builder = networkResponse?.newBuilder()
+            ?.removeHeader("Content-Length")
+            ?.removeHeader("Content-Encoding")
+            ?: Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .header(HEADER_CACHE, CACHE_HIT)
+        return builder
+            .body(source.asResponseBody(mediaType, entity.size))
+            .build()
+    }
+
+    private companion object {
+        const val HEADER_CACHE = "X-Echo-Media-Cache"
+        const val CACHE_HIT = "hit"
+
+        val MEDIA_TYPES = setOf("image", "video", "audio")
+
+        /**
+         * Larger responses (video) are passed through untouched so
+         * streaming playback is not delayed by caching.
+         */
+        const val MAX_INTERCEPTED_BYTES = 32L * 1024 * 1024
+    }
+}
@@ -23,3 +23,58 @@ data class MediaUploadResponse(
     @SerializedName("created_at")
     val createdAt: String? = null,
 )
+
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+//  Chunked Upload
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+
+/**
+ * Request body for `POST /media/uploads` — opens a chunked upload session.
+ */
+data class CreateUploadRequest(
+    @SerializedName("file_name")
+    val fileName: String,
+    @SerializedName("content_type")
+    val contentType: String,
+    @SerializedName("size")
+    val size: Long,
+    @SerializedName("part_size")
+    val partSize: Long,
+)
+
+/**
+ * Response `data` for `POST /media/uploads` and `GET /media/uploads/{upload_id}`.
+ *
+ * @property uploadedParts Parts the server already holds — used to resume.
+ */
+data class UploadSessionResponse(
+    @SerializedName("upload_id")
+    val uploadId: String,
+    @SerializedName("part_size")
+    val partSize: Long? = null,
+    @SerializedName("uploaded_parts")
+    val uploadedParts: List<UploadedPart>? = null,
+)
+
+/**
+ * A stored part of a chunked upload. Response `data` for
+ * `PUT /media/uploads/{upload_id}/parts/{part_number}`.
+ *
+ * @property checksum Hex SHA-256 of the part as computed by the server.
+ */
+data class UploadedPart(
+    @SerializedName("part_number")
+    val partNumber: Int,
+    @SerializedName("checksum")
+    val checksum: String,
+    @SerializedName("size")
+    val size: Long? = null,
+)
+
+/**
+ * Request body for `POST /media/uploads/{upload_id}/complete`.
+ */
+data class CompleteUploadRequest(
+    @SerializedName("parts")
+    val parts: List<UploadedPart>,
+)
@@ -2,25 +2,87 @@ package com.application.echo.core.api.media
 
 import android.content.ContentResolver
 import android.content.Context
+import android.content.res.AssetFileDescriptor
 import android.net.Uri
 import android.provider.OpenableColumns
 import android.webkit.MimeTypeMap
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
 import java.io.File
+import java.io.FileNotFoundException
 import java.io.FileOutputStream
+import java.util.UUID
 
 /**
- * Helper for converting Android [Uri] to [File] for media uploads.
+ * Helper for turning an Android [Uri] into something uploadable.
+ *
+ * Prefer [prepareStreamingUpload], which reads straight from the
+ * [ContentResolver] while the request is sent:
  *
  * ```kotlin
- * val (file, mimeType) = MediaHelper.prepareUpload(context, imageUri)
- * mediaRepo.uploadProfilePhoto(file, mimeType)
+ * val source = MediaHelper.prepareStreamingUpload(context, imageUri, UploadTransform.PHOTO_MESSAGE)
+ * mediaRepo.uploadMedia(source)
  * ```
+ *
+ * [prepareUpload] still copies into a temp [File] for callers that need one.
+ * Temp copies live in their own directory under the cache and are deleted
+ * once the upload is done with them; [sweepStaleTempFiles] removes the ones
+ * left behind by process death.
  */
 object MediaHelper {
 
+    /**
+     * Prepares [uri] for a streaming upload.
+     *
+     * Sources that can be reopened (files and regular content providers)
+     * are streamed without any copy. Only one-shot sources — where the
+     * provider cannot hand out a file descriptor — are copied to a temp
+     * file first, which [MediaApiRepository] deletes after the upload.
+     * Image bounds needed by [transform] are probed here too, so every
+     * read of the content happens on [Dispatchers.IO].
+     *
+     * @param transform Optional re-encoding applied while streaming.
+     * @throws IllegalArgumentException if the URI cannot be opened.
+     */
+    suspend fun prepareStreamingUpload(
+        context: Context,
+        uri: Uri,
+        transform: UploadTransform = UploadTransform.NONE,
+    ): UploadSource = withContext(Dispatchers.IO) {
+        val contentResolver = context.applicationContext.contentResolver
+
+        val mimeType = contentResolver.getType(uri) ?: FALLBACK_MIME_TYPE
+        val fileName = getFileName(contentResolver, uri) ?: generateFileName(mimeType)
+
+        val length = reopenableLength(contentResolver, uri)
+        val tempFile = if (length == null) copyToTempFile(context, uri, fileName) else null
+        val sourceUri = tempFile?.let(Uri::fromFile) ?: uri
+        val imageBounds = if (transform.maxImageDimension != null) {
+            UploadSource.probeImageBounds(contentResolver, sourceUri, mimeType)
+        } else {
+            null
+        }
+
+        UploadSource(
+            contentResolver = contentResolver,
+            uri = sourceUri,
+            mimeType = mimeType,
+            fileName = fileName,
+            contentLength = length ?: tempFile?.length() ?: -1L,
+            transform = transform,
+            imageBounds = imageBounds,
+            tempDir = tempFile?.parentFile,
+        )
+    }
+
     /**
      * Copies the content at [uri] into a temporary [File] in the app's cache directory.
      *
+     * Each call gets its own directory, so concurrent uploads of files with
+     * the same name never overwrite each other. Blocking. Call
+     * [PreparedFile.delete] once the upload no longer needs the file;
+     * uploads enqueued on [MediaUploadManager] delete it themselves.
+     *
      * @return a [PreparedFile] with the temp file and its MIME type.
      * @throws IllegalArgumentException if the URI cannot be opened.
      */
@@ -30,18 +92,8 @@ object MediaHelper {
         val mimeType = contentResolver.getType(uri) ?: FALLBACK_MIME_TYPE
         val fileName = getFileName(contentResolver, uri) ?: generateFileName(mimeType)
 
-        val tempFile = File(context.cacheDir, "$UPLOAD_DIR/$fileName").apply {
-            parentFile?.mkdirs()
-        }
-
-        contentResolver.openInputStream(uri)?.use { input ->
-            FileOutputStream(tempFile).use { output ->
-                input.copyTo(output)
-            }
-        } ?: throw IllegalArgumentException("Unable to open URI: $uri")
-
         return PreparedFile(
-            file = tempFile,
+            file = copyToTempFile(context, uri, fileName),
             mimeType = mimeType,
             originalFileName = fileName,
         )
@@ -63,8 +115,78 @@ object MediaHelper {
         }
     }
 
+    /**
+     * Deletes temp copies older than [maxAgeMs] — what is left of uploads
+     * abandoned by process death. Copies behind [keep] (e.g. uploads still
+     * queued on [MediaUploadManager]) survive regardless of age. Blocking.
+     */
+    fun sweepStaleTempFiles(
+        context: Context,
+        maxAgeMs: Long = STALE_TEMP_AGE_MS,
+        keep: Collection<Uri> = emptyList(),
+    ) {
+        val keepDirs = keep.mapNotNullTo(HashSet()) { uploadDirOf(context, it) }
+        val cutoff = System.currentTimeMillis() - maxAgeMs
+        File(context.cacheDir, UPLOAD_DIR).listFiles()?.forEach { dir ->
+            if (dir !in keepDirs && dir.lastModified() < cutoff) dir.deleteRecursively()
+        }
+    }
+
+    /**
+     * Deletes the temp copy behind [uri] if this helper made one.
+     * Any other URI is left untouched. Blocking.
+     */
+    internal fun releaseTempCopy(context: Context, uri: Uri) {
+        uploadDirOf(context, uri)?.deleteRecursively()
+    }
+
     // ──────────────── Internal ────────────────
 
+    /**
+     * Returns the exact length of [uri] if it can be opened repeatedly,
+     * or `null` if it has to be copied. A provider that hands out a file
+     * descriptor with a known length can be reopened for every attempt.
+     */
+    private fun reopenableLength(contentResolver: ContentResolver, uri: Uri): Long? = try {
+        contentResolver.openAssetFileDescriptor(uri, "r")?.use { descriptor ->
+            descriptor.length.takeIf { it != AssetFileDescriptor.UNKNOWN_LENGTH }
+                ?: descriptor.parcelFileDescriptor.statSize.takeIf { it >= 0 }
+        }
+    } catch (e: FileNotFoundException) {
+        null
+    }
+
+    /** The per-upload directory holding [uri], or `null` if [uri] is not one of our temp copies. */
+    private fun uploadDirOf(context: Context, uri: Uri): File? {
+        if (uri.scheme != ContentResolver.SCHEME_FILE) return null
+        val dir = uploadDirOf(File(uri.path ?: return null)) ?: return null
+        val root = File(context.cacheDir, UPLOAD_DIR)
+        return dir.takeIf { it.parentFile?.absolutePath == root.absolutePath }
+    }
+
+    /**
+     * The `echo_uploads/<UUID>` directory holding [file], or `null` if
+     * [file] does not sit in one of the directories [copyToTempFile] creates.
+     */
+    internal fun uploadDirOf(file: File): File? {
+        val dir = file.parentFile ?: return null
+        if (dir.parentFile?.name != UPLOAD_DIR) return null
+        return dir.takeIf { runCatching { UUID.fromString(it.name) }.isSuccess }
+    }
+
+    private fun copyToTempFile(context: Context, uri: Uri, fileName: String): File {
+        val tempFile = File(context.cacheDir, "$UPLOAD_DIR/${UUID.randomUUID()}/$fileName").apply {
+            parentFile?.mkdirs()
+        }
+
+        context.contentResolver.openInputStream(uri)?.use { input ->
+            FileOutputStream(tempFile).use { output ->
+                input.copyTo(output)
+            }
+        } ?: throw IllegalArgumentException("Unable to open URI: $uri")
+        return tempFile
+    }
+
     private fun getFileName(contentResolver: ContentResolver, uri: Uri): String? {
         if (uri.scheme == ContentResolver.SCHEME_CONTENT) {
             contentResolver.query(uri, null, null, null, null)?.use { cursor ->
@@ -84,6 +206,9 @@ object MediaHelper {
     }
 
     private const val UPLOAD_DIR = "echo_uploads"
+
+    /** Longer than any upload should take, including ones waiting for an unmetered network. */
+    private const val STALE_TEMP_AGE_MS = 24L * 60 * 60 * 1000
     private const val FALLBACK_MIME_TYPE = "application/octet-stream"
 }
 
@@ -98,4 +223,13 @@ data class PreparedFile(
     val file: File,
     val mimeType: String,
     val originalFileName: String,
-)
+) {
+    /**
+     * Deletes [file] and, if [MediaHelper.prepareUpload] created one for
+     * it, its per-upload directory. Nothing else next to [file] is touched.
+     */
+    fun delete() {
+        val uploadDir = MediaHelper.uploadDirOf(file)
+        if (uploadDir != null) uploadDir.deleteRecursively() else file.delete()
+    }
+}
@@ -0,0 +1,104 @@
+package com.application.echo.core.api.media
+
+import android.net.Uri
+import kotlinx.coroutines.flow.Flow
+import java.io.File
+
+/**
+ * Resumable, chunked media uploads that run in the background.
+ *
+ * Unlike [MediaApiRepository.uploadMedia], which sends the whole file in
+ * one request, uploads enqueued here are split into parts, persisted and
+ * executed by WorkManager. A dropped connection or a killed process only
+ * costs the parts that were in flight.
+ *
+ * ```kotlin
+ * val uploadId = uploadManager.enqueue(file, "video/mp4")
+ * uploadManager.observe(uploadId).collect { progress ->
+ *     showProgress(progress.fraction)
+ *     progress.result?.let { sendMessage(it.url) }
+ * }
+ * ```
+ */
+interface MediaUploadManager {
+
+    /**
+     * Enqueues [file] for upload.
+     *
+     * The file must stay in place until the upload completes. A temp copy
+     * from [MediaHelper.prepareUpload] is deleted once the upload completes,
+     * fails or is cancelled.
+     *
+     * @param unmeteredOnly Defer the upload until an unmetered network is available.
+     * @return the local upload ID.
+     */
+    suspend fun enqueue(
+        file: File,
+        mimeType: String,
+        unmeteredOnly: Boolean = false,
+    ): String
+
+    /**
+     * Enqueues the content at [uri] for upload without copying it.
+     *
+     * [uri] must stay readable across process restarts — e.g. a `file://`
+     * URI or a `content://` URI with a persisted read permission.
+     *
+     * @param size Exact content length in bytes.
+     * @return the local upload ID.
+     */
+    suspend fun enqueue(
+        uri: Uri,
+        fileName: String,
+        mimeType: String,
+        size: Long,
+        unmeteredOnly: Boolean = false,
+    ): String
+
+    /** Observes progress of [uploadId]. Emits `null` if the upload is unknown. */
+    fun observe(uploadId: String): Flow<MediaUploadProgress?>
+
+    /** Stops [uploadId] and forgets it. */
+    suspend fun cancel(uploadId: String)
+
+    /**
+     * Re-enqueues unfinished uploads whose work is no longer scheduled
+     * (e.g. after app data was restored) and deletes stale temp copies
+     * left by abandoned uploads. Safe to call on every start.
+     */
+    suspend fun resumePending()
+}
+
+/**
+ * Snapshot of a [MediaUploadManager] upload.
+ *
+ * @property uploadedBytes Bytes in parts the server has acknowledged.
+ * @property result Server response once [status] is [MediaUploadStatus.Completed].
+ * @property error Failure reason once [status] is [MediaUploadStatus.Failed].
+ */
+data class MediaUploadProgress(
+    val uploadId: String,
+    val uploadedBytes: Long,
+    val totalBytes: Long,
+    val status: MediaUploadStatus,
+    val result: MediaUploadResponse? = null,
+    val error: String? = null,
+) {
+    /** Completion in `0f..1f`. */
+    val fraction: Float
+        get() = if (totalBytes <= 0) {
+            if (status == MediaUploadStatus.Completed) 1f else 0f
+        } else {
+            (uploadedBytes.toFloat() / totalBytes).coerceIn(0f, 1f)
+        }
+}
+
+/**
+ * Lifecycle of a [MediaUploadManager] upload.
+ */
+enum class MediaUploadStatus {
+    Pending,
+    Uploading,
+    Completed,
+    Failed,
+}
@@ -0,0 +1,147 @@
+package com.application.echo.core.api.media
+
+import android.content.Context
+import android.net.Uri
+import androidx.work.BackoffPolicy
+import androidx.work.Constraints
+import androidx.work.ExistingWorkPolicy
+import androidx.work.NetworkType
+import androidx.work.OneTimeWorkRequestBuilder
+import androidx.work.WorkManager
+import com.application.echo.core.database.dao.MediaUploadDao
+import com.application.echo.core.database.entity.MediaUploadEntity
+import com.application.echo.core.database.entity.MediaUploadProgressRow
+import com.application.echo.core.database.entity.MediaUploadState
+import com.google.gson.Gson
+import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.withContext
+import java.io.File
+import java.util.UUID
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+
+/**
+ * Default [MediaUploadManager] — persists each upload in Room and hands
+ * it to [MediaUploadWorker]. Progress is read back from the same table,
+ * so it survives restarts and is identical for every observer.
+ */
+internal class MediaUploadManagerImpl @Inject constructor(
+    @ApplicationContext private val context: Context,
+    private val dao: MediaUploadDao,
+    private val uploader: ChunkedUploader,
+    private val gson: Gson,
+) : MediaUploadManager {
+
+    private val workManager: WorkManager get() = WorkManager.getInstance(context)
+
+    override suspend fun enqueue(
+        file: File,
+        mimeType: String,
+        unmeteredOnly: Boolean,
+    ): String = enqueue(
+        uri = Uri.fromFile(file),
+        fileName = file.name,
+        mimeType = mimeType,
+        size = file.length(),
+        unmeteredOnly = unmeteredOnly,
+    )
+
+    override suspend fun enqueue(
+        uri: Uri,
+        fileName: String,
+        mimeType: String,
+        size: Long,
+        unmeteredOnly: Boolean,
+    ): String {
+        val now = System.currentTimeMillis()
+        val upload = MediaUploadEntity(
+            id = UUID.randomUUID().toString(),
+            sourceUri = uri.toString(),
+            fileName = fileName,
+            mimeType = mimeType,
+            size = size,
+            partSize = PART_SIZE,
+            remoteId = null,
+            state = MediaUploadState.PENDING,
+            resultJson = null,
+            error = null,
+            createdAt = now,
+            updatedAt = now,
+        )
+        dao.upsert(upload)
+        schedule(upload.id, unmeteredOnly, ExistingWorkPolicy.REPLACE)
+        return upload.id
+    }
+
+    override fun observe(uploadId: String): Flow<MediaUploadProgress?> =
+        dao.observeProgress(uploadId)
+            .distinctUntilChanged()
+            .map { row -> row?.toProgress() }
+
+    override suspend fun cancel(uploadId: String) {
+        workManager.cancelUniqueWork(MediaUploadWorker.uniqueWorkName(uploadId))
+        // A worker still mid-write finds the row gone and stops without recreating it.
+        val upload = dao.get(uploadId)
+        dao.delete(uploadId)
+        upload?.let { uploader.releaseSource(it) }
+    }
+
+    override suspend fun resumePending() {
+        dao.deleteFinishedBefore(System.currentTimeMillis() - FINISHED_RETENTION_MS)
+        val unfinished = dao.getUnfinished()
+        unfinished.forEach { upload ->
+            schedule(upload.id, unmeteredOnly = false, policy = ExistingWorkPolicy.KEEP)
+        }
+        withContext(Dispatchers.IO) {
+            MediaHelper.sweepStaleTempFiles(context, keep = unfinished.map { Uri.parse(it.sourceUri) })
+        }
+    }
+
+    // ──────────────── Internal ────────────────
+
+    private fun schedule(uploadId: String, unmeteredOnly: Boolean, policy: ExistingWorkPolicy) {
+        val request = OneTimeWorkRequestBuilder<MediaUploadWorker>()
+            .setInputData(MediaUploadWorker.inputData(uploadId))
+            .setConstraints(
+                Constraints.Builder()
+                    .setRequiredNetworkType(if (unmeteredOnly) NetworkType.UNMETERED else NetworkType.CONNECTED)
+                    .build(),
+            )
+            .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_DELAY_SECONDS, TimeUnit.SECONDS)
+            .addTag(WORK_TAG)
+            .build()
+        workManager.enqueueUniqueWork(MediaUploadWorker.uniqueWorkName(uploadId), policy, request)
+    }
+
+    private fun MediaUploadProgressRow.toProgress() = MediaUploadProgress(
+        uploadId = id,
+        uploadedBytes = uploadedBytes,
+        totalBytes = size,
+        status = when (state) {
+            MediaUploadState.UPLOADING -> MediaUploadStatus.Uploading
+            MediaUploadState.COMPLETED -> MediaUploadStatus.Completed
+            MediaUploadState.FAILED -> MediaUploadStatus.Failed
+            else -> MediaUploadStatus.Pending
+        },
+        result = resultJson?.let { gson.fromJson(it, MediaUploadResponse::class.java) },
+        error = error,
+    )
+
+    private companion object {
+        /**
+         * 4 MiB parts: small enough that a drop on cellular loses little,
+         * large enough that per-request overhead stays negligible.
+         */
+        const val PART_SIZE = 4L * 1024 * 1024
+
+        const val BACKOFF_DELAY_SECONDS = 10L
+        const val WORK_TAG = "media-upload"
+
+        /** Finished uploads are kept a day so late observers still see the result. */
+        const val FINISHED_RETENTION_MS = 24L * 60 * 60 * 1000
+    }
+}
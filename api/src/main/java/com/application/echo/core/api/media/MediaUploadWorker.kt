@@ -0,0 +1,60 @@
+package com.application.echo.core.api.media
+
+import android.content.Context
+import androidx.hilt.work.HiltWorker
+import androidx.work.CoroutineWorker
+import androidx.work.WorkerParameters
+import androidx.work.workDataOf
+import com.application.echo.core.api.extension.isRetryable
+import com.application.echo.core.network.result.ApiResult
+import dagger.assisted.Assisted
+import dagger.assisted.AssistedInject
+import timber.log.Timber
+
+/**
+ * Runs a [ChunkedUploader] upload under WorkManager, so uploads continue
+ * in the background and resume after process death or reboot.
+ *
+ * Transient failures return [Result.retry] and WorkManager reschedules the
+ * worker with backoff once the network constraint is met again. Parts the
+ * server already stored are never sent twice.
+ */
+@HiltWorker
+internal class MediaUploadWorker @AssistedInject constructor(
+    @Assisted context: Context,
+    @Assisted params: WorkerParameters,
+    private val uploader: ChunkedUploader,
+) : CoroutineWorker(context, params) {
+
+    override suspend fun doWork(): Result {
+        val uploadId = inputData.getString(KEY_UPLOAD_ID) ?: return Result.failure()
+
+        return when (val result = uploader.run(uploadId)) {
+            is ApiResult.Success -> Result.success()
+
+            is ApiResult.Failure -> {
+                val exception = result.exception
+                if (exception.isRetryable() && runAttemptCount < MAX_ATTEMPTS) {
+                    Timber.tag(TAG).d("Upload %s interrupted (attempt %d), will resume", uploadId, runAttemptCount)
+                    Result.retry()
+                } else {
+                    Timber.tag(TAG).w(exception.throwable, "Upload %s failed", uploadId)
+                    uploader.markFailed(uploadId, exception)
+                    Result.failure()
+                }
+            }
+        }
+    }
+
+    companion object {
+        private const val TAG = "MediaUploadWorker"
+        private const val KEY_UPLOAD_ID = "upload_id"
+
+        /** Generous, because every attempt makes progress on the remaining parts. */
+        private const val MAX_ATTEMPTS = 20
+
+        fun inputData(uploadId: String) = workDataOf(KEY_UPLOAD_ID to uploadId)
+
+        fun uniqueWorkName(uploadId: String) = "media-upload-$uploadId"
+    }
+}
@@ -0,0 +1,39 @@
+package com.application.echo.core.api.media
+
+import java.io.InputStream
+import java.security.MessageDigest
+
+/**
+ * SHA-256 helpers shared by the upload engine and the media cache.
+ * Hashes are lower-case hex, the form the backend expects.
+ */
+internal object Sha256 {
+
+    fun newDigest(): MessageDigest = MessageDigest.getInstance("SHA-256")
+
+    fun hex(bytes: ByteArray): String = toHex(newDigest().digest(bytes))
+
+    /** Hashes [input] to the end without buffering it in memory. Does not close it. */
+    fun hex(input: InputStream): String {
+        val digest = newDigest()
+        val buffer = ByteArray(BUFFER_SIZE)
+        while (true) {
+            val read = input.read(buffer)
+            if (read < 0) break
+            digest.update(buffer, 0, read)
+        }
+        return toHex(digest.digest())
+    }
+
+    fun toHex(digest: ByteArray): String {
+        val hex = StringBuilder(digest.size * 2)
+        for (byte in digest) {
+            val value = byte.toInt() and 0xFF
+            hex.append(HEX[value ushr 4]).append(HEX[value and 0x0F])
+        }
+        return hex.toString()
+    }
+
+    private const val HEX = "0123456789abcdef"
+    private const val BUFFER_SIZE = 64 * 1024
+}
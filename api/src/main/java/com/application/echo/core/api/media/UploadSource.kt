@@ -0,0 +1,212 @@
+package com.application.echo.core.api.media
+
+import android.content.ContentResolver
+import android.graphics.Bitmap
+import android.graphics.BitmapFactory
+import android.graphics.Matrix
+import android.media.ExifInterface
+import android.net.Uri
+import android.os.Build
+import okhttp3.MediaType
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.RequestBody
+import okio.BufferedSink
+import okio.source
+import java.io.File
+import java.io.IOException
+import java.io.InputStream
+import kotlin.math.max
+import kotlin.math.roundToInt
+
+/**
+ * Client-side re-encoding applied while an [UploadSource] is streamed.
+ *
+ * @property maxImageDimension Longest edge, in pixels, that images are
+ *   downscaled to. `null` uploads images untouched.
+ * @property imageQuality JPEG / WebP quality (0–100) used when an image is re-encoded.
+ */
+data class UploadTransform(
+    val maxImageDimension: Int? = null,
+    val imageQuality: Int = DEFAULT_IMAGE_QUALITY,
+) {
+    companion object {
+        const val DEFAULT_IMAGE_QUALITY = 85
+
+        /** Upload bytes exactly as stored. */
+        val NONE = UploadTransform()
+
+        /** Sensible default for photos sent in a chat. */
+        val PHOTO_MESSAGE = UploadTransform(maxImageDimension = 2048)
+    }
+}
+
+/**
+ * Media content that is streamed straight from the [ContentResolver] into
+ * an HTTP request body — no intermediate copy on disk.
+ *
+ * The content is reopened on every [RequestBody.writeTo], so OkHttp can
+ * retry the request. When a [UploadTransform] applies, decoding,
+ * downscaling and re-encoding happen inside the same write, and the body
+ * is sent with chunked transfer encoding.
+ *
+ * Create instances through [MediaHelper.prepareStreamingUpload].
+ *
+ * @property contentLength Exact size in bytes, or `-1` when unknown
+ *   (e.g. the content is re-encoded on the fly).
+ * @param imageBounds Decoded width and height, probed by [MediaHelper] on the
+ *   IO dispatcher rather than on whichever thread first asks.
+ * @param tempDir Directory of the temp copy backing [uri], if one was made.
+ */
+class UploadSource internal constructor(
+    private val contentResolver: ContentResolver,
+    val uri: Uri,
+    val mimeType: String,
+    val fileName: String,
+    val contentLength: Long,
+    private val transform: UploadTransform,
+    private val imageBounds: Pair<Int, Int>?,
+    private val tempDir: File?,
+) {
+
+    /** `true` if bytes are re-encoded rather than sent as stored. */
+    val isTransformed: Boolean get() = targetImageSize() != null
+
+    /** MIME type of the bytes actually sent. */
+    val uploadMimeType: String
+        get() = if (isTransformed) reencodeFormat().first else mimeType
+
+    /** File name matching [uploadMimeType]. */
+    val uploadFileName: String
+        get() {
+            if (!isTransformed || uploadMimeType == mimeType) return fileName
+            val extension = if (uploadMimeType == MIME_PNG) "png" else "jpg"
+            return fileName.substringBeforeLast('.') + ".$extension"
+        }
+
+    /** Length of the bytes actually sent, or `-1` if unknown up front. */
+    val uploadContentLength: Long
+        get() = if (isTransformed) -1L else contentLength
+
+    /** Builds a repeatable [RequestBody] that streams this source. */
+    fun toRequestBody(): RequestBody = object : RequestBody() {
+        override fun contentType(): MediaType = uploadMimeType.toMediaType()
+
+        override fun contentLength(): Long = uploadContentLength
+
+        override fun writeTo(sink: BufferedSink) {
+            val target = targetImageSize()
+            if (target == null) {
+                open().source().use { source -> sink.writeAll(source) }
+            } else {
+                writeReencodedImage(sink, target)
+            }
+        }
+    }
+
+    /**
+     * Deletes the temp copy behind this source, if there is one. The
+     * source cannot be uploaded again afterwards. Blocking.
+     */
+    fun release() {
+        tempDir?.deleteRecursively()
+    }
+
+    // ──────────────── Images ────────────────
+
+    /** Output size if the image must be downscaled, otherwise `null`. */
+    private fun targetImageSize(): Pair<Int, Int>? {
+        val maxDimension = transform.maxImageDimension ?: return null
+        val (width, height) = imageBounds ?: return null
+        val longest = max(width, height)
+        if (longest <= maxDimension) return null
+
+        val scale = maxDimension.toFloat() / longest
+        val targetWidth = (width * scale).roundToInt().coerceAtLeast(1)
+        val targetHeight = (height * scale).roundToInt().coerceAtLeast(1)
+        return targetWidth to targetHeight
+    }
+
+    private fun writeReencodedImage(sink: BufferedSink, target: Pair<Int, Int>) {
+        val (width, height) = imageBounds ?: throw IOException("Not an image: $uri")
+        val (targetWidth, targetHeight) = target
+
+        // Power-of-two subsampling during decode keeps peak memory close to the output size.
+        var sampleSize = 1
+        while (width / (sampleSize * 2) >= targetWidth && height / (sampleSize * 2) >= targetHeight) {
+            sampleSize *= 2
+        }
+        val decodeOptions = BitmapFactory.Options().apply { inSampleSize = sampleSize }
+        val decoded = open().use { input -> BitmapFactory.decodeStream(input, null, decodeOptions) }
+            ?: throw IOException("Unable to decode $uri")
+
+        val matrix = Matrix().apply {
+            postScale(targetWidth.toFloat() / decoded.width, targetHeight.toFloat() / decoded.height)
+            postRotate(readRotationDegrees().toFloat())
+        }
+        val output = Bitmap.createBitmap(decoded, 0, 0, decoded.width, decoded.height, matrix, true)
+        if (output !== decoded) decoded.recycle()
+
+        try {
+            val (_, format) = reencodeFormat()
+            output.compress(format, transform.imageQuality, sink.outputStream())
+        } finally {
+            output.recycle()
+        }
+    }
+
+    /**
+     * Re-encoding drops EXIF, so orientation is baked into the pixels.
+     * Reading EXIF from a stream needs API 24; older devices keep the raw orientation.
+     */
+    private fun readRotationDegrees(): Int {
+        if (mimeType != MIME_JPEG || Build.VERSION.SDK_INT < Build.VERSION_CODES.N) return 0
+        val orientation = runCatching {
+            open().use { input ->
+                ExifInterface(input).getAttributeInt(
+                    ExifInterface.TAG_ORIENTATION,
+                    ExifInterface.ORIENTATION_NORMAL,
+                )
+            }
+        }.getOrDefault(ExifInterface.ORIENTATION_NORMAL)
+        return when (orientation) {
+            ExifInterface.ORIENTATION_ROTATE_90 -> 90
+            ExifInterface.ORIENTATION_ROTATE_180 -> 180
+            ExifInterface.ORIENTATION_ROTATE_270 -> 270
+            else -> 0
+        }
+    }
+
+    /** PNG keeps transparency; everything else becomes JPEG. */
+    private fun reencodeFormat(): Pair<String, Bitmap.CompressFormat> = when (mimeType) {
+        MIME_PNG -> MIME_PNG to Bitmap.CompressFormat.PNG
+        else -> MIME_JPEG to Bitmap.CompressFormat.JPEG
+    }
+
+    /** Opens the untransformed content. The caller closes the stream. */
+    internal fun openStream(): InputStream = open()
+
+    private fun open(): InputStream =
+        contentResolver.openInputStream(uri) ?: throw IOException("Unable to open URI: $uri")
+
+    internal companion object {
+        private const val MIME_JPEG = "image/jpeg"
+        private const val MIME_PNG = "image/png"
+
+        /** Animated GIFs and unknown formats are never re-encoded. */
+        private val REENCODABLE_IMAGE_TYPES =
+            setOf(MIME_JPEG, MIME_PNG, "image/webp", "image/heic", "image/heif")
+
+        /**
+         * Decodes just the bounds of the image at [uri], or `null` if it is
+         * not a re-encodable image. Costs a full open of the content; blocking.
+         */
+        fun probeImageBounds(contentResolver: ContentResolver, uri: Uri, mimeType: String): Pair<Int, Int>? {
+            if (mimeType !in REENCODABLE_IMAGE_TYPES) return null
+            val options = BitmapFactory.Options().apply { inJustDecodeBounds = true }
+            runCatching {
+                contentResolver.openInputStream(uri)?.use { BitmapFactory.decodeStream(it, null, options) }
+            }
+            return (options.outWidth to options.outHeight).takeIf { (w, h) -> w > 0 && h > 0 }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.application.echo.core.api.message
+
+/**
+ * Computes the row edits that turn one sorted conversation list into another.
+ *
+ * Conversations are matched by ID through hash lookups. Rows on the longest
+ * subsequence whose relative order is unchanged stay put; every other
+ * surviving row gets exactly one [ConversationListOp.Moved]. In the common
+ * case, where one conversation jumps to the top, that is a single op
+ * however long the list is.
+ */
+internal object ConversationListDiff {
+
+    /**
+     * @return the ops, or `null` if they could not be derived and the
+     *   caller should emit a snapshot instead.
+     */
+    fun between(
+        old: List<ConversationResponse>,
+        new: List<ConversationResponse>,
+    ): List<ConversationListOp>? {
+        val newIds = new.mapTo(HashSet(new.size * 2)) { it.id }
+        val ops = ArrayList<ConversationListOp>()
+        val working = old.mapTo(ArrayList(old.size)) { it.id }
+
+        // Removals, back to front, so each index is valid when it is applied.
+        for (index in working.indices.reversed()) {
+            val id = working[index]
+            if (id !in newIds) {
+                working.removeAt(index)
+                ops += ConversationListOp.Removed(index, id)
+            }
+        }
+
+        // Place everything off the stable subsequence right after its new predecessor.
+        val stable = stableIds(working, new)
+        val present = working.toHashSet()
+        new.forEachIndexed { index, conversation ->
+            val id = conversation.id
+            if (id in stable) return@forEachIndexed
+
+            val from = if (id in present) working.indexOf(id) else -1
+            if (from >= 0) working.removeAt(from)
+            val to = if (index == 0) 0 else working.indexOf(new[index - 1].id) + 1
+            working.add(to, id)
+            when {
+                from < 0 -> ops += ConversationListOp.Inserted(to, conversation)
+                from != to -> ops += ConversationListOp.Moved(from, to)
+            }
+        }
+        if (working.size != new.size || working.indices.any { working[it] != new[it].id }) return null
+
+        // Content changes last, against final positions.
+        val oldById = old.associateBy(ConversationResponse::id)
+        new.forEachIndexed { index, conversation ->
+            val before = oldById[conversation.id]
+            if (before != null && before != conversation) {
+                ops += ConversationListOp.Changed(index, conversation)
+            }
+        }
+        return ops
+    }
+
+    /**
+     * IDs on a longest subsequence that appears in the same relative order
+     * in [working] and [new] — patience sorting, `O(n log n)`.
+     */
+    private fun stableIds(working: List<String>, new: List<ConversationResponse>): Set<String> {
+        val position = HashMap<String, Int>(working.size * 2)
+        working.forEachIndexed { index, id -> position[id] = index }
+
+        val ids = ArrayList<String>(working.size)
+        val sequence = IntArray(working.size)
+        new.forEach { conversation ->
+            val at = position[conversation.id] ?: return@forEach
+            sequence[ids.size] = at
+            ids += conversation.id
+        }
+
+        val tails = IntArray(ids.size)
+        val previous = IntArray(ids.size)
+        var length = 0
+        for (k in ids.indices) {
+            var low = 0
+            var high = length
+            while (low < high) {
+                val mid = (low + high) ushr 1
+                if (sequence[tails[mid]] < sequence[k]) low = mid + 1 else high = mid
+            }
+            previous[k] = if (low > 0) tails[low - 1] else -1
+            tails[low] = k
+            if (low == length) length++
+        }
+
+        val stable = HashSet<String>(length * 2)
+        var k = if (length > 0) tails[length - 1] else -1
+        while (k >= 0) {
+            stable += ids[k]
+            k = previous[k]
+        }
+        return stable
+    }
+}
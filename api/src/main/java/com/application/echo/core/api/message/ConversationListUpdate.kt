@@ -0,0 +1,60 @@
+package com.application.echo.core.api.message
+
+/**
+ * Emission of [MessageStore.observeConversationUpdates].
+ */
+sealed interface ConversationListUpdate {
+
+    /** Full list, most recently active first — emitted once, when collection starts. */
+    data class Snapshot(val conversations: List<ConversationResponse>) : ConversationListUpdate
+
+    /**
+     * Edits to apply, in order. Each op's index refers to the list as left
+     * by the op before it, so they map 1:1 onto a `ListUpdateCallback`.
+     */
+    data class Changes(val ops: List<ConversationListOp>) : ConversationListUpdate
+}
+
+/**
+ * A single-row edit within [ConversationListUpdate.Changes].
+ */
+sealed interface ConversationListOp {
+
+    data class Inserted(val index: Int, val conversation: ConversationResponse) : ConversationListOp
+
+    data class Removed(val index: Int, val conversationId: String) : ConversationListOp
+
+    /** The row at [fromIndex] now sits at [toIndex] — e.g. it has new activity. */
+    data class Moved(val fromIndex: Int, val toIndex: Int) : ConversationListOp
+
+    /** The row at [index] has new content (last message, participants, …). */
+    data class Changed(val index: Int, val conversation: ConversationResponse) : ConversationListOp
+}
+
+/**
+ * Applies this update to [conversations], invoking [onOp] after each row edit.
+ * A [ConversationListUpdate.Snapshot] replaces the contents without calling [onOp].
+ */
+inline fun ConversationListUpdate.applyTo(
+    conversations: MutableList<ConversationResponse>,
+    onOp: (ConversationListOp) -> Unit = {},
+) {
+    when (this) {
+        is ConversationListUpdate.Snapshot -> {
+            conversations.clear()
+            conversations.addAll(this.conversations)
+        }
+
+        is ConversationListUpdate.Changes -> ops.forEach { op ->
+            when (op) {
+                is ConversationListOp.Inserted -> conversations.add(op.index, op.conversation)
+                is ConversationListOp.Removed -> conversations.removeAt(op.index)
+                is ConversationListOp.Moved -> {
+                    conversations.add(op.toIndex, conversations.removeAt(op.fromIndex))
+                }
+                is ConversationListOp.Changed -> conversations[op.index] = op.conversation
+            }
+            onOp(op)
+        }
+    }
+}
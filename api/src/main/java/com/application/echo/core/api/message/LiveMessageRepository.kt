@@ -0,0 +1,117 @@
+package com.application.echo.core.api.message
+
+import com.application.echo.core.network.result.ApiResult
+import com.application.echo.core.websocket.session.WebSocketSession
+import kotlinx.coroutines.flow.Flow
+
+/**
+ * One ordered, live view of each open conversation, fed by both REST and
+ * WebSocket pushes.
+ *
+ * Both sources are merged into the same in-memory timeline:
+ * - A message seen before — from either source — is dropped unless it is
+ *   a newer version, checked against a compact bounded seen-set.
+ * - Status updates (`sent` → `delivered` → `read`) are applied in place
+ *   and never move backwards, whatever order they arrive in.
+ * - Observers get a [MessageListUpdate.Snapshot] once, then only
+ *   [MessageListUpdate.Changes] describing the rows that changed.
+ *
+ * ```kotlin
+ * scope.launch { liveMessages.collectPushes(session) }
+ *
+ * val rows = mutableListOf<MessageResponse>()
+ * liveMessages.observe(conversationId).collect { update ->
+ *     update.applyTo(rows) { op -> adapter.notify(op) }
+ * }
+ * liveMessages.refresh(conversationId)
+ * ```
+ *
+ * Pushed messages are also written through to [MessageStore], so the
+ * offline copy stays current.
+ */
+interface LiveMessageRepository {
+
+    /**
+     * Observes [conversationId], ordered oldest → newest.
+     *
+     * Holds the newest messages only; older history is still paged via
+     * [MessageStore] or [messagePager].
+     */
+    fun observe(conversationId: String): Flow<MessageListUpdate>
+
+    /**
+     * Fetches the newest page of [conversationId] over REST and merges it in.
+     *
+     * @return the number of messages that were new or changed.
+     */
+    suspend fun refresh(conversationId: String): ApiResult<Int>
+
+    /**
+     * Merges message and status pushes from [session] until the caller's
+     * coroutine is cancelled.
+     */
+    suspend fun collectPushes(session: WebSocketSession)
+
+    /**
+     * Merges one raw push payload — for callers that route WebSocket
+     * messages themselves (e.g. through a `MessageHandlerRegistry`).
+     */
+    suspend fun onPush(payload: String)
+}
+
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+//  Updates
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+
+/**
+ * Emission of [LiveMessageRepository.observe].
+ */
+sealed interface MessageListUpdate {
+
+    /** Full contents — emitted once, when collection starts. */
+    data class Snapshot(val messages: List<MessageResponse>) : MessageListUpdate
+
+    /**
+     * Edits to apply, in order. Each op's index refers to the list as left
+     * by the op before it, so they map 1:1 onto `notifyItem*` calls.
+     */
+    data class Changes(val ops: List<MessageListOp>) : MessageListUpdate
+}
+
+/**
+ * A single-row edit within [MessageListUpdate.Changes].
+ */
+sealed interface MessageListOp {
+
+    data class Inserted(val index: Int, val message: MessageResponse) : MessageListOp
+
+    /** The row at [index] was updated in place — e.g. its status advanced. */
+    data class Changed(val index: Int, val message: MessageResponse) : MessageListOp
+
+    data class Removed(val index: Int, val messageId: String) : MessageListOp
+}
+
+/**
+ * Applies this update to [messages], invoking [onOp] after each row edit.
+ * A [MessageListUpdate.Snapshot] replaces the contents without calling [onOp].
+ */
+inline fun MessageListUpdate.applyTo(
+    messages: MutableList<MessageResponse>,
+    onOp: (MessageListOp) -> Unit = {},
+) {
+    when (this) {
+        is MessageListUpdate.Snapshot -> {
+            messages.clear()
+            messages.addAll(this.messages)
+        }
+
+        is MessageListUpdate.Changes -> ops.forEach { op ->
+            when (op) {
+                is MessageListOp.Inserted -> messages.add(op.index, op.message)
+                is MessageListOp.Changed -> messages[op.index] = op.message
+                is MessageListOp.Removed -> messages.removeAt(op.index)
+            }
+            onOp(op)
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.application.echo.core.api.message
+
+import com.application.echo.core.database.dao.MessageDao
+import com.application.echo.core.network.result.ApiResult
+import com.application.echo.core.websocket.model.asText
+import com.application.echo.core.websocket.session.WebSocketSession
+import com.google.gson.Gson
+import com.google.gson.JsonParseException
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flow
+import timber.log.Timber
+import javax.inject.Inject
+
+/**
+ * Default [LiveMessageRepository] — one [MessageTimeline] per open
+ * conversation, fed by [MessageApiRepository.getMessagesPage] and by
+ * `chat_message` / `message_status` pushes.
+ *
+ * Timelines are created on first use and kept in an LRU map; only
+ * timelines nobody observes are evicted. Pushes for conversations without
+ * a timeline are written through to the database and otherwise ignored.
+ */
+internal class LiveMessageRepositoryImpl @Inject constructor(
+    private val api: MessageApiRepository,
+    private val store: MessageStore,
+    private val messageDao: MessageDao,
+    private val gson: Gson,
+) : LiveMessageRepository {
+
+    private val timelines = LinkedHashMap<String, MessageTimeline>(16, 0.75f, true)
+
+    override fun observe(conversationId: String): Flow<MessageListUpdate> = flow {
+        emitAll(timelineFor(conversationId).updates())
+    }
+
+    override suspend fun refresh(conversationId: String): ApiResult<Int> =
+        when (val result = api.getMessagesPage(conversationId, MessagePageKey.Latest, REFRESH_PAGE_SIZE)) {
+            is ApiResult.Success -> ApiResult.Success(timelineFor(conversationId).merge(result.data.messages))
+            is ApiResult.Failure -> result
+        }
+
+    override suspend fun collectPushes(session: WebSocketSession) {
+        session.messages.collect { message ->
+            message.asText()?.let { onPush(it) }
+        }
+    }
+
+    override suspend fun onPush(payload: String) {
+        val envelope = try {
+            gson.fromJson(payload, MessagePushEnvelope::class.java)
+        } catch (e: JsonParseException) {
+            Timber.tag(TAG).w(e, "Ignoring malformed push")
+            return
+        }
+        val data = envelope?.data ?: return
+
+        try {
+            when (envelope.type) {
+                PUSH_MESSAGE -> {
+                    val message = gson.fromJson(data, MessageResponse::class.java) ?: return
+                    store.onMessagePushed(message)
+                    existingTimeline(message.conversationId)?.merge(listOf(message))
+                }
+
+                PUSH_STATUS -> {
+                    val receipt = gson.fromJson(data, MessageStatusPush::class.java) ?: return
+                    messageDao.advanceStatus(receipt.messageId, receipt.status)
+                    existingTimeline(receipt.conversationId)
+                        ?.advanceStatus(receipt.messageId, receipt.status, receipt.updatedAt)
+                }
+            }
+        } catch (e: JsonParseException) {
+            Timber.tag(TAG).w(e, "Ignoring malformed %s push", envelope.type)
+        }
+    }
+
+    // ──────────────── Internal ────────────────
+
+    private fun timelineFor(conversationId: String): MessageTimeline = synchronized(timelines) {
+        timelines.getOrPut(conversationId) { MessageTimeline() }.also(::evictIdle)
+    }
+
+    private fun existingTimeline(conversationId: String): MessageTimeline? =
+        synchronized(timelines) { timelines[conversationId] }
+
+    /** Drops least-recently-used timelines beyond [MAX_TIMELINES] that nobody observes. */
+    private fun evictIdle(keep: MessageTimeline) {
+        if (timelines.size <= MAX_TIMELINES) return
+        val iterator = timelines.values.iterator()
+        while (timelines.size > MAX_TIMELINES && iterator.hasNext()) {
+            val timeline = iterator.next()
+            if (timeline !== keep && !timeline.isObserved) iterator.remove()
+        }
+    }
+
+    private companion object {
+        const val TAG = "LiveMessages"
+
+        const val PUSH_MESSAGE = "chat_message"
+        const val PUSH_STATUS = "message_status"
+
+        const val REFRESH_PAGE_SIZE = 100
+        const val MAX_TIMELINES = 8
+    }
+}
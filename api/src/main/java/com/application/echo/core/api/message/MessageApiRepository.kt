@@ -1,5 +1,6 @@
 package com.application.echo.core.api.message
 
+import com.application.echo.core.api.mutation.MutationQueue
 import com.application.echo.core.network.result.ApiResult
 
 /**
@@ -11,22 +12,42 @@ interface MessageApiRepository {
 
     /**
      * Fetch messages for a given conversation.
+     *
+     * Downloads the entire history — prefer [getMessagesPage] or
+     * [messagePager] for anything user-facing.
      */
     suspend fun getMessages(
         conversationId: String,
     ): ApiResult<List<MessageResponse>>
 
+    /**
+     * Fetch one keyset-paginated page of a conversation's history.
+     *
+     * @param conversationId Target conversation.
+     * @param key Where the page starts — latest, before/after a cursor, or around a message.
+     * @param limit Maximum number of messages to return.
+     */
+    suspend fun getMessagesPage(
+        conversationId: String,
+        key: MessagePageKey = MessagePageKey.Latest,
+        limit: Int = MessagePagingConfig.DEFAULT_PAGE_SIZE,
+    ): ApiResult<MessagePageResponse>
+
     /**
      * Send a new message.
      *
      * @param conversationId Target conversation.
      * @param content Message body text.
      * @param messageType Type tag (e.g. `"text"`, `"image"`).
+     * @param idempotencyKey Sent as `Idempotency-Key` so a replayed request
+     *   returns the original message instead of creating a duplicate.
+     *   Prefer [MutationQueue.sendMessage] for user-initiated sends.
      */
     suspend fun sendMessage(
         conversationId: String,
         content: String,
         messageType: String,
+        idempotencyKey: String? = null,
     ): ApiResult<MessageResponse>
 
     // ── Conversations ──
@@ -36,10 +57,13 @@ interface MessageApiRepository {
      *
      * @param conversationType Type tag (e.g. `"direct"`, `"group"`).
      * @param participantIds List of user IDs to include.
+     * @param idempotencyKey Sent as `Idempotency-Key` so a replayed request
+     *   cannot create the conversation twice.
      */
     suspend fun createConversation(
         conversationType: String,
         participantIds: List<String>,
+        idempotencyKey: String? = null,
     ): ApiResult<ConversationResponse>
 
     /**
@@ -53,4 +77,14 @@ interface MessageApiRepository {
      * Fetch all conversations for the current user.
      */
     suspend fun getMyConversations(): ApiResult<List<ConversationResponse>>
+
+    /**
+     * Fetch only the conversations that changed since [syncToken].
+     *
+     * Pass `null` (or an expired token) to receive the full list with
+     * [ConversationChangesResponse.reset] set.
+     */
+    suspend fun getMyConversationChanges(
+        syncToken: String?,
+    ): ApiResult<ConversationChangesResponse>
 }
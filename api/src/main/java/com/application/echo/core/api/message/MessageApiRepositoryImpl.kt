@@ -19,16 +19,32 @@ internal class MessageApiRepositoryImpl @Inject constructor(
         conversationId = conversationId,
     ).toApiResult()
 
+    override suspend fun getMessagesPage(
+        conversationId: String,
+        key: MessagePageKey,
+        limit: Int,
+    ): ApiResult<MessagePageResponse> = api.getMessagesPage(
+        conversationId = conversationId,
+        before = (key as? MessagePageKey.Before)?.cursor,
+        after = (key as? MessagePageKey.After)?.cursor,
+        around = (key as? MessagePageKey.Around)?.messageId,
+        updatedAfter = (key as? MessagePageKey.ChangedSince)?.watermark,
+        updatedAfterId = (key as? MessagePageKey.ChangedSince)?.afterId,
+        limit = limit,
+    ).toApiResult()
+
     override suspend fun sendMessage(
         conversationId: String,
         content: String,
         messageType: String,
+        idempotencyKey: String?,
     ): ApiResult<MessageResponse> = api.sendMessage(
         request = SendMessageRequest(
             conversationId = conversationId,
             content = content,
             messageType = messageType,
         ),
+        idempotencyKey = idempotencyKey,
     ).toApiResult()
 
     // ── Conversations ──
@@ -36,11 +52,13 @@ internal class MessageApiRepositoryImpl @Inject constructor(
     override suspend fun createConversation(
         conversationType: String,
         participantIds: List<String>,
+        idempotencyKey: String?,
     ): ApiResult<ConversationResponse> = api.createConversation(
         request = CreateConversationRequest(
             conversationType = conversationType,
             participantIds = participantIds,
         ),
+        idempotencyKey = idempotencyKey,
     ).toApiResult()
 
     override suspend fun getConversation(
@@ -51,4 +69,10 @@ internal class MessageApiRepositoryImpl @Inject constructor(
 
     override suspend fun getMyConversations(): ApiResult<List<ConversationResponse>> =
         api.getMyConversations().toApiResult()
+
+    override suspend fun getMyConversationChanges(
+        syncToken: String?,
+    ): ApiResult<ConversationChangesResponse> = api.getMyConversationChanges(
+        syncToken = syncToken,
+    ).toApiResult()
 }
@@ -2,9 +2,13 @@ package com.application.echo.core.api.message
 
 import com.application.echo.core.api.common.ApiConstants
 import com.application.echo.core.api.common.HealthResponse
+import com.application.echo.core.network.compression.CompressRequest
 import com.application.echo.core.network.model.NetworkResponse
+import com.application.echo.core.network.priority.Priority
+import com.application.echo.core.network.priority.RequestPriority
 import retrofit2.http.Body
 import retrofit2.http.GET
+import retrofit2.http.Header
 import retrofit2.http.POST
 import retrofit2.http.Path
 import retrofit2.http.Query
@@ -23,19 +27,37 @@ internal interface MessageApiService {
         @Query("conversation_id") conversationId: String,
     ): NetworkResponse<List<MessageResponse>>
 
+    @Priority(RequestPriority.VisiblePrefetch)
+    @GET(ApiConstants.MESSAGES_PAGE)
+    suspend fun getMessagesPage(
+        @Query("conversation_id") conversationId: String,
+        @Query("before") before: String? = null,
+        @Query("after") after: String? = null,
+        @Query("around") around: String? = null,
+        @Query("updated_after") updatedAfter: String? = null,
+        @Query("updated_after_id") updatedAfterId: String? = null,
+        @Query("limit") limit: Int,
+    ): NetworkResponse<MessagePageResponse>
+
+    // Most messages are a few hundred bytes; only long texts and rich payloads are worth gzipping.
+    @CompressRequest(minBytes = 2_048)
     @POST(ApiConstants.MESSAGES)
     suspend fun sendMessage(
         @Body request: SendMessageRequest,
+        @Header(ApiConstants.HEADER_IDEMPOTENCY_KEY) idempotencyKey: String? = null,
     ): NetworkResponse<MessageResponse>
 
+    @Priority(RequestPriority.Background)
     @GET(ApiConstants.MESSAGES_HEALTH)
     suspend fun health(): NetworkResponse<HealthResponse>
 
     // ── Conversations ──
 
+    @CompressRequest
     @POST(ApiConstants.CONVERSATIONS)
     suspend fun createConversation(
         @Body request: CreateConversationRequest,
+        @Header(ApiConstants.HEADER_IDEMPOTENCY_KEY) idempotencyKey: String? = null,
     ): NetworkResponse<ConversationResponse>
 
     @GET(ApiConstants.CONVERSATION_BY_ID)
@@ -45,4 +67,9 @@ internal interface MessageApiService {
 
     @GET(ApiConstants.MY_CONVERSATIONS)
     suspend fun getMyConversations(): NetworkResponse<List<ConversationResponse>>
+
+    @GET(ApiConstants.MY_CONVERSATION_CHANGES)
+    suspend fun getMyConversationChanges(
+        @Query("sync_token") syncToken: String? = null,
+    ): NetworkResponse<ConversationChangesResponse>
 }
@@ -1,5 +1,6 @@
 package com.application.echo.core.api.message
 
+import com.google.gson.JsonElement
 import com.google.gson.annotations.SerializedName
 
 // ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
@@ -72,3 +73,71 @@ data class ConversationResponse(
     @SerializedName("updated_at")
     val updatedAt: String? = null,
 )
+
+/**
+ * Response `data` for `GET /messages/page`.
+ *
+ * [messages] are ordered oldest → newest. Cursors are opaque keyset
+ * tokens; pass them back unchanged to continue in that direction.
+ */
+data class MessagePageResponse(
+    @SerializedName("messages")
+    val messages: List<MessageResponse>,
+    @SerializedName("before_cursor")
+    val beforeCursor: String? = null,
+    @SerializedName("after_cursor")
+    val afterCursor: String? = null,
+    @SerializedName("has_more_before")
+    val hasMoreBefore: Boolean = false,
+    @SerializedName("has_more_after")
+    val hasMoreAfter: Boolean = false,
+)
+
+/**
+ * Response `data` for `GET /messages/conversations/me/changes`.
+ *
+ * With a valid `sync_token`, [conversations] holds only conversations that
+ * changed since that token and [removedIds] those the user left. Without
+ * one — or when the server can no longer serve a delta for it — [reset]
+ * is `true` and [conversations] is the complete list.
+ *
+ * @property syncToken Opaque token to send with the next request.
+ */
+data class ConversationChangesResponse(
+    @SerializedName("conversations")
+    val conversations: List<ConversationResponse> = emptyList(),
+    @SerializedName("removed_ids")
+    val removedIds: List<String> = emptyList(),
+    @SerializedName("sync_token")
+    val syncToken: String,
+    @SerializedName("reset")
+    val reset: Boolean = false,
+)
+
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+//  WebSocket Pushes
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+
+/**
+ * Envelope of every realtime push: `{ "type": "…", "data": { … } }`.
+ */
+internal data class MessagePushEnvelope(
+    @SerializedName("type")
+    val type: String? = null,
+    @SerializedName("data")
+    val data: JsonElement? = null,
+)
+
+/**
+ * `data` of a `message_status` push — a delivery receipt for one message.
+ */
+data class MessageStatusPush(
+    @SerializedName("message_id")
+    val messageId: String,
+    @SerializedName("conversation_id")
+    val conversationId: String,
+    @SerializedName("status")
+    val status: String,
+    @SerializedName("updated_at")
+    val updatedAt: String? = null,
+)
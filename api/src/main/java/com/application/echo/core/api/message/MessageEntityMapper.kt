@@ -0,0 +1,65 @@
+package com.application.echo.core.api.message
+
+import com.application.echo.core.api.common.IsoTimestamps
+import com.application.echo.core.database.entity.ConversationEntity
+import com.application.echo.core.database.entity.ConversationWithLastMessage
+import com.application.echo.core.database.entity.MessageEntity
+
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+//  Remote → Local
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+
+internal fun MessageResponse.toEntity(): MessageEntity {
+    val created = IsoTimestamps.toEpochMillis(createdAt)
+        ?: IsoTimestamps.toEpochMillis(updatedAt)
+        ?: System.currentTimeMillis()
+    return MessageEntity(
+        id = id,
+        conversationId = conversationId,
+        senderId = senderId,
+        content = content,
+        messageType = messageType,
+        status = status,
+        createdAt = created,
+        updatedAt = IsoTimestamps.toEpochMillis(updatedAt) ?: created,
+    )
+}
+
+internal fun ConversationResponse.toEntity(): ConversationEntity {
+    val created = IsoTimestamps.toEpochMillis(createdAt) ?: 0L
+    val updated = IsoTimestamps.toEpochMillis(updatedAt) ?: created
+    val lastMessageAt = lastMessage?.let { IsoTimestamps.toEpochMillis(it.createdAt) } ?: 0L
+    return ConversationEntity(
+        id = id,
+        conversationType = conversationType,
+        participantIds = participantIds.orEmpty(),
+        lastMessageId = lastMessage?.id,
+        lastActivityAt = maxOf(created, updated, lastMessageAt),
+        createdAt = created,
+        updatedAt = updated,
+    )
+}
+
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+//  Local → Remote model
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+
+internal fun MessageEntity.toResponse(): MessageResponse = MessageResponse(
+    id = id,
+    conversationId = conversationId,
+    senderId = senderId,
+    content = content,
+    messageType = messageType,
+    status = status,
+    createdAt = IsoTimestamps.format(createdAt),
+    updatedAt = IsoTimestamps.format(updatedAt),
+)
+
+internal fun ConversationWithLastMessage.toResponse(): ConversationResponse = ConversationResponse(
+    id = conversation.id,
+    conversationType = conversation.conversationType,
+    participantIds = conversation.participantIds,
+    lastMessage = lastMessage?.toResponse(),
+    createdAt = IsoTimestamps.format(conversation.createdAt),
+    updatedAt = IsoTimestamps.format(conversation.updatedAt),
+)
@@ -0,0 +1,217 @@
+package com.application.echo.core.api.message
+
+import com.application.echo.core.network.result.ApiResult
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.update
+import kotlinx.coroutines.launch
+
+/**
+ * Bidirectional, cursor-based loader for a conversation's message history.
+ *
+ * Loads only the pages the UI actually needs: the newest page (or a page
+ * around an anchor message), then older / newer pages as the user scrolls
+ * within [MessagePagingConfig.prefetchDistance] of either edge.
+ *
+ * ```kotlin
+ * val pager = messageRepo.messagePager(viewModelScope, conversationId)
+ * pager.data.collect { snapshot -> render(snapshot.messages) }
+ *
+ * // From the list, whenever an item is bound:
+ * pager.onItemVisible(index)
+ * ```
+ *
+ * Each direction has at most one request in flight. Pages are appended to
+ * an immutable list so each [data] emission is a safe snapshot.
+ */
+class MessagePager internal constructor(
+    private val repository: MessageApiRepository,
+    private val scope: CoroutineScope,
+    private val conversationId: String,
+    private val anchorMessageId: String?,
+    private val config: MessagePagingConfig,
+) {
+
+    private val _data = MutableStateFlow(MessagePagingData())
+
+    /** Latest paging snapshot. */
+    val data: StateFlow<MessagePagingData> = _data.asStateFlow()
+
+    private var beforeCursor: String? = null
+    private var afterCursor: String? = null
+
+    private var refreshJob: Job? = null
+    private var prependJob: Job? = null
+    private var appendJob: Job? = null
+
+    init {
+        refresh()
+    }
+
+    // ──────────────── Public API ────────────────
+
+    /**
+     * Reports that the item at [index] in [MessagePagingData.messages] was
+     * bound by the UI. Triggers a prefetch when close to either edge.
+     */
+    fun onItemVisible(index: Int) {
+        val snapshot = _data.value
+        if (snapshot.refresh !is PageLoadState.NotLoading) return
+
+        if (index < config.prefetchDistance) loadOlder()
+        if (index >= snapshot.messages.size - config.prefetchDistance) loadNewer()
+    }
+
+    /** Requests the page of messages older than the oldest loaded one. */
+    fun loadOlder() {
+        val state = _data.value.prepend
+        if (state !is PageLoadState.NotLoading || state.endReached) return
+        val cursor = beforeCursor ?: return
+        if (prependJob?.isActive == true) return
+
+        _data.update { it.copy(prepend = PageLoadState.Loading) }
+        prependJob = scope.launch {
+            val result = repository.getMessagesPage(
+                conversationId = conversationId,
+                key = MessagePageKey.Before(cursor),
+                limit = config.pageSize,
+            )
+            when (result) {
+                is ApiResult.Success -> {
+                    val page = result.data
+                    beforeCursor = page.beforeCursor
+                    _data.update { current ->
+                        current.copy(
+                            messages = page.messages + current.messages,
+                            prepend = PageLoadState.NotLoading(
+                                endReached = !page.hasMoreBefore || page.beforeCursor == null,
+                            ),
+                            anchorIndex = current.anchorIndex.shiftedBy(page.messages.size),
+                        )
+                    }
+                }
+
+                is ApiResult.Failure -> _data.update {
+                    it.copy(prepend = PageLoadState.Error(result.exception))
+                }
+            }
+        }
+    }
+
+    /** Requests the page of messages newer than the newest loaded one. */
+    fun loadNewer() {
+        val state = _data.value.append
+        if (state !is PageLoadState.NotLoading || state.endReached) return
+        val cursor = afterCursor ?: return
+        if (appendJob?.isActive == true) return
+
+        _data.update { it.copy(append = PageLoadState.Loading) }
+        appendJob = scope.launch {
+            val result = repository.getMessagesPage(
+                conversationId = conversationId,
+                key = MessagePageKey.After(cursor),
+                limit = config.pageSize,
+            )
+            when (result) {
+                is ApiResult.Success -> {
+                    val page = result.data
+                    afterCursor = page.afterCursor
+                    _data.update { current ->
+                        current.copy(
+                            messages = current.messages + page.messages,
+                            append = PageLoadState.NotLoading(
+                                endReached = !page.hasMoreAfter || page.afterCursor == null,
+                            ),
+                        )
+                    }
+                }
+
+                is ApiResult.Failure -> _data.update {
+                    it.copy(append = PageLoadState.Error(result.exception))
+                }
+            }
+        }
+    }
+
+    /** Retries whichever loads are currently in an error state. */
+    fun retry() {
+        val snapshot = _data.value
+        if (snapshot.refresh is PageLoadState.Error) {
+            refresh()
+            return
+        }
+        if (snapshot.prepend is PageLoadState.Error) {
+            _data.update { it.copy(prepend = PageLoadState.NotLoading(endReached = false)) }
+            loadOlder()
+        }
+        if (snapshot.append is PageLoadState.Error) {
+            _data.update { it.copy(append = PageLoadState.NotLoading(endReached = false)) }
+            loadNewer()
+        }
+    }
+
+    /** Drops all loaded pages and reloads from the initial position. */
+    fun refresh() {
+        refreshJob?.cancel()
+        prependJob?.cancel()
+        appendJob?.cancel()
+
+        _data.value = MessagePagingData(refresh = PageLoadState.Loading)
+        refreshJob = scope.launch {
+            val key = anchorMessageId?.let(MessagePageKey::Around) ?: MessagePageKey.Latest
+            val result = repository.getMessagesPage(
+                conversationId = conversationId,
+                key = key,
+                limit = config.initialLoadSize,
+            )
+            when (result) {
+                is ApiResult.Success -> {
+                    val page = result.data
+                    beforeCursor = page.beforeCursor
+                    afterCursor = page.afterCursor
+                    _data.value = MessagePagingData(
+                        messages = page.messages,
+                        refresh = PageLoadState.NotLoading(endReached = true),
+                        prepend = PageLoadState.NotLoading(
+                            endReached = !page.hasMoreBefore || page.beforeCursor == null,
+                        ),
+                        append = PageLoadState.NotLoading(
+                            endReached = !page.hasMoreAfter || page.afterCursor == null,
+                        ),
+                        anchorIndex = anchorMessageId
+                            ?.let { id -> page.messages.indexOfFirst { it.id == id } }
+                            ?: -1,
+                    )
+                }
+
+                is ApiResult.Failure -> _data.update {
+                    it.copy(refresh = PageLoadState.Error(result.exception))
+                }
+            }
+        }
+    }
+
+    private fun Int.shiftedBy(count: Int): Int = if (this < 0) this else this + count
+}
+
+/**
+ * Creates a [MessagePager] for [conversationId], bound to [scope].
+ *
+ * Pass [anchorMessageId] to open the history around a specific message
+ * (jump-to-message); otherwise the newest page is loaded first.
+ */
+fun MessageApiRepository.messagePager(
+    scope: CoroutineScope,
+    conversationId: String,
+    anchorMessageId: String? = null,
+    config: MessagePagingConfig = MessagePagingConfig.DEFAULT,
+): MessagePager = MessagePager(
+    repository = this,
+    scope = scope,
+    conversationId = conversationId,
+    anchorMessageId = anchorMessageId,
+    config = config,
+)
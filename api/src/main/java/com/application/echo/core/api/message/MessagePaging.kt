@@ -0,0 +1,108 @@
+package com.application.echo.core.api.message
+
+import com.application.echo.core.network.model.NetworkException
+
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+//  Page keys
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+
+/**
+ * Identifies where a page of message history starts.
+ *
+ * Used with [MessageApiRepository.getMessagesPage].
+ */
+sealed interface MessagePageKey {
+
+    /** The newest page of the conversation. */
+    data object Latest : MessagePageKey
+
+    /** Messages strictly older than [cursor] (a [MessagePageResponse.beforeCursor]). */
+    data class Before(val cursor: String) : MessagePageKey
+
+    /** Messages strictly newer than [cursor] (a [MessagePageResponse.afterCursor]). */
+    data class After(val cursor: String) : MessagePageKey
+
+    /** A page centred on [messageId] — used for jump-to-message. */
+    data class Around(val messageId: String) : MessagePageKey
+
+    /**
+     * Messages created *or edited* after the `(updated_at, id)` position
+     * ([watermark] is a raw `updated_at`), ordered by `updated_at` then id.
+     * Used for incremental sync.
+     *
+     * [afterId] breaks ties: `updated_at` only has millisecond precision,
+     * so several messages can share [watermark], and a page may end
+     * between them. `null` means "after every message at [watermark]".
+     */
+    data class ChangedSince(
+        val watermark: String,
+        val afterId: String? = null,
+    ) : MessagePageKey
+}
+
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+//  Config
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+
+/**
+ * Tuning knobs for [MessagePager].
+ *
+ * @property pageSize Number of messages requested per page.
+ * @property initialLoadSize Number of messages requested for the first page.
+ * @property prefetchDistance How close (in items) to either edge the UI may
+ *   scroll before the next page in that direction is requested.
+ */
+data class MessagePagingConfig(
+    val pageSize: Int = DEFAULT_PAGE_SIZE,
+    val initialLoadSize: Int = DEFAULT_PAGE_SIZE,
+    val prefetchDistance: Int = DEFAULT_PREFETCH_DISTANCE,
+) {
+    companion object {
+        const val DEFAULT_PAGE_SIZE = 30
+        const val DEFAULT_PREFETCH_DISTANCE = 10
+
+        /** Default paging configuration. */
+        val DEFAULT = MessagePagingConfig()
+    }
+}
+
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+//  Load state
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+
+/**
+ * Load state for one direction (older / newer) of a [MessagePager].
+ */
+sealed interface PageLoadState {
+
+    /** Idle. [endReached] is `true` once there is nothing more to load. */
+    data class NotLoading(val endReached: Boolean) : PageLoadState
+
+    /** A page request is in flight. */
+    data object Loading : PageLoadState
+
+    /** The last page request failed. Call [MessagePager.retry] to try again. */
+    data class Error(val exception: NetworkException) : PageLoadState
+}
+
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+//  Snapshot
+// ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+
+/**
+ * Immutable snapshot emitted by [MessagePager.data].
+ *
+ * @property messages Loaded messages, ordered oldest → newest.
+ * @property refresh State of the initial load.
+ * @property prepend State of loading older messages.
+ * @property append State of loading newer messages.
+ * @property anchorIndex Index of the anchor message in [messages] when the
+ *   pager was opened around one, otherwise `-1`.
+ */
+data class MessagePagingData(
+    val messages: List<MessageResponse> = emptyList(),
+    val refresh: PageLoadState = PageLoadState.Loading,
+    val prepend: PageLoadState = PageLoadState.NotLoading(endReached = false),
+    val append: PageLoadState = PageLoadState.NotLoading(endReached = false),
+    val anchorIndex: Int = -1,
+)
@@ -0,0 +1,72 @@
+package com.application.echo.core.api.message
+
+import kotlinx.coroutines.flow.Flow
+
+/**
+ * Full-text search over locally stored messages.
+ *
+ * Backed by an FTS4 index that Room keeps up to date as [MessageStore]
+ * writes messages, so new and edited messages become searchable as soon
+ * as they are stored — no re-indexing is needed.
+ *
+ * Every word of the query is matched as a prefix (`"hel wor"` finds
+ * "hello world"). Results are ranked by relevance, newest first on ties.
+ *
+ * ```kotlin
+ * messageSearch.search(query, page = 0).collect { page ->
+ *     render(page.hits)
+ * }
+ * ```
+ */
+interface MessageSearch {
+
+    /**
+     * Observes one page of ranked results for [query].
+     *
+     * Re-emits whenever the stored messages change. An empty or
+     * punctuation-only [query] emits a single empty page.
+     *
+     * @param conversationId Restricts results to one conversation, or `null` for all.
+     * @param page Zero-based page index.
+     */
+    fun search(
+        query: String,
+        conversationId: String? = null,
+        page: Int = 0,
+        pageSize: Int = DEFAULT_PAGE_SIZE,
+    ): Flow<MessageSearchPage>
+
+    companion object {
+        const val DEFAULT_PAGE_SIZE = 20
+    }
+}
+
+/**
+ * One page of [MessageSearch] results.
+ *
+ * @property totalHits Number of ranked matches, capped at the search's
+ *   candidate limit.
+ * @property hasMore `true` if a further page exists.
+ */
+data class MessageSearchPage(
+    val query: String,
+    val hits: List<MessageSearchHit>,
+    val page: Int,
+    val totalHits: Int,
+    val hasMore: Boolean,
+)
+
+/**
+ * A matched message.
+ *
+ * @property snippet Excerpt of the message around the matched terms.
+ * @property highlights Ranges in [snippet] covering each matched term.
+ * @property score Relevance score — only meaningful relative to other hits
+ *   of the same query.
+ */
+data class MessageSearchHit(
+    val message: MessageResponse,
+    val snippet: String,
+    val highlights: List<IntRange>,
+    val score: Double,
+)
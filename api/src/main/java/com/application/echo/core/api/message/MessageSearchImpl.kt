@@ -0,0 +1,160 @@
+package com.application.echo.core.api.message
+
+import com.application.echo.core.database.dao.MessageSearchDao
+import com.application.echo.core.database.entity.MessageSearchCandidate
+import com.application.echo.core.database.entity.MessageSearchRow
+import com.application.echo.core.database.search.FtsRanking
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.conflate
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.transform
+import java.util.PriorityQueue
+import javax.inject.Inject
+
+/**
+ * Default [MessageSearch] backed by [MessageSearchDao].
+ *
+ * Each emission runs in two steps so message bodies are only loaded for
+ * the visible page:
+ * 1. fetch the [MAX_CANDIDATES] rows with the most hits (SQL pre-ranks by
+ *    hit count, not recency), score them with [FtsRanking] and keep the
+ *    top rows up to the requested page;
+ * 2. load that page's rows with highlighted snippets.
+ *
+ * Writes to `messages` re-run the search at most once per
+ * [REQUERY_INTERVAL_MS]; a burst of writes (a sync page) costs one query.
+ */
+internal class MessageSearchImpl @Inject constructor(
+    private val searchDao: MessageSearchDao,
+) : MessageSearch {
+
+    override fun search(
+        query: String,
+        conversationId: String?,
+        page: Int,
+        pageSize: Int,
+    ): Flow<MessageSearchPage> {
+        require(page >= 0) { "page must be >= 0" }
+        require(pageSize > 0) { "pageSize must be > 0" }
+
+        val match = toMatchExpression(query)
+            ?: return flowOf(MessageSearchPage(query, emptyList(), page, totalHits = 0, hasMore = false))
+
+        val from = page * pageSize
+        val limit = maxOf(MAX_CANDIDATES, from + pageSize + 1)
+        return searchDao.observeChanges()
+            .conflate()
+            .transform {
+                emit(searchDao.getCandidates(match, conversationId, limit))
+                // Writes arriving meanwhile are conflated into a single re-query.
+                delay(REQUERY_INTERVAL_MS)
+            }
+            .distinctUntilChanged()
+            .map { candidates ->
+                val top = topRanked(candidates, from + pageSize)
+                val slice = top.subList(minOf(from, top.size), top.size)
+
+                MessageSearchPage(
+                    query = query,
+                    hits = loadHits(match, slice),
+                    page = page,
+                    totalHits = candidates.size,
+                    hasMore = from + pageSize < candidates.size,
+                )
+            }
+    }
+
+    // ──────────────── Internal ────────────────
+
+    /**
+     * Scores every candidate and returns the best [count], best first.
+     * A bounded min-heap keeps this `O(n log count)` instead of sorting all matches.
+     */
+    private fun topRanked(candidates: List<MessageSearchCandidate>, count: Int): List<RankedRow> {
+        val heap = PriorityQueue(count + 1, BY_RELEVANCE)
+        candidates.forEach { candidate ->
+            heap += RankedRow(candidate.rowId, FtsRanking.score(candidate.matchInfo))
+            if (heap.size > count) heap.poll()
+        }
+        return heap.sortedWith(BY_RELEVANCE.reversed())
+    }
+
+    private suspend fun loadHits(match: String, slice: List<RankedRow>): List<MessageSearchHit> {
+        if (slice.isEmpty()) return emptyList()
+
+        val rows = searchDao.getRows(
+            query = match,
+            rowIds = slice.map(RankedRow::rowId),
+            highlightStart = HIGHLIGHT_START,
+            highlightEnd = HIGHLIGHT_END,
+            ellipsis = ELLIPSIS,
+            snippetTokens = SNIPPET_TOKENS,
+        ).associateBy(MessageSearchRow::rowId)
+
+        // Keep ranking order; rows deleted between the two queries are skipped.
+        return slice.mapNotNull { ranked ->
+            rows[ranked.rowId]?.toHit(ranked.score)
+        }
+    }
+
+    private fun MessageSearchRow.toHit(score: Double): MessageSearchHit {
+        val text = StringBuilder(snippet.length)
+        val highlights = mutableListOf<IntRange>()
+        var start = -1
+        for (char in snippet) {
+            when (char) {
+                HIGHLIGHT_START_CHAR -> start = text.length
+                HIGHLIGHT_END_CHAR -> {
+                    if (start in 0 until text.length) highlights += start until text.length
+                    start = -1
+                }
+
+                else -> text.append(char)
+            }
+        }
+        return MessageSearchHit(
+            message = message.toResponse(),
+            snippet = text.toString(),
+            highlights = highlights,
+            score = score,
+        )
+    }
+
+    private data class RankedRow(val rowId: Long, val score: Double)
+
+    private companion object {
+        /** Ascending relevance: score, then recency as the tie-break. */
+        val BY_RELEVANCE: Comparator<RankedRow> =
+            compareBy<RankedRow> { it.score }.thenBy { it.rowId }
+
+        /** Rows re-scored in Kotlin; [MessageSearchPage.totalHits] is capped here. */
+        const val MAX_CANDIDATES = 500
+
+        const val REQUERY_INTERVAL_MS = 300L
+
+        const val SNIPPET_TOKENS = 12
+        const val ELLIPSIS = "…"
+
+        // Control characters can't occur in tokenised text, so they are safe markers.
+        const val HIGHLIGHT_START_CHAR = '\u0002'
+        const val HIGHLIGHT_END_CHAR = '\u0003'
+        const val HIGHLIGHT_START = "\u0002"
+        const val HIGHLIGHT_END = "\u0003"
+
+        private val TOKEN_SEPARATOR = Regex("[^\\p{L}\\p{N}]+")
+
+        /**
+         * Turns free text into an FTS4 MATCH expression: each word becomes a
+         * quoted prefix term (`"hel*"`), implicitly AND-ed. Quoting keeps
+         * user input from being parsed as FTS operators (`OR`, `NEAR`, `-`).
+         */
+        fun toMatchExpression(query: String): String? =
+            query.split(TOKEN_SEPARATOR)
+                .filter { it.isNotEmpty() }
+                .takeIf { it.isNotEmpty() }
+                ?.joinToString(" ") { "\"$it*\"" }
+    }
+}
@@ -0,0 +1,71 @@
+package com.application.echo.core.api.message
+
+import com.application.echo.core.network.result.ApiResult
+import kotlinx.coroutines.flow.Flow
+
+/**
+ * Offline-first access to messages and conversations.
+ *
+ * Screens observe the local database through the `observe*` flows, which
+ * emit immediately from disk. The `sync*` calls pull only what changed
+ * on the server and merge it in; [onMessagePushed] does the same for
+ * WebSocket pushes. Every merge is last-writer-wins by `updated_at`, so
+ * REST pages and pushes can arrive in any order.
+ *
+ * ```kotlin
+ * messageStore.observeMessages(conversationId).collect(::render)
+ * messageStore.syncMessages(conversationId)
+ * ```
+ */
+interface MessageStore {
+
+    // ── Reads (local) ──
+
+    /**
+     * Observes the newest [limit] stored messages of a conversation,
+     * ordered oldest → newest.
+     */
+    fun observeMessages(
+        conversationId: String,
+        limit: Int = MessagePagingConfig.DEFAULT_PAGE_SIZE,
+    ): Flow<List<MessageResponse>>
+
+    /** Observes all stored conversations, most recently active first. */
+    fun observeConversations(): Flow<List<ConversationResponse>>
+
+    /**
+     * Observes the same list as [observeConversations], but as one
+     * [ConversationListUpdate.Snapshot] followed by only the row edits
+     * (insert / remove / move / change) each later update caused — so a
+     * list adapter can animate them instead of rebinding every row.
+     */
+    fun observeConversationUpdates(): Flow<ConversationListUpdate>
+
+    // ── Sync (remote → local) ──
+
+    /**
+     * Pulls messages changed since the last sync of [conversationId]
+     * (or the newest page on first sync).
+     *
+     * @return the number of rows written locally.
+     */
+    suspend fun syncMessages(conversationId: String): ApiResult<Int>
+
+    /**
+     * Fetches one page of history older than anything stored locally.
+     *
+     * @return `true` if even older history remains on the server.
+     */
+    suspend fun loadOlderMessages(conversationId: String): ApiResult<Boolean>
+
+    /**
+     * Refreshes the conversation list, downloading only conversations that
+     * changed or were removed since the last sync.
+     *
+     * @return the number of rows written or removed locally.
+     */
+    suspend fun syncConversations(): ApiResult<Int>
+
+    /** Merges a message received over the WebSocket. */
+    suspend fun onMessagePushed(message: MessageResponse)
+}
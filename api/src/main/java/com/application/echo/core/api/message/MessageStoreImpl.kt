@@ -0,0 +1,258 @@
+package com.application.echo.core.api.message
+
+import com.application.echo.core.api.common.IsoTimestamps
+import com.application.echo.core.database.dao.ConversationDao
+import com.application.echo.core.database.dao.MessageDao
+import com.application.echo.core.database.dao.SyncStateDao
+import com.application.echo.core.database.entity.SyncStateEntity
+import com.application.echo.core.database.transaction.DatabaseTransactionRunner
+import com.application.echo.core.network.result.ApiResult
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import timber.log.Timber
+import java.util.concurrent.ConcurrentHashMap
+import javax.inject.Inject
+
+/**
+ * Default [MessageStore] — a Room-backed store fed by an incremental sync engine.
+ *
+ * **Sync model:**
+ * - Each conversation keeps a watermark (the `updated_at` and id of the
+ *   newest change applied) in `sync_state`. Later syncs ask only for
+ *   [MessagePageKey.ChangedSince] that position, looping until the server
+ *   reports no more changes. The id keeps same-millisecond edits that
+ *   straddle a page break from being skipped.
+ * - The first sync of a conversation stores the newest page and remembers
+ *   its `before_cursor` so older history can be paged in on demand.
+ * - WebSocket pushes are merged without moving the watermark, so a push
+ *   can never cause the next REST sync to skip changes.
+ * - The conversation list is delta-synced: the server's opaque sync token
+ *   is kept as the list's watermark, and only changed or removed
+ *   conversations come back.
+ *
+ * Syncs for the same conversation are serialised with a per-key [Mutex].
+ */
+internal class MessageStoreImpl @Inject constructor(
+    private val api: MessageApiRepository,
+    private val messageDao: MessageDao,
+    private val conversationDao: ConversationDao,
+    private val syncStateDao: SyncStateDao,
+    private val transaction: DatabaseTransactionRunner,
+) : MessageStore {
+
+    private val locks = ConcurrentHashMap<String, Mutex>()
+
+    // ──────────────── Reads ────────────────
+
+    override fun observeMessages(
+        conversationId: String,
+        limit: Int,
+    ): Flow<List<MessageResponse>> = messageDao.observeLatest(conversationId, limit)
+        .distinctUntilChanged()
+        .map { entities -> entities.map { it.toResponse() } }
+
+    override fun observeConversations(): Flow<List<ConversationResponse>> =
+        conversationDao.observeAll()
+            .distinctUntilChanged()
+            .map { rows -> rows.map { it.toResponse() } }
+
+    override fun observeConversationUpdates(): Flow<ConversationListUpdate> = flow {
+        var previous: List<ConversationResponse>? = null
+        observeConversations().collect { current ->
+            val ops = previous?.let { ConversationListDiff.between(it, current) }
+            when {
+                ops == null -> emit(ConversationListUpdate.Snapshot(current))
+                ops.isNotEmpty() -> emit(ConversationListUpdate.Changes(ops))
+            }
+            previous = current
+        }
+    }
+
+    // ──────────────── Sync ────────────────
+
+    override suspend fun syncMessages(
+        conversationId: String,
+    ): ApiResult<Int> = lockFor(conversationId).withLock {
+        val state = syncStateDao.get(conversationId)
+        val watermark = state?.watermark
+        if (state == null || watermark == null) return@withLock initialSync(conversationId)
+
+        var cursor = MessagePageKey.ChangedSince(watermark, state.watermarkId)
+        var written = 0
+        repeat(MAX_CHANGE_PAGES) {
+            val result = api.getMessagesPage(
+                conversationId = conversationId,
+                key = cursor,
+                limit = SYNC_PAGE_SIZE,
+            )
+            val page = when (result) {
+                is ApiResult.Success -> result.data
+                is ApiResult.Failure -> {
+                    saveWatermark(conversationId, state, cursor)
+                    return@withLock result
+                }
+            }
+
+            written += mergeMessages(page.messages)
+            cursor = page.messages.newestChange() ?: cursor
+            if (!page.hasMoreAfter || page.messages.isEmpty()) {
+                saveWatermark(conversationId, state, cursor)
+                return@withLock ApiResult.Success(written)
+            }
+        }
+
+        Timber.tag(TAG).d("Change feed for %s still has more after %d pages", conversationId, MAX_CHANGE_PAGES)
+        saveWatermark(conversationId, state, cursor)
+        ApiResult.Success(written)
+    }
+
+    override suspend fun loadOlderMessages(
+        conversationId: String,
+    ): ApiResult<Boolean> = lockFor(conversationId).withLock {
+        val state = syncStateDao.get(conversationId)
+            ?: return@withLock ApiResult.Success(true)
+        val cursor = state.beforeCursor
+            ?: return@withLock ApiResult.Success(false)
+
+        when (val result = api.getMessagesPage(
+            conversationId = conversationId,
+            key = MessagePageKey.Before(cursor),
+            limit = SYNC_PAGE_SIZE,
+        )) {
+            is ApiResult.Success -> {
+                val page = result.data
+                mergeMessages(page.messages)
+                val nextCursor = page.beforeCursor.takeIf { page.hasMoreBefore }
+                syncStateDao.upsert(state.copy(beforeCursor = nextCursor))
+                ApiResult.Success(nextCursor != null)
+            }
+
+            is ApiResult.Failure -> result
+        }
+    }
+
+    override suspend fun syncConversations(): ApiResult<Int> = lockFor(CONVERSATIONS_KEY).withLock {
+        val syncToken = syncStateDao.get(CONVERSATIONS_KEY)?.watermark
+        when (val result = api.getMyConversationChanges(syncToken)) {
+            is ApiResult.Success -> {
+                val changes = result.data
+                val conversations = changes.conversations
+                // The DAO methods chunk their IN lists, so a reset of any size stays within
+                // SQLite's bind limit; one transaction keeps the list and its token in step.
+                val written = transaction {
+                    messageDao.mergeNewer(conversations.mapNotNull { it.lastMessage?.toEntity() })
+                    val merged = conversationDao.mergeNewer(conversations.map { it.toEntity() }).size
+
+                    val removed = when {
+                        // A full list is authoritative — drop conversations the user left.
+                        changes.reset && conversations.isEmpty() -> conversationDao.deleteAll()
+                        changes.reset -> {
+                            conversationDao.deleteAllExcept(conversations.map(ConversationResponse::id))
+                        }
+                        changes.removedIds.isNotEmpty() -> conversationDao.deleteByIds(changes.removedIds)
+                        else -> 0
+                    }
+                    syncStateDao.upsert(
+                        SyncStateEntity(
+                            key = CONVERSATIONS_KEY,
+                            watermark = changes.syncToken,
+                            beforeCursor = null,
+                            syncedAt = System.currentTimeMillis(),
+                        ),
+                    )
+                    merged + removed
+                }
+                ApiResult.Success(written)
+            }
+
+            is ApiResult.Failure -> result
+        }
+    }
+
+    override suspend fun onMessagePushed(message: MessageResponse) {
+        mergeMessages(listOf(message))
+    }
+
+    // ──────────────── Internal ────────────────
+
+    private suspend fun initialSync(conversationId: String): ApiResult<Int> {
+        val result = api.getMessagesPage(
+            conversationId = conversationId,
+            key = MessagePageKey.Latest,
+            limit = SYNC_PAGE_SIZE,
+        )
+        return when (result) {
+            is ApiResult.Success -> {
+                val page = result.data
+                val written = mergeMessages(page.messages)
+                val newest = page.messages.newestChange()
+                syncStateDao.upsert(
+                    SyncStateEntity(
+                        key = conversationId,
+                        watermark = newest?.watermark,
+                        watermarkId = newest?.afterId,
+                        beforeCursor = page.beforeCursor.takeIf { page.hasMoreBefore },
+                        syncedAt = System.currentTimeMillis(),
+                    ),
+                )
+                ApiResult.Success(written)
+            }
+
+            is ApiResult.Failure -> result
+        }
+    }
+
+    /**
+     * Writes [messages] that are newer than their stored copies and bumps
+     * each affected conversation's last message.
+     */
+    private suspend fun mergeMessages(messages: List<MessageResponse>): Int {
+        if (messages.isEmpty()) return 0
+
+        val written = messageDao.mergeNewer(messages.map { it.toEntity() })
+        written.groupBy { it.conversationId }.forEach { (conversationId, rows) ->
+            val newest = rows.maxBy { it.createdAt }
+            conversationDao.updateLastMessage(conversationId, newest.id, newest.createdAt)
+        }
+        return written.size
+    }
+
+    private suspend fun saveWatermark(
+        conversationId: String,
+        previous: SyncStateEntity,
+        cursor: MessagePageKey.ChangedSince,
+    ) {
+        syncStateDao.upsert(
+            previous.copy(
+                key = conversationId,
+                watermark = cursor.watermark,
+                watermarkId = cursor.afterId,
+                syncedAt = System.currentTimeMillis(),
+            ),
+        )
+    }
+
+    /** Change-feed position of the newest of these messages, in `(updated_at, id)` order. */
+    private fun List<MessageResponse>.newestChange(): MessagePageKey.ChangedSince? =
+        mapNotNull { message ->
+            val raw = message.updatedAt ?: message.createdAt ?: return@mapNotNull null
+            val millis = IsoTimestamps.toEpochMillis(raw) ?: return@mapNotNull null
+            Triple(millis, message.id, raw)
+        }.maxWithOrNull(compareBy({ it.first }, { it.second }))
+            ?.let { (_, id, raw) -> MessagePageKey.ChangedSince(raw, id) }
+
+    private fun lockFor(key: String): Mutex = locks.getOrPut(key) { Mutex() }
+
+    private companion object {
+        const val TAG = "MessageStore"
+        const val CONVERSATIONS_KEY = "__conversations__"
+        const val SYNC_PAGE_SIZE = 100
+
+        /** Upper bound on change-feed pages per sync so a huge backlog can't pin a coroutine. */
+        const val MAX_CHANGE_PAGES = 20
+    }
+}
@@ -0,0 +1,196 @@
+package com.application.echo.core.api.message
+
+import com.application.echo.core.api.common.IsoTimestamps
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.channels.SendChannel
+import kotlinx.coroutines.channels.awaitClose
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.buffer
+import kotlinx.coroutines.flow.callbackFlow
+
+/**
+ * In-memory, sorted window of one conversation's newest messages.
+ *
+ * Rows are ordered by `(created_at, id)` and located by binary search, so
+ * a merge costs `O(log n)` plus the shift of one insert — never a re-sort.
+ * Every merge is published to observers as the list ops it caused.
+ *
+ * Thread-safe: all state is guarded by one lock, held only for in-memory work.
+ */
+internal class MessageTimeline(
+    private val maxMessages: Int = DEFAULT_MAX_MESSAGES,
+) {
+
+    private val lock = Any()
+    private val entries = ArrayList<Entry>()
+    private val byId = HashMap<String, Entry>()
+    private val seen = SeenMessageSet(maxMessages * SEEN_PER_MESSAGE)
+    private val observers = ArrayList<SendChannel<MessageListUpdate>>()
+
+    /** Whether anyone is collecting [updates] — idle timelines may be evicted. */
+    val isObserved: Boolean
+        get() = synchronized(lock) { observers.isNotEmpty() }
+
+    /** A snapshot of the current window, then every change after it. */
+    fun updates(): Flow<MessageListUpdate> = callbackFlow {
+        synchronized(lock) {
+            trySend(MessageListUpdate.Snapshot(entries.map(Entry::message)))
+            observers += channel
+        }
+        awaitClose { synchronized(lock) { observers -= channel } }
+    }.buffer(Channel.UNLIMITED)
+
+    /**
+     * Merges [messages] from either source.
+     *
+     * @return the number of rows inserted or changed.
+     */
+    fun merge(messages: List<MessageResponse>): Int = synchronized(lock) {
+        val ops = ArrayList<MessageListOp>()
+        messages.forEach { mergeOne(it, ops) }
+        publish(ops)
+        ops.count { it !is MessageListOp.Removed }
+    }
+
+    /**
+     * Advances the status of [messageId] in place.
+     *
+     * @return `false` if the message is not in the window or already has
+     *   an equal or later status.
+     */
+    fun advanceStatus(
+        messageId: String,
+        status: String,
+        updatedAt: String?,
+    ): Boolean = synchronized(lock) {
+        val existing = byId[messageId] ?: return false
+        val rank = messageStatusRank(status)
+        if (rank <= existing.rank) return false
+
+        val newerAt = IsoTimestamps.toEpochMillis(updatedAt)?.takeIf { it > existing.updatedAt }
+        val updated = existing.copy(
+            message = existing.message.copy(
+                status = status,
+                updatedAt = if (newerAt != null) updatedAt else existing.message.updatedAt,
+            ),
+            updatedAt = newerAt ?: existing.updatedAt,
+            rank = rank,
+        )
+        seen.offer(messageId, version(updated.updatedAt, rank))
+        replaceInPlace(existing, updated)?.let { publish(listOf(it)) }
+        true
+    }
+
+    // ──────────────── Merge ────────────────
+
+    private fun mergeOne(incoming: MessageResponse, ops: MutableList<MessageListOp>) {
+        val createdAt = IsoTimestamps.toEpochMillis(incoming.createdAt)
+            ?: IsoTimestamps.toEpochMillis(incoming.updatedAt)
+            ?: return
+        val updatedAt = IsoTimestamps.toEpochMillis(incoming.updatedAt) ?: createdAt
+        val rank = messageStatusRank(incoming.status)
+        if (!seen.offer(incoming.id, version(updatedAt, rank))) return
+
+        val existing = byId[incoming.id]
+        if (existing == null) {
+            insert(Entry(incoming, createdAt, updatedAt, rank), ops)
+            return
+        }
+
+        val merged = reconcile(existing, Entry(incoming, createdAt, updatedAt, rank))
+        if (merged.message == existing.message) return
+
+        if (merged.createdAt == existing.createdAt) {
+            replaceInPlace(existing, merged)?.let(ops::add)
+        } else {
+            val index = indexOf(existing)
+            entries.removeAt(index)
+            byId.remove(existing.message.id)
+            ops += MessageListOp.Removed(index, existing.message.id)
+            insert(merged, ops)
+        }
+    }
+
+    /**
+     * Last-writer-wins on `updated_at` for content, but the status only
+     * ever moves forward — a late `delivered` never overwrites `read`.
+     */
+    private fun reconcile(existing: Entry, incoming: Entry): Entry {
+        val base = if (incoming.updatedAt >= existing.updatedAt) incoming else existing
+        val status = when {
+            incoming.rank > existing.rank -> incoming.message.status
+            existing.rank > incoming.rank -> existing.message.status
+            else -> base.message.status
+        }
+        return base.copy(
+            message = base.message.copy(status = status),
+            updatedAt = maxOf(existing.updatedAt, incoming.updatedAt),
+            rank = maxOf(existing.rank, incoming.rank),
+        )
+    }
+
+    private fun insert(entry: Entry, ops: MutableList<MessageListOp>) {
+        val index = -(search(entry) + 1)
+        // Older than everything in a full window — belongs to paged history, not here.
+        if (index == 0 && entries.size >= maxMessages) return
+
+        entries.add(index, entry)
+        byId[entry.message.id] = entry
+        ops += MessageListOp.Inserted(index, entry.message)
+
+        if (entries.size > maxMessages) {
+            val dropped = entries.removeAt(0)
+            byId.remove(dropped.message.id)
+            ops += MessageListOp.Removed(0, dropped.message.id)
+        }
+    }
+
+    private fun replaceInPlace(existing: Entry, updated: Entry): MessageListOp? {
+        val index = indexOf(existing)
+        if (index < 0) return null
+        entries[index] = updated
+        byId[updated.message.id] = updated
+        return MessageListOp.Changed(index, updated.message)
+    }
+
+    private fun indexOf(entry: Entry): Int = search(entry).takeIf { it >= 0 } ?: -1
+
+    private fun search(target: Entry): Int = entries.binarySearch { entry ->
+        val byTime = entry.createdAt.compareTo(target.createdAt)
+        if (byTime != 0) byTime else entry.message.id.compareTo(target.message.id)
+    }
+
+    private fun publish(ops: List<MessageListOp>) {
+        if (ops.isEmpty()) return
+        val update = MessageListUpdate.Changes(ops)
+        observers.forEach { it.trySend(update) }
+    }
+
+    private data class Entry(
+        val message: MessageResponse,
+        val createdAt: Long,
+        val updatedAt: Long,
+        val rank: Int,
+    )
+
+    private companion object {
+        const val DEFAULT_MAX_MESSAGES = 500
+
+        /** The seen-set outlives the window, so late duplicates of trimmed messages stay dropped. */
+        const val SEEN_PER_MESSAGE = 4
+
+        /** Orders versions by `updated_at`, then by status rank for equal timestamps. */
+        fun version(updatedAt: Long, rank: Int): Long = (updatedAt shl 2) or rank.toLong()
+    }
+}
+
+/**
+ * Position of [status] in the delivery lifecycle: unknown / pending /
+ * failed < [MessageStatus.SENT] < [MessageStatus.DELIVERED] < [MessageStatus.READ].
+ */
+internal fun messageStatusRank(status: String?): Int = when (status) {
+    MessageStatus.SENT -> 1
+    MessageStatus.DELIVERED -> 2
+    MessageStatus.READ -> 3
+    else -> 0
+}
@@ -0,0 +1,116 @@
+package com.application.echo.core.api.message
+
+/**
+ * Bounded record of message IDs already applied, with the newest version
+ * seen for each.
+ *
+ * Stored as 64-bit ID fingerprints in an open-addressing table of
+ * primitive arrays — roughly 32 bytes per entry and no per-entry
+ * allocation, so it can remember far more messages than a timeline keeps
+ * in memory. Once [capacity] IDs are held, the oldest-recorded one is
+ * forgotten first.
+ *
+ * Not thread-safe; callers synchronise.
+ */
+internal class SeenMessageSet(private val capacity: Int) {
+
+    init {
+        require(capacity > 0) { "capacity must be positive" }
+    }
+
+    /** Power-of-two table kept at most half full so probe runs stay short. */
+    private val mask = Integer.highestOneBit(capacity * 2 - 1).shl(1) - 1
+    private val keys = LongArray(mask + 1)
+    private val versions = LongArray(mask + 1)
+
+    /** Fingerprints in the order they were recorded — a ring used for eviction. */
+    private val order = LongArray(capacity)
+    private var head = 0
+    private var size = 0
+
+    /**
+     * Records [version] for [id].
+     *
+     * @return `false` if the same or a newer version was already seen —
+     *   i.e. the message is a duplicate and can be dropped.
+     */
+    fun offer(id: String, version: Long): Boolean {
+        val key = fingerprint(id)
+        val slot = indexOf(key)
+        if (slot >= 0) {
+            if (versions[slot] >= version) return false
+            versions[slot] = version
+            return true
+        }
+
+        if (size == capacity) {
+            remove(order[head])
+            head = (head + 1) % capacity
+            size--
+        }
+        insert(key, version)
+        order[(head + size) % capacity] = key
+        size++
+        return true
+    }
+
+    // ──────────────── Table ────────────────
+
+    private fun indexOf(key: Long): Int {
+        var slot = home(key)
+        while (true) {
+            val stored = keys[slot]
+            if (stored == EMPTY) return -1
+            if (stored == key) return slot
+            slot = (slot + 1) and mask
+        }
+    }
+
+    private fun insert(key: Long, version: Long) {
+        var slot = home(key)
+        while (keys[slot] != EMPTY) slot = (slot + 1) and mask
+        keys[slot] = key
+        versions[slot] = version
+    }
+
+    /** Linear-probing delete with backward shift, so no tombstones accumulate. */
+    private fun remove(key: Long) {
+        var hole = indexOf(key)
+        if (hole < 0) return
+
+        var next = hole
+        while (true) {
+            next = (next + 1) and mask
+            val candidate = keys[next]
+            if (candidate == EMPTY) break
+            if (!cyclicallyBetween(home(candidate), hole, next)) {
+                keys[hole] = candidate
+                versions[hole] = versions[next]
+                hole = next
+            }
+        }
+        keys[hole] = EMPTY
+    }
+
+    /** Whether [slot] lies in the cyclic range `(from, to]`. */
+    private fun cyclicallyBetween(slot: Int, from: Int, to: Int): Boolean =
+        if (from <= to) slot in (from + 1)..to else slot > from || slot <= to
+
+    private fun home(key: Long): Int = (key xor (key ushr 32)).toInt() and mask
+
+    private companion object {
+        const val EMPTY = 0L
+
+        const val FNV_OFFSET = -0x340d631b7bdddcdbL
+        const val FNV_PRIME = 0x100000001b3L
+
+        /** 64-bit FNV-1a over the ID's chars; never [EMPTY]. */
+        fun fingerprint(id: String): Long {
+            var hash = FNV_OFFSET
+            for (char in id) {
+                hash = (hash xor char.code.toLong()) * FNV_PRIME
+            }
+            return if (hash == EMPTY) 1L else hash
+        }
+    }
+}
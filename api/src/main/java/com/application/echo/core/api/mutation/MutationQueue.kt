@@ -0,0 +1,143 @@
+package com.application.echo.core.api.mutation
+
+import com.application.echo.core.api.message.ConversationResponse
+import com.application.echo.core.api.message.MessageResponse
+import com.application.echo.core.api.message.MessageType
+import com.application.echo.core.api.user.UserProfileResponse
+import kotlinx.coroutines.flow.Flow
+
+/**
+ * Persistent queue for REST writes that must survive being offline.
+ *
+ * Every mutation is written to Room before it is sent and carries a stable
+ * `Idempotency-Key`, so it can be replayed after a timeout, a dropped
+ * connection or a process restart without creating duplicates. The queue
+ * drains in order whenever `NetworkMonitor.isOnline` turns `true`.
+ *
+ * Each call returns a mutation ID at once; observe it for the optimistic
+ * value, which is replaced by the server's response once confirmed:
+ *
+ * ```kotlin
+ * val id = mutationQueue.sendMessage(conversationId, myUserId, "On my way")
+ * mutationQueue.observeMessage(id).collect { mutation ->
+ *     render(mutation?.value, sending = mutation?.status != MutationStatus.Confirmed)
+ * }
+ * ```
+ *
+ * Queued messages are also inserted into the local message table with
+ * [LocalMessageStatus.SENDING], so `MessageStore.observeMessages` shows
+ * them immediately.
+ */
+interface MutationQueue {
+
+    /**
+     * Queues a message send.
+     *
+     * @param senderId The current user — shown on the optimistic message.
+     * @return the mutation ID.
+     */
+    suspend fun sendMessage(
+        conversationId: String,
+        senderId: String,
+        content: String,
+        messageType: String = MessageType.TEXT,
+    ): String
+
+    /**
+     * Queues a conversation create.
+     *
+     * Creating the same conversation (same type and participants) while an
+     * earlier create is still unsent returns the earlier mutation's ID
+     * instead of queuing a second one.
+     *
+     * @return the mutation ID.
+     */
+    suspend fun createConversation(
+        conversationType: String,
+        participantIds: List<String>,
+    ): String
+
+    /**
+     * Queues a profile create / update.
+     *
+     * Supersedes any still-queued profile write for the same [userId] —
+     * only the latest version is sent.
+     *
+     * @return the mutation ID.
+     */
+    suspend fun createProfile(
+        userId: String,
+        displayName: String,
+        firstName: String,
+        lastName: String,
+        avatarUrl: String? = null,
+        fcmToken: String? = null,
+    ): String
+
+    /** Observes a [sendMessage] mutation. Emits `null` once it is unknown or cancelled. */
+    fun observeMessage(mutationId: String): Flow<Mutation<MessageResponse>?>
+
+    /** Observes a [createConversation] mutation. Emits `null` once it is unknown or cancelled. */
+    fun observeConversation(mutationId: String): Flow<Mutation<ConversationResponse>?>
+
+    /** Observes a [createProfile] mutation. Emits `null` once it is unknown or superseded. */
+    fun observeProfile(mutationId: String): Flow<Mutation<UserProfileResponse>?>
+
+    /** Number of mutations not yet confirmed by the server. */
+    val unsentCount: Flow<Int>
+
+    /** Puts a [MutationStatus.Failed] mutation back in the queue. */
+    suspend fun retry(mutationId: String)
+
+    /**
+     * Drops a mutation that has not been sent yet, along with its optimistic
+     * message.
+     *
+     * @return `false` if the mutation is already on the wire or confirmed.
+     */
+    suspend fun cancel(mutationId: String): Boolean
+
+    /** Attempts to send queued mutations now, if the device is online. */
+    fun flush()
+}
+
+/**
+ * Snapshot of a [MutationQueue] entry.
+ *
+ * @property value The optimistic value while unconfirmed; the server's
+ *   response once [status] is [MutationStatus.Confirmed].
+ * @property attempts Number of times the request has been sent.
+ * @property error Last failure reason, if any.
+ */
+data class Mutation<out T>(
+    val id: String,
+    val status: MutationStatus,
+    val value: T,
+    val attempts: Int,
+    val error: String? = null,
+)
+
+/**
+ * Lifecycle of a [MutationQueue] entry.
+ */
+enum class MutationStatus {
+    /** Waiting for connectivity or its turn in the queue. */
+    Pending,
+
+    /** Request is on the wire. */
+    Sending,
+
+    /** The server applied the write; [Mutation.value] is its response. */
+    Confirmed,
+
+    /** Rejected by the server or out of attempts. See [MutationQueue.retry]. */
+    Failed,
+}
+
+/**
+ * `status` values of messages created locally by [MutationQueue.sendMessage].
+ */
+object LocalMessageStatus {
+    const val SENDING = "sending"
+    const val FAILED = "failed"
+}
@@ -0,0 +1,482 @@
+package com.application.echo.core.api.mutation
+
+import com.application.echo.core.api.common.IsoTimestamps
+import com.application.echo.core.api.extension.isRetryable
+import com.application.echo.core.api.message.ConversationResponse
+import com.application.echo.core.api.message.CreateConversationRequest
+import com.application.echo.core.api.message.MessageApiRepository
+import com.application.echo.core.api.message.MessageResponse
+import com.application.echo.core.api.message.SendMessageRequest
+import com.application.echo.core.api.message.toEntity
+import com.application.echo.core.api.user.CreateProfileRequest
+import com.application.echo.core.api.user.UserApiRepository
+import com.application.echo.core.api.user.UserProfileResponse
+import com.application.echo.core.database.dao.ConversationDao
+import com.application.echo.core.database.dao.MessageDao
+import com.application.echo.core.database.dao.PendingMutationDao
+import com.application.echo.core.database.entity.MessageEntity
+import com.application.echo.core.database.entity.PendingMutationEntity
+import com.application.echo.core.database.entity.PendingMutationState
+import com.application.echo.core.database.transaction.DatabaseTransactionRunner
+import com.application.echo.core.network.monitor.NetworkMonitor
+import com.application.echo.core.network.result.ApiResult
+import com.google.gson.Gson
+import com.google.gson.annotations.SerializedName
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.channels.consumeEach
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.filter
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import timber.log.Timber
+import java.util.UUID
+import javax.inject.Inject
+
+/**
+ * Default [MutationQueue] — persists each write in `pending_mutations` and
+ * replays the queue, oldest first, on a single coroutine.
+ *
+ * **Draining:**
+ * - Triggered by enqueues, by [flush] and by every offline → online
+ *   transition of [NetworkMonitor.isOnline].
+ * - A transient failure (see [isRetryable]) puts the mutation back and
+ *   stops the drain, so later writes never overtake earlier ones; a
+ *   backoff timer or the next connectivity change resumes it.
+ * - A permanent failure marks only that mutation failed and moves on.
+ *
+ * Mutations that were in flight when the process died are re-queued on
+ * start — the server recognises the replay by its idempotency key.
+ */
+internal class MutationQueueImpl @Inject constructor(
+    private val dao: PendingMutationDao,
+    private val messageDao: MessageDao,
+    private val conversationDao: ConversationDao,
+    private val transaction: DatabaseTransactionRunner,
+    private val messageApi: MessageApiRepository,
+    private val userApi: UserApiRepository,
+    private val networkMonitor: NetworkMonitor,
+    private val gson: Gson,
+) : MutationQueue {
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private val drainRequests = Channel<Unit>(Channel.CONFLATED)
+    private val enqueueLock = Mutex()
+
+    @Volatile
+    private var backoffJob: Job? = null
+
+    init {
+        scope.launch {
+            dao.resetInFlight()
+            dao.deleteFinishedBefore(System.currentTimeMillis() - FINISHED_RETENTION_MS)
+            drainRequests.consumeEach { drain() }
+        }
+        scope.launch {
+            networkMonitor.isOnline
+                .distinctUntilChanged()
+                .filter { online -> online }
+                .collect { flush() }
+        }
+    }
+
+    // ──────────────── Enqueue ────────────────
+
+    override suspend fun sendMessage(
+        conversationId: String,
+        senderId: String,
+        content: String,
+        messageType: String,
+    ): String {
+        val mutation = newMutation(
+            type = TYPE_SEND_MESSAGE,
+            collapseKey = null,
+            payload = QueuedMessage(
+                senderId = senderId,
+                request = SendMessageRequest(
+                    conversationId = conversationId,
+                    content = content,
+                    messageType = messageType,
+                ),
+            ),
+        )
+        // One transaction: a crash between the two must not leave a "sending"
+        // message that nothing will ever send, or a send with no local echo.
+        transaction {
+            messageDao.upsertAll(
+                listOf(
+                    MessageEntity(
+                        id = localMessageId(mutation.id),
+                        conversationId = conversationId,
+                        senderId = senderId,
+                        content = content,
+                        messageType = messageType,
+                        status = LocalMessageStatus.SENDING,
+                        createdAt = mutation.createdAt,
+                        updatedAt = mutation.createdAt,
+                    ),
+                ),
+            )
+            dao.insert(mutation)
+        }
+        flush()
+        return mutation.id
+    }
+
+    override suspend fun createConversation(
+        conversationType: String,
+        participantIds: List<String>,
+    ): String {
+        val participants = participantIds.distinct().sorted().joinToString(",")
+        val collapseKey = "conversation:$conversationType:$participants"
+        val id = enqueueLock.withLock {
+            dao.getUnsentForKey(collapseKey)?.let { existing -> return@withLock existing.id }
+
+            val mutation = newMutation(
+                type = TYPE_CREATE_CONVERSATION,
+                collapseKey = collapseKey,
+                payload = CreateConversationRequest(
+                    conversationType = conversationType,
+                    participantIds = participantIds,
+                ),
+            )
+            dao.insert(mutation)
+            mutation.id
+        }
+        flush()
+        return id
+    }
+
+    override suspend fun createProfile(
+        userId: String,
+        displayName: String,
+        firstName: String,
+        lastName: String,
+        avatarUrl: String?,
+        fcmToken: String?,
+    ): String {
+        val mutation = newMutation(
+            type = TYPE_CREATE_PROFILE,
+            collapseKey = "profile:$userId",
+            payload = CreateProfileRequest(
+                userId = userId,
+                displayName = displayName,
+                firstName = firstName,
+                lastName = lastName,
+                avatarUrl = avatarUrl,
+                fcmToken = fcmToken,
+            ),
+        )
+        val superseded = enqueueLock.withLock { dao.replacePending(mutation) }
+        if (superseded > 0) {
+            Timber.tag(TAG).d("Profile write for %s superseded %d queued write(s)", userId, superseded)
+        }
+        flush()
+        return mutation.id
+    }
+
+    // ──────────────── Observe ────────────────
+
+    override fun observeMessage(mutationId: String): Flow<Mutation<MessageResponse>?> =
+        observe(mutationId, MessageResponse::class.java) { row ->
+            val payload = gson.fromJson(row.payloadJson, QueuedMessage::class.java)
+            MessageResponse(
+                id = localMessageId(row.id),
+                conversationId = payload.request.conversationId,
+                senderId = payload.senderId,
+                content = payload.request.content,
+                messageType = payload.request.messageType,
+                status = if (row.state == PendingMutationState.FAILED) {
+                    LocalMessageStatus.FAILED
+                } else {
+                    LocalMessageStatus.SENDING
+                },
+                createdAt = IsoTimestamps.format(row.createdAt),
+                updatedAt = IsoTimestamps.format(row.createdAt),
+            )
+        }
+
+    override fun observeConversation(mutationId: String): Flow<Mutation<ConversationResponse>?> =
+        observe(mutationId, ConversationResponse::class.java) { row ->
+            val request = gson.fromJson(row.payloadJson, CreateConversationRequest::class.java)
+            ConversationResponse(
+                id = row.id,
+                conversationType = request.conversationType,
+                participantIds = request.participantIds,
+                createdAt = IsoTimestamps.format(row.createdAt),
+                updatedAt = IsoTimestamps.format(row.createdAt),
+            )
+        }
+
+    override fun observeProfile(mutationId: String): Flow<Mutation<UserProfileResponse>?> =
+        observe(mutationId, UserProfileResponse::class.java) { row ->
+            val request = gson.fromJson(row.payloadJson, CreateProfileRequest::class.java)
+            UserProfileResponse(
+                id = row.id,
+                userId = request.userId,
+                displayName = request.displayName,
+                firstName = request.firstName,
+                lastName = request.lastName,
+                avatarUrl = request.avatarUrl,
+                fcmToken = request.fcmToken,
+            )
+        }
+
+    override val unsentCount: Flow<Int> = dao.observeUnsentCount().distinctUntilChanged()
+
+    // ──────────────── Control ────────────────
+
+    override suspend fun retry(mutationId: String) {
+        val mutation = dao.get(mutationId) ?: return
+        if (mutation.state != PendingMutationState.FAILED) return
+
+        transaction {
+            dao.setState(mutationId, PendingMutationState.PENDING, 0, null, null, System.currentTimeMillis())
+            if (mutation.type == TYPE_SEND_MESSAGE) {
+                messageDao.setStatus(localMessageId(mutationId), LocalMessageStatus.SENDING)
+            }
+        }
+        flush()
+    }
+
+    override suspend fun cancel(mutationId: String): Boolean = enqueueLock.withLock {
+        val mutation = dao.get(mutationId) ?: return@withLock false
+        if (mutation.state != PendingMutationState.PENDING && mutation.state != PendingMutationState.FAILED) {
+            return@withLock false
+        }
+        transaction {
+            dao.delete(mutationId)
+            if (mutation.type == TYPE_SEND_MESSAGE) messageDao.deleteById(localMessageId(mutationId))
+        }
+        true
+    }
+
+    override fun flush() {
+        drainRequests.trySend(Unit)
+    }
+
+    // ──────────────── Drain ────────────────
+
+    private suspend fun drain() {
+        while (networkMonitor.isCurrentlyOnline) {
+            val next = claimNext() ?: return
+            if (!execute(next)) return
+        }
+    }
+
+    /** Marks the oldest pending mutation in flight, under the same lock [cancel] takes. */
+    private suspend fun claimNext(): PendingMutationEntity? = enqueueLock.withLock {
+        val next = dao.getNextPending() ?: return@withLock null
+        val claimed = next.copy(state = PendingMutationState.IN_FLIGHT, attempts = next.attempts + 1)
+        dao.setState(claimed.id, claimed.state, claimed.attempts, null, null, System.currentTimeMillis())
+        claimed
+    }
+
+    /**
+     * Sends one mutation and records the outcome.
+     *
+     * @return `false` if the mutation hit a transient failure and the drain should stop.
+     */
+    private suspend fun execute(mutation: PendingMutationEntity): Boolean {
+        val attempts = mutation.attempts
+
+        val result = try {
+            send(mutation)
+        } catch (e: Exception) {
+            // Undecodable payload — nothing a retry could fix.
+            Timber.tag(TAG).e(e, "Dropping malformed %s mutation %s", mutation.type, mutation.id)
+            markFailed(mutation, attempts, e.message)
+            return true
+        }
+
+        return when (result) {
+            is ApiResult.Success -> {
+                onConfirmed(mutation, result.data)
+                dao.setState(
+                    mutation.id,
+                    PendingMutationState.COMPLETED,
+                    attempts,
+                    gson.toJson(result.data),
+                    null,
+                    System.currentTimeMillis(),
+                )
+                true
+            }
+
+            is ApiResult.Failure -> {
+                val exception = result.exception
+                if (exception.isRetryable() && attempts < MAX_ATTEMPTS) {
+                    Timber.tag(TAG).d(
+                        "%s %s failed (attempt %d), will retry",
+                        mutation.type,
+                        mutation.id,
+                        attempts,
+                    )
+                    dao.setState(
+                        mutation.id,
+                        PendingMutationState.PENDING,
+                        attempts,
+                        null,
+                        exception.message,
+                        System.currentTimeMillis(),
+                    )
+                    scheduleBackoff(attempts)
+                    false
+                } else {
+                    Timber.tag(TAG).w(exception.throwable, "%s %s failed", mutation.type, mutation.id)
+                    markFailed(mutation, attempts, exception.message)
+                    true
+                }
+            }
+        }
+    }
+
+    private suspend fun send(mutation: PendingMutationEntity): ApiResult<Any> = when (mutation.type) {
+        TYPE_SEND_MESSAGE -> {
+            val request = gson.fromJson(mutation.payloadJson, QueuedMessage::class.java).request
+            messageApi.sendMessage(
+                conversationId = request.conversationId,
+                content = request.content,
+                messageType = request.messageType,
+                idempotencyKey = mutation.id,
+            )
+        }
+
+        TYPE_CREATE_CONVERSATION -> {
+            val request = gson.fromJson(mutation.payloadJson, CreateConversationRequest::class.java)
+            messageApi.createConversation(
+                conversationType = request.conversationType,
+                participantIds = request.participantIds,
+                idempotencyKey = mutation.id,
+            )
+        }
+
+        TYPE_CREATE_PROFILE -> {
+            val request = gson.fromJson(mutation.payloadJson, CreateProfileRequest::class.java)
+            userApi.createProfile(
+                userId = request.userId,
+                displayName = request.displayName,
+                firstName = request.firstName,
+                lastName = request.lastName,
+                avatarUrl = request.avatarUrl,
+                fcmToken = request.fcmToken,
+                idempotencyKey = mutation.id,
+            )
+        }
+
+        else -> throw IllegalStateException("Unknown mutation type ${mutation.type}")
+    }
+
+    /** Writes the confirmed result into the local store in place of the optimistic one. */
+    private suspend fun onConfirmed(mutation: PendingMutationEntity, result: Any) {
+        when (result) {
+            is MessageResponse -> {
+                val message = result.toEntity()
+                transaction {
+                    messageDao.replaceLocal(localMessageId(mutation.id), message)
+                    conversationDao.updateLastMessage(message.conversationId, message.id, message.createdAt)
+                }
+            }
+
+            is ConversationResponse -> conversationDao.mergeNewer(listOf(result.toEntity()))
+        }
+    }
+
+    private suspend fun markFailed(mutation: PendingMutationEntity, attempts: Int, error: String?) {
+        val now = System.currentTimeMillis()
+        transaction {
+            dao.setState(mutation.id, PendingMutationState.FAILED, attempts, null, error, now)
+            if (mutation.type == TYPE_SEND_MESSAGE) {
+                messageDao.setStatus(localMessageId(mutation.id), LocalMessageStatus.FAILED)
+            }
+        }
+    }
+
+    private fun scheduleBackoff(attempts: Int) {
+        val delayMs = (BACKOFF_BASE_MS shl (attempts - 1).coerceAtMost(BACKOFF_MAX_SHIFT))
+            .coerceAtMost(BACKOFF_MAX_MS)
+        backoffJob?.cancel()
+        backoffJob = scope.launch {
+            delay(delayMs)
+            flush()
+        }
+    }
+
+    // ──────────────── Internal ────────────────
+
+    private fun newMutation(type: String, collapseKey: String?, payload: Any): PendingMutationEntity {
+        val now = System.currentTimeMillis()
+        return PendingMutationEntity(
+            id = UUID.randomUUID().toString(),
+            type = type,
+            collapseKey = collapseKey,
+            payloadJson = gson.toJson(payload),
+            state = PendingMutationState.PENDING,
+            attempts = 0,
+            resultJson = null,
+            error = null,
+            createdAt = now,
+            updatedAt = now,
+        )
+    }
+
+    private fun <T> observe(
+        mutationId: String,
+        resultType: Class<T>,
+        optimistic: (PendingMutationEntity) -> T,
+    ): Flow<Mutation<T>?> = dao.observe(mutationId)
+        .distinctUntilChanged()
+        .map { row ->
+            row ?: return@map null
+            Mutation(
+                id = row.id,
+                status = when (row.state) {
+                    PendingMutationState.IN_FLIGHT -> MutationStatus.Sending
+                    PendingMutationState.COMPLETED -> MutationStatus.Confirmed
+                    PendingMutationState.FAILED -> MutationStatus.Failed
+                    else -> MutationStatus.Pending
+                },
+                value = row.resultJson?.let { gson.fromJson(it, resultType) } ?: optimistic(row),
+                attempts = row.attempts,
+                error = row.error,
+            )
+        }
+
+    private fun localMessageId(mutationId: String): String = "$LOCAL_ID_PREFIX$mutationId"
+
+    /** Payload of a queued message: the request plus what the optimistic copy needs. */
+    private data class QueuedMessage(
+        @SerializedName("sender_id")
+        val senderId: String,
+        @SerializedName("request")
+        val request: SendMessageRequest,
+    )
+
+    private companion object {
+        const val TAG = "MutationQueue"
+
+        const val TYPE_SEND_MESSAGE = "send_message"
+        const val TYPE_CREATE_CONVERSATION = "create_conversation"
+        const val TYPE_CREATE_PROFILE = "create_profile"
+
+        /** Prefix of optimistic message IDs, so they can never collide with server IDs. */
+        const val LOCAL_ID_PREFIX = "local-"
+
+        /** Transient failures allowed before a mutation is marked failed. */
+        const val MAX_ATTEMPTS = 10
+
+        const val BACKOFF_BASE_MS = 2_000L
+        const val BACKOFF_MAX_MS = 60_000L
+        const val BACKOFF_MAX_SHIFT = 5
+
+        /** Finished mutations are kept a day so late observers still see the result. */
+        const val FINISHED_RETENTION_MS = 24L * 60 * 60 * 1000
+    }
+}
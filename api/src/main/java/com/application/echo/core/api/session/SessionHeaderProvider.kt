@@ -0,0 +1,74 @@
+package com.application.echo.core.api.session
+
+import com.application.echo.core.api.common.ApiConstants
+import com.application.echo.core.network.interceptor.HeaderProvider
+import okhttp3.Headers
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Session and device headers as one prebuilt [Headers] block.
+ *
+ * The block is rebuilt only when the session ID, session token or
+ * [DeviceInfo] returned by [SessionProvider] actually changes (e.g. after
+ * login); otherwise the same instance is returned, which lets
+ * [com.application.echo.core.network.interceptor.RequestHeaderInterceptor]
+ * skip merging entirely.
+ *
+ * **Headers:**
+ * - `X-Session-ID` / `X-Session-Token` (if authenticated)
+ * - `X-Device-ID`, `X-Device-Name`, `X-Device-Type`, `X-Device-Platform`
+ * - `X-Device-OS`, `X-Device-OS-Version`, `X-Device-Model`, `X-Device-Manufacturer`
+ */
+@Singleton
+internal class SessionHeaderProvider @Inject constructor(
+    private val sessionProvider: SessionProvider,
+) : HeaderProvider {
+
+    @Volatile
+    private var cached: CachedHeaders? = null
+
+    override val headers: Headers
+        get() {
+            val sessionId = sessionProvider.sessionId
+            val sessionToken = sessionProvider.sessionToken
+            val device = sessionProvider.deviceInfo
+
+            val current = cached
+            if (current != null && current.matches(sessionId, sessionToken, device)) return current.headers
+
+            return CachedHeaders(sessionId, sessionToken, device, build(sessionId, sessionToken, device))
+                .also { cached = it }
+                .headers
+        }
+
+    private fun build(sessionId: String?, sessionToken: String?, device: DeviceInfo): Headers =
+        Headers.Builder().apply {
+            // Session headers (only when authenticated)
+            sessionId?.let { add(ApiConstants.HEADER_SESSION_ID, it) }
+            sessionToken?.let { add(ApiConstants.HEADER_SESSION_TOKEN, it) }
+
+            // Device headers (always)
+            add(ApiConstants.HEADER_DEVICE_ID, device.deviceId)
+            add(ApiConstants.HEADER_DEVICE_NAME, device.deviceName)
+            add(ApiConstants.HEADER_DEVICE_TYPE, device.deviceType)
+            add(ApiConstants.HEADER_DEVICE_PLATFORM, device.platform)
+            add(ApiConstants.HEADER_DEVICE_OS, device.platform)
+            add(ApiConstants.HEADER_DEVICE_OS_VERSION, device.osVersion)
+            add(ApiConstants.HEADER_DEVICE_MODEL, device.model)
+            add(ApiConstants.HEADER_DEVICE_MANUFACTURER, device.manufacturer)
+        }.build()
+
+    private class CachedHeaders(
+        val sessionId: String?,
+        val sessionToken: String?,
+        val device: DeviceInfo,
+        val headers: Headers,
+    ) {
+        /** Identity checks first — providers usually return the same instances. */
+        fun matches(sessionId: String?, sessionToken: String?, device: DeviceInfo): Boolean =
+            (this.sessionId === sessionId || this.sessionId == sessionId) &&
+                (this.sessionToken === sessionToken || this.sessionToken == sessionToken) &&
+                (this.device === device || this.device == device)
+    }
+}
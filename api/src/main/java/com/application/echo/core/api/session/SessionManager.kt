@@ -0,0 +1,15 @@
+package com.application.echo.core.api.session
+
+/**
+ * [SessionProvider] that also stores the session it provides.
+ *
+ * [AuthApiRepository][com.application.echo.core.api.auth.AuthApiRepository]
+ * saves the session returned by login and register; sign-out clears it.
+ */
+interface SessionManager : SessionProvider {
+
+    /** Replaces the stored session. Takes effect for the next request immediately. */
+    fun saveSession(sessionId: String, sessionToken: String)
+
+    fun clearSession()
+}
@@ -0,0 +1,75 @@
+package com.application.echo.core.api.session
+
+import android.content.SharedPreferences
+import android.os.Build
+import com.application.echo.core.common.platform.base.BaseDiskSource
+import java.util.UUID
+import javax.inject.Inject
+
+private const val SESSION_ID_KEY = "session_id"
+private const val SESSION_TOKEN_KEY = "session_token"
+private const val DEVICE_ID_KEY = "device_id"
+
+/**
+ * [SessionManager] backed by [SharedPreferences] with an in-memory snapshot.
+ *
+ * [SessionHeaderProvider] reads the session on every request, so reads
+ * are a single volatile load; preferences are only touched on first use
+ * and on writes. The device ID is generated once and kept across sessions.
+ */
+class SessionManagerImpl @Inject constructor(
+    sharedPreferences: SharedPreferences,
+) : BaseDiskSource(
+    sharedPreferences = sharedPreferences,
+), SessionManager {
+
+    @Volatile
+    private var snapshot: SessionSnapshot? = null
+
+    override val sessionId: String?
+        get() = current().sessionId
+
+    override val sessionToken: String?
+        get() = current().sessionToken
+
+    override val deviceInfo: DeviceInfo by lazy {
+        val deviceId = getString(DEVICE_ID_KEY)
+            ?: UUID.randomUUID().toString().also { putString(DEVICE_ID_KEY, it) }
+        DeviceInfo(
+            deviceId = deviceId,
+            deviceName = "${Build.MANUFACTURER} ${Build.MODEL}",
+        )
+    }
+
+    @Synchronized
+    override fun saveSession(sessionId: String, sessionToken: String) {
+        snapshot = SessionSnapshot(sessionId, sessionToken)
+        putString(SESSION_ID_KEY, sessionId)
+        putString(SESSION_TOKEN_KEY, sessionToken)
+    }
+
+    @Synchronized
+    override fun clearSession() {
+        snapshot = SessionSnapshot.EMPTY
+        putString(SESSION_ID_KEY, null)
+        putString(SESSION_TOKEN_KEY, null)
+    }
+
+    private fun current(): SessionSnapshot =
+        snapshot ?: synchronized(this) {
+            snapshot ?: SessionSnapshot(getString(SESSION_ID_KEY), getString(SESSION_TOKEN_KEY))
+                .also { snapshot = it }
+        }
+
+    /**
+     * Immutable view of the current session, swapped as a whole on change.
+     */
+    private class SessionSnapshot(
+        val sessionId: String?,
+        val sessionToken: String?,
+    ) {
+        companion object {
+            val EMPTY = SessionSnapshot(sessionId = null, sessionToken = null)
+        }
+    }
+}
@@ -3,21 +3,10 @@ package com.application.echo.core.api.session
 /**
  * Contract for supplying session and device metadata to the API layer.
  *
- * Implement this in your app module and bind it via Hilt.
- * The [SessionHeaderInterceptor] reads from this provider to attach
+ * [SessionHeaderProvider] reads from this provider to attach
  * `X-Session-ID`, `X-Session-Token`, and `X-Device-*` headers
- * to every authenticated request.
- *
- * ```kotlin
- * @Singleton
- * class EchoSessionProvider @Inject constructor(
- *     private val prefs: SessionPreferences,
- * ) : SessionProvider {
- *     override val sessionId get() = prefs.sessionId
- *     override val sessionToken get() = prefs.sessionToken
- *     override val deviceInfo get() = DeviceInfo(...)
- * }
- * ```
+ * to every Echo request. The default binding is [SessionManagerImpl],
+ * which stores the session returned by login and register.
  */
 interface SessionProvider {
 
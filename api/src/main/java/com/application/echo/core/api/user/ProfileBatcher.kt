@@ -0,0 +1,174 @@
+package com.application.echo.core.api.user
+
+import com.application.echo.core.network.model.NetworkException
+import com.application.echo.core.network.result.ApiResult
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+
+/**
+ * Coalesces individual profile lookups into batch requests.
+ *
+ * Every [load] call made within [windowMs] of the first pending one is
+ * collected and sent as a single [ProfileBatchSource.fetch]. Results are
+ * fanned back out to each waiting caller. A batch is flushed early once
+ * it reaches [maxBatchSize] distinct IDs.
+ *
+ * ```
+ * load("a") ─┐
+ * load("b") ─┼─ window ─→ fetch(["a", "b"]) ─→ fan-out
+ * load("a") ─┘
+ * ```
+ *
+ * IDs missing from a batch response are retried concurrently through
+ * [ProfileBatchSource.fetchSingle] so callers still see the backend's
+ * own error (e.g. a 404) instead of a synthetic one.
+ */
+internal class ProfileBatcher(
+    private val source: ProfileBatchSource,
+    private val scope: CoroutineScope,
+    private val windowMs: Long = DEFAULT_WINDOW_MS,
+    private val maxBatchSize: Int = MAX_BATCH_SIZE,
+) {
+
+    private val lock = Any()
+    private var pending = LinkedHashMap<String, MutableList<ProfileDeferred>>()
+    private var flushJob: Job? = null
+
+    /**
+     * Queues [userId] for the next batch and suspends until its result is available.
+     */
+    suspend fun load(userId: String): ApiResult<UserProfileResponse> {
+        val deferred = ProfileDeferred()
+        val ready = synchronized(lock) {
+            pending.getOrPut(userId) { mutableListOf() }.add(deferred)
+            when {
+                pending.size >= maxBatchSize -> {
+                    flushJob?.cancel()
+                    flushJob = null
+                    drainPending()
+                }
+
+                flushJob == null -> {
+                    flushJob = scope.launch {
+                        delay(windowMs)
+                        val batch = synchronized(lock) {
+                            flushJob = null
+                            drainPending()
+                        }
+                        dispatch(batch)
+                    }
+                    null
+                }
+
+                else -> null
+            }
+        }
+        ready?.let { batch -> scope.launch { dispatch(batch) } }
+        return deferred.await()
+    }
+
+    /**
+     * Fetches [userIds] directly, splitting them into chunks of [maxBatchSize]
+     * that are requested in parallel.
+     */
+    suspend fun loadAll(userIds: List<String>): ApiResult<List<UserProfileResponse>> {
+        val distinct = userIds.distinct()
+        if (distinct.isEmpty()) return ApiResult.Success(emptyList())
+
+        val results = coroutineScope {
+            distinct.chunked(maxBatchSize)
+                .map { chunk -> async { source.fetch(chunk) } }
+                .awaitAll()
+        }
+
+        val profiles = ArrayList<UserProfileResponse>(distinct.size)
+        for (result in results) {
+            when (result) {
+                is ApiResult.Success -> profiles += result.data
+                is ApiResult.Failure -> return result
+            }
+        }
+        return ApiResult.Success(profiles)
+    }
+
+    // ──────────────── Internal ────────────────
+
+    private fun drainPending(): Map<String, List<ProfileDeferred>> {
+        val batch = pending
+        pending = LinkedHashMap()
+        return batch
+    }
+
+    private suspend fun dispatch(batch: Map<String, List<ProfileDeferred>>) {
+        if (batch.isEmpty()) return
+
+        try {
+            when (val result = source.fetch(batch.keys.toList())) {
+                is ApiResult.Success -> {
+                    val byUserId = result.data.associateBy(UserProfileResponse::userId)
+                    val missing = batch.keys.filter { it !in byUserId }
+                    batch.forEach { (userId, waiters) ->
+                        val profile = byUserId[userId] ?: return@forEach
+                        waiters.forEach { it.complete(ApiResult.Success(profile)) }
+                    }
+                    fetchMissing(missing, batch)
+                }
+
+                is ApiResult.Failure -> batch.values.forEach { waiters ->
+                    waiters.forEach { it.complete(result) }
+                }
+            }
+        } catch (e: CancellationException) {
+            batch.values.forEach { waiters -> waiters.forEach { it.cancel(e) } }
+            throw e
+        } catch (e: Exception) {
+            val failure = ApiResult.Failure(NetworkException.Unknown(e))
+            batch.values.forEach { waiters -> waiters.forEach { it.complete(failure) } }
+        }
+    }
+
+    /** Falls back to single lookups for IDs the batch omitted, all in parallel. */
+    private suspend fun fetchMissing(
+        missing: List<String>,
+        batch: Map<String, List<ProfileDeferred>>,
+    ) = coroutineScope {
+        missing.forEach { userId ->
+            launch {
+                val single = source.fetchSingle(userId)
+                batch[userId]?.forEach { it.complete(single) }
+            }
+        }
+    }
+
+    private companion object {
+        /** How long to wait for more lookups before sending a batch. */
+        const val DEFAULT_WINDOW_MS = 8L
+
+        /** Largest number of IDs the backend accepts in one batch request. */
+        const val MAX_BATCH_SIZE = 100
+    }
+}
+
+private typealias ProfileDeferred = CompletableDeferred<ApiResult<UserProfileResponse>>
+
+/**
+ * Transport used by [ProfileBatcher].
+ *
+ * Production code backs this with [UserApiService]; any in-process stand-in
+ * can be supplied instead to exercise the batcher without a real backend.
+ */
+internal interface ProfileBatchSource {
+
+    /** Fetches every profile in [userIds] with one request. */
+    suspend fun fetch(userIds: List<String>): ApiResult<List<UserProfileResponse>>
+
+    /** Fetches a single profile. */
+    suspend fun fetchSingle(userId: String): ApiResult<UserProfileResponse>
+}
@@ -1,5 +1,6 @@
 package com.application.echo.core.api.user
 
+import com.application.echo.core.api.mutation.MutationQueue
 import com.application.echo.core.network.result.ApiResult
 
 /**
@@ -9,11 +10,27 @@ interface UserApiRepository {
 
     /**
      * Fetch a user's profile by their ID.
+     *
+     * Concurrent calls made within a few milliseconds of each other are
+     * coalesced into a single batch request.
      */
     suspend fun getProfile(userId: String): ApiResult<UserProfileResponse>
 
+    /**
+     * Fetch several user profiles at once.
+     *
+     * Duplicate IDs are collapsed, and large lists are split into as few
+     * batch requests as the backend allows. Returned profiles are in no
+     * particular order — key them by [UserProfileResponse.userId].
+     */
+    suspend fun getProfiles(userIds: List<String>): ApiResult<List<UserProfileResponse>>
+
     /**
      * Create (or update) a user profile.
+     *
+     * @param idempotencyKey Sent as `Idempotency-Key` so a replayed request
+     *   is applied once. [MutationQueue.createProfile] queues this call
+     *   while offline.
      */
     suspend fun createProfile(
         userId: String,
@@ -22,5 +39,6 @@ interface UserApiRepository {
         lastName: String,
         avatarUrl: String? = null,
         fcmToken: String? = null,
+        idempotencyKey: String? = null,
     ): ApiResult<UserProfileResponse>
 }
@@ -1,21 +1,55 @@
 package com.application.echo.core.api.user
 
+import com.application.echo.core.api.common.RetryBudgets
+import com.application.echo.core.api.extension.hedgedApiCall
+import com.application.echo.core.common.annotations.ApplicationScope
 import com.application.echo.core.network.result.ApiResult
 import com.application.echo.core.network.result.toApiResult
+import com.application.echo.core.network.util.LatencyTracker
+import kotlinx.coroutines.CoroutineScope
 import javax.inject.Inject
 
 /**
  * Default [UserApiRepository] backed by [UserApiService].
+ *
+ * Single-profile lookups are routed through a [ProfileBatcher] so that a
+ * burst of [getProfile] calls (e.g. rendering a group's participants)
+ * results in one or two batch requests instead of one request per user.
+ * The per-user fallback `GET` is hedged against the user service's budget,
+ * so one slow profile doesn't hold up the rest of the batch's waiters.
  */
 internal class UserApiRepositoryImpl @Inject constructor(
     private val api: UserApiService,
+    budgets: RetryBudgets,
+    @ApplicationScope private val scope: CoroutineScope,
 ) : UserApiRepository {
 
+    private val singleProfileLatency = LatencyTracker()
+
+    private val batcher = ProfileBatcher(
+        source = object : ProfileBatchSource {
+            override suspend fun fetch(
+                userIds: List<String>,
+            ): ApiResult<List<UserProfileResponse>> = api.getProfiles(
+                request = BatchProfilesRequest(userIds = userIds),
+            ).toApiResult()
+
+            override suspend fun fetchSingle(
+                userId: String,
+            ): ApiResult<UserProfileResponse> = hedgedApiCall(singleProfileLatency, budgets.user) {
+                api.getProfile(userId = userId).toApiResult()
+            }
+        },
+        scope = scope,
+    )
+
     override suspend fun getProfile(
         userId: String,
-    ): ApiResult<UserProfileResponse> = api.getProfile(
-        userId = userId,
-    ).toApiResult()
+    ): ApiResult<UserProfileResponse> = batcher.load(userId)
+
+    override suspend fun getProfiles(
+        userIds: List<String>,
+    ): ApiResult<List<UserProfileResponse>> = batcher.loadAll(userIds)
 
     override suspend fun createProfile(
         userId: String,
@@ -24,6 +58,7 @@ internal class UserApiRepositoryImpl @Inject constructor(
         lastName: String,
         avatarUrl: String?,
         fcmToken: String?,
+        idempotencyKey: String?,
     ): ApiResult<UserProfileResponse> = api.createProfile(
         request = CreateProfileRequest(
             userId = userId,
@@ -33,5 +68,6 @@ internal class UserApiRepositoryImpl @Inject constructor(
             avatarUrl = avatarUrl,
             fcmToken = fcmToken,
         ),
+        idempotencyKey = idempotencyKey,
     ).toApiResult()
 }
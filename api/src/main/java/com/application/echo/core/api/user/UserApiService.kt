@@ -2,9 +2,13 @@ package com.application.echo.core.api.user
 
 import com.application.echo.core.api.common.ApiConstants
 import com.application.echo.core.api.common.HealthResponse
+import com.application.echo.core.network.compression.CompressRequest
 import com.application.echo.core.network.model.NetworkResponse
+import com.application.echo.core.network.priority.Priority
+import com.application.echo.core.network.priority.RequestPriority
 import retrofit2.http.Body
 import retrofit2.http.GET
+import retrofit2.http.Header
 import retrofit2.http.POST
 import retrofit2.http.Path
 
@@ -20,11 +24,20 @@ internal interface UserApiService {
         @Path("user_id") userId: String,
     ): NetworkResponse<UserProfileResponse>
 
+    @CompressRequest
+    @POST(ApiConstants.USERS_PROFILES_BATCH)
+    suspend fun getProfiles(
+        @Body request: BatchProfilesRequest,
+    ): NetworkResponse<List<UserProfileResponse>>
+
+    @CompressRequest
     @POST(ApiConstants.USERS_PROFILE)
     suspend fun createProfile(
         @Body request: CreateProfileRequest,
+        @Header(ApiConstants.HEADER_IDEMPOTENCY_KEY) idempotencyKey: String? = null,
     ): NetworkResponse<UserProfileResponse>
 
+    @Priority(RequestPriority.Background)
     @GET(ApiConstants.USERS_HEALTH)
     suspend fun health(): NetworkResponse<HealthResponse>
 }
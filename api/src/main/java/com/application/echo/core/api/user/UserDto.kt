@@ -24,12 +24,21 @@ data class CreateProfileRequest(
     val fcmToken: String? = null,
 )
 
+/**
+ * Request body for `POST /users/profiles/batch`.
+ */
+data class BatchProfilesRequest(
+    @SerializedName("user_ids")
+    val userIds: List<String>,
+)
+
 // ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
 //  Response Bodies
 // ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
 
 /**
- * Response `data` for `GET /users/profile/{user_id}` and `POST /users/profile`.
+ * Response `data` for `GET /users/profile/{user_id}` and `POST /users/profile`,
+ * and items in `POST /users/profiles/batch`.
  */
 data class UserProfileResponse(
     @SerializedName("id")
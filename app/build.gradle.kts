@@ -52,6 +52,7 @@ android {
 
 dependencies {
 
+    implementation(projects.api)
     implementation(projects.core.common)
     implementation(projects.core.network)
     implementation(projects.core.analytics)
@@ -68,6 +69,7 @@ dependencies {
     implementation(libs.androidx.core.security.crypto)
     implementation(libs.androidx.work.ktx)
     implementation(libs.hilt.ext.work)
+    implementation(libs.kotlinx.coroutines.android)
     implementation(libs.kotlinx.datetime)
     implementation(libs.kotlinx.serialization.json)
 
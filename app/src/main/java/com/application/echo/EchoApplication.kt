@@ -1,11 +1,46 @@
 package com.application.echo;
+import androidx.hilt.work.HiltWorkerFactory
+import androidx.work.Configuration
+import com.application.echo.core.api.media.MediaUploadManager
+import com.application.echo.core.common.annotations.ApplicationScope
+import com.application.echo.core.common.cache.MemoryCacheTrimmer
+import com.application.echo.core.network.client.EchoHttpClient
+import dagger.Lazy
 import dagger.hilt.android.HiltAndroidApp
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.launch
+import javax.inject.Inject
 
 @HiltAndroidApp
-class EchoApplication : android.app.Application() {
+class EchoApplication : android.app.Application(), Configuration.Provider {
+
+    @Inject
+    lateinit var workerFactory: HiltWorkerFactory
+
+    /** Lazy, so building the client and its graph happens off the main thread. */
+    @Inject
+    lateinit var httpClient: Lazy<EchoHttpClient>
+
+    /** Lazy for the same reason — it depends on the authenticated client. */
+    @Inject
+    lateinit var mediaUploadManager: Lazy<MediaUploadManager>
+
+    @Inject
+    @ApplicationScope
+    lateinit var applicationScope: CoroutineScope
+
+    override val workManagerConfiguration: Configuration
+        get() = Configuration.Builder()
+            .setWorkerFactory(workerFactory)
+            .build()
 
     override fun onCreate() {
         super.onCreate()
+        registerComponentCallbacks(MemoryCacheTrimmer)
+        // Pre-connect to the backend while the first screen is being set up.
+        applicationScope.launch { httpClient.get().warmUp() }
+        // Re-schedule uploads that were interrupted by process death.
+        applicationScope.launch { mediaUploadManager.get().resumePending() }
     }
 
 }
\ No newline at end of file
@@ -3,12 +3,15 @@ package com.application.echo.di
 import com.application.echo.BuildConfig
 import com.application.echo.core.network.client.EchoHttpClient
 import com.application.echo.core.network.client.HttpClientConfig
+import com.application.echo.core.network.metrics.NetworkMetricsReporter
 import com.application.echo.core.network.qualifier.Authenticated
 import com.application.echo.core.network.qualifier.Unauthenticated
+import com.application.echo.metrics.AnalyticsNetworkMetricsReporter
 import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
 import dagger.hilt.components.SingletonComponent
+import dagger.multibindings.IntoSet
 import kotlinx.serialization.json.Json
 import javax.inject.Singleton
 
@@ -24,4 +27,10 @@ object AppNetworkModule {
              isDebug = BuildConfig.DEBUG,
          )
      }
+
+     @Provides
+     @IntoSet
+     fun provideAnalyticsMetricsReporter(
+         reporter: AnalyticsNetworkMetricsReporter,
+     ): NetworkMetricsReporter = reporter
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package com.application.echo.di
 
+import android.content.Context
+import android.content.SharedPreferences
+import com.application.echo.core.common.annotations.UnencryptedPreferences
 import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
 import dagger.hilt.components.SingletonComponent
 import kotlinx.serialization.json.Json
 import javax.inject.Singleton
@@ -21,4 +25,12 @@ object CommonModule {
         }
     }
 
-}
\ No newline at end of file
+    @Provides
+    @Singleton
+    @UnencryptedPreferences
+    fun provideUnencryptedPreferences(
+        @ApplicationContext context: Context,
+    ): SharedPreferences = context.getSharedPreferences(UNENCRYPTED_PREFERENCES, Context.MODE_PRIVATE)
+
+    private const val UNENCRYPTED_PREFERENCES = "echo_preferences"
+}
@@ -0,0 +1,32 @@
+package com.application.echo.metrics
+
+import com.application.echo.core.analytics.Analytics
+import com.application.echo.core.analytics.AnalyticsEvent
+import com.application.echo.core.network.metrics.EndpointMetrics
+import com.application.echo.core.network.metrics.NetworkMetricsReporter
+import javax.inject.Inject
+
+/**
+ * Exports the HTTP client's periodic per-endpoint latency summaries as
+ * one [AnalyticsEvent.TimingEvent.apiCallSummary] per endpoint.
+ */
+class AnalyticsNetworkMetricsReporter @Inject constructor(
+    private val analytics: Analytics,
+) : NetworkMetricsReporter {
+
+    override fun report(metrics: List<EndpointMetrics>) {
+        metrics.forEach { endpoint ->
+            analytics.trackEvent(
+                AnalyticsEvent.TimingEvent.apiCallSummary(
+                    endpoint = endpoint.endpoint,
+                    method = endpoint.method,
+                    calls = endpoint.calls,
+                    failures = endpoint.failures,
+                    phaseLatencies = endpoint.phases.entries.associate { (phase, summary) ->
+                        phase.key to (summary.p50Ms to summary.p95Ms)
+                    },
+                ),
+            )
+        }
+    }
+}
@@ -0,0 +1,32 @@
+plugins {
+    alias(libs.plugins.echo.android.library)
+    alias(libs.plugins.androidx.benchmark)
+}
+
+android {
+    namespace = "com.application.echo.benchmark"
+
+    defaultConfig {
+        testInstrumentationRunner = "androidx.benchmark.junit4.AndroidBenchmarkRunner"
+    }
+
+    // Benchmarks measure optimised, non-debuggable code.
+    testBuildType = "release"
+    buildTypes {
+        getByName("release") {
+            signingConfig = signingConfigs.getByName("debug")
+        }
+    }
+}
+
+dependencies {
+
+    // Code under test
+    androidTestImplementation(project(":core:database"))
+    androidTestImplementation(libs.room.runtime)
+
+    // Benchmarking
+    androidTestImplementation(libs.androidx.benchmark.junit4)
+    androidTestImplementation(libs.androidx.junit)
+    androidTestImplementation(libs.kotlinx.coroutines.android)
+}
@@ -0,0 +1,147 @@
+package com.application.echo.benchmark
+
+import android.content.Context
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.room.Room
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.application.echo.core.database.EchoDatabase
+import com.application.echo.core.database.entity.MessageEntity
+import com.application.echo.core.database.search.FtsRanking
+import kotlinx.coroutines.runBlocking
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import kotlin.math.pow
+import kotlin.random.Random
+
+/**
+ * Indexing throughput and query latency of the `messages_fts` index with
+ * [MESSAGE_COUNT] messages stored.
+ *
+ * The search benchmarks run the same steps as `MessageSearchImpl` for one
+ * page: bounded candidates, re-scoring with [FtsRanking], then snippets.
+ *
+ * ```
+ * ./gradlew :benchmark:connectedReleaseAndroidTest
+ * ```
+ */
+@RunWith(AndroidJUnit4::class)
+class MessageSearchBenchmark {
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private lateinit var database: EchoDatabase
+    private val random = Random(SEED)
+
+    @Before
+    fun setUp() {
+        val context = ApplicationProvider.getApplicationContext<Context>()
+        database = Room.inMemoryDatabaseBuilder(context, EchoDatabase::class.java).build()
+        runBlocking {
+            (0 until MESSAGE_COUNT step BATCH_SIZE).forEach { start ->
+                database.messageDao().upsertAll(messages(start, BATCH_SIZE))
+            }
+        }
+    }
+
+    @After
+    fun tearDown() {
+        database.close()
+    }
+
+    /** One batch the size of a sync page, written on top of the stored history. */
+    @Test
+    fun indexSyncPage() {
+        val messageDao = database.messageDao()
+        var next = MESSAGE_COUNT
+        benchmarkRule.measureRepeated {
+            val batch = runWithTimingDisabled { messages(next, SYNC_PAGE_SIZE) }
+            next += SYNC_PAGE_SIZE
+            runBlocking { messageDao.upsertAll(batch) }
+        }
+    }
+
+    /** A short prefix of a frequent word — the as-you-type worst case. */
+    @Test
+    fun searchCommonPrefix() = measureSearch("\"th*\"")
+
+    @Test
+    fun searchTwoWords() = measureSearch("\"meet*\" \"tomorrow*\"")
+
+    @Test
+    fun searchRareWord() = measureSearch("\"quarterly*\"")
+
+    // ──────────────── Helpers ────────────────
+
+    private fun measureSearch(match: String) {
+        val searchDao = database.messageSearchDao()
+        benchmarkRule.measureRepeated {
+            runBlocking {
+                val page = searchDao.getCandidates(match, conversationId = null, MAX_CANDIDATES)
+                    .sortedByDescending { FtsRanking.score(it.matchInfo) }
+                    .take(PAGE_SIZE)
+                searchDao.getRows(
+                    query = match,
+                    rowIds = page.map { it.rowId },
+                    highlightStart = "[",
+                    highlightEnd = "]",
+                    ellipsis = "…",
+                    snippetTokens = SNIPPET_TOKENS,
+                )
+            }
+        }
+    }
+
+    /** [count] messages from id [start], spread over [CONVERSATION_COUNT] conversations. */
+    private fun messages(start: Int, count: Int): List<MessageEntity> =
+        (start until start + count).map { index ->
+            val timestamp = BASE_TIME + index * 1_000L
+            MessageEntity(
+                id = "message-$index",
+                conversationId = "conversation-${index % CONVERSATION_COUNT}",
+                senderId = "user-${random.nextInt(SENDER_COUNT)}",
+                content = sentence(),
+                messageType = "text",
+                status = "sent",
+                createdAt = timestamp,
+                updatedAt = timestamp,
+            )
+        }
+
+    /** Words are skewed towards the front of [VOCABULARY], roughly like real chat text. */
+    private fun sentence(): String =
+        List(random.nextInt(MIN_WORDS, MAX_WORDS + 1)) {
+            VOCABULARY[(random.nextDouble().pow(3) * VOCABULARY.size).toInt()]
+        }.joinToString(" ")
+
+    private companion object {
+        const val MESSAGE_COUNT = 100_000
+        const val BATCH_SIZE = 1_000
+        const val SYNC_PAGE_SIZE = 100
+        const val CONVERSATION_COUNT = 200
+        const val SENDER_COUNT = 50
+        const val MIN_WORDS = 3
+        const val MAX_WORDS = 24
+        const val SEED = 42
+        const val BASE_TIME = 1_700_000_000_000L
+
+        // Same values as MessageSearchImpl.
+        const val MAX_CANDIDATES = 500
+        const val PAGE_SIZE = 20
+        const val SNIPPET_TOKENS = 12
+
+        val VOCABULARY = listOf(
+            "the", "i", "you", "to", "a", "it", "and", "is", "that", "ok", "we", "this", "are", "for",
+            "on", "what", "just", "there", "they", "then", "think", "thanks", "yes", "no", "can", "see",
+            "now", "will", "be", "going", "time", "meet", "tomorrow", "today", "later", "call", "send",
+            "photo", "lunch", "dinner", "home", "work", "weekend", "train", "late", "sorry", "great",
+            "birthday", "party", "tickets", "movie", "flight", "hotel", "address", "doctor", "project",
+            "deadline", "meeting", "review", "invoice", "budget", "quarterly", "report", "contract",
+        )
+    }
+}
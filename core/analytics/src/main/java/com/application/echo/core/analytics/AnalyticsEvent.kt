@@ -600,6 +600,29 @@ data class AnalyticsEvent(
                 )
             )
 
+        /**
+         * Periodic latency summary of one API endpoint.
+         *
+         * @param phaseLatencies Phase name → (p50, p95) in milliseconds.
+         */
+        fun apiCallSummary(
+            endpoint: String,
+            method: String,
+            calls: Long,
+            failures: Long,
+            phaseLatencies: Map<String, Pair<Long, Long>>
+        ) = AnalyticsEvent(
+            name = "api_call_summary",
+            parameters = mapOf(
+                "endpoint" to endpoint,
+                "method" to method,
+                "calls" to calls,
+                "failures" to failures
+            ) + phaseLatencies.flatMap { (phase, latency) ->
+                listOf("${phase}_p50_ms" to latency.first, "${phase}_p95_ms" to latency.second)
+            }
+        )
+
         fun databaseQuery(queryType: String, table: String, duration: Long, resultCount: Int) =
             AnalyticsEvent(
                 name = "database_query",
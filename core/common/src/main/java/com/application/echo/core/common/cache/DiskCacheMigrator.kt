@@ -0,0 +1,58 @@
+package com.application.echo.core.common.cache
+
+import android.content.SharedPreferences
+import androidx.core.content.edit
+import com.application.echo.core.common.model.DiskCacheEntry
+import timber.log.Timber
+
+/**
+ * Moves SharedPreferences entries written by the old `BaseDiskCache` — a
+ * value under `prefix:key` plus a string-encoded [DiskCacheEntry] under
+ * `prefix:key_ttl` — into a [DiskCacheStore] the first time that cache is used.
+ */
+internal object DiskCacheMigrator {
+
+    private const val TAG = "DiskCacheMigrator"
+    private const val LEGACY_TTL_SUFFIX = "_ttl"
+
+    /**
+     * Moves every `keyPrefix:` entry of [preferences] into [store] and
+     * deletes it from [preferences] once the store has written it to disk.
+     * Expired or unreadable entries are dropped; keys the store already
+     * holds keep the store's value.
+     *
+     * @return the number of entries moved.
+     */
+    fun migratePreferences(preferences: SharedPreferences, keyPrefix: String, store: DiskCacheStore): Int {
+        val prefix = "$keyPrefix:"
+        val legacy = preferences.all.filterKeys { it.startsWith(prefix) }
+        if (legacy.isEmpty()) return 0
+
+        var moved = 0
+        legacy.forEach { (fullKey, value) ->
+            if (fullKey.endsWith(LEGACY_TTL_SUFFIX) || value == null) return@forEach
+
+            val ttlEncoded = legacy[fullKey + LEGACY_TTL_SUFFIX] as? String
+            // No TTL key means the value never expires; a TTL key that won't decode is corruption.
+            val entry = if (ttlEncoded == null) {
+                DiskCacheEntry(System.currentTimeMillis(), null)
+            } else {
+                DiskCacheEntry.decode(ttlEncoded) ?: return@forEach
+            }
+            if (entry.isExpired()) return@forEach
+
+            val supported = value is Boolean || value is Int || value is Long || value is String ||
+                (value is Set<*> && value.all { it is String })
+            if (supported && store.putIfAbsent(keyPrefix, fullKey.removePrefix(prefix), value, entry)) moved++
+        }
+
+        // The legacy keys are the only copy until the store's batch is on disk.
+        if (!store.flush()) {
+            Timber.tag(TAG).w("Keeping legacy '%s' preferences until the store can be written", keyPrefix)
+            return moved
+        }
+        preferences.edit(commit = true) { legacy.keys.forEach { remove(it) } }
+        Timber.tag(TAG).i("Migrated %d of %d legacy '%s' preferences", moved, legacy.size, keyPrefix)
+        return moved
+    }
+}
@@ -0,0 +1,37 @@
+package com.application.echo.core.common.cache
+
+import com.application.echo.core.common.model.DiskCacheEntry
+
+/**
+ * One value held by [DiskCacheStore], with its write time and TTL.
+ */
+internal class DiskCacheRecord(
+    val type: DiskCacheType,
+    val value: Any,
+    val entry: DiskCacheEntry,
+)
+
+/**
+ * Value types a [DiskCacheStore] can hold — the same set `BaseDiskCache` exposes.
+ * [tag] is what goes on disk, so existing tags must never change.
+ */
+internal enum class DiskCacheType(val tag: Int) {
+    BooleanValue(1),
+    IntValue(2),
+    LongValue(3),
+    StringValue(4),
+    StringSetValue(5);
+
+    companion object {
+        fun of(value: Any): DiskCacheType = when (value) {
+            is Boolean -> BooleanValue
+            is Int -> IntValue
+            is Long -> LongValue
+            is String -> StringValue
+            is Set<*> -> StringSetValue
+            else -> throw IllegalArgumentException("Unsupported disk cache value: ${value::class.java}")
+        }
+
+        fun fromTag(tag: Int): DiskCacheType? = entries.firstOrNull { it.tag == tag }
+    }
+}
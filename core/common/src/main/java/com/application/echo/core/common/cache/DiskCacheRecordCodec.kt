@@ -0,0 +1,212 @@
+package com.application.echo.core.common.cache
+
+import com.application.echo.core.common.model.DiskCacheEntry
+import java.io.ByteArrayOutputStream
+import java.io.DataOutputStream
+import java.io.IOException
+import java.io.InputStream
+import java.nio.ByteBuffer
+import java.util.zip.CRC32
+
+/**
+ * Binary layout of one [DiskCacheStore] log record.
+ *
+ * ```
+ * offset  size  field
+ *      0     2  magic      0xEC0D — lost framing shows up as a bad magic
+ *      2     1  version    record layout version, currently 1
+ *      3     1  op         put / remove / clear
+ *      4     1  type       DiskCacheType.tag, 0 for remove and clear
+ *      5     8  timestamp  write time, epoch millis
+ *     13     8  ttl        millis, or -1 for none
+ *     21     4  length     payload size in bytes
+ *     25     4  crc        CRC32 of bytes 0..24 and the payload
+ *     29     …  payload    namespace, key, value
+ * ```
+ *
+ * All integers are big-endian; strings are an `Int` byte count and UTF-8.
+ * Because timestamp and TTL sit at fixed offsets, [Reader.isExpired] decides
+ * whether a put is still live before its payload is decoded.
+ */
+internal object DiskCacheRecordCodec {
+
+    const val OP_PUT = 1
+    const val OP_REMOVE = 2
+    const val OP_CLEAR = 3
+
+    private const val MAGIC: Short = 0xEC0D.toShort()
+    private const val VERSION = 1
+    private const val NO_TTL = -1L
+
+    private const val MAGIC_AT = 0
+    private const val VERSION_AT = 2
+    private const val OP_AT = 3
+    private const val TYPE_AT = 4
+    private const val TIMESTAMP_AT = 5
+    private const val TTL_AT = 13
+    private const val LENGTH_AT = 21
+    private const val CRC_AT = 25
+    private const val HEADER_BYTES = 29
+
+    /** Anything longer is a corrupt length, not a real value. */
+    private const val MAX_PAYLOAD_BYTES = 16 * 1024 * 1024
+
+    // ──────────────── Writing ────────────────
+
+    fun encodePut(namespace: String, key: String, record: DiskCacheRecord): ByteArray =
+        encode(OP_PUT, record.type.tag, record.entry.timestamp, record.entry.ttl ?: NO_TTL) { out ->
+            writeString(out, namespace)
+            writeString(out, key)
+            when (val value = record.value) {
+                is Boolean -> out.writeBoolean(value)
+                is Int -> out.writeInt(value)
+                is Long -> out.writeLong(value)
+                is String -> writeString(out, value)
+                is Set<*> -> {
+                    out.writeInt(value.size)
+                    value.forEach { writeString(out, it as String) }
+                }
+            }
+        }
+
+    fun encodeRemove(namespace: String, key: String): ByteArray =
+        encode(OP_REMOVE, 0, System.currentTimeMillis(), NO_TTL) { out ->
+            writeString(out, namespace)
+            writeString(out, key)
+        }
+
+    fun encodeClear(namespace: String): ByteArray =
+        encode(OP_CLEAR, 0, System.currentTimeMillis(), NO_TTL) { out -> writeString(out, namespace) }
+
+    private inline fun encode(
+        op: Int,
+        type: Int,
+        timestamp: Long,
+        ttl: Long,
+        writePayload: (DataOutputStream) -> Unit,
+    ): ByteArray {
+        val bytes = ByteArrayOutputStream(64)
+        DataOutputStream(bytes).use { out ->
+            out.writeShort(MAGIC.toInt())
+            out.writeByte(VERSION)
+            out.writeByte(op)
+            out.writeByte(type)
+            out.writeLong(timestamp)
+            out.writeLong(ttl)
+            out.writeInt(0) // length, patched below
+            out.writeInt(0) // crc, patched below
+            writePayload(out)
+        }
+
+        val record = ByteBuffer.wrap(bytes.toByteArray())
+        val length = record.capacity() - HEADER_BYTES
+        record.putInt(LENGTH_AT, length)
+        val crc = CRC32().apply {
+            update(record.array(), 0, CRC_AT)
+            update(record.array(), HEADER_BYTES, length)
+        }
+        record.putInt(CRC_AT, crc.value.toInt())
+        return record.array()
+    }
+
+    private fun writeString(out: DataOutputStream, value: String) {
+        val bytes = value.toByteArray(Charsets.UTF_8)
+        out.writeInt(bytes.size)
+        out.write(bytes)
+    }
+
+    // ──────────────── Reading ────────────────
+
+    enum class ReadStatus {
+        /** A valid record is loaded; inspect it through the [Reader]. */
+        Record,
+
+        /** The record failed its checksum or has an unknown version and was skipped. */
+        Corrupt,
+
+        /** Clean end of the log. */
+        End,
+
+        /** A torn or unframed tail: nothing after this point can be trusted. */
+        Truncated,
+    }
+
+    /**
+     * Streams records out of [input], reusing one header and one payload
+     * buffer throughout, so skipping a record allocates nothing.
+     */
+    class Reader(private val input: InputStream) {
+
+        private val header = ByteBuffer.allocate(HEADER_BYTES)
+        private var payload = ByteBuffer.allocate(256)
+        private val crc = CRC32()
+
+        val op: Int get() = header.get(OP_AT).toInt()
+
+        fun advance(): ReadStatus {
+            val headerRead = readFully(header.array(), HEADER_BYTES)
+            if (headerRead == 0) return ReadStatus.End
+            if (headerRead < HEADER_BYTES || header.getShort(MAGIC_AT) != MAGIC) return ReadStatus.Truncated
+
+            val length = header.getInt(LENGTH_AT)
+            if (length < 0 || length > MAX_PAYLOAD_BYTES) return ReadStatus.Truncated
+            if (payload.capacity() < length) payload = ByteBuffer.allocate(length)
+            if (readFully(payload.array(), length) < length) return ReadStatus.Truncated
+            payload.clear().limit(length)
+
+            crc.reset()
+            crc.update(header.array(), 0, CRC_AT)
+            crc.update(payload.array(), 0, length)
+            if (crc.value.toInt() != header.getInt(CRC_AT)) return ReadStatus.Corrupt
+            if (header.get(VERSION_AT).toInt() != VERSION) return ReadStatus.Corrupt
+            return ReadStatus.Record
+        }
+
+        /** Whether the current put has outlived its TTL, read straight from the header. */
+        fun isExpired(now: Long = System.currentTimeMillis()): Boolean {
+            val ttl = header.getLong(TTL_AT)
+            return ttl != NO_TTL && now - header.getLong(TIMESTAMP_AT) > ttl
+        }
+
+        /** Payload fields, in order: namespace, key (not for clear), then the value via [readRecord]. */
+        fun readString(): String {
+            val length = need(Int.SIZE_BYTES).getInt()
+            if (length < 0) throw IOException("Bad string length $length")
+            need(length)
+            val value = String(payload.array(), payload.position(), length, Charsets.UTF_8)
+            payload.position(payload.position() + length)
+            return value
+        }
+
+        fun readRecord(): DiskCacheRecord {
+            val type = DiskCacheType.fromTag(header.get(TYPE_AT).toInt())
+                ?: throw IOException("Unknown value type ${header.get(TYPE_AT)}")
+            val value: Any = when (type) {
+                DiskCacheType.BooleanValue -> need(1).get() != 0.toByte()
+                DiskCacheType.IntValue -> need(Int.SIZE_BYTES).getInt()
+                DiskCacheType.LongValue -> need(Long.SIZE_BYTES).getLong()
+                DiskCacheType.StringValue -> readString()
+                DiskCacheType.StringSetValue -> HashSet<String>().apply {
+                    repeat(need(Int.SIZE_BYTES).getInt()) { add(readString()) }
+                }
+            }
+            val ttl = header.getLong(TTL_AT).takeIf { it != NO_TTL }
+            return DiskCacheRecord(type, value, DiskCacheEntry(header.getLong(TIMESTAMP_AT), ttl))
+        }
+
+        private fun need(bytes: Int): ByteBuffer {
+            if (payload.remaining() < bytes) throw IOException("Payload ends early")
+            return payload
+        }
+
+        private fun readFully(target: ByteArray, length: Int): Int {
+            var total = 0
+            while (total < length) {
+                val read = input.read(target, total, length - total)
+                if (read == -1) break
+                total += read
+            }
+            return total
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.application.echo.core.common.cache
+
+import com.application.echo.core.common.model.DiskCacheEntry
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.launch
+import timber.log.Timber
+import java.io.BufferedInputStream
+import java.io.BufferedOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.File
+import java.io.FileInputStream
+import java.io.FileOutputStream
+import java.io.IOException
+
+/**
+ * Key-value store behind [com.application.echo.core.common.platform.base.BaseDiskCache].
+ *
+ * - **Reads** are served from an in-memory index, one hash map per
+ *   namespace, so `get`, `size` and `clear` never scan other namespaces.
+ * - **Writes** update the index immediately and are appended to a log
+ *   file in batches by a single background writer; nothing is rewritten
+ *   on put. The log is compacted once dead records outnumber live ones.
+ * - **Records** use the checksummed [DiskCacheRecordCodec] layout; a record
+ *   that fails its check is skipped.
+ * - **Expiry** is checked on read and swept periodically in the
+ *   background; both only queue a removal record.
+ *
+ * The log is loaded on a background thread as soon as the store is
+ * created; calls made before it finishes block until it does.
+ *
+ * Thread-safe. Create one per file — two stores on the same file corrupt it.
+ */
+class DiskCacheStore(
+    private val file: File,
+    private val scope: CoroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.IO),
+) {
+
+    private val lock = Any()
+    private val namespaces = HashMap<String, HashMap<String, DiskCacheRecord>>()
+    private val pending = ArrayList<LogOp>()
+    private val flushRequests = Channel<Unit>(Channel.CONFLATED)
+
+    /** Serialises log writes between the background writer and [flush] callers. */
+    private val writeLock = Any()
+
+    private var loaded = false
+    private var logRecords = 0
+    private var rewriteOnFlush = false
+
+    init {
+        scope.launch { synchronized(lock) { ensureLoaded() } }
+        scope.launch {
+            for (request in flushRequests) {
+                delay(BATCH_WINDOW_MS)
+                flush()
+            }
+        }
+        scope.launch {
+            while (isActive) {
+                delay(SWEEP_INTERVAL_MS)
+                sweepExpired()
+            }
+        }
+    }
+
+    // ──────────────── Reads ────────────────
+
+    /** The value of [key] in [namespace], or `null` if it is absent or has expired. */
+    fun get(namespace: String, key: String): Any? = synchronized(lock) {
+        ensureLoaded()
+        liveRecord(namespace, key)?.value
+    }
+
+    fun contains(namespace: String, key: String): Boolean = get(namespace, key) != null
+
+    /** Number of entries in [namespace], including expired ones not yet swept. */
+    fun size(namespace: String): Int = synchronized(lock) {
+        ensureLoaded()
+        namespaces[namespace]?.size ?: 0
+    }
+
+    /** Keys in [namespace] that have not expired. */
+    fun keys(namespace: String): Set<String> = synchronized(lock) {
+        ensureLoaded()
+        val records = namespaces[namespace] ?: return emptySet()
+        records.filterValues { it.entry.isExpired() }.keys.forEach { removeLocked(namespace, it) }
+        records.keys.toSet()
+    }
+
+    // ──────────────── Writes ────────────────
+
+    /**
+     * Stores [value] — a [Boolean], [Int], [Long], [String] or `Set<String>` —
+     * under [key] in [namespace].
+     *
+     * @param ttl time to live in milliseconds; `null` means it never expires.
+     */
+    fun put(namespace: String, key: String, value: Any, ttl: Long?) {
+        val type = DiskCacheType.of(value)
+        val stored = if (value is Set<*>) value.mapTo(HashSet()) { it as String } else value
+        val record = DiskCacheRecord(type, stored, DiskCacheEntry(System.currentTimeMillis(), ttl))
+        synchronized(lock) {
+            ensureLoaded()
+            val previous = namespaces.getOrPut(namespace, ::HashMap).put(key, record)
+            // Replay skips expired puts without reading their key, so an expired put
+            // must not be the only thing hiding an older value that lives longer.
+            if (previous != null && expiresAt(previous.entry) > expiresAt(record.entry)) {
+                enqueue(LogOp.Remove(namespace, key))
+            }
+            enqueue(LogOp.Put(namespace, key, record))
+        }
+    }
+
+    /** Removes [key] from [namespace]. */
+    fun remove(namespace: String, key: String) {
+        synchronized(lock) {
+            ensureLoaded()
+            removeLocked(namespace, key)
+        }
+    }
+
+    /** Removes every entry in [namespace]. */
+    fun clear(namespace: String) {
+        synchronized(lock) {
+            ensureLoaded()
+            if (namespaces.remove(namespace) != null) enqueue(LogOp.Clear(namespace))
+        }
+    }
+
+    /**
+     * Stores [value] with an existing [entry] unless [key] is already live —
+     * used when migrating entries written elsewhere.
+     *
+     * @return whether the value was stored.
+     */
+    internal fun putIfAbsent(namespace: String, key: String, value: Any, entry: DiskCacheEntry): Boolean {
+        val type = DiskCacheType.of(value)
+        val stored = if (value is Set<*>) value.mapTo(HashSet()) { it as String } else value
+        synchronized(lock) {
+            ensureLoaded()
+            if (liveRecord(namespace, key) != null) return false
+            val record = DiskCacheRecord(type, stored, entry)
+            namespaces.getOrPut(namespace, ::HashMap)[key] = record
+            enqueue(LogOp.Put(namespace, key, record))
+        }
+        return true
+    }
+
+    // ──────────────── Index ────────────────
+
+    private fun liveRecord(namespace: String, key: String): DiskCacheRecord? {
+        val record = namespaces[namespace]?.get(key) ?: return null
+        if (!record.entry.isExpired()) return record
+        removeLocked(namespace, key)
+        return null
+    }
+
+    private fun removeLocked(namespace: String, key: String) {
+        val records = namespaces[namespace] ?: return
+        if (records.remove(key) == null) return
+        if (records.isEmpty()) namespaces.remove(namespace)
+        enqueue(LogOp.Remove(namespace, key))
+    }
+
+    private fun sweepExpired() {
+        synchronized(lock) {
+            ensureLoaded()
+            val expired = namespaces.flatMap { (namespace, records) ->
+                records.filterValues { it.entry.isExpired() }.keys.map { namespace to it }
+            }
+            expired.forEach { (namespace, key) -> removeLocked(namespace, key) }
+            if (expired.isNotEmpty()) Timber.tag(TAG).d("Swept %d expired entries", expired.size)
+        }
+    }
+
+    private fun expiresAt(entry: DiskCacheEntry): Long =
+        entry.ttl?.let { entry.timestamp + it } ?: Long.MAX_VALUE
+
+    private fun enqueue(op: LogOp) {
+        pending += op
+        flushRequests.trySend(Unit)
+    }
+
+    // ──────────────── Log ────────────────
+
+    /**
+     * Writes queued ops now, or rewrites the whole log when it is mostly dead
+     * records. The background writer calls this after each batch window;
+     * call it directly only when a write must be durable before going on.
+     *
+     * The batch and, for a rewrite, the snapshot are taken in one critical
+     * section, so no op can land in the index between the two and be missing
+     * from both.
+     *
+     * @return whether everything queued so far is on disk.
+     */
+    internal fun flush(): Boolean = synchronized(writeLock) {
+        val batch: List<LogOp>
+        val snapshot: List<LogOp>?
+        synchronized(lock) {
+            if (pending.isEmpty() && !rewriteOnFlush) return true
+            batch = ArrayList(pending)
+            pending.clear()
+            logRecords += batch.size
+            val live = namespaces.values.sumOf { it.size }
+            val rewrite = rewriteOnFlush || (logRecords >= COMPACT_MIN_RECORDS && logRecords > live * 2)
+            rewriteOnFlush = false
+            snapshot = if (rewrite) snapshotLocked() else null
+        }
+
+        try {
+            if (snapshot != null) compact(snapshot) else append(batch)
+            true
+        } catch (e: Throwable) {
+            // The index is still correct; rewrite from it next time rather than append to a bad tail.
+            // Caught broadly: anything escaping here would end the writer and silently stop persistence.
+            Timber.tag(TAG).e(e, "Failed to write %s", file.name)
+            synchronized(lock) { rewriteOnFlush = true }
+            false
+        }
+    }
+
+    private fun append(batch: List<LogOp>) {
+        val isNew = !file.exists() || file.length() == 0L
+        val stream = FileOutputStream(file, true)
+        DataOutputStream(BufferedOutputStream(stream)).use { out ->
+            if (isNew) writeHeader(out)
+            batch.forEach { out.write(it.encode()) }
+            out.flush()
+            stream.fd.sync()
+        }
+    }
+
+    /** Every live record as a put, resetting the log count to match. Must hold [lock]. */
+    private fun snapshotLocked(): List<LogOp> {
+        logRecords = namespaces.values.sumOf { it.size }
+        return namespaces.flatMap { (namespace, records) ->
+            records.map { (key, record) -> LogOp.Put(namespace, key, record) }
+        }
+    }
+
+    private fun compact(snapshot: List<LogOp>) {
+        val temp = File(file.parentFile, "${file.name}.tmp")
+        val stream = FileOutputStream(temp)
+        DataOutputStream(BufferedOutputStream(stream)).use { out ->
+            writeHeader(out)
+            snapshot.forEach { out.write(it.encode()) }
+            out.flush()
+            stream.fd.sync()
+        }
+        if (!temp.renameTo(file)) throw IOException("Could not replace ${file.name}")
+        Timber.tag(TAG).d("Compacted %s to %d records", file.name, snapshot.size)
+    }
+
+    /** Replays the log into the index. Must hold [lock]. */
+    private fun ensureLoaded() {
+        if (loaded) return
+        loaded = true
+        if (!file.exists()) return
+
+        try {
+            DataInputStream(BufferedInputStream(FileInputStream(file))).use { input ->
+                if (input.readInt() != MAGIC) throw IOException("Unrecognised header")
+                val version = input.readInt()
+                if (version != FORMAT_VERSION) throw IOException("Unsupported format v$version")
+                replayRecords(input)
+            }
+        } catch (e: IOException) {
+            // A torn tail from a crash mid-append, or a foreign file: keep what was read.
+            Timber.tag(TAG).w(e, "Stopped reading %s after %d records", file.name, logRecords)
+            rewriteOnFlush = true
+        }
+        if (rewriteOnFlush) flushRequests.trySend(Unit)
+    }
+
+    private fun replayRecords(input: DataInputStream) {
+        val reader = DiskCacheRecordCodec.Reader(input)
+        var corrupt = 0
+        while (true) {
+            when (reader.advance()) {
+                DiskCacheRecordCodec.ReadStatus.End -> break
+                DiskCacheRecordCodec.ReadStatus.Truncated -> {
+                    Timber.tag(TAG).w("Dropping torn tail of %s after %d records", file.name, logRecords)
+                    rewriteOnFlush = true
+                    break
+                }
+
+                DiskCacheRecordCodec.ReadStatus.Corrupt -> corrupt++
+                DiskCacheRecordCodec.ReadStatus.Record -> {
+                    logRecords++
+                    replayRecord(reader)
+                }
+            }
+        }
+        if (corrupt > 0) {
+            Timber.tag(TAG).w("Skipped %d corrupt records in %s", corrupt, file.name)
+            rewriteOnFlush = true
+        }
+    }
+
+    /** Applies one replayed op straight to the index — it is already on disk. */
+    private fun replayRecord(reader: DiskCacheRecordCodec.Reader) {
+        when (reader.op) {
+            DiskCacheRecordCodec.OP_PUT -> {
+                // Decided from the header alone: nothing of an expired put is decoded.
+                // put() logs a remove ahead of any put that would otherwise have to mask
+                // an older value, so skipping it leaves the index right.
+                if (reader.isExpired()) return
+                val namespace = reader.readString()
+                val key = reader.readString()
+                namespaces.getOrPut(namespace, ::HashMap)[key] = reader.readRecord()
+            }
+
+            DiskCacheRecordCodec.OP_REMOVE -> {
+                val namespace = reader.readString()
+                val records = namespaces[namespace] ?: return
+                records.remove(reader.readString())
+                if (records.isEmpty()) namespaces.remove(namespace)
+            }
+
+            DiskCacheRecordCodec.OP_CLEAR -> namespaces.remove(reader.readString())
+            else -> throw IOException("Unknown op ${reader.op}")
+        }
+    }
+
+    private fun writeHeader(out: DataOutputStream) {
+        out.writeInt(MAGIC)
+        out.writeInt(FORMAT_VERSION)
+    }
+
+    private sealed interface LogOp {
+        fun encode(): ByteArray
+
+        class Put(val namespace: String, val key: String, val record: DiskCacheRecord) : LogOp {
+            override fun encode() = DiskCacheRecordCodec.encodePut(namespace, key, record)
+        }
+
+        class Remove(val namespace: String, val key: String) : LogOp {
+            override fun encode() = DiskCacheRecordCodec.encodeRemove(namespace, key)
+        }
+
+        class Clear(val namespace: String) : LogOp {
+            override fun encode() = DiskCacheRecordCodec.encodeClear(namespace)
+        }
+    }
+
+    private companion object {
+        const val TAG = "DiskCacheStore"
+
+        /** "ECDC" — marks the file as an Echo disk cache log. */
+        const val MAGIC = 0x45434443
+
+        /** File layout: this header, then [DiskCacheRecordCodec] records. */
+        const val FORMAT_VERSION = 2
+
+        /** Puts arriving within this window share one append and one fsync. */
+        const val BATCH_WINDOW_MS = 200L
+        const val SWEEP_INTERVAL_MS = 15 * 60 * 1000L
+
+        /** Small logs are cheap to replay; only compact past this many records. */
+        const val COMPACT_MIN_RECORDS = 512
+    }
+}
@@ -0,0 +1,208 @@
+package com.application.echo.core.common.cache
+
+import com.application.echo.core.common.model.CacheEntry
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Bounded, thread-safe in-memory cache of [CacheEntry] values.
+ *
+ * - **Bounded** by total weight: every value weighs [weigher] units (1 by
+ *   default, so [maxWeight] is an entry count). The least recently used
+ *   entries are evicted first.
+ * - **Lazy TTL**: expired entries are dropped when they are next read or
+ *   reached by eviction; there is no background sweeper.
+ * - **Lock-striped**: keys are spread over independent segments, so reads
+ *   and writes of different keys rarely contend.
+ * - **Memory aware**: unless disabled, the cache registers with
+ *   [MemoryCacheTrimmer] and shrinks when the system reports memory pressure.
+ *
+ * ```kotlin
+ * private val avatars = MemoryCache<String, Bitmap>(
+ *     maxWeight = 8L * 1024 * 1024,
+ *     weigher = { _, bitmap -> bitmap.allocationByteCount },
+ * )
+ * ```
+ *
+ * @param maxWeight total weight the cache may hold. A single value heavier
+ *   than its segment's share is not cached at all.
+ * @param defaultTtlMs time to live for [put] calls that don't pass one;
+ *   `null` means entries never expire.
+ * @param concurrency expected number of concurrently writing threads; rounded
+ *   to a power of two and capped so each segment still holds a useful share.
+ */
+class MemoryCache<K : Any, V : Any>(
+    private val maxWeight: Long,
+    private val defaultTtlMs: Long? = null,
+    private val weigher: (K, V) -> Int = { _, _ -> 1 },
+    concurrency: Int = DEFAULT_CONCURRENCY,
+    trimOnMemoryPressure: Boolean = true,
+) {
+
+    private val hits = AtomicLong()
+    private val misses = AtomicLong()
+    private val evictions = AtomicLong()
+    private val expirations = AtomicLong()
+
+    private val segments: Array<Segment>
+    private val segmentMask: Int
+
+    init {
+        require(maxWeight > 0) { "maxWeight must be positive, was $maxWeight" }
+
+        var count = Integer.highestOneBit(concurrency.coerceIn(1, MAX_SEGMENTS))
+        while (count > 1 && maxWeight / count < MIN_SEGMENT_WEIGHT) count = count shr 1
+
+        val share = maxWeight / count
+        val remainder = maxWeight % count
+        segments = Array(count) { index -> Segment(share + if (index < remainder) 1 else 0) }
+        segmentMask = count - 1
+
+        if (trimOnMemoryPressure) MemoryCacheTrimmer.register(this)
+    }
+
+    /** Number of live entries, including expired ones not yet dropped. */
+    val size: Int
+        get() = segments.sumOf { it.size() }
+
+    /** Total weight of the entries currently held. */
+    val weight: Long
+        get() = segments.sumOf { it.weight() }
+
+    /** The value for [key], or `null` if it is absent or has expired. */
+    operator fun get(key: K): V? {
+        val value = segmentFor(key).get(key)
+        if (value != null) hits.incrementAndGet() else misses.incrementAndGet()
+        return value
+    }
+
+    /** Whether [key] is cached and not expired. Does not count as a hit or miss. */
+    operator fun contains(key: K): Boolean = segmentFor(key).get(key) != null
+
+    /**
+     * Stores [value] under [key], replacing any previous value.
+     *
+     * @param ttlMs time to live for this entry; `null` means it never expires.
+     * @return the previous value, if it was still live.
+     */
+    fun put(key: K, value: V, ttlMs: Long? = defaultTtlMs): V? {
+        val entry = CacheEntry(value = value, timestamp = System.currentTimeMillis(), ttl = ttlMs)
+        return segmentFor(key).put(key, Node(entry, weigher(key, value).coerceAtLeast(0)))
+    }
+
+    /** Operator form of [put] with the default TTL. */
+    operator fun set(key: K, value: V) {
+        put(key, value)
+    }
+
+    /**
+     * The cached value for [key], or the result of [create], which is cached
+     * and returned. [create] runs outside any lock, so two racing callers
+     * may both run it; the last one to finish wins.
+     */
+    fun getOrPut(key: K, ttlMs: Long? = defaultTtlMs, create: () -> V): V =
+        get(key) ?: create().also { put(key, it, ttlMs) }
+
+    /** Removes [key], returning its value if it was still live. */
+    fun remove(key: K): V? = segmentFor(key).remove(key)
+
+    /** Removes every entry. Not counted as evictions. */
+    fun invalidateAll() {
+        segments.forEach { it.clear() }
+    }
+
+    /**
+     * Evicts least recently used entries until at most [fraction] of
+     * [maxWeight] remains — `0f` empties the cache.
+     */
+    fun trimTo(fraction: Float) {
+        val ratio = fraction.coerceIn(0f, 1f)
+        segments.forEach { it.evictTo((it.maxWeight * ratio).toLong()) }
+    }
+
+    /** Counters since creation, plus the current size and weight. */
+    fun stats(): MemoryCacheStats = MemoryCacheStats(
+        hitCount = hits.get(),
+        missCount = misses.get(),
+        evictionCount = evictions.get(),
+        expirationCount = expirations.get(),
+        size = size,
+        weight = weight,
+        maxWeight = maxWeight,
+    )
+
+    // ──────────────── Segments ────────────────
+
+    private fun segmentFor(key: K): Segment {
+        // Spread the hash so keys differing only in high bits land in different segments.
+        val hash = key.hashCode()
+        return segments[(hash xor (hash ushr 16)) and segmentMask]
+    }
+
+    private class Node<V>(val entry: CacheEntry<V>, val weight: Int)
+
+    /** One stripe: an access-ordered map guarded by its own monitor. */
+    private inner class Segment(val maxWeight: Long) {
+
+        private val map = LinkedHashMap<K, Node<V>>(16, 0.75f, true)
+        private var weight = 0L
+
+        fun size(): Int = synchronized(this) { map.size }
+
+        fun weight(): Long = synchronized(this) { weight }
+
+        fun get(key: K): V? = synchronized(this) {
+            val node = map[key] ?: return null
+            if (node.entry.isExpired()) {
+                unlink(key, node)
+                expirations.incrementAndGet()
+                return null
+            }
+            node.entry.value
+        }
+
+        fun put(key: K, node: Node<V>): V? = synchronized(this) {
+            val previous = if (node.weight > maxWeight) map.remove(key) else map.put(key, node)
+            if (previous != null) weight -= previous.weight
+            if (node.weight <= maxWeight) {
+                weight += node.weight
+                evictTo(maxWeight)
+            }
+            previous?.entry?.takeUnless { it.isExpired() }?.value
+        }
+
+        fun remove(key: K): V? = synchronized(this) {
+            val node = map.remove(key) ?: return null
+            weight -= node.weight
+            node.entry.takeUnless { it.isExpired() }?.value
+        }
+
+        fun clear() = synchronized(this) {
+            map.clear()
+            weight = 0
+        }
+
+        /** Drops entries, eldest first, until the segment weighs at most [target]. */
+        fun evictTo(target: Long) = synchronized(this) {
+            val iterator = map.values.iterator()
+            while (weight > target && iterator.hasNext()) {
+                val node = iterator.next()
+                iterator.remove()
+                weight -= node.weight
+                if (node.entry.isExpired()) expirations.incrementAndGet() else evictions.incrementAndGet()
+            }
+        }
+
+        private fun unlink(key: K, node: Node<V>) {
+            map.remove(key)
+            weight -= node.weight
+        }
+    }
+
+    private companion object {
+        const val DEFAULT_CONCURRENCY = 4
+        const val MAX_SEGMENTS = 64
+
+        /** Below this, LRU order within a segment is too coarse to be worth striping. */
+        const val MIN_SEGMENT_WEIGHT = 16L
+    }
+}
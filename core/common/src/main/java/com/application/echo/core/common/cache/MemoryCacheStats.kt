@@ -0,0 +1,24 @@
+package com.application.echo.core.common.cache
+
+/**
+ * Point-in-time counters of a [MemoryCache].
+ *
+ * @property evictionCount entries dropped to stay within the weight bound or
+ *   on memory pressure.
+ * @property expirationCount entries dropped because their TTL had passed.
+ */
+data class MemoryCacheStats(
+    val hitCount: Long,
+    val missCount: Long,
+    val evictionCount: Long,
+    val expirationCount: Long,
+    val size: Int,
+    val weight: Long,
+    val maxWeight: Long,
+) {
+    val requestCount: Long get() = hitCount + missCount
+
+    /** Share of reads served from the cache, `0.0` before the first read. */
+    val hitRate: Double
+        get() = if (requestCount == 0L) 0.0 else hitCount.toDouble() / requestCount
+}
@@ -0,0 +1,51 @@
+package com.application.echo.core.common.cache
+
+import android.content.ComponentCallbacks2
+import android.content.res.Configuration
+import timber.log.Timber
+import java.util.WeakHashMap
+
+/**
+ * Shrinks every live [MemoryCache] when the system reports memory pressure.
+ *
+ * Caches register themselves on creation and are held weakly, so a cache
+ * that is no longer referenced is simply forgotten. Register this once from
+ * `Application.onCreate` with `registerComponentCallbacks(MemoryCacheTrimmer)`.
+ */
+object MemoryCacheTrimmer : ComponentCallbacks2 {
+
+    private const val TAG = "MemoryCacheTrimmer"
+
+    private val caches = WeakHashMap<MemoryCache<*, *>, Unit>()
+
+    internal fun register(cache: MemoryCache<*, *>) {
+        synchronized(caches) { caches[cache] = Unit }
+    }
+
+    /** Trims every registered cache to [fraction] of its bound. */
+    fun trimAll(fraction: Float) {
+        val live = synchronized(caches) { caches.keys.toList() }
+        Timber.tag(TAG).d("Trimming %d caches to %.0f%%", live.size, fraction * 100)
+        live.forEach { it.trimTo(fraction) }
+    }
+
+    @Suppress("DEPRECATION")
+    override fun onTrimMemory(level: Int) {
+        when {
+            // In the background and on the LRU list, or the foreground is starving: let it all go.
+            level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND ||
+                level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL -> trimAll(0f)
+
+            // UI no longer visible, or memory is getting low: keep the hottest half.
+            level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN ||
+                level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW -> trimAll(0.5f)
+        }
+    }
+
+    @Deprecated("Deprecated in Java")
+    override fun onLowMemory() {
+        trimAll(0f)
+    }
+
+    override fun onConfigurationChanged(newConfig: Configuration) = Unit
+}
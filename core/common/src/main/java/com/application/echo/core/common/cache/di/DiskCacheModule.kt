@@ -0,0 +1,24 @@
+package com.application.echo.core.common.cache.di
+
+import android.content.Context
+import com.application.echo.core.common.cache.DiskCacheStore
+import dagger.Module
+import dagger.Provides
+import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
+import dagger.hilt.components.SingletonComponent
+import java.io.File
+import javax.inject.Singleton
+
+@Module
+@InstallIn(SingletonComponent::class)
+object DiskCacheModule {
+
+    /** One store per process — every `BaseDiskCache` shares it, each under its own prefix. */
+    @Provides
+    @Singleton
+    fun provideDiskCacheStore(@ApplicationContext context: Context): DiskCacheStore =
+        DiskCacheStore(File(context.noBackupFilesDir, DISK_CACHE_FILE))
+
+    private const val DISK_CACHE_FILE = "disk_cache.log"
+}
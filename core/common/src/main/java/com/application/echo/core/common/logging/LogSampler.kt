@@ -0,0 +1,37 @@
+package com.application.echo.core.common.logging
+
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.random.Random
+
+/**
+ * Random sampling plus a per-minute cap, so a failure storm can't flood the log.
+ *
+ * Shared by the sampled HTTP and WebSocket loggers. Thread-safe and
+ * lock-free; an unsampled call costs one random number.
+ *
+ * @param sampleRate Fraction of calls logged, in `0.0..1.0`.
+ * @param maxPerMinute Hard cap on lines per minute, applied after sampling.
+ */
+class LogSampler(
+    private val sampleRate: Double,
+    private val maxPerMinute: Int,
+) {
+
+    private val windowStart = AtomicLong()
+    private val used = AtomicInteger()
+
+    /** @param force Skip the random sampling (e.g. for failures); the cap still applies. */
+    fun shouldLog(force: Boolean = false): Boolean {
+        if (!force && Random.nextDouble() >= sampleRate) return false
+
+        val now = System.currentTimeMillis()
+        val start = windowStart.get()
+        if (now - start >= WINDOW_MS && windowStart.compareAndSet(start, now)) used.set(0)
+        return used.incrementAndGet() <= maxPerMinute
+    }
+
+    private companion object {
+        const val WINDOW_MS = 60_000L
+    }
+}
@@ -1,7 +1,11 @@
 package com.application.echo.core.common.model
 
 /**
- * Disk cache entry with TTL support
+ * Disk cache entry with TTL support.
+ *
+ * On disk it is part of a binary record header (see `DiskCacheRecordCodec`);
+ * the string [encode]/[decode] form is what the SharedPreferences-backed
+ * cache used, and is only read now to migrate those entries.
  */
 data class DiskCacheEntry(
     val timestamp: Long,
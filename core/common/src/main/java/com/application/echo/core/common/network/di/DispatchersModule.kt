@@ -1,13 +1,17 @@
 package com.application.echo.core.common.network.di
 
 import com.application.echo.core.common.annotations.AppDispatcher
+import com.application.echo.core.common.annotations.ApplicationScope
 import com.application.echo.core.common.model.AppDispatchers
 import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
 import dagger.hilt.components.SingletonComponent
 import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import javax.inject.Singleton
 
 @Module
 @InstallIn(SingletonComponent::class)
@@ -23,4 +27,12 @@ object DispatchersModule {
     @Provides
     @AppDispatcher(AppDispatchers.Main)
     fun providesMainDispatcher(): CoroutineDispatcher = Dispatchers.Main
+
+    /** Lives as long as the process — for work that must outlive any single screen. */
+    @Provides
+    @Singleton
+    @ApplicationScope
+    fun providesApplicationScope(
+        @AppDispatcher(AppDispatchers.IO) dispatcher: CoroutineDispatcher,
+    ): CoroutineScope = CoroutineScope(SupervisorJob() + dispatcher)
 }
@@ -0,0 +1,15 @@
+plugins {
+    alias(libs.plugins.echo.android.library)
+    alias(libs.plugins.echo.android.hilt)
+    alias(libs.plugins.echo.android.room)
+}
+
+android {
+    namespace = "com.application.echo.core.database"
+}
+
+dependencies {
+
+    // Coroutines
+    implementation(libs.kotlinx.coroutines.android)
+}
@@ -0,0 +1,66 @@
+package com.application.echo.core.database
+
+import androidx.room.Database
+import androidx.room.RoomDatabase
+import androidx.room.TypeConverters
+import com.application.echo.core.database.converter.DatabaseConverters
+import com.application.echo.core.database.dao.ConversationDao
+import com.application.echo.core.database.dao.MediaBlobDao
+import com.application.echo.core.database.dao.MediaUploadDao
+import com.application.echo.core.database.dao.MessageDao
+import com.application.echo.core.database.dao.MessageSearchDao
+import com.application.echo.core.database.dao.PendingMutationDao
+import com.application.echo.core.database.dao.SyncStateDao
+import com.application.echo.core.database.entity.ConversationEntity
+import com.application.echo.core.database.entity.MediaBlobEntity
+import com.application.echo.core.database.entity.MediaUploadEntity
+import com.application.echo.core.database.entity.MediaUploadPartEntity
+import com.application.echo.core.database.entity.MediaUrlEntity
+import com.application.echo.core.database.entity.MessageEntity
+import com.application.echo.core.database.entity.MessageFtsEntity
+import com.application.echo.core.database.entity.PendingMutationEntity
+import com.application.echo.core.database.entity.SyncStateEntity
+
+/**
+ * Local, offline-first store for messages and conversations, plus the
+ * bookkeeping for resumable media uploads, queued offline writes and
+ * the media cache index.
+ *
+ * Screens read from this database; the network only feeds it.
+ */
+@Database(
+    entities = [
+        MessageEntity::class,
+        MessageFtsEntity::class,
+        ConversationEntity::class,
+        SyncStateEntity::class,
+        MediaUploadEntity::class,
+        MediaUploadPartEntity::class,
+        MediaBlobEntity::class,
+        MediaUrlEntity::class,
+        PendingMutationEntity::class,
+    ],
+    version = 1,
+    exportSchema = true,
+)
+@TypeConverters(DatabaseConverters::class)
+abstract class EchoDatabase : RoomDatabase() {
+
+    abstract fun messageDao(): MessageDao
+
+    abstract fun messageSearchDao(): MessageSearchDao
+
+    abstract fun conversationDao(): ConversationDao
+
+    abstract fun syncStateDao(): SyncStateDao
+
+    abstract fun mediaUploadDao(): MediaUploadDao
+
+    abstract fun mediaBlobDao(): MediaBlobDao
+
+    abstract fun pendingMutationDao(): PendingMutationDao
+
+    internal companion object {
+        const val DATABASE_NAME = "echo.db"
+    }
+}
@@ -0,0 +1,24 @@
+package com.application.echo.core.database.converter
+
+import androidx.room.TypeConverter
+
+/**
+ * Room [TypeConverter]s shared by all entities.
+ */
+internal class DatabaseConverters {
+
+    /**
+     * Participant IDs are opaque, comma-free identifiers, so a plain
+     * delimiter is enough and avoids a JSON round trip per row.
+     */
+    @TypeConverter
+    fun fromStringList(value: List<String>): String = value.joinToString(SEPARATOR)
+
+    @TypeConverter
+    fun toStringList(value: String): List<String> =
+        if (value.isEmpty()) emptyList() else value.split(SEPARATOR)
+
+    private companion object {
+        const val SEPARATOR = ","
+    }
+}
@@ -0,0 +1,115 @@
+package com.application.echo.core.database.dao
+
+import androidx.room.Dao
+import androidx.room.Query
+import androidx.room.Transaction
+import androidx.room.Upsert
+import com.application.echo.core.database.entity.ConversationEntity
+import com.application.echo.core.database.entity.ConversationWithLastMessage
+import kotlinx.coroutines.flow.Flow
+
+/**
+ * Data access for the `conversations` table.
+ */
+@Dao
+interface ConversationDao {
+
+    /** Observes all conversations, most recently active first. */
+    @Transaction
+    @Query("SELECT * FROM conversations ORDER BY last_activity_at DESC")
+    fun observeAll(): Flow<List<ConversationWithLastMessage>>
+
+    @Transaction
+    @Query("SELECT * FROM conversations WHERE id = :id")
+    fun observeById(id: String): Flow<ConversationWithLastMessage?>
+
+    @Query("SELECT * FROM conversations WHERE id = :id")
+    suspend fun getById(id: String): ConversationEntity?
+
+    /** Looks up [ids] in chunks, so any number of IDs stays within SQLite's bind limit. */
+    @Transaction
+    suspend fun getByIds(ids: List<String>): List<ConversationEntity> =
+        ids.chunked(MAX_BIND_ARGS).flatMap { getByIdsChunk(it) }
+
+    /** Single-statement lookup — at most [MAX_BIND_ARGS] IDs; use [getByIds]. */
+    @Query("SELECT * FROM conversations WHERE id IN (:ids)")
+    suspend fun getByIdsChunk(ids: List<String>): List<ConversationEntity>
+
+    @Query("SELECT id FROM conversations")
+    suspend fun getAllIds(): List<String>
+
+    @Upsert
+    suspend fun upsertAll(conversations: List<ConversationEntity>)
+
+    /**
+     * Deletes every conversation not in [ids]. The complement is computed
+     * in memory and deleted in chunks, so [ids] may be of any size.
+     *
+     * @return the number of rows deleted.
+     */
+    @Transaction
+    suspend fun deleteAllExcept(ids: Collection<String>): Int {
+        val keep = ids.toHashSet()
+        return deleteByIds(getAllIds().filterNot(keep::contains))
+    }
+
+    /**
+     * Deletes [ids] in chunks, so any number of IDs stays within SQLite's bind limit.
+     *
+     * @return the number of rows deleted.
+     */
+    @Transaction
+    suspend fun deleteByIds(ids: List<String>): Int =
+        ids.chunked(MAX_BIND_ARGS).sumOf { deleteByIdsChunk(it) }
+
+    /** Single-statement delete — at most [MAX_BIND_ARGS] IDs; use [deleteByIds]. */
+    @Query("DELETE FROM conversations WHERE id IN (:ids)")
+    suspend fun deleteByIdsChunk(ids: List<String>): Int
+
+    /** @return the number of rows deleted. */
+    @Query("DELETE FROM conversations")
+    suspend fun deleteAll(): Int
+
+    /**
+     * Points a conversation at a newer last message.
+     *
+     * No-op when the stored last activity is already more recent.
+     */
+    @Query(
+        """
+        UPDATE conversations
+        SET last_message_id = :messageId, last_activity_at = :activityAt
+        WHERE id = :conversationId AND last_activity_at <= :activityAt
+        """,
+    )
+    suspend fun updateLastMessage(conversationId: String, messageId: String, activityAt: Long)
+
+    /**
+     * Upserts [conversations] that are new or at least as recent as the
+     * stored copy.
+     *
+     * @return the rows that were actually written.
+     */
+    @Transaction
+    suspend fun mergeNewer(conversations: List<ConversationEntity>): List<ConversationEntity> {
+        if (conversations.isEmpty()) return emptyList()
+
+        val written = ArrayList<ConversationEntity>(conversations.size)
+        conversations.chunked(MAX_BIND_ARGS).forEach { chunk ->
+            val stored = getByIdsChunk(chunk.map(ConversationEntity::id))
+                .associateBy(ConversationEntity::id)
+            val newer = chunk.filter { conversation ->
+                val current = stored[conversation.id]
+                current == null || conversation.updatedAt >= current.updatedAt
+            }
+            if (newer.isNotEmpty()) {
+                upsertAll(newer)
+                written += newer
+            }
+        }
+        return written
+    }
+}
+
+/** Stays below SQLite's default 999 bound-parameter limit. */
+private const val MAX_BIND_ARGS = 500
@@ -0,0 +1,62 @@
+package com.application.echo.core.database.dao
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+import androidx.room.Transaction
+import androidx.room.Upsert
+import com.application.echo.core.database.entity.MediaBlobEntity
+import com.application.echo.core.database.entity.MediaUrlEntity
+
+/**
+ * Index of the content-addressed media cache.
+ *
+ * Methods are blocking on purpose: they are called from OkHttp
+ * interceptor threads as well as from coroutines on `Dispatchers.IO`.
+ */
+@Dao
+interface MediaBlobDao {
+
+    @Query("SELECT * FROM media_blobs WHERE hash = :hash")
+    fun getBlob(hash: String): MediaBlobEntity?
+
+    @Query(
+        """
+        SELECT b.* FROM media_blobs b
+        JOIN media_urls u ON u.hash = b.hash
+        WHERE u.url = :url
+        """,
+    )
+    fun getBlobForUrl(url: String): MediaBlobEntity?
+
+    @Query("SELECT COALESCE(SUM(size), 0) FROM media_blobs")
+    fun totalSize(): Long
+
+    /** Least recently used blobs first; [offset] skips ones the caller is keeping. */
+    @Query("SELECT * FROM media_blobs ORDER BY last_accessed_at LIMIT :limit OFFSET :offset")
+    fun getLeastRecentlyUsed(limit: Int, offset: Int): List<MediaBlobEntity>
+
+    @Query("UPDATE media_blobs SET last_accessed_at = :now WHERE hash = :hash")
+    fun touch(hash: String, now: Long)
+
+    @Upsert
+    fun upsertBlob(blob: MediaBlobEntity)
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    fun insertUrl(url: MediaUrlEntity)
+
+    /** Records [blob] and, if given, the [url] it was fetched from or uploaded to. */
+    @Transaction
+    fun insert(blob: MediaBlobEntity, url: String?) {
+        upsertBlob(blob)
+        if (url != null) insertUrl(MediaUrlEntity(url = url, hash = blob.hash))
+    }
+
+    /** Removes blobs and, through the foreign key, every URL pointing at them. */
+    @Query("DELETE FROM media_blobs WHERE hash IN (:hashes)")
+    fun deleteBlobs(hashes: List<String>)
+
+    @Query("DELETE FROM media_blobs")
+    fun deleteAll()
+}
@@ -0,0 +1,113 @@
+package com.application.echo.core.database.dao
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+import androidx.room.Transaction
+import androidx.room.Upsert
+import com.application.echo.core.database.entity.MediaUploadEntity
+import com.application.echo.core.database.entity.MediaUploadPartEntity
+import com.application.echo.core.database.entity.MediaUploadProgressRow
+import kotlinx.coroutines.flow.Flow
+
+/**
+ * Data access for `media_uploads` and `media_upload_parts`.
+ *
+ * Writes made by a running upload only update existing rows, so an upload
+ * deleted by a cancel is never brought back by a worker that is still
+ * finishing.
+ */
+@Dao
+interface MediaUploadDao {
+
+    @Query("SELECT * FROM media_uploads WHERE id = :id")
+    suspend fun get(id: String): MediaUploadEntity?
+
+    /** Uploads that still have work to do, oldest first. */
+    @Query("SELECT * FROM media_uploads WHERE state IN ('pending', 'uploading') ORDER BY created_at")
+    suspend fun getUnfinished(): List<MediaUploadEntity>
+
+    @Query(
+        """
+        SELECT u.id, u.size, u.state, u.result_json, u.error,
+               COALESCE((SELECT SUM(p.size) FROM media_upload_parts p WHERE p.upload_id = u.id), 0) AS uploaded_bytes
+        FROM media_uploads u
+        WHERE u.id = :id
+        """,
+    )
+    fun observeProgress(id: String): Flow<MediaUploadProgressRow?>
+
+    @Upsert
+    suspend fun upsert(upload: MediaUploadEntity)
+
+    /**
+     * Binds [id] to a new server session.
+     *
+     * @return the number of rows updated — `0` if the upload no longer exists.
+     */
+    @Query(
+        """
+        UPDATE media_uploads
+        SET remote_id = :remoteId, part_size = :partSize, state = :state, updated_at = :now
+        WHERE id = :id
+        """,
+    )
+    suspend fun setSession(id: String, remoteId: String, partSize: Long, state: String, now: Long): Int
+
+    @Query(
+        """
+        UPDATE media_uploads
+        SET state = :state, result_json = :resultJson, error = :error, updated_at = :now
+        WHERE id = :id
+        """,
+    )
+    suspend fun setState(id: String, state: String, resultJson: String?, error: String?, now: Long)
+
+    @Query("DELETE FROM media_uploads WHERE id = :id")
+    suspend fun delete(id: String)
+
+    /** Drops finished uploads last touched before [before]. */
+    @Query("DELETE FROM media_uploads WHERE state IN ('completed', 'failed') AND updated_at < :before")
+    suspend fun deleteFinishedBefore(before: Long)
+
+    // ── Parts ──
+
+    @Query("SELECT * FROM media_upload_parts WHERE upload_id = :uploadId")
+    suspend fun getParts(uploadId: String): List<MediaUploadPartEntity>
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertPart(part: MediaUploadPartEntity)
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertParts(parts: List<MediaUploadPartEntity>)
+
+    @Query("DELETE FROM media_upload_parts WHERE upload_id = :uploadId")
+    suspend fun deleteParts(uploadId: String)
+
+    /**
+     * Records [part] unless its upload was deleted in the meantime.
+     *
+     * @return `false` if the upload no longer exists.
+     */
+    @Transaction
+    suspend fun insertPartIfPresent(part: MediaUploadPartEntity): Boolean {
+        if (get(part.uploadId) == null) return false
+        insertPart(part)
+        return true
+    }
+
+    /**
+     * Replaces every stored part of [uploadId] with [parts] in one
+     * transaction, so progress never reads a half-replaced list.
+     *
+     * @return `false` if the upload no longer exists.
+     */
+    @Transaction
+    suspend fun replaceParts(uploadId: String, parts: List<MediaUploadPartEntity>): Boolean {
+        if (get(uploadId) == null) return false
+        deleteParts(uploadId)
+        insertParts(parts)
+        return true
+    }
+}
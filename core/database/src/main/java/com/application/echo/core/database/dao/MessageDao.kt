@@ -0,0 +1,120 @@
+package com.application.echo.core.database.dao
+
+import androidx.room.Dao
+import androidx.room.Query
+import androidx.room.Transaction
+import androidx.room.Upsert
+import com.application.echo.core.database.entity.MessageEntity
+import com.application.echo.core.database.entity.MessageVersion
+import kotlinx.coroutines.flow.Flow
+
+/**
+ * Data access for the `messages` table.
+ */
+@Dao
+interface MessageDao {
+
+    /**
+     * Observes the newest [limit] messages of a conversation, ordered
+     * oldest → newest. Served from the `(conversation_id, created_at)` index.
+     */
+    @Query(
+        """
+        SELECT * FROM (
+            SELECT * FROM messages
+            WHERE conversation_id = :conversationId
+            ORDER BY created_at DESC
+            LIMIT :limit
+        ) ORDER BY created_at ASC
+        """,
+    )
+    fun observeLatest(conversationId: String, limit: Int): Flow<List<MessageEntity>>
+
+    /**
+     * Returns up to [limit] messages created strictly before [createdAt],
+     * ordered oldest → newest.
+     */
+    @Query(
+        """
+        SELECT * FROM (
+            SELECT * FROM messages
+            WHERE conversation_id = :conversationId AND created_at < :createdAt
+            ORDER BY created_at DESC
+            LIMIT :limit
+        ) ORDER BY created_at ASC
+        """,
+    )
+    suspend fun getBefore(conversationId: String, createdAt: Long, limit: Int): List<MessageEntity>
+
+    @Query("SELECT * FROM messages WHERE id = :id")
+    suspend fun getById(id: String): MessageEntity?
+
+    @Query("SELECT id, updated_at FROM messages WHERE id IN (:ids)")
+    suspend fun getVersions(ids: List<String>): List<MessageVersion>
+
+    @Upsert
+    suspend fun upsertAll(messages: List<MessageEntity>)
+
+    @Query("DELETE FROM messages WHERE conversation_id = :conversationId")
+    suspend fun deleteConversation(conversationId: String)
+
+    @Query("DELETE FROM messages WHERE id = :id")
+    suspend fun deleteById(id: String)
+
+    @Query("UPDATE messages SET status = :status WHERE id = :id")
+    suspend fun setStatus(id: String, status: String?)
+
+    /**
+     * Moves a message's delivery status forward (`sent` → `delivered` →
+     * `read`) and never back, so receipts may arrive in any order.
+     */
+    @Query(
+        """
+        UPDATE messages SET status = :status
+        WHERE id = :id
+          AND (CASE status WHEN 'sent' THEN 1 WHEN 'delivered' THEN 2 WHEN 'read' THEN 3 ELSE 0 END) <
+              (CASE :status WHEN 'sent' THEN 1 WHEN 'delivered' THEN 2 WHEN 'read' THEN 3 ELSE 0 END)
+        """,
+    )
+    suspend fun advanceStatus(id: String, status: String)
+
+    /**
+     * Swaps a locally created (optimistic) message for the server's copy
+     * in one transaction, so observers never see both or neither.
+     */
+    @Transaction
+    suspend fun replaceLocal(localId: String, message: MessageEntity) {
+        deleteById(localId)
+        mergeNewer(listOf(message))
+    }
+
+    /**
+     * Writes only the rows in [messages] that are new or at least as recent
+     * as the stored copy, so a late REST page can never overwrite a newer
+     * WebSocket push.
+     *
+     * @return the rows that were actually written.
+     */
+    @Transaction
+    suspend fun mergeNewer(messages: List<MessageEntity>): List<MessageEntity> {
+        if (messages.isEmpty()) return emptyList()
+
+        val written = ArrayList<MessageEntity>(messages.size)
+        messages.chunked(MAX_BIND_ARGS).forEach { chunk ->
+            val stored = getVersions(chunk.map(MessageEntity::id))
+                .associate { it.id to it.updatedAt }
+            val newer = chunk.filter { message ->
+                val storedUpdatedAt = stored[message.id]
+                storedUpdatedAt == null || message.updatedAt >= storedUpdatedAt
+            }
+            if (newer.isNotEmpty()) {
+                upsertAll(newer)
+                written += newer
+            }
+        }
+        return written
+    }
+}
+
+/** Stays below SQLite's default 999 bound-parameter limit. */
+private const val MAX_BIND_ARGS = 500
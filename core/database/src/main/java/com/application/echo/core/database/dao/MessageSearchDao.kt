@@ -0,0 +1,84 @@
+package com.application.echo.core.database.dao
+
+import androidx.room.Dao
+import androidx.room.Query
+import com.application.echo.core.database.entity.MessageSearchCandidate
+import com.application.echo.core.database.entity.MessageSearchRow
+import kotlinx.coroutines.flow.Flow
+
+/**
+ * Full-text queries over `messages_fts`.
+ *
+ * Searching is split in two so that ranking never loads message bodies:
+ * [getCandidates] returns only row IDs and `matchinfo` blobs for the
+ * best-matching rows, the caller ranks them and slices a page, then
+ * [getRows] loads that page with snippets. [observeChanges] tells the
+ * caller when to search again.
+ */
+@Dao
+interface MessageSearchDao {
+
+    /**
+     * Emits on subscription and again after every write to `messages`
+     * (and so to the index, which triggers keep in step). The value
+     * itself is meaningless; it is a cheap signal to re-run [getCandidates].
+     */
+    @Query("SELECT MAX(rowid) FROM messages")
+    fun observeChanges(): Flow<Long?>
+
+    /**
+     * Returns up to [limit] matches for the FTS [query], most hits first.
+     *
+     * FTS4 has no rank function and Room cannot register one, so SQL
+     * pre-ranks by the number of matched terms in the row (four
+     * space-separated integers per hit in `offsets`), newest first on
+     * ties. The caller re-scores the survivors with the full `matchinfo`.
+     *
+     * @param conversationId Restricts matches to one conversation, or `null` for all.
+     */
+    @Query(
+        """
+        SELECT rowid, matchinfo(messages_fts, 'pcnx') AS match_info
+        FROM messages_fts
+        WHERE messages_fts MATCH :query
+          AND (:conversationId IS NULL OR conversation_id = :conversationId)
+        ORDER BY length(offsets(messages_fts)) - length(replace(offsets(messages_fts), ' ', '')) DESC,
+                 rowid DESC
+        LIMIT :limit
+        """,
+    )
+    suspend fun getCandidates(
+        query: String,
+        conversationId: String?,
+        limit: Int,
+    ): List<MessageSearchCandidate>
+
+    /**
+     * Loads the messages for [rowIds] with a highlighted snippet.
+     *
+     * Matched terms in [MessageSearchRow.snippet] are wrapped in
+     * [highlightStart] / [highlightEnd]; truncated text is marked with [ellipsis].
+     */
+    @Query(
+        """
+        SELECT messages.rowid AS rowid, messages.*,
+               snippet(messages_fts, :highlightStart, :highlightEnd, :ellipsis, -1, :snippetTokens) AS snippet
+        FROM messages_fts
+        JOIN messages ON messages.rowid = messages_fts.rowid
+        WHERE messages_fts MATCH :query
+          AND messages_fts.rowid IN (:rowIds)
+        """,
+    )
+    suspend fun getRows(
+        query: String,
+        rowIds: List<Long>,
+        highlightStart: String,
+        highlightEnd: String,
+        ellipsis: String,
+        snippetTokens: Int,
+    ): List<MessageSearchRow>
+
+    /** Rebuilds the index from `messages` — only needed after bulk imports that bypass triggers. */
+    @Query("INSERT INTO messages_fts(messages_fts) VALUES('rebuild')")
+    suspend fun rebuild()
+}
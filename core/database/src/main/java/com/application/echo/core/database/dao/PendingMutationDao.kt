@@ -0,0 +1,89 @@
+package com.application.echo.core.database.dao
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.Query
+import androidx.room.Transaction
+import com.application.echo.core.database.entity.PendingMutationEntity
+import kotlinx.coroutines.flow.Flow
+
+/**
+ * Data access for the `pending_mutations` table.
+ */
+@Dao
+interface PendingMutationDao {
+
+    @Query("SELECT * FROM pending_mutations WHERE id = :id")
+    suspend fun get(id: String): PendingMutationEntity?
+
+    @Query("SELECT * FROM pending_mutations WHERE id = :id")
+    fun observe(id: String): Flow<PendingMutationEntity?>
+
+    /** The oldest mutation waiting to be sent — mutations are replayed in the order they were made. */
+    @Query("SELECT * FROM pending_mutations WHERE state = 'pending' ORDER BY created_at, rowid LIMIT 1")
+    suspend fun getNextPending(): PendingMutationEntity?
+
+    /** Number of mutations not yet confirmed by the server. */
+    @Query("SELECT COUNT(*) FROM pending_mutations WHERE state IN ('pending', 'in_flight')")
+    fun observeUnsentCount(): Flow<Int>
+
+    /** The newest mutation for [collapseKey] that is still waiting for the server. */
+    @Query(
+        """
+        SELECT * FROM pending_mutations
+        WHERE collapse_key = :collapseKey AND state IN ('pending', 'in_flight')
+        ORDER BY created_at DESC
+        LIMIT 1
+        """,
+    )
+    suspend fun getUnsentForKey(collapseKey: String): PendingMutationEntity?
+
+    @Insert
+    suspend fun insert(mutation: PendingMutationEntity)
+
+    @Query(
+        """
+        UPDATE pending_mutations
+        SET state = :state, attempts = :attempts, result_json = :resultJson, error = :error, updated_at = :now
+        WHERE id = :id
+        """,
+    )
+    suspend fun setState(
+        id: String,
+        state: String,
+        attempts: Int,
+        resultJson: String?,
+        error: String?,
+        now: Long,
+    )
+
+    /**
+     * Puts mutations that were on the wire when the process died back in
+     * the queue. Safe because every replay carries the same idempotency key.
+     */
+    @Query("UPDATE pending_mutations SET state = 'pending' WHERE state = 'in_flight'")
+    suspend fun resetInFlight()
+
+    @Query("DELETE FROM pending_mutations WHERE id = :id")
+    suspend fun delete(id: String)
+
+    @Query("DELETE FROM pending_mutations WHERE collapse_key = :collapseKey AND state = 'pending'")
+    suspend fun deletePendingForKey(collapseKey: String): Int
+
+    /** Drops finished mutations last touched before [before]. */
+    @Query("DELETE FROM pending_mutations WHERE state IN ('completed', 'failed') AND updated_at < :before")
+    suspend fun deleteFinishedBefore(before: Long)
+
+    /**
+     * Inserts [mutation], first dropping any still-pending mutation with the
+     * same collapse key — it would only be overwritten by this one.
+     *
+     * @return how many queued mutations were superseded.
+     */
+    @Transaction
+    suspend fun replacePending(mutation: PendingMutationEntity): Int {
+        val superseded = mutation.collapseKey?.let { deletePendingForKey(it) } ?: 0
+        insert(mutation)
+        return superseded
+    }
+}
@@ -0,0 +1,22 @@
+package com.application.echo.core.database.dao
+
+import androidx.room.Dao
+import androidx.room.Query
+import androidx.room.Upsert
+import com.application.echo.core.database.entity.SyncStateEntity
+
+/**
+ * Data access for the `sync_state` table.
+ */
+@Dao
+interface SyncStateDao {
+
+    @Query("SELECT * FROM sync_state WHERE `key` = :key")
+    suspend fun get(key: String): SyncStateEntity?
+
+    @Upsert
+    suspend fun upsert(state: SyncStateEntity)
+
+    @Query("DELETE FROM sync_state WHERE `key` = :key")
+    suspend fun delete(key: String)
+}
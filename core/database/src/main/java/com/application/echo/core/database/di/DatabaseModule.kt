@@ -0,0 +1,60 @@
+package com.application.echo.core.database.di
+
+import android.content.Context
+import androidx.room.Room
+import com.application.echo.core.database.EchoDatabase
+import com.application.echo.core.database.dao.ConversationDao
+import com.application.echo.core.database.dao.MediaBlobDao
+import com.application.echo.core.database.dao.MediaUploadDao
+import com.application.echo.core.database.dao.MessageDao
+import com.application.echo.core.database.dao.MessageSearchDao
+import com.application.echo.core.database.dao.PendingMutationDao
+import com.application.echo.core.database.dao.SyncStateDao
+import com.application.echo.core.database.transaction.DatabaseTransactionRunner
+import com.application.echo.core.database.transaction.RoomTransactionRunner
+import dagger.Module
+import dagger.Provides
+import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
+import dagger.hilt.components.SingletonComponent
+import javax.inject.Singleton
+
+@Module
+@InstallIn(SingletonComponent::class)
+internal object DatabaseModule {
+
+    @Provides
+    @Singleton
+    fun provideEchoDatabase(
+        @ApplicationContext context: Context,
+    ): EchoDatabase = Room.databaseBuilder(
+        context,
+        EchoDatabase::class.java,
+        EchoDatabase.DATABASE_NAME,
+    ).build()
+
+    @Provides
+    fun provideMessageDao(database: EchoDatabase): MessageDao = database.messageDao()
+
+    @Provides
+    fun provideMessageSearchDao(database: EchoDatabase): MessageSearchDao = database.messageSearchDao()
+
+    @Provides
+    fun provideConversationDao(database: EchoDatabase): ConversationDao = database.conversationDao()
+
+    @Provides
+    fun provideSyncStateDao(database: EchoDatabase): SyncStateDao = database.syncStateDao()
+
+    @Provides
+    fun provideMediaUploadDao(database: EchoDatabase): MediaUploadDao = database.mediaUploadDao()
+
+    @Provides
+    fun provideMediaBlobDao(database: EchoDatabase): MediaBlobDao = database.mediaBlobDao()
+
+    @Provides
+    fun providePendingMutationDao(database: EchoDatabase): PendingMutationDao = database.pendingMutationDao()
+
+    @Provides
+    fun provideTransactionRunner(database: EchoDatabase): DatabaseTransactionRunner =
+        RoomTransactionRunner(database)
+}
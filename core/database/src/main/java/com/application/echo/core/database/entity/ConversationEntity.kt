@@ -0,0 +1,52 @@
+package com.application.echo.core.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Embedded
+import androidx.room.Entity
+import androidx.room.Index
+import androidx.room.PrimaryKey
+import androidx.room.Relation
+
+/**
+ * Locally stored conversation.
+ *
+ * The last message itself lives in the `messages` table and is joined
+ * through [lastMessageId]; [lastActivityAt] is kept denormalised so the
+ * conversation list can be sorted from a single index.
+ */
+@Entity(
+    tableName = "conversations",
+    indices = [
+        Index(value = ["last_activity_at"]),
+    ],
+)
+data class ConversationEntity(
+    @PrimaryKey
+    @ColumnInfo(name = "id")
+    val id: String,
+    @ColumnInfo(name = "conversation_type")
+    val conversationType: String?,
+    @ColumnInfo(name = "participant_ids")
+    val participantIds: List<String>,
+    @ColumnInfo(name = "last_message_id")
+    val lastMessageId: String?,
+    @ColumnInfo(name = "last_activity_at")
+    val lastActivityAt: Long,
+    @ColumnInfo(name = "created_at")
+    val createdAt: Long,
+    @ColumnInfo(name = "updated_at")
+    val updatedAt: Long,
+)
+
+/**
+ * A [ConversationEntity] together with its last message, if stored.
+ */
+data class ConversationWithLastMessage(
+    @Embedded
+    val conversation: ConversationEntity,
+    @Relation(
+        parentColumn = "last_message_id",
+        entityColumn = "id",
+    )
+    val lastMessage: MessageEntity?,
+)
@@ -0,0 +1,53 @@
+package com.application.echo.core.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.ForeignKey
+import androidx.room.Index
+import androidx.room.PrimaryKey
+
+/**
+ * A media file stored once on disk, addressed by its content hash.
+ *
+ * @property hash Hex SHA-256 of the file's bytes — also its file name.
+ * @property lastAccessedAt Drives LRU eviction.
+ */
+@Entity(
+    tableName = "media_blobs",
+    indices = [Index(value = ["last_accessed_at"])],
+)
+data class MediaBlobEntity(
+    @PrimaryKey
+    @ColumnInfo(name = "hash")
+    val hash: String,
+    @ColumnInfo(name = "size")
+    val size: Long,
+    @ColumnInfo(name = "mime_type")
+    val mimeType: String?,
+    @ColumnInfo(name = "last_accessed_at")
+    val lastAccessedAt: Long,
+)
+
+/**
+ * Maps a remote media URL to the blob holding its bytes. Many URLs can
+ * point at one blob (e.g. the same image forwarded to several chats).
+ */
+@Entity(
+    tableName = "media_urls",
+    indices = [Index(value = ["hash"])],
+    foreignKeys = [
+        ForeignKey(
+            entity = MediaBlobEntity::class,
+            parentColumns = ["hash"],
+            childColumns = ["hash"],
+            onDelete = ForeignKey.CASCADE,
+        ),
+    ],
+)
+data class MediaUrlEntity(
+    @PrimaryKey
+    @ColumnInfo(name = "url")
+    val url: String,
+    @ColumnInfo(name = "hash")
+    val hash: String,
+)
@@ -0,0 +1,108 @@
+package com.application.echo.core.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.ForeignKey
+import androidx.room.Index
+import androidx.room.PrimaryKey
+
+/**
+ * A chunked media upload that survives process death.
+ *
+ * @property id Local upload ID, generated when the upload is enqueued.
+ * @property sourceUri `file://` or `content://` URI the parts are read from.
+ * @property remoteId Server upload session ID, or `null` until the session is created.
+ * @property partSize Size of every part except the last, in bytes.
+ * @property state One of [MediaUploadState].
+ * @property resultJson Serialized server response once the upload completed.
+ */
+@Entity(
+    tableName = "media_uploads",
+    indices = [Index(value = ["state"])],
+)
+data class MediaUploadEntity(
+    @PrimaryKey
+    @ColumnInfo(name = "id")
+    val id: String,
+    @ColumnInfo(name = "source_uri")
+    val sourceUri: String,
+    @ColumnInfo(name = "file_name")
+    val fileName: String,
+    @ColumnInfo(name = "mime_type")
+    val mimeType: String,
+    @ColumnInfo(name = "size")
+    val size: Long,
+    @ColumnInfo(name = "part_size")
+    val partSize: Long,
+    @ColumnInfo(name = "remote_id")
+    val remoteId: String?,
+    @ColumnInfo(name = "state")
+    val state: String,
+    @ColumnInfo(name = "result_json")
+    val resultJson: String?,
+    @ColumnInfo(name = "error")
+    val error: String?,
+    @ColumnInfo(name = "created_at")
+    val createdAt: Long,
+    @ColumnInfo(name = "updated_at")
+    val updatedAt: Long,
+)
+
+/**
+ * A part of a [MediaUploadEntity] the server has acknowledged.
+ *
+ * Parts are written one row each as they finish, so parallel part
+ * uploads never race on a shared read-modify-write.
+ *
+ * @property checksum Hex SHA-256 of the part's bytes, as confirmed by the server.
+ */
+@Entity(
+    tableName = "media_upload_parts",
+    primaryKeys = ["upload_id", "part_number"],
+    foreignKeys = [
+        ForeignKey(
+            entity = MediaUploadEntity::class,
+            parentColumns = ["id"],
+            childColumns = ["upload_id"],
+            onDelete = ForeignKey.CASCADE,
+        ),
+    ],
+)
+data class MediaUploadPartEntity(
+    @ColumnInfo(name = "upload_id")
+    val uploadId: String,
+    @ColumnInfo(name = "part_number")
+    val partNumber: Int,
+    @ColumnInfo(name = "size")
+    val size: Long,
+    @ColumnInfo(name = "checksum")
+    val checksum: String,
+)
+
+/**
+ * Values of [MediaUploadEntity.state].
+ */
+object MediaUploadState {
+    const val PENDING = "pending"
+    const val UPLOADING = "uploading"
+    const val COMPLETED = "completed"
+    const val FAILED = "failed"
+}
+
+/**
+ * Progress projection of one upload: its row plus the acknowledged byte count.
+ */
+data class MediaUploadProgressRow(
+    @ColumnInfo(name = "id")
+    val id: String,
+    @ColumnInfo(name = "size")
+    val size: Long,
+    @ColumnInfo(name = "state")
+    val state: String,
+    @ColumnInfo(name = "result_json")
+    val resultJson: String?,
+    @ColumnInfo(name = "error")
+    val error: String?,
+    @ColumnInfo(name = "uploaded_bytes")
+    val uploadedBytes: Long,
+)
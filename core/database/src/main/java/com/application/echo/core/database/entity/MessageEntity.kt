@@ -0,0 +1,50 @@
+package com.application.echo.core.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.Index
+import androidx.room.PrimaryKey
+
+/**
+ * Locally stored chat message.
+ *
+ * Timestamps are stored as epoch milliseconds so that history queries
+ * can walk the `(conversation_id, created_at)` index directly.
+ */
+@Entity(
+    tableName = "messages",
+    indices = [
+        Index(value = ["conversation_id", "created_at"]),
+        Index(value = ["conversation_id", "updated_at"]),
+    ],
+)
+data class MessageEntity(
+    @PrimaryKey
+    @ColumnInfo(name = "id")
+    val id: String,
+    @ColumnInfo(name = "conversation_id")
+    val conversationId: String,
+    @ColumnInfo(name = "sender_id")
+    val senderId: String,
+    @ColumnInfo(name = "content")
+    val content: String?,
+    @ColumnInfo(name = "message_type")
+    val messageType: String?,
+    @ColumnInfo(name = "status")
+    val status: String?,
+    @ColumnInfo(name = "created_at")
+    val createdAt: Long,
+    @ColumnInfo(name = "updated_at")
+    val updatedAt: Long,
+)
+
+/**
+ * Projection used to compare local and remote versions without loading
+ * whole rows.
+ */
+data class MessageVersion(
+    @ColumnInfo(name = "id")
+    val id: String,
+    @ColumnInfo(name = "updated_at")
+    val updatedAt: Long,
+)
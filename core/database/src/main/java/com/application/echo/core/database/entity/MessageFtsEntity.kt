@@ -0,0 +1,61 @@
+package com.application.echo.core.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Embedded
+import androidx.room.Entity
+import androidx.room.Fts4
+import androidx.room.FtsOptions
+
+/**
+ * Full-text index over [MessageEntity.content].
+ *
+ * An external-content FTS4 table: Room installs triggers on `messages`
+ * so the index is updated incrementally on every insert, update and
+ * delete — there is no separate indexing pass.
+ *
+ * Prefix indexes for 2- and 3-character prefixes keep as-you-type
+ * queries (`hel*`) from scanning the full term list.
+ */
+@Fts4(
+    contentEntity = MessageEntity::class,
+    tokenizer = FtsOptions.TOKENIZER_UNICODE61,
+    prefix = [2, 3],
+    notIndexed = ["conversation_id"],
+)
+@Entity(tableName = "messages_fts")
+data class MessageFtsEntity(
+    @ColumnInfo(name = "content")
+    val content: String?,
+    @ColumnInfo(name = "conversation_id")
+    val conversationId: String,
+)
+
+/**
+ * Lightweight match row used for ranking: the row ID and the raw
+ * `matchinfo(messages_fts, 'pcnx')` blob.
+ */
+data class MessageSearchCandidate(
+    @ColumnInfo(name = "rowid")
+    val rowId: Long,
+    @ColumnInfo(name = "match_info")
+    val matchInfo: ByteArray,
+) {
+    override fun equals(other: Any?): Boolean =
+        other is MessageSearchCandidate &&
+            rowId == other.rowId &&
+            matchInfo.contentEquals(other.matchInfo)
+
+    override fun hashCode(): Int = 31 * rowId.hashCode() + matchInfo.contentHashCode()
+}
+
+/**
+ * A matched message together with its highlighted snippet.
+ */
+data class MessageSearchRow(
+    @ColumnInfo(name = "rowid")
+    val rowId: Long,
+    @Embedded
+    val message: MessageEntity,
+    @ColumnInfo(name = "snippet")
+    val snippet: String,
+)
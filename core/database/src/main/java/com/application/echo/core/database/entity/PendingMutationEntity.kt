@@ -0,0 +1,59 @@
+package com.application.echo.core.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.Index
+import androidx.room.PrimaryKey
+
+/**
+ * A REST write queued while offline (or still waiting for its response).
+ *
+ * @property id Local mutation ID. Also sent as the request's idempotency key,
+ *   so replaying the same row can never create a second resource.
+ * @property type Which write this is — the queue's own discriminator.
+ * @property collapseKey Mutations sharing a key are redundant with each other
+ *   (e.g. two profile updates for the same user); `null` if never collapsed.
+ * @property payloadJson Serialized request body.
+ * @property state One of [PendingMutationState].
+ * @property resultJson Serialized server response once the write succeeded.
+ */
+@Entity(
+    tableName = "pending_mutations",
+    indices = [
+        Index(value = ["state", "created_at"]),
+        Index(value = ["collapse_key"]),
+    ],
+)
+data class PendingMutationEntity(
+    @PrimaryKey
+    @ColumnInfo(name = "id")
+    val id: String,
+    @ColumnInfo(name = "type")
+    val type: String,
+    @ColumnInfo(name = "collapse_key")
+    val collapseKey: String?,
+    @ColumnInfo(name = "payload_json")
+    val payloadJson: String,
+    @ColumnInfo(name = "state")
+    val state: String,
+    @ColumnInfo(name = "attempts")
+    val attempts: Int,
+    @ColumnInfo(name = "result_json")
+    val resultJson: String?,
+    @ColumnInfo(name = "error")
+    val error: String?,
+    @ColumnInfo(name = "created_at")
+    val createdAt: Long,
+    @ColumnInfo(name = "updated_at")
+    val updatedAt: Long,
+)
+
+/**
+ * Values of [PendingMutationEntity.state].
+ */
+object PendingMutationState {
+    const val PENDING = "pending"
+    const val IN_FLIGHT = "in_flight"
+    const val COMPLETED = "completed"
+    const val FAILED = "failed"
+}
@@ -0,0 +1,35 @@
+package com.application.echo.core.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.PrimaryKey
+
+/**
+ * Per-stream sync bookkeeping.
+ *
+ * @property key Stream identifier — a conversation ID, or a fixed key for
+ *   streams such as the conversation list.
+ * @property watermark Raw server `updated_at` of the newest change applied,
+ *   or the server's opaque sync token for the conversation list. Sent back
+ *   unchanged to request only newer changes.
+ * @property watermarkId ID of the newest change applied. Paired with
+ *   [watermark] it forms the change-feed cursor, so messages sharing one
+ *   `updated_at` are not skipped. `null` for the conversation list.
+ * @property beforeCursor Keyset cursor for loading history older than
+ *   anything stored locally, or `null` once the start has been reached.
+ * @property syncedAt Wall-clock time of the last successful sync.
+ */
+@Entity(tableName = "sync_state")
+data class SyncStateEntity(
+    @PrimaryKey
+    @ColumnInfo(name = "key")
+    val key: String,
+    @ColumnInfo(name = "watermark")
+    val watermark: String?,
+    @ColumnInfo(name = "watermark_id")
+    val watermarkId: String? = null,
+    @ColumnInfo(name = "before_cursor")
+    val beforeCursor: String?,
+    @ColumnInfo(name = "synced_at")
+    val syncedAt: Long,
+)
@@ -0,0 +1,54 @@
+package com.application.echo.core.database.search
+
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import kotlin.math.ln
+
+/**
+ * Relevance scoring for FTS4 `matchinfo(…, 'pcnx')` blobs.
+ *
+ * FTS4 has no built-in rank function and Room cannot register custom
+ * SQL functions, so scoring happens here. The score is a BM25-style sum
+ * over phrases of `idf × saturated term frequency`, without document
+ * length normalisation (chat messages are short and similar in length).
+ */
+object FtsRanking {
+
+    /** Term-frequency saturation constant (BM25 `k1`). */
+    private const val K1 = 1.2
+
+    /**
+     * Scores one matched row. Higher is more relevant.
+     *
+     * Layout of the blob (32-bit native-order unsigned ints):
+     * `p` phrases, `c` columns, `n` rows in the table, then for every
+     * phrase/column pair `[hits in row, hits in all rows, rows with hits]`.
+     */
+    fun score(matchInfo: ByteArray): Double {
+        if (matchInfo.size < HEADER_BYTES) return 0.0
+        val buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder())
+
+        val phrases = buffer.getInt(0)
+        val columns = buffer.getInt(INT_BYTES)
+        val totalRows = buffer.getInt(2 * INT_BYTES).toDouble()
+
+        var score = 0.0
+        for (phrase in 0 until phrases) {
+            for (column in 0 until columns) {
+                val base = HEADER_BYTES + 3 * INT_BYTES * (phrase * columns + column)
+                if (base + 3 * INT_BYTES > matchInfo.size) return score
+
+                val hitsInRow = buffer.getInt(base).toDouble()
+                if (hitsInRow == 0.0) continue
+                val rowsWithHits = buffer.getInt(base + 2 * INT_BYTES).toDouble()
+
+                val idf = ln((totalRows - rowsWithHits + 0.5) / (rowsWithHits + 0.5) + 1.0)
+                score += idf * (hitsInRow * (K1 + 1)) / (hitsInRow + K1)
+            }
+        }
+        return score
+    }
+
+    private const val INT_BYTES = 4
+    private const val HEADER_BYTES = 3 * INT_BYTES
+}
@@ -0,0 +1,20 @@
+package com.application.echo.core.database.transaction
+
+/**
+ * Runs writes that span several DAOs as one Room transaction.
+ *
+ * Room stays an implementation detail of this module, so callers outside
+ * it group their DAO calls through this instead of `withTransaction`:
+ *
+ * ```kotlin
+ * transactionRunner {
+ *     messageDao.upsertAll(optimistic)
+ *     pendingMutationDao.insert(mutation)
+ * }
+ * ```
+ */
+interface DatabaseTransactionRunner {
+
+    /** Runs [block] in a transaction; everything it wrote is rolled back if it throws. */
+    suspend operator fun <R> invoke(block: suspend () -> R): R
+}
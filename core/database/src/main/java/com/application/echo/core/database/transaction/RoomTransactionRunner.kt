@@ -0,0 +1,11 @@
+package com.application.echo.core.database.transaction
+
+import androidx.room.withTransaction
+import com.application.echo.core.database.EchoDatabase
+
+internal class RoomTransactionRunner(
+    private val database: EchoDatabase,
+) : DatabaseTransactionRunner {
+
+    override suspend fun <R> invoke(block: suspend () -> R): R = database.withTransaction(block)
+}
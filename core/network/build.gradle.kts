@@ -29,6 +29,9 @@ kotlin {
 
 dependencies {
 
+    // Project
+    implementation(projects.core.common)
+
     // AndroidX
     implementation(libs.androidx.core.ktx)
 
@@ -36,6 +39,7 @@ dependencies {
     implementation(platform(libs.square.retrofit.bom))
     implementation(libs.square.okhttp)
     implementation(libs.square.okhttp.logging)
+    implementation(libs.square.okhttp.brotli)
     implementation(libs.square.retrofit)
     implementation(libs.square.retrofit.gson)
 
@@ -1,5 +1,6 @@
 package com.application.echo.core.network.adapter
 
+import com.application.echo.core.network.metrics.NetworkMetrics
 import com.application.echo.core.network.model.Meta
 import com.application.echo.core.network.model.NetworkException
 import com.application.echo.core.network.model.NetworkResponse
@@ -25,6 +26,7 @@ internal class NetworkResponseCall<T>(
     private val delegate: Call<ResponseBody>,
     private val gson: Gson,
     private val successType: Type,
+    private val metrics: NetworkMetrics? = null,
 ) : Call<NetworkResponse<T>> {
 
     // ──────────────── Async ────────────────
@@ -36,7 +38,7 @@ internal class NetworkResponseCall<T>(
                 call: Call<ResponseBody>,
                 response: Response<ResponseBody>,
             ) {
-                val networkResponse = ResponseParser.parse<T>(response, successType, gson)
+                val networkResponse = ResponseParser.parse<T>(response, successType, gson, metrics)
                 callback.onResponse(
                     this@NetworkResponseCall,
                     Response.success(networkResponse),
@@ -65,7 +67,7 @@ internal class NetworkResponseCall<T>(
     override fun execute(): Response<NetworkResponse<T>> {
         return try {
             val rawResponse = delegate.execute()
-            val networkResponse = ResponseParser.parse<T>(rawResponse, successType, gson)
+            val networkResponse = ResponseParser.parse<T>(rawResponse, successType, gson, metrics)
             Response.success(networkResponse)
         } catch (e: Exception) {
             val networkResponse = NetworkResponse.Error(
@@ -83,7 +85,7 @@ internal class NetworkResponseCall<T>(
     // ──────────────── Delegation ────────────────
 
     override fun clone(): Call<NetworkResponse<T>> =
-        NetworkResponseCall(delegate.clone(), gson, successType)
+        NetworkResponseCall(delegate.clone(), gson, successType, metrics)
 
     override fun request(): Request = delegate.request()
     override fun timeout(): Timeout = delegate.timeout()
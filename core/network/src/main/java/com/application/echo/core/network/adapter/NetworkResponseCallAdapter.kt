@@ -1,5 +1,6 @@
 package com.application.echo.core.network.adapter
 
+import com.application.echo.core.network.metrics.NetworkMetrics
 import com.application.echo.core.network.model.NetworkResponse
 import com.google.gson.Gson
 import java.lang.reflect.Type
@@ -16,6 +17,7 @@ import retrofit2.CallAdapter
 internal class NetworkResponseCallAdapter<T>(
     private val successType: Type,
     private val gson: Gson,
+    private val metrics: NetworkMetrics? = null,
 ) : CallAdapter<ResponseBody, Call<NetworkResponse<T>>> {
 
     /**
@@ -29,6 +31,7 @@ internal class NetworkResponseCallAdapter<T>(
             delegate = call,
             gson = gson,
             successType = successType,
+            metrics = metrics,
         )
     }
 }
@@ -1,5 +1,6 @@
 package com.application.echo.core.network.adapter
 
+import com.application.echo.core.network.metrics.NetworkMetrics
 import com.application.echo.core.network.model.NetworkResponse
 import com.google.gson.Gson
 import java.lang.reflect.ParameterizedType
@@ -25,10 +26,13 @@ import retrofit2.Retrofit
  *     .addCallAdapterFactory(NetworkResponseCallAdapterFactory(gson))
  * ```
  */
-class NetworkResponseCallAdapterFactory(
+class NetworkResponseCallAdapterFactory internal constructor(
     private val gson: Gson,
+    private val metrics: NetworkMetrics?,
 ) : CallAdapter.Factory() {
 
+    constructor(gson: Gson) : this(gson, metrics = null)
+
     override fun get(
         returnType: Type,
         annotations: Array<out Annotation>,
@@ -46,6 +50,6 @@ class NetworkResponseCallAdapterFactory(
         // Extract T from NetworkResponse<T>
         val dataType = getParameterUpperBound(0, responseType)
 
-        return NetworkResponseCallAdapter<Any>(successType = dataType, gson = gson)
+        return NetworkResponseCallAdapter<Any>(successType = dataType, gson = gson, metrics = metrics)
     }
 }
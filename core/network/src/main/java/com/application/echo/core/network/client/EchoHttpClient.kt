@@ -1,5 +1,7 @@
 package com.application.echo.core.network.client
 
+import com.application.echo.core.network.priority.RequestOwner
+import com.application.echo.core.network.priority.RequestPriority
 import retrofit2.Retrofit
 
 /**
@@ -28,4 +30,24 @@ interface EchoHttpClient {
      * Use for endpoints that require a Bearer token.
      */
     val authenticated: Retrofit
+
+    /**
+     * Resolves DNS and opens a TLS connection to the base URL in the
+     * background, so the first real call finds a pooled connection.
+     *
+     * Call once from `Application.onCreate`; it returns immediately and
+     * later calls are no-ops. Failures are ignored.
+     */
+    fun warmUp()
+
+    /**
+     * Creates a [RequestOwner] that tags the calls made from coroutines
+     * carrying it, so a screen can cancel its own calls — e.g. its
+     * [RequestPriority.VisiblePrefetch] calls — when it goes away, without
+     * touching other screens'. Calls made from a cancelled coroutine are
+     * already cancelled individually.
+     *
+     * @param name Shown in logs and [RequestOwner.toString].
+     */
+    fun newRequestOwner(name: String): RequestOwner
 }
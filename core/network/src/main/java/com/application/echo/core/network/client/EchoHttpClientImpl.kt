@@ -1,84 +1,193 @@
 package com.application.echo.core.network.client
 
 import com.application.echo.core.network.adapter.NetworkResponseCallAdapterFactory
+import com.application.echo.core.network.compression.RequestCompressionInterceptor
 import com.application.echo.core.network.interceptor.AuthInterceptor
 import com.application.echo.core.network.interceptor.AuthTokenProvider
+import com.application.echo.core.network.interceptor.HeaderProvider
 import com.application.echo.core.network.interceptor.LoggingInterceptorFactory
 import com.application.echo.core.network.interceptor.RequestHeaderInterceptor
+import com.application.echo.core.network.metrics.MetricsEventListener
+import com.application.echo.core.network.metrics.NetworkMetrics
+import com.application.echo.core.network.metrics.NetworkMetricsReporter
+import com.application.echo.core.network.priority.PriorityDispatchers
+import com.application.echo.core.network.priority.RequestOwner
+import com.application.echo.core.network.priority.RequestPriority
 import com.google.gson.Gson
+import okhttp3.Authenticator
+import okhttp3.ConnectionPool
+import okhttp3.Dispatcher
+import okhttp3.Dns
+import okhttp3.HttpUrl.Companion.toHttpUrl
+import okhttp3.HttpUrl.Companion.toHttpUrlOrNull
+import okhttp3.Interceptor
 import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.brotli.BrotliInterceptor
 import retrofit2.Retrofit
 import retrofit2.converter.gson.GsonConverterFactory
+import timber.log.Timber
+import java.io.IOException
+import java.util.concurrent.atomic.AtomicBoolean
+import kotlin.concurrent.thread
 
 /**
  * Default implementation of [EchoHttpClient].
  *
  * Builds two OkHttp clients:
- * 1. **unauthenticatedOkHttp** — common headers + logging.
- * 2. **authenticatedOkHttp** — same as above + [AuthInterceptor].
+ * 1. **unauthenticatedOkHttp** — common headers (incl. every [HeaderProvider]) + logging.
+ * 2. **authenticatedOkHttp** — same as above + [AuthInterceptor], and
+ *    [tokenAuthenticator] to refresh the token on a 401.
  *
- * Both share the same Retrofit configuration (GSON, call adapter, base URL).
+ * Both share the same Retrofit configuration (GSON, call adapter, base URL),
+ * and route each call to the dispatcher of its [RequestPriority].
+ *
+ * @param tokenAuthenticator Resolved when the authenticated client is first
+ *   built, not at construction: the authenticator's own refresh calls go
+ *   through [unauthenticated], so it depends on this client.
  */
 internal class EchoHttpClientImpl(
     private val config: HttpClientConfig,
     private val gson: Gson,
     private val authTokenProvider: AuthTokenProvider,
+    private val tokenAuthenticator: () -> Authenticator? = { null },
+    private val headerProviders: List<HeaderProvider> = emptyList(),
+    private val dns: Dns = Dns.SYSTEM,
+    private val interceptors: List<Interceptor> = emptyList(),
+    private val metricsReporters: List<NetworkMetricsReporter> = emptyList(),
 ) : EchoHttpClient {
 
     // ──────────────── Interceptors ────────────────
 
-    private val requestHeaderInterceptor by lazy { RequestHeaderInterceptor() }
-
-    private val authInterceptor by lazy { AuthInterceptor(authTokenProvider) }
+    /** Host of [HttpClientConfig.baseUrl] — the only host that gets credentials and session headers. */
+    private val apiHost by lazy { config.baseUrl.toHttpUrlOrNull()?.host }
 
-    private val loggingInterceptor by lazy {
-        LoggingInterceptorFactory.create(logBody = config.isDebug)
+    private val requestHeaderInterceptor by lazy {
+        RequestHeaderInterceptor(providers = headerProviders, apiHost = apiHost)
     }
 
+    private val authInterceptor by lazy { AuthInterceptor(authTokenProvider, apiHost = apiHost) }
+
+    /** `null` when logging is off, so release builds don't pay for it per call. */
+    private val loggingInterceptor by lazy { LoggingInterceptorFactory.create(config.logMode) }
+
     // ──────────────── OkHttp Clients ────────────────
 
+    /**
+     * Every client below derives from this one via `newBuilder()`, so they
+     * all share one [ConnectionPool] and one [Dispatcher].
+     */
     private val baseOkHttpClient: OkHttpClient by lazy {
         OkHttpClient.Builder()
+            .connectionPool(
+                ConnectionPool(
+                    config.connectionPool.maxIdleConnections,
+                    config.connectionPool.keepAlive.duration,
+                    config.connectionPool.keepAlive.unit,
+                ),
+            )
+            .dispatcher(priorityDispatchers.interactive)
+            .dns(dns)
+            .eventListenerFactory(MetricsEventListener.Factory(metrics))
             .connectTimeout(config.connectTimeout.duration, config.connectTimeout.unit)
             .readTimeout(config.readTimeout.duration, config.readTimeout.unit)
             .writeTimeout(config.writeTimeout.duration, config.writeTimeout.unit)
             .addInterceptor(requestHeaderInterceptor)
+            .apply { interceptors.forEach { addInterceptor(it) } }
+            .apply {
+                if (config.compressRequests) addInterceptor(RequestCompressionInterceptor())
+                // Replaces OkHttp's implicit gzip-only negotiation with `br, gzip`.
+                if (config.decodeBrotli) addInterceptor(BrotliInterceptor)
+            }
             .build()
     }
 
     private val unauthenticatedOkHttp: OkHttpClient by lazy {
         baseOkHttpClient.newBuilder()
-            .addInterceptor(loggingInterceptor)
+            .apply { loggingInterceptor?.let { addInterceptor(it) } }
             .build()
     }
 
     private val authenticatedOkHttp: OkHttpClient by lazy {
         baseOkHttpClient.newBuilder()
             .addInterceptor(authInterceptor)
-            .addInterceptor(loggingInterceptor)
+            .apply { tokenAuthenticator()?.let { authenticator(it) } }
+            .apply { loggingInterceptor?.let { addInterceptor(it) } }
             .build()
     }
 
+    // ──────────────── Metrics ────────────────
+
+    private val metrics by lazy {
+        NetworkMetrics(
+            reporters = metricsReporters,
+            reportIntervalMs = config.metricsReportInterval.unit.toMillis(config.metricsReportInterval.duration),
+        )
+    }
+
+    // ──────────────── Dispatch ────────────────
+
+    private val priorityDispatchers by lazy {
+        PriorityDispatchers(
+            interactive = Dispatcher().apply {
+                maxRequests = config.maxRequests
+                maxRequestsPerHost = config.maxRequestsPerHost
+            },
+            prefetch = config.prefetchLimits,
+            background = config.backgroundLimits,
+        )
+    }
+
     // ──────────────── Retrofit Builder ────────────────
 
     private val baseRetrofitBuilder: Retrofit.Builder by lazy {
         Retrofit.Builder()
             .baseUrl(config.baseUrl)
             .addConverterFactory(GsonConverterFactory.create(gson))
-            .addCallAdapterFactory(NetworkResponseCallAdapterFactory(gson))
+            .addCallAdapterFactory(NetworkResponseCallAdapterFactory(gson, metrics))
     }
 
+    private val warmedUp = AtomicBoolean(false)
+
     // ──────────────── Public API ────────────────
 
     override val unauthenticated: Retrofit by lazy {
         baseRetrofitBuilder
-            .client(unauthenticatedOkHttp)
+            .callFactory(priorityDispatchers.callFactory(unauthenticatedOkHttp))
             .build()
     }
 
     override val authenticated: Retrofit by lazy {
         baseRetrofitBuilder
-            .client(authenticatedOkHttp)
+            .callFactory(priorityDispatchers.callFactory(authenticatedOkHttp))
             .build()
     }
+
+    override fun warmUp() {
+        if (!config.warmUpOnStart || !warmedUp.compareAndSet(false, true)) return
+
+        // Own thread: building the client, the DNS lookup and the handshake all stay off the caller.
+        thread(name = WARM_UP_THREAD, isDaemon = true) {
+            try {
+                val url = config.baseUrl.toHttpUrl()
+                baseOkHttpClient.dns.lookup(url.host)
+
+                // Any response will do — the point is the pooled TLS (and, if offered, HTTP/2) connection.
+                val request = Request.Builder().url(url).head().build()
+                baseOkHttpClient.newCall(request).execute().close()
+                Timber.tag(TAG).d("Connection to %s warmed up", url.host)
+            } catch (e: IOException) {
+                Timber.tag(TAG).d("Connection warm-up failed: %s", e.message)
+            } catch (e: IllegalArgumentException) {
+                Timber.tag(TAG).w(e, "Invalid base URL, skipping warm-up")
+            }
+        }
+    }
+
+    override fun newRequestOwner(name: String): RequestOwner = RequestOwner(name, priorityDispatchers)
+
+    private companion object {
+        const val TAG = "EchoHttpClient"
+        const val WARM_UP_THREAD = "echo-http-warmup"
+    }
 }
@@ -1,7 +1,10 @@
 package com.application.echo.core.network.client
 
+import com.application.echo.core.network.interceptor.HttpLogMode
+import com.application.echo.core.network.priority.RequestPriority
 import com.application.echo.core.network.util.TimeoutDefaults
 import com.application.echo.core.network.util.TimeoutValue
+import java.util.concurrent.TimeUnit
 
 /**
  * Configuration that drives the creation of OkHttp + Retrofit instances.
@@ -10,15 +13,73 @@ import com.application.echo.core.network.util.TimeoutValue
  * across the application lifetime.
  *
  * @property baseUrl The root URL of the API (must end with `/`).
- * @property isDebug `true` to enable verbose HTTP body logging.
+ * @property isDebug `true` for a debug build.
+ * @property logMode How traffic is logged. Defaults to [HttpLogMode.Verbose]
+ *   for debug builds and [HttpLogMode.Off] otherwise; use
+ *   [HttpLogMode.Sampled] to diagnose production issues.
  * @property connectTimeout Connect timeout.
  * @property readTimeout Read timeout.
  * @property writeTimeout Write timeout.
+ * @property connectionPool Idle connection pool sizing, shared by all Echo clients.
+ * @property maxRequests Maximum concurrent requests across all hosts.
+ * @property maxRequestsPerHost Maximum concurrent requests per host. Over
+ *   HTTP/2 these are multiplexed on one connection, so this can be far
+ *   above OkHttp's HTTP/1.1-oriented default of 5.
+ * @property prefetchLimits Concurrency of [RequestPriority.VisiblePrefetch]
+ *   calls, which queue separately from interactive ones.
+ * @property backgroundLimits Concurrency of [RequestPriority.Background] calls.
+ * @property metricsReportInterval How often per-endpoint latency summaries
+ *   are handed to the bound `NetworkMetricsReporter`s.
+ * @property compressRequests `true` to gzip request bodies of methods
+ *   annotated with `@CompressRequest`.
+ * @property decodeBrotli `true` to advertise `Accept-Encoding: br, gzip`
+ *   and transparently decode Brotli responses.
+ * @property warmUpOnStart `true` to let [EchoHttpClient.warmUp] pre-connect
+ *   to [baseUrl]; `false` turns it into a no-op.
  */
 data class HttpClientConfig(
     val baseUrl: String,
     val isDebug: Boolean = false,
+    val logMode: HttpLogMode = if (isDebug) HttpLogMode.Verbose else HttpLogMode.Off,
     val connectTimeout: TimeoutValue = TimeoutDefaults.CONNECT,
     val readTimeout: TimeoutValue = TimeoutDefaults.READ,
     val writeTimeout: TimeoutValue = TimeoutDefaults.WRITE,
+    val connectionPool: ConnectionPoolConfig = ConnectionPoolConfig(),
+    val maxRequests: Int = DEFAULT_MAX_REQUESTS,
+    val maxRequestsPerHost: Int = DEFAULT_MAX_REQUESTS_PER_HOST,
+    val prefetchLimits: DispatcherLimits = DispatcherLimits(maxRequests = 8, maxRequestsPerHost = 8),
+    val backgroundLimits: DispatcherLimits = DispatcherLimits(maxRequests = 4, maxRequestsPerHost = 4),
+    val metricsReportInterval: TimeoutValue = TimeoutValue(5, TimeUnit.MINUTES),
+    val compressRequests: Boolean = true,
+    val decodeBrotli: Boolean = true,
+    val warmUpOnStart: Boolean = true,
+) {
+    companion object {
+        const val DEFAULT_MAX_REQUESTS = 64
+        const val DEFAULT_MAX_REQUESTS_PER_HOST = 16
+    }
+}
+
+/**
+ * Sizing of the OkHttp connection pool.
+ *
+ * @property maxIdleConnections Idle connections kept per pool.
+ * @property keepAlive How long an idle connection is kept before eviction.
+ *   Longer than OkHttp's 5-minute default so a backgrounded app returning
+ *   within a few minutes skips the TLS handshake.
+ */
+data class ConnectionPoolConfig(
+    val maxIdleConnections: Int = 5,
+    val keepAlive: TimeoutValue = TimeoutValue(10, TimeUnit.MINUTES),
+)
+
+/**
+ * Concurrency limits of one [RequestPriority] class.
+ *
+ * @property maxRequests Maximum concurrent requests across all hosts.
+ * @property maxRequestsPerHost Maximum concurrent requests per host.
+ */
+data class DispatcherLimits(
+    val maxRequests: Int,
+    val maxRequestsPerHost: Int,
 )
@@ -0,0 +1,24 @@
+package com.application.echo.core.network.compression
+
+/**
+ * Opts a Retrofit method's request body into gzip compression.
+ *
+ * ```kotlin
+ * @CompressRequest(minBytes = 2_048)
+ * @POST(ApiConstants.USERS_PROFILES_BATCH)
+ * suspend fun getProfiles(@Body request: BatchProfilesRequest): NetworkResponse<...>
+ * ```
+ *
+ * Bodies smaller than [minBytes] are sent as-is — below roughly a kilobyte
+ * the gzip header and CPU cost outweigh the bytes saved. Only use on
+ * endpoints whose server accepts `Content-Encoding: gzip`, and not on
+ * streaming uploads (their bodies would have to be buffered in memory).
+ */
+@MustBeDocumented
+@Target(AnnotationTarget.FUNCTION)
+@Retention(AnnotationRetention.RUNTIME)
+annotation class CompressRequest(val minBytes: Int = DEFAULT_MIN_BYTES) {
+    companion object {
+        const val DEFAULT_MIN_BYTES = 1_024
+    }
+}
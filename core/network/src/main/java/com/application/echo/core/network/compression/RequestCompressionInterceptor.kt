@@ -0,0 +1,63 @@
+package com.application.echo.core.network.compression
+
+import okhttp3.Interceptor
+import okhttp3.RequestBody.Companion.toRequestBody
+import okhttp3.Response
+import okio.Buffer
+import okio.GzipSink
+import okio.buffer
+import retrofit2.Invocation
+import java.lang.reflect.Method
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Gzips request bodies of methods annotated with [CompressRequest] once
+ * they reach the method's threshold.
+ *
+ * The body is buffered and compressed up front so the request carries an
+ * exact `Content-Length` (no chunked encoding), and it is only swapped in
+ * when compression actually made it smaller.
+ */
+internal class RequestCompressionInterceptor : Interceptor {
+
+    private val thresholds = ConcurrentHashMap<Method, Int>()
+
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val request = chain.request()
+        val body = request.body
+        val threshold = request.tag(Invocation::class.java)?.method()?.let(::thresholdOf)
+
+        if (body == null || threshold == null || threshold < 0 ||
+            request.header(CONTENT_ENCODING) != null || body.isOneShot() || body.isDuplex()
+        ) {
+            return chain.proceed(request)
+        }
+
+        val length = body.contentLength()
+        if (length in 0 until threshold) return chain.proceed(request)
+
+        val plain = Buffer().also(body::writeTo)
+        if (plain.size < threshold) return chain.proceed(request)
+
+        val compressed = Buffer()
+        GzipSink(compressed).buffer().use { it.writeAll(plain) }
+        if (compressed.size >= plain.size) return chain.proceed(request)
+
+        return chain.proceed(
+            request.newBuilder()
+                .header(CONTENT_ENCODING, GZIP)
+                .method(request.method, compressed.readByteString().toRequestBody(body.contentType()))
+                .build(),
+        )
+    }
+
+    /** The method's threshold, or `-1` when it isn't annotated. */
+    private fun thresholdOf(method: Method): Int = thresholds.getOrPut(method) {
+        method.getAnnotation(CompressRequest::class.java)?.minBytes ?: -1
+    }
+
+    private companion object {
+        const val CONTENT_ENCODING = "Content-Encoding"
+        const val GZIP = "gzip"
+    }
+}
@@ -1,21 +1,32 @@
 package com.application.echo.core.network.di
 
+import android.content.Context
 import com.application.echo.core.network.client.EchoHttpClient
 import com.application.echo.core.network.client.EchoHttpClientImpl
 import com.application.echo.core.network.client.HttpClientConfig
+import com.application.echo.core.network.dns.EchoDns
 import com.application.echo.core.network.interceptor.AuthTokenProvider
+import com.application.echo.core.network.interceptor.HeaderProvider
+import com.application.echo.core.network.metrics.NetworkMetricsReporter
 import com.application.echo.core.network.monitor.ConnectivityManagerNetworkMonitor
 import com.application.echo.core.network.monitor.NetworkMonitor
 import com.application.echo.core.network.qualifier.Authenticated
+import com.application.echo.core.network.qualifier.EchoInterceptor
 import com.application.echo.core.network.qualifier.Unauthenticated
 import com.google.gson.FieldNamingPolicy
 import com.google.gson.Gson
 import com.google.gson.GsonBuilder
 import dagger.Binds
+import dagger.Lazy
 import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
 import dagger.hilt.components.SingletonComponent
+import dagger.multibindings.Multibinds
+import okhttp3.Authenticator
+import okhttp3.Dns
+import okhttp3.Interceptor
 import retrofit2.Retrofit
 import javax.inject.Singleton
 
@@ -28,6 +39,19 @@ internal abstract class NetworkBindsModule {
     abstract fun bindNetworkMonitor(
         impl: ConnectivityManagerNetworkMonitor,
     ): NetworkMonitor
+
+    /** Header blocks merged into every request; other modules contribute with `@IntoSet`. */
+    @Multibinds
+    abstract fun headerProviders(): Set<HeaderProvider>
+
+    /** Interceptors other modules add to the Echo HTTP clients. */
+    @Multibinds
+    @EchoInterceptor
+    abstract fun echoInterceptors(): Set<Interceptor>
+
+    /** Exporters of per-endpoint latency summaries; other modules contribute with `@IntoSet`. */
+    @Multibinds
+    abstract fun metricsReporters(): Set<NetworkMetricsReporter>
 }
 
 @Module
@@ -44,18 +68,37 @@ internal object NetworkProvidesModule {
             .create()
     }
 
+    /** Shared by the HTTP and WebSocket clients so both hit the same DNS cache. */
+    @Provides
+    @Singleton
+    fun provideDns(@ApplicationContext context: Context): Dns = EchoDns(
+        preferences = context.getSharedPreferences(DNS_PREFERENCES, Context.MODE_PRIVATE),
+    )
 
-
+    /**
+     * The token [Authenticator] (bound by the API module) refreshes through
+     * this client's unauthenticated Retrofit, so it is taken as [Lazy].
+     */
     @Provides
     @Singleton
     fun provideEchoHttpClient(
         config: HttpClientConfig,
         gson: Gson,
         authTokenProvider: AuthTokenProvider,
+        authenticator: Lazy<Authenticator>,
+        headerProviders: Set<@JvmSuppressWildcards HeaderProvider>,
+        dns: Dns,
+        @EchoInterceptor interceptors: Set<@JvmSuppressWildcards Interceptor>,
+        metricsReporters: Set<@JvmSuppressWildcards NetworkMetricsReporter>,
     ): EchoHttpClient = EchoHttpClientImpl(
         config = config,
         gson = gson,
         authTokenProvider = authTokenProvider,
+        tokenAuthenticator = authenticator::get,
+        headerProviders = headerProviders.toList(),
+        dns = dns,
+        interceptors = interceptors.toList(),
+        metricsReporters = metricsReporters.toList(),
     )
 
     @Provides
@@ -69,4 +112,6 @@ internal object NetworkProvidesModule {
     @Authenticated
     fun provideAuthenticatedRetrofit(client: EchoHttpClient): Retrofit =
         client.authenticated
+
+    private const val DNS_PREFERENCES = "echo_dns_cache"
 }
@@ -0,0 +1,277 @@
+package com.application.echo.core.network.dns
+
+import android.content.SharedPreferences
+import androidx.core.content.edit
+import okhttp3.Dns
+import timber.log.Timber
+import java.net.Inet4Address
+import java.net.Inet6Address
+import java.net.InetAddress
+import java.net.InetSocketAddress
+import java.net.Socket
+import java.net.UnknownHostException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutorCompletionService
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.TimeUnit
+
+/**
+ * Caching, failure-tolerant [Dns] shared by the Echo HTTP and WebSocket clients.
+ *
+ * **Caching** — answers are kept in memory for [DnsConfig.ttlMs]. Within
+ * [DnsConfig.staleTtlMs] an expired answer is still served while a refresh
+ * runs in the background, so a lookup never blocks a request that already
+ * resolved this host recently. Android's resolver does not expose record
+ * TTLs, so the TTL is configured rather than taken from the answer.
+ *
+ * **Persistence** — the last good answer per host is written to
+ * [SharedPreferences]. On a cold start it is served immediately (if
+ * younger than [DnsConfig.persistedMaxAgeMs]) and used as a fallback
+ * whenever the system resolver fails.
+ *
+ * **Happy eyeballs** — when a host has both IPv6 and IPv4 addresses, a
+ * TCP connect to one of each is raced (IPv6 first, IPv4 after
+ * [DnsConfig.fallbackDelayMs], RFC 8305 style). The winning family is put
+ * first and remembered, so a blackholed IPv6 route costs at most one
+ * short race instead of a full connect timeout on every connection. The
+ * race runs in the background and never delays a lookup: until it has a
+ * winner, lookups get the system order (or the previous winner).
+ */
+class EchoDns(
+    private val preferences: SharedPreferences,
+    private val config: DnsConfig = DnsConfig(),
+    private val system: Dns = Dns.SYSTEM,
+) : Dns {
+
+    private val cache = ConcurrentHashMap<String, CachedAnswer>()
+    private val refreshing = ConcurrentHashMap.newKeySet<String>()
+    private val preferredFamily = ConcurrentHashMap<String, FamilyPreference>()
+    private val racing = ConcurrentHashMap.newKeySet<String>()
+
+    /** Background refreshes, kept apart from races so none waits out a slow connect probe. */
+    private val refreshes: ExecutorService =
+        Executors.newFixedThreadPool(REFRESH_THREADS, daemonThreads(REFRESH_THREAD))
+
+    /** Runs one race at a time; each race holds both [probes] threads. */
+    private val races: ExecutorService =
+        Executors.newSingleThreadExecutor(daemonThreads(RACE_THREAD))
+
+    /** The two connect probes of the race in progress. */
+    private val probes: ExecutorService =
+        Executors.newFixedThreadPool(PROBE_THREADS, daemonThreads(PROBE_THREAD))
+
+    override fun lookup(hostname: String): List<InetAddress> {
+        val now = System.currentTimeMillis()
+        val cached = cache[hostname] ?: loadPersisted(hostname)
+
+        if (cached != null) {
+            val age = now - cached.resolvedAt
+            when {
+                age < config.ttlMs && !cached.fromDisk -> return order(hostname, cached.addresses)
+
+                age < config.staleTtlMs || (cached.fromDisk && age < config.persistedMaxAgeMs) -> {
+                    refreshAsync(hostname)
+                    return order(hostname, cached.addresses)
+                }
+            }
+        }
+
+        return try {
+            order(hostname, resolve(hostname))
+        } catch (e: UnknownHostException) {
+            // Offline or resolver failure: any previously good answer beats none.
+            cached?.let {
+                Timber.tag(TAG).d("Resolver failed for %s, using last good answer", hostname)
+                return order(hostname, it.addresses)
+            }
+            throw e
+        }
+    }
+
+    /** Drops every cached answer, in memory and on disk. */
+    fun clear() {
+        cache.clear()
+        preferredFamily.clear()
+        preferences.edit { clear() }
+    }
+
+    // ──────────────── Resolution ────────────────
+
+    private fun resolve(hostname: String): List<InetAddress> {
+        val addresses = system.lookup(hostname)
+        val answer = CachedAnswer(addresses, System.currentTimeMillis(), fromDisk = false)
+        cache[hostname] = answer
+        persist(hostname, answer)
+        return addresses
+    }
+
+    private fun refreshAsync(hostname: String) {
+        if (!refreshing.add(hostname)) return
+        refreshes.execute {
+            try {
+                resolve(hostname)
+            } catch (e: UnknownHostException) {
+                Timber.tag(TAG).d("Background refresh failed for %s", hostname)
+            } finally {
+                refreshing.remove(hostname)
+            }
+        }
+    }
+
+    // ──────────────── Happy eyeballs ────────────────
+
+    /**
+     * Orders [addresses] so the family that connects fastest comes first,
+     * interleaving the rest so OkHttp's sequential route attempts alternate.
+     *
+     * Never blocks. A missing or expired winner starts a race in the
+     * background; meanwhile the expired winner is still used, and with no
+     * winner at all [addresses] are returned in the system's order.
+     */
+    private fun order(hostname: String, addresses: List<InetAddress>): List<InetAddress> {
+        val v6 = addresses.filterIsInstance<Inet6Address>()
+        val v4 = addresses.filterIsInstance<Inet4Address>()
+        if (v6.isEmpty() || v4.isEmpty()) return addresses
+
+        val preference = preferredFamily[hostname]
+        val expired = preference == null ||
+            System.currentTimeMillis() - preference.decidedAt >= config.familyPreferenceTtlMs
+        if (expired) raceAsync(hostname, v6.first(), v4.first())
+        if (preference == null) return addresses
+
+        val (first, second) = if (preference.preferV4) v4 to v6 else v6 to v4
+        val ordered = ArrayList<InetAddress>(addresses.size)
+        for (i in 0 until maxOf(first.size, second.size)) {
+            first.getOrNull(i)?.let(ordered::add)
+            second.getOrNull(i)?.let(ordered::add)
+        }
+        return ordered
+    }
+
+    private fun raceAsync(hostname: String, v6: InetAddress, v4: InetAddress) {
+        if (!racing.add(hostname)) return
+        races.execute {
+            try {
+                val preferV4 = raceFamilies(v6, v4)
+                preferredFamily[hostname] = FamilyPreference(preferV4, decidedAt = System.currentTimeMillis())
+                Timber.tag(TAG).d("%s prefers %s", hostname, if (preferV4) "IPv4" else "IPv6")
+            } finally {
+                racing.remove(hostname)
+            }
+        }
+    }
+
+    /** Returns `true` if IPv4 wins the connect race. Blocks for up to the race timeout. */
+    private fun raceFamilies(v6: InetAddress, v4: InetAddress): Boolean {
+        val race = ExecutorCompletionService<Boolean>(probes)
+        val attempts = ArrayList<Future<Boolean>>(2)
+        // Probes still running. Only results taken from the completion queue
+        // count, so a probe that finishes between polls is never counted twice.
+        var pending = 0
+        try {
+            attempts += race.submit { probe(v6); false }
+            pending++
+
+            // IPv6 gets a head start; only if it hasn't succeeded by then does IPv4 join.
+            race.poll(config.fallbackDelayMs, TimeUnit.MILLISECONDS)?.let { done ->
+                pending--
+                if (runCatching { done.get() }.isSuccess) return false
+            }
+            attempts += race.submit { probe(v4); true }
+            pending++
+
+            val deadline = System.currentTimeMillis() + config.raceTimeoutMs
+            while (pending > 0) {
+                val remaining = deadline - System.currentTimeMillis()
+                val done = race.poll(remaining.coerceAtLeast(0), TimeUnit.MILLISECONDS) ?: break
+                pending--
+                runCatching { done.get() }.onSuccess { preferV4 -> return preferV4 }
+            }
+        } catch (e: InterruptedException) {
+            Thread.currentThread().interrupt()
+        } finally {
+            attempts.forEach { it.cancel(true) }
+        }
+        // Neither connected in time — keep the system's ordering (IPv6 first).
+        return false
+    }
+
+    private fun probe(address: InetAddress) {
+        Socket().use { socket ->
+            socket.connect(InetSocketAddress(address, config.probePort), config.raceTimeoutMs.toInt())
+        }
+    }
+
+    // ──────────────── Persistence ────────────────
+
+    private fun loadPersisted(hostname: String): CachedAnswer? {
+        val raw = preferences.getString(hostname, null) ?: return null
+        val resolvedAt = raw.substringBefore(FIELD_SEPARATOR).toLongOrNull() ?: return null
+        val addresses = raw.substringAfter(FIELD_SEPARATOR)
+            .split(ADDRESS_SEPARATOR)
+            .mapNotNull { literal ->
+                // IP literals are parsed locally; no lookup happens here.
+                runCatching { InetAddress.getByName(literal) }.getOrNull()
+            }
+        if (addresses.isEmpty()) return null
+        return CachedAnswer(addresses, resolvedAt, fromDisk = true).also { cache.putIfAbsent(hostname, it) }
+    }
+
+    private fun persist(hostname: String, answer: CachedAnswer) {
+        val literals = answer.addresses.mapNotNull { it.hostAddress }.joinToString(ADDRESS_SEPARATOR)
+        preferences.edit { putString(hostname, "${answer.resolvedAt}$FIELD_SEPARATOR$literals") }
+    }
+
+    private class CachedAnswer(
+        val addresses: List<InetAddress>,
+        val resolvedAt: Long,
+        val fromDisk: Boolean,
+    )
+
+    private class FamilyPreference(val preferV4: Boolean, val decidedAt: Long)
+
+    private fun daemonThreads(name: String) = ThreadFactory { runnable ->
+        Thread(runnable, name).apply { isDaemon = true }
+    }
+
+    private companion object {
+        const val TAG = "EchoDns"
+        const val REFRESH_THREAD = "echo-dns-refresh"
+        const val RACE_THREAD = "echo-dns-race"
+        const val PROBE_THREAD = "echo-dns-probe"
+
+        /** Refreshes of different hosts overlap; the same host never refreshes twice at once. */
+        const val REFRESH_THREADS = 2
+
+        /** One IPv6 and one IPv4 probe. */
+        const val PROBE_THREADS = 2
+        const val FIELD_SEPARATOR = "|"
+        const val ADDRESS_SEPARATOR = ","
+    }
+}
+
+/**
+ * Tuning for [EchoDns].
+ *
+ * @property ttlMs How long an answer is served without re-resolving.
+ * @property staleTtlMs How long an expired answer may still be served
+ *   while a background refresh runs.
+ * @property persistedMaxAgeMs Maximum age of a persisted answer served on cold start.
+ * @property fallbackDelayMs Head start given to IPv6 before IPv4 joins the race.
+ * @property raceTimeoutMs Upper bound on the connect race.
+ * @property familyPreferenceTtlMs How long a race winner is remembered per host.
+ * @property probePort Port used for the connect race. [Dns.lookup] is not told
+ *   the port being connected to, so this must match the Echo endpoints (all TLS).
+ */
+data class DnsConfig(
+    val ttlMs: Long = 60_000L,
+    val staleTtlMs: Long = 10 * 60_000L,
+    val persistedMaxAgeMs: Long = 60 * 60_000L,
+    val fallbackDelayMs: Long = 250L,
+    val raceTimeoutMs: Long = 2_000L,
+    val familyPreferenceTtlMs: Long = 10 * 60_000L,
+    val probePort: Int = 443,
+)
@@ -6,23 +6,28 @@ import okhttp3.Response
 import timber.log.Timber
 
 /**
- * OkHttp [Interceptor] that attaches a Bearer token to every request.
+ * OkHttp [Interceptor] that attaches a Bearer token to every request
+ * sent to [apiHost].
  *
- * If no token is available the request proceeds without an Authorization
- * header — endpoints that require auth will respond with 401 and the
- * error is handled by the call adapter layer.
+ * Requests to any other host — CDN URLs passed through `@Url`, redirects
+ * off the API — never see the token. If no token is available the request
+ * proceeds without an Authorization header — endpoints that require auth
+ * will respond with 401 and the error is handled by the call adapter layer.
  */
 internal class AuthInterceptor(
     private val tokenProvider: AuthTokenProvider,
+    private val apiHost: String?,
 ) : Interceptor {
 
     override fun intercept(chain: Interceptor.Chain): Response {
         val original = chain.request()
-        val tokenData = tokenProvider.getLatestAuthTokenData()
+        if (!original.url.host.equals(apiHost, ignoreCase = true)) return chain.proceed(original)
 
-        val request = if (tokenData != null) {
+        val authorization = tokenProvider.getAuthorizationHeader()
+
+        val request = if (authorization != null) {
             original.newBuilder()
-                .header(HeaderConstants.AUTHORIZATION, "${HeaderConstants.BEARER} ${tokenData.accessToken}")
+                .header(HeaderConstants.AUTHORIZATION, authorization)
                 .build()
         } else {
             Timber.d("No auth token available, proceeding without Authorization header")
@@ -1,6 +1,7 @@
 package com.application.echo.core.network.interceptor
 
 import com.application.echo.core.network.model.TokenData
+import com.application.echo.core.network.util.HeaderConstants
 
 /**
  * Contract for supplying the current authentication token.
@@ -16,4 +17,12 @@ interface AuthTokenProvider {
      * Returns the latest valid auth token, or `null` if not authenticated.
      */
     fun getLatestAuthTokenData(): TokenData?
+
+    /**
+     * Returns the full `Authorization` header value for the current token,
+     * or `null` if not authenticated. Called on every authenticated request —
+     * implementations should return a cached value rather than rebuild it.
+     */
+    fun getAuthorizationHeader(): String? =
+        getLatestAuthTokenData()?.let { "${HeaderConstants.BEARER} ${it.accessToken}" }
 }
@@ -0,0 +1,19 @@
+package com.application.echo.core.network.interceptor
+
+import okhttp3.Headers
+
+/**
+ * Contributes a block of headers to every request.
+ *
+ * Bind implementations into the set with `@Binds @IntoSet`; the
+ * [RequestHeaderInterceptor] merges all of them in a single pass.
+ *
+ * [headers] is read on every request, so implementations should return
+ * the same prebuilt [Headers] instance until their inputs change — the
+ * interceptor uses instance identity to skip re-merging.
+ */
+interface HeaderProvider {
+
+    /** The current header block. Empty when there is nothing to add. */
+    val headers: Headers
+}
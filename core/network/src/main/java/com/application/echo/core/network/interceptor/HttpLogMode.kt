@@ -0,0 +1,23 @@
+package com.application.echo.core.network.interceptor
+
+/**
+ * How the Echo HTTP clients log traffic. Chosen once, at client creation.
+ */
+sealed interface HttpLogMode {
+
+    /** No logging interceptor is installed at all — zero per-call cost. */
+    data object Off : HttpLogMode
+
+    /** Full headers and bodies of every call (Authorization redacted). Debug builds only. */
+    data object Verbose : HttpLogMode
+
+    /**
+     * One structured line per call for a random [sampleRate] of successful
+     * calls and every failed one, capped at [maxPerMinute] lines. No headers
+     * or bodies are logged, so it is safe for production diagnostics.
+     */
+    data class Sampled(
+        val sampleRate: Double = 0.01,
+        val maxPerMinute: Int = 30,
+    ) : HttpLogMode
+}
@@ -1,30 +1,76 @@
 package com.application.echo.core.network.interceptor
 
+import com.application.echo.core.common.logging.LogSampler
 import com.application.echo.core.network.util.HeaderConstants
+import okhttp3.Interceptor
+import okhttp3.Response
 import okhttp3.logging.HttpLoggingInterceptor
 import timber.log.Timber
+import java.io.IOException
 
 /**
- * Creates a configured [HttpLoggingInterceptor] for the network module.
+ * Creates the logging interceptor for an [HttpLogMode].
  *
- * - Logs to Timber with a dedicated tag.
- * - Redacts the Authorization header value.
- * - Level is configurable (BODY for debug, BASIC for production).
+ * - [HttpLogMode.Off] → `null`; nothing is installed.
+ * - [HttpLogMode.Verbose] → [HttpLoggingInterceptor] at BODY level, to
+ *   Timber with a dedicated tag and the Authorization header redacted.
+ * - [HttpLogMode.Sampled] → [SampledLoggingInterceptor].
  */
 internal object LoggingInterceptorFactory {
 
     private const val TAG = "EchoHttp"
 
-    fun create(logBody: Boolean): HttpLoggingInterceptor {
-        return HttpLoggingInterceptor { message ->
+    fun create(mode: HttpLogMode): Interceptor? = when (mode) {
+        HttpLogMode.Off -> null
+
+        HttpLogMode.Verbose -> HttpLoggingInterceptor { message ->
             Timber.tag(TAG).d(message)
         }.apply {
             redactHeader(HeaderConstants.AUTHORIZATION)
-            level = if (logBody) {
-                HttpLoggingInterceptor.Level.BODY
-            } else {
-                HttpLoggingInterceptor.Level.BASIC
+            level = HttpLoggingInterceptor.Level.BODY
+        }
+
+        is HttpLogMode.Sampled -> SampledLoggingInterceptor(
+            sampler = LogSampler(mode.sampleRate, mode.maxPerMinute),
+            tag = TAG,
+        )
+    }
+}
+
+/**
+ * Logs a single `key=value` line per sampled call: method, path, status,
+ * duration and response size. The sampling decision is made before any
+ * string is built, so unsampled calls cost one random number.
+ */
+internal class SampledLoggingInterceptor(
+    private val sampler: LogSampler,
+    private val tag: String,
+) : Interceptor {
+
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val request = chain.request()
+        val startedAt = System.nanoTime()
+        val response = try {
+            chain.proceed(request)
+        } catch (e: IOException) {
+            if (sampler.shouldLog(force = true)) {
+                Timber.tag(tag).w(
+                    "http method=%s path=%s error=%s duration_ms=%d",
+                    request.method, request.url.encodedPath, e.javaClass.simpleName, elapsedMs(startedAt),
+                )
             }
+            throw e
         }
+
+        if (sampler.shouldLog(force = !response.isSuccessful)) {
+            Timber.tag(tag).i(
+                "http method=%s path=%s status=%d duration_ms=%d bytes=%d protocol=%s",
+                request.method, request.url.encodedPath, response.code, elapsedMs(startedAt),
+                response.body?.contentLength() ?: -1L, response.protocol,
+            )
+        }
+        return response
     }
+
+    private fun elapsedMs(startedAt: Long): Long = (System.nanoTime() - startedAt) / 1_000_000
 }
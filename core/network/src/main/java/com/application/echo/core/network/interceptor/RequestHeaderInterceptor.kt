@@ -1,6 +1,8 @@
 package com.application.echo.core.network.interceptor
 
 import com.application.echo.core.network.util.HeaderConstants
+import okhttp3.Headers
+import okhttp3.Headers.Companion.toHeaders
 import okhttp3.Interceptor
 import okhttp3.Response
 
@@ -11,23 +13,65 @@ import okhttp3.Response
  * - `Accept: application/json`
  * - `Content-Type: application/json`
  * - `X-Platform: Android`
+ * - every block contributed by a [HeaderProvider] (e.g. session and device
+ *   headers) — only on requests to [apiHost], like the Bearer token, so they
+ *   never reach CDN or other third-party URLs called through the same client
  *
- * Additional headers can be passed at construction time.
+ * The static headers and the providers' blocks are merged into one
+ * prebuilt [Headers] instance that is rebuilt only when a provider hands
+ * out a new block. Each request then costs one header merge instead of
+ * one builder call per header.
  */
 internal class RequestHeaderInterceptor(
-    private val additionalHeaders: Map<String, String> = emptyMap(),
+    additionalHeaders: Map<String, String> = emptyMap(),
+    private val providers: List<HeaderProvider> = emptyList(),
+    private val apiHost: String? = null,
 ) : Interceptor {
 
+    private val staticHeaders: Headers = Headers.Builder()
+        .add(HeaderConstants.ACCEPT, HeaderConstants.APPLICATION_JSON)
+        .add(HeaderConstants.CONTENT_TYPE, HeaderConstants.APPLICATION_JSON)
+        .add(HeaderConstants.X_PLATFORM, HeaderConstants.ANDROID)
+        .addAll(additionalHeaders.toHeaders())
+        .build()
+
+    @Volatile
+    private var cache = MergedHeaders(sources = emptyList(), headers = staticHeaders)
+
     override fun intercept(chain: Interceptor.Chain): Response {
-        val builder = chain.request().newBuilder()
-            .header(HeaderConstants.ACCEPT, HeaderConstants.APPLICATION_JSON)
-            .header(HeaderConstants.CONTENT_TYPE, HeaderConstants.APPLICATION_JSON)
-            .header(HeaderConstants.X_PLATFORM, HeaderConstants.ANDROID)
+        val original = chain.request()
+        val toApi = original.url.host.equals(apiHost, ignoreCase = true)
+        val extra = if (toApi) currentHeaders() else staticHeaders
+
+        val merged = if (original.headers.size == 0) {
+            extra
+        } else {
+            original.headers.newBuilder().apply {
+                for (i in 0 until extra.size) set(extra.name(i), extra.value(i))
+            }.build()
+        }
+
+        return chain.proceed(original.newBuilder().headers(merged).build())
+    }
+
+    // ──────────────── Internal ────────────────
+
+    /** Returns the cached merged block, rebuilding it if any provider changed. */
+    private fun currentHeaders(): Headers {
+        if (providers.isEmpty()) return staticHeaders
 
-        additionalHeaders.forEach { (key, value) ->
-            builder.header(key, value)
+        val cached = cache
+        if (providers.indices.all { providers[it].headers === cached.sources.getOrNull(it) }) {
+            return cached.headers
         }
 
-        return chain.proceed(builder.build())
+        val sources = providers.map(HeaderProvider::headers)
+        val builder = staticHeaders.newBuilder()
+        sources.forEach { block ->
+            for (i in 0 until block.size) builder.set(block.name(i), block.value(i))
+        }
+        return builder.build().also { cache = MergedHeaders(sources, it) }
     }
+
+    private class MergedHeaders(val sources: List<Headers>, val headers: Headers)
 }
@@ -0,0 +1,82 @@
+package com.application.echo.core.network.metrics
+
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+
+/** Phase of an HTTP call measured by [MetricsEventListener]. */
+enum class CallPhase(val key: String) {
+    Dns("dns"),
+    Connect("connect"),
+    Tls("tls"),
+    RequestWrite("request_write"),
+    Ttfb("ttfb"),
+    BodyRead("body_read"),
+    Parse("parse"),
+    Total("total"),
+}
+
+/**
+ * Lock-free latency histogram with fixed millisecond buckets.
+ *
+ * Recording is a couple of atomic increments, so it is cheap enough to
+ * run for every call. Percentiles are estimated as the upper bound of
+ * the bucket they fall into.
+ */
+internal class LatencyHistogram {
+
+    private val counts = AtomicLongArray(BOUNDS_MS.size + 1)
+    private val total = AtomicLong()
+    private val max = AtomicLong()
+
+    fun record(valueMs: Long) {
+        val value = valueMs.coerceAtLeast(0L)
+        var bucket = 0
+        while (bucket < BOUNDS_MS.size && value > BOUNDS_MS[bucket]) bucket++
+        counts.incrementAndGet(bucket)
+        total.incrementAndGet()
+        max.accumulateAndGet(value, ::maxOf)
+    }
+
+    fun summary(): PhaseSummary? {
+        val count = total.get()
+        if (count == 0L) return null
+        return PhaseSummary(
+            count = count,
+            p50Ms = percentile(count, 0.50),
+            p95Ms = percentile(count, 0.95),
+            maxMs = max.get(),
+        )
+    }
+
+    private fun percentile(count: Long, quantile: Double): Long {
+        val rank = (count * quantile).toLong().coerceAtLeast(1L)
+        var cumulative = 0L
+        for (bucket in 0 until counts.length()) {
+            cumulative += counts.get(bucket)
+            if (cumulative >= rank) {
+                return if (bucket < BOUNDS_MS.size) minOf(BOUNDS_MS[bucket], max.get()) else max.get()
+            }
+        }
+        return max.get()
+    }
+
+    private companion object {
+        /** Bucket upper bounds; anything above the last lands in an overflow bucket. */
+        val BOUNDS_MS = longArrayOf(1, 2, 5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000)
+    }
+}
+
+/**
+ * Latency summary of one [CallPhase] over a reporting period.
+ *
+ * @property count Number of samples.
+ * @property p50Ms Estimated median.
+ * @property p95Ms Estimated 95th percentile.
+ * @property maxMs Slowest sample.
+ */
+data class PhaseSummary(
+    val count: Long,
+    val p50Ms: Long,
+    val p95Ms: Long,
+    val maxMs: Long,
+)
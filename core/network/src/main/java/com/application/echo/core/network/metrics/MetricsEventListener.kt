@@ -0,0 +1,127 @@
+package com.application.echo.core.network.metrics
+
+import okhttp3.Call
+import okhttp3.EventListener
+import okhttp3.Handshake
+import okhttp3.Protocol
+import okhttp3.Response
+import java.io.IOException
+import java.net.InetAddress
+import java.net.InetSocketAddress
+import java.net.Proxy
+
+/**
+ * Per-call [EventListener] that times each phase of an HTTP call and
+ * records it into [NetworkMetrics].
+ *
+ * ```
+ * callStart ─ dns ─ connect ─ tls ─ request write ─ TTFB ─ body read ─ callEnd
+ * ```
+ *
+ * Phases that don't happen (DNS and connect on a pooled connection) are
+ * simply not recorded, so their histograms describe only cold calls.
+ */
+internal class MetricsEventListener(
+    private val metrics: NetworkMetrics,
+) : EventListener() {
+
+    private var callStart = UNSET
+    private var dnsStart = UNSET
+    private var connectStart = UNSET
+    private var secureConnectStart = UNSET
+    private var requestStart = UNSET
+    private var requestEnd = UNSET
+    private var responseBodyStart = UNSET
+    private var statusCode = 0
+
+    override fun callStart(call: Call) {
+        callStart = now()
+    }
+
+    override fun dnsStart(call: Call, domainName: String) {
+        dnsStart = now()
+    }
+
+    override fun dnsEnd(call: Call, domainName: String, inetAddressList: List<InetAddress>) {
+        record(call, CallPhase.Dns, dnsStart)
+    }
+
+    override fun connectStart(call: Call, inetSocketAddress: InetSocketAddress, proxy: Proxy) {
+        connectStart = now()
+        secureConnectStart = UNSET
+    }
+
+    override fun secureConnectStart(call: Call) {
+        secureConnectStart = now()
+        // TCP connect ends where the TLS handshake begins.
+        record(call, CallPhase.Connect, connectStart)
+    }
+
+    override fun secureConnectEnd(call: Call, handshake: Handshake?) {
+        record(call, CallPhase.Tls, secureConnectStart)
+    }
+
+    override fun connectEnd(
+        call: Call,
+        inetSocketAddress: InetSocketAddress,
+        proxy: Proxy,
+        protocol: Protocol?,
+    ) {
+        if (secureConnectStart == UNSET) record(call, CallPhase.Connect, connectStart)
+    }
+
+    override fun requestHeadersStart(call: Call) {
+        requestStart = now()
+    }
+
+    override fun requestHeadersEnd(call: Call, request: okhttp3.Request) {
+        requestEnd = now()
+    }
+
+    override fun requestBodyEnd(call: Call, byteCount: Long) {
+        requestEnd = now()
+    }
+
+    override fun responseHeadersStart(call: Call) {
+        if (requestStart != UNSET && requestEnd != UNSET) {
+            metrics.record(call.request(), CallPhase.RequestWrite, requestEnd - requestStart)
+        }
+        record(call, CallPhase.Ttfb, requestEnd)
+    }
+
+    override fun responseHeadersEnd(call: Call, response: Response) {
+        statusCode = response.code
+    }
+
+    override fun responseBodyStart(call: Call) {
+        responseBodyStart = now()
+    }
+
+    override fun responseBodyEnd(call: Call, byteCount: Long) {
+        record(call, CallPhase.BodyRead, responseBodyStart)
+    }
+
+    override fun callEnd(call: Call) {
+        record(call, CallPhase.Total, callStart)
+        metrics.recordCompletion(call.request(), failed = statusCode >= 500)
+    }
+
+    override fun callFailed(call: Call, ioe: IOException) {
+        metrics.recordCompletion(call.request(), failed = !call.isCanceled())
+    }
+
+    private fun record(call: Call, phase: CallPhase, start: Long) {
+        if (start != UNSET) metrics.record(call.request(), phase, now() - start)
+    }
+
+    private fun now(): Long = System.nanoTime() / 1_000_000
+
+    /** Creates one listener per call. */
+    class Factory(private val metrics: NetworkMetrics) : EventListener.Factory {
+        override fun create(call: Call): EventListener = MetricsEventListener(metrics)
+    }
+
+    private companion object {
+        const val UNSET = Long.MIN_VALUE
+    }
+}
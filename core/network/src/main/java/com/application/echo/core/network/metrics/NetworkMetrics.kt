@@ -0,0 +1,158 @@
+package com.application.echo.core.network.metrics
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.launch
+import okhttp3.Request
+import retrofit2.Invocation
+import retrofit2.http.DELETE
+import retrofit2.http.GET
+import retrofit2.http.HEAD
+import retrofit2.http.PATCH
+import retrofit2.http.POST
+import retrofit2.http.PUT
+import timber.log.Timber
+import java.lang.reflect.Method
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * Receives periodic per-endpoint latency summaries from the Echo HTTP clients.
+ *
+ * Contribute implementations with `@IntoSet`; with none bound, metrics are
+ * still collected but never exported.
+ */
+fun interface NetworkMetricsReporter {
+    fun report(metrics: List<EndpointMetrics>)
+}
+
+/**
+ * Aggregated metrics of one endpoint over a reporting period.
+ *
+ * @property method HTTP method.
+ * @property endpoint Path template as declared on the Retrofit method
+ *   (e.g. `api/v1/messages/conversations/{conversation_id}`), so calls
+ *   that differ only in IDs share one entry.
+ * @property calls Completed calls, successful or not.
+ * @property failures Calls that failed at the transport level or returned 5xx.
+ * @property phases Latency summary per measured phase.
+ */
+data class EndpointMetrics(
+    val method: String,
+    val endpoint: String,
+    val calls: Long,
+    val failures: Long,
+    val phases: Map<CallPhase, PhaseSummary>,
+)
+
+/**
+ * Per-endpoint histograms fed by [MetricsEventListener] and [recordParse],
+ * flushed to every [NetworkMetricsReporter] each [reportIntervalMs].
+ */
+internal class NetworkMetrics(
+    private val reporters: List<NetworkMetricsReporter>,
+    private val reportIntervalMs: Long,
+) {
+
+    private val endpoints = AtomicReference(ConcurrentHashMap<EndpointKey, EndpointStats>())
+    private val templates = ConcurrentHashMap<Method, EndpointKey>()
+    private val started = AtomicBoolean(false)
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+
+    fun record(request: Request, phase: CallPhase, durationMs: Long) {
+        statsFor(request).histogram(phase).record(durationMs)
+    }
+
+    fun recordCompletion(request: Request, failed: Boolean) {
+        val stats = statsFor(request)
+        stats.calls.incrementAndGet()
+        if (failed) stats.failures.incrementAndGet()
+    }
+
+    /** Records the time `ResponseParser` spent turning a body into a model. */
+    fun recordParse(request: Request, durationMs: Long) = record(request, CallPhase.Parse, durationMs)
+
+    /** Returns the metrics gathered since the previous drain and starts a new period. */
+    fun drain(): List<EndpointMetrics> =
+        endpoints.getAndSet(ConcurrentHashMap()).map { (key, stats) ->
+            EndpointMetrics(
+                method = key.method,
+                endpoint = key.template,
+                calls = stats.calls.get(),
+                failures = stats.failures.get(),
+                phases = stats.phases.mapNotNull { (phase, histogram) ->
+                    histogram.summary()?.let { phase to it }
+                }.toMap(),
+            )
+        }
+
+    // ──────────────── Internal ────────────────
+
+    private fun statsFor(request: Request): EndpointStats {
+        startReporting()
+        return endpoints.get().getOrPut(keyOf(request)) { EndpointStats() }
+    }
+
+    private fun startReporting() {
+        if (reporters.isEmpty() || !started.compareAndSet(false, true)) return
+        scope.launch {
+            while (isActive) {
+                delay(reportIntervalMs)
+                val metrics = drain()
+                if (metrics.isEmpty()) continue
+                reporters.forEach { reporter ->
+                    try {
+                        reporter.report(metrics)
+                    } catch (e: Exception) {
+                        Timber.tag(TAG).w(e, "Metrics reporter failed")
+                    }
+                }
+            }
+        }
+    }
+
+    private fun keyOf(request: Request): EndpointKey {
+        val method = request.tag(Invocation::class.java)?.method()
+            ?: return EndpointKey(request.method, UNTEMPLATED)
+        return templates.getOrPut(method) {
+            val template = method.annotations.firstNotNullOfOrNull { annotation ->
+                when (annotation) {
+                    is GET -> annotation.value
+                    is POST -> annotation.value
+                    is PUT -> annotation.value
+                    is PATCH -> annotation.value
+                    is DELETE -> annotation.value
+                    is HEAD -> annotation.value
+                    else -> null
+                }
+            }
+            // `@GET @Url` methods have no template; fall back to the method name.
+            EndpointKey(
+                method = request.method,
+                template = template?.ifEmpty { null } ?: "${method.declaringClass.simpleName}.${method.name}",
+            )
+        }
+    }
+
+    private data class EndpointKey(val method: String, val template: String)
+
+    private class EndpointStats {
+        val calls = AtomicLong()
+        val failures = AtomicLong()
+        val phases = ConcurrentHashMap<CallPhase, LatencyHistogram>()
+
+        fun histogram(phase: CallPhase): LatencyHistogram = phases.getOrPut(phase) { LatencyHistogram() }
+    }
+
+    private companion object {
+        const val TAG = "NetworkMetrics"
+
+        /** Endpoint name for requests not made through a Retrofit service (e.g. warm-up). */
+        const val UNTEMPLATED = "other"
+    }
+}
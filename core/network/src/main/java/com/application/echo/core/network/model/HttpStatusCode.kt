@@ -18,6 +18,7 @@ value class HttpStatusCode(val code: Int) {
     val isNotFound: Boolean get() = code == NOT_FOUND.code
     val isValidationError: Boolean get() = code == UNPROCESSABLE_ENTITY.code
     val isTooManyRequests: Boolean get() = code == TOO_MANY_REQUESTS.code
+    val isServiceUnavailable: Boolean get() = code == SERVICE_UNAVAILABLE.code
 
     override fun toString(): String = "HTTP $code"
 
@@ -0,0 +1,93 @@
+package com.application.echo.core.network.priority
+
+import com.application.echo.core.network.client.DispatcherLimits
+import okhttp3.Call
+import okhttp3.Dispatcher
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import retrofit2.Invocation
+import java.lang.reflect.Method
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Retrofit [Call.Factory] that routes each request to the OkHttp client
+ * of its [RequestPriority].
+ *
+ * The priority is read from the service method's [Priority] annotation
+ * (via Retrofit's [Invocation] tag), or from a [RequestPriority] tag set
+ * on hand-built requests. All clients share one connection pool; only
+ * their [Dispatcher] queues differ.
+ *
+ * Calls made from a coroutine carrying a [RequestOwner] are tagged with it,
+ * so [PriorityDispatchers.cancelAll] can find them again.
+ */
+internal class PriorityCallFactory(
+    private val clients: Map<RequestPriority, OkHttpClient>,
+) : Call.Factory {
+
+    private val methodPriorities = ConcurrentHashMap<Method, RequestPriority>()
+
+    override fun newCall(request: Request): Call {
+        val owner = RequestOwner.current()
+        val tagged = if (owner != null && request.tag(RequestOwner::class.java) == null) {
+            request.newBuilder().tag(RequestOwner::class.java, owner).build()
+        } else {
+            request
+        }
+        return clientFor(priorityOf(tagged)).newCall(tagged)
+    }
+
+    private fun clientFor(priority: RequestPriority): OkHttpClient =
+        clients[priority] ?: clients.getValue(RequestPriority.Interactive)
+
+    private fun priorityOf(request: Request): RequestPriority {
+        request.tag(RequestPriority::class.java)?.let { return it }
+        val method = request.tag(Invocation::class.java)?.method() ?: return RequestPriority.Interactive
+        return methodPriorities.getOrPut(method) {
+            method.getAnnotation(Priority::class.java)?.value ?: RequestPriority.Interactive
+        }
+    }
+}
+
+/**
+ * One [Dispatcher] per [RequestPriority], shared by the authenticated and
+ * unauthenticated clients so the limits apply app-wide.
+ */
+internal class PriorityDispatchers(
+    val interactive: Dispatcher,
+    prefetch: DispatcherLimits,
+    background: DispatcherLimits,
+) {
+
+    private val dispatchers: Map<RequestPriority, Dispatcher> = mapOf(
+        RequestPriority.Interactive to interactive,
+        RequestPriority.VisiblePrefetch to prefetch.toDispatcher(),
+        RequestPriority.Background to background.toDispatcher(),
+    )
+
+    /** Derives one client per priority from [client], differing only in dispatcher. */
+    fun callFactory(client: OkHttpClient): PriorityCallFactory = PriorityCallFactory(
+        clients = dispatchers.mapValues { (_, dispatcher) ->
+            if (client.dispatcher === dispatcher) {
+                client
+            } else {
+                client.newBuilder().dispatcher(dispatcher).build()
+            }
+        },
+    )
+
+    /** Cancels the queued and running calls of [owner], optionally only those of [priority]. */
+    fun cancelAll(owner: RequestOwner, priority: RequestPriority? = null) {
+        val targets = if (priority == null) dispatchers.values else listOf(dispatchers.getValue(priority))
+        targets.forEach { dispatcher ->
+            (dispatcher.queuedCalls() + dispatcher.runningCalls())
+                .filter { it.request().tag(RequestOwner::class.java) === owner }
+                .forEach(Call::cancel)
+        }
+    }
+
+    private fun DispatcherLimits.toDispatcher() = Dispatcher().also {
+        it.maxRequests = maxRequests
+        it.maxRequestsPerHost = maxRequestsPerHost
+    }
+}
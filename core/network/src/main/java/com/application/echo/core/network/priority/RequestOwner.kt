@@ -0,0 +1,58 @@
+package com.application.echo.core.network.priority
+
+import kotlinx.coroutines.ThreadContextElement
+import kotlin.coroutines.CoroutineContext
+
+/**
+ * Groups the HTTP calls made on behalf of one owner — typically a screen's
+ * ViewModel — so they can be cancelled together without touching any
+ * other screen's calls.
+ *
+ * Calls are tagged by running them in a coroutine that carries the owner:
+ *
+ * ```kotlin
+ * private val requests = httpClient.newRequestOwner("chat").also(::addCloseable)
+ *
+ * fun loadOlder() = viewModelScope.launch(requests) { messageRepo.getMessagesPage(...) }
+ * ```
+ *
+ * Registered with `addCloseable`, the owner is closed when the ViewModel
+ * is cleared, which cancels every call still queued or running for it —
+ * including ones started from shared or application scopes.
+ */
+class RequestOwner internal constructor(
+    val name: String,
+    private val dispatchers: PriorityDispatchers,
+) : ThreadContextElement<RequestOwner?>, AutoCloseable {
+
+    override val key: CoroutineContext.Key<RequestOwner> get() = Key
+
+    /** Cancels this owner's queued and running calls, optionally only those of [priority]. */
+    fun cancel(priority: RequestPriority? = null) {
+        dispatchers.cancelAll(this, priority)
+    }
+
+    /** Cancels every call of this owner. */
+    override fun close() = cancel()
+
+    override fun updateThreadContext(context: CoroutineContext): RequestOwner? =
+        current.get().also { current.set(this) }
+
+    override fun restoreThreadContext(context: CoroutineContext, oldState: RequestOwner?) {
+        current.set(oldState)
+    }
+
+    override fun toString(): String = "RequestOwner($name)"
+
+    companion object Key : CoroutineContext.Key<RequestOwner> {
+
+        /**
+         * Owner of the coroutine running on this thread. Retrofit creates
+         * the OkHttp call synchronously inside the suspending call, so
+         * [PriorityCallFactory] sees the caller's owner here.
+         */
+        private val current = ThreadLocal<RequestOwner?>()
+
+        internal fun current(): RequestOwner? = current.get()
+    }
+}
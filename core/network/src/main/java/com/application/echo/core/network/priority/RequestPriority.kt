@@ -0,0 +1,35 @@
+package com.application.echo.core.network.priority
+
+/**
+ * Scheduling class of an HTTP request.
+ *
+ * Each class is dispatched on its own OkHttp queue, so a burst of
+ * lower-priority calls can never delay an [Interactive] one.
+ */
+enum class RequestPriority {
+
+    /** The user is waiting on the result (send, login, open a screen). Never queued behind other classes. */
+    Interactive,
+
+    /** Data for what is on screen but not yet needed (next page, thumbnails). Cancellable on screen exit. */
+    VisiblePrefetch,
+
+    /** Work the user isn't watching (sync, uploads, batch lookups). Lowest concurrency. */
+    Background,
+}
+
+/**
+ * Declares the [RequestPriority] of a Retrofit service method.
+ *
+ * ```kotlin
+ * @Priority(RequestPriority.VisiblePrefetch)
+ * @GET(ApiConstants.MESSAGES_PAGE)
+ * suspend fun getMessagesPage(...): NetworkResponse<MessagePageResponse>
+ * ```
+ *
+ * Methods without the annotation are [RequestPriority.Interactive].
+ */
+@MustBeDocumented
+@Target(AnnotationTarget.FUNCTION)
+@Retention(AnnotationRetention.RUNTIME)
+annotation class Priority(val value: RequestPriority)
@@ -21,3 +21,12 @@ annotation class Unauthenticated
 @Qualifier
 @Retention(AnnotationRetention.BINARY)
 annotation class Authenticated
+
+/**
+ * Qualifies the `Set<okhttp3.Interceptor>` other modules contribute to
+ * the Echo HTTP clients with `@IntoSet`. They run after the common
+ * headers and before authentication and logging.
+ */
+@Qualifier
+@Retention(AnnotationRetention.BINARY)
+annotation class EchoInterceptor
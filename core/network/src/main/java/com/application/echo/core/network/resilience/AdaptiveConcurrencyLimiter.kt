@@ -0,0 +1,121 @@
+package com.application.echo.core.network.resilience
+
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
+
+/**
+ * Tuning for [AdaptiveConcurrencyLimiter].
+ *
+ * @property initialLimit Concurrency allowed before any samples arrive.
+ * @property minLimit Floor the limit never drops below.
+ * @property maxLimit Ceiling the limit never grows beyond.
+ * @property backoffRatio Multiplier applied to the limit on a drop.
+ * @property rttTolerance A call slower than `minRtt × rttTolerance` counts
+ *   as queueing at the backend and is treated as a drop.
+ * @property maxWaitMs How long a call may wait for a permit before failing.
+ * @property cancelCheckMs How often a waiting call checks whether it was cancelled.
+ */
+data class ConcurrencyLimitConfig(
+    val initialLimit: Int = 8,
+    val minLimit: Int = 1,
+    val maxLimit: Int = 64,
+    val backoffRatio: Double = 0.7,
+    val rttTolerance: Double = 2.0,
+    val maxWaitMs: Long = 5_000L,
+    val cancelCheckMs: Long = 100L,
+)
+
+/**
+ * AIMD concurrency limit for one backend service.
+ *
+ * The limit grows by `1 / limit` per successful, fast call (about +1 per
+ * round trip at full utilisation) and is cut by [ConcurrencyLimitConfig.backoffRatio]
+ * on a drop — a failure, or a round trip well above the best one seen
+ * recently. A slowing backend therefore gets fewer concurrent calls from
+ * this client long before it starts failing outright.
+ *
+ * Only calls whose round trip reflects the backend's queueing should feed
+ * the RTT signal. A large upload is slow because of its body, not because
+ * the service is busy, so it is released with `sampleRtt = false`.
+ *
+ * [acquire] blocks, so it must only be called off the main thread (OkHttp
+ * interceptor threads).
+ */
+class AdaptiveConcurrencyLimiter(
+    private val config: ConcurrencyLimitConfig = ConcurrencyLimitConfig(),
+) {
+
+    private val lock = ReentrantLock()
+    private val permitReleased = lock.newCondition()
+
+    private var limit = config.initialLimit.toDouble()
+    private var inFlight = 0
+    private var minRttMs = Long.MAX_VALUE
+    private var minRttSamples = 0
+
+    /** Current (rounded down) limit. */
+    val currentLimit: Int get() = lock.withLock { limit.toInt() }
+
+    /**
+     * Waits up to [ConcurrencyLimitConfig.maxWaitMs] for a permit, giving up
+     * early once [isCanceled] returns `true`.
+     *
+     * @return `false` if no permit was taken — timed out or cancelled.
+     */
+    fun acquire(isCanceled: () -> Boolean = { false }): Boolean = lock.withLock {
+        val checkNs = TimeUnit.MILLISECONDS.toNanos(config.cancelCheckMs)
+        var remainingNs = TimeUnit.MILLISECONDS.toNanos(config.maxWaitMs)
+        while (inFlight >= limit.toInt()) {
+            if (remainingNs <= 0L || isCanceled()) return false
+            val sliceNs = minOf(remainingNs, checkNs)
+            remainingNs -= sliceNs - permitReleased.awaitNanos(sliceNs)
+        }
+        inFlight++
+        true
+    }
+
+    /**
+     * Returns a permit and adjusts the limit.
+     *
+     * @param rttMs Duration of the call.
+     * @param dropped `true` if the call failed in a way that signals overload.
+     * @param sampleRtt `false` when [rttMs] is dominated by the call's own
+     *   payload; only [dropped] then adjusts the limit.
+     */
+    fun release(rttMs: Long, dropped: Boolean, sampleRtt: Boolean = true) = lock.withLock {
+        inFlight--
+        if (!sampleRtt) {
+            limit = adjusted(decrease = dropped)
+            permitReleased.signalAll()
+            return@withLock
+        }
+
+        // Periodically forget the baseline so a permanently slower path can't keep us throttled.
+        if (++minRttSamples > RTT_BASELINE_SAMPLES) {
+            minRttMs = Long.MAX_VALUE
+            minRttSamples = 0
+        }
+        if (!dropped) minRttMs = minOf(minRttMs, rttMs)
+
+        val slow = minRttMs != Long.MAX_VALUE && rttMs > minRttMs * config.rttTolerance
+        limit = adjusted(decrease = dropped || slow)
+        permitReleased.signalAll()
+    }
+
+    /** Returns a permit without adjusting the limit (e.g. the call was cancelled). */
+    fun releaseIgnored() = lock.withLock {
+        inFlight--
+        permitReleased.signalAll()
+    }
+
+    private fun adjusted(decrease: Boolean): Double = if (decrease) {
+        (limit * config.backoffRatio).coerceAtLeast(config.minLimit.toDouble())
+    } else {
+        (limit + 1.0 / limit).coerceAtMost(config.maxLimit.toDouble())
+    }
+
+    private companion object {
+        const val RTT_BASELINE_SAMPLES = 500
+    }
+}
@@ -0,0 +1,168 @@
+package com.application.echo.core.network.resilience
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.launch
+import timber.log.Timber
+import java.util.concurrent.atomic.AtomicBoolean
+
+/** State of a [CircuitBreaker]. */
+enum class CircuitState {
+
+    /** Calls flow normally; outcomes are recorded. */
+    Closed,
+
+    /** Calls fail fast without touching the network. */
+    Open,
+
+    /** A health probe is deciding whether to close again; calls still fail fast. */
+    HalfOpen,
+}
+
+/**
+ * Tuning for [CircuitBreaker].
+ *
+ * @property windowSize Number of most recent calls the failure rate is computed over.
+ * @property minimumCalls Calls needed in the window before the rate can trip the breaker.
+ * @property failureRateThreshold Failure rate (0..1) that opens the circuit.
+ * @property consecutiveFailureThreshold Consecutive failures that open the
+ *   circuit regardless of the window — catches hard outages quickly.
+ * @property openDurationMs How long the circuit stays open before the first probe.
+ * @property maxOpenDurationMs Upper bound for the open duration, which doubles
+ *   every time a probe fails.
+ */
+data class CircuitBreakerConfig(
+    val windowSize: Int = 20,
+    val minimumCalls: Int = 10,
+    val failureRateThreshold: Double = 0.5,
+    val consecutiveFailureThreshold: Int = 5,
+    val openDurationMs: Long = 5_000L,
+    val maxOpenDurationMs: Long = 60_000L,
+)
+
+/**
+ * Circuit breaker for one backend service.
+ *
+ * ```
+ * Closed ──(failure rate / streak)──→ Open ──(open duration)──→ HalfOpen
+ *   ↑                                   ↑                          │
+ *   │                                   └─────── probe fails ──────┤
+ *   └───────────────────────── probe succeeds ─────────────────────┘
+ * ```
+ *
+ * While open, callers fail fast. Half-open does **not** let user traffic
+ * through as a trial — recovery is decided by [probe] (the service's
+ * health endpoint), so a struggling backend sees one cheap request per
+ * open period instead of a burst of retried real calls.
+ *
+ * Thread-safe; intended to be called from OkHttp interceptor threads.
+ */
+class CircuitBreaker(
+    private val name: String,
+    private val probe: suspend () -> Boolean,
+    private val config: CircuitBreakerConfig = CircuitBreakerConfig(),
+) {
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private val lock = Any()
+
+    private val outcomes = BooleanArray(config.windowSize)
+    private var recorded = 0
+    private var cursor = 0
+    private var failures = 0
+    private var consecutiveFailures = 0
+
+    private var openedAt = 0L
+    private var openDurationMs = config.openDurationMs
+    private val probing = AtomicBoolean(false)
+
+    private val _state = MutableStateFlow(CircuitState.Closed)
+
+    /** Current state, for diagnostics and UI. */
+    val state: StateFlow<CircuitState> = _state.asStateFlow()
+
+    /**
+     * Returns `true` if a call may proceed. When the open period has
+     * elapsed this starts a health probe and still returns `false`.
+     */
+    fun tryAcquire(): Boolean {
+        if (_state.value == CircuitState.Closed) return true
+
+        val probeDue = synchronized(lock) {
+            _state.value == CircuitState.Open &&
+                System.currentTimeMillis() - openedAt >= openDurationMs
+        }
+        if (probeDue) startProbe()
+        return false
+    }
+
+    /** Records a successful call. */
+    fun onSuccess() = record(failed = false)
+
+    /** Records a failed call (I/O error, timeout, 5xx). */
+    fun onFailure() = record(failed = true)
+
+    // ──────────────── Internal ────────────────
+
+    private fun record(failed: Boolean) = synchronized(lock) {
+        if (_state.value != CircuitState.Closed) return@synchronized
+
+        if (recorded == config.windowSize && outcomes[cursor]) failures--
+        outcomes[cursor] = failed
+        cursor = (cursor + 1) % config.windowSize
+        if (recorded < config.windowSize) recorded++
+        if (failed) failures++
+
+        consecutiveFailures = if (failed) consecutiveFailures + 1 else 0
+
+        val rateTripped = recorded >= config.minimumCalls &&
+            failures.toDouble() / recorded >= config.failureRateThreshold
+        if (rateTripped || consecutiveFailures >= config.consecutiveFailureThreshold) {
+            open(openDurationMs = config.openDurationMs)
+        }
+    }
+
+    private fun startProbe() {
+        if (!probing.compareAndSet(false, true)) return
+        _state.value = CircuitState.HalfOpen
+
+        scope.launch {
+            val healthy = try {
+                probe()
+            } catch (e: Exception) {
+                false
+            } finally {
+                probing.set(false)
+            }
+            synchronized(lock) {
+                if (healthy) close() else open((openDurationMs * 2).coerceAtMost(config.maxOpenDurationMs))
+            }
+        }
+    }
+
+    private fun open(openDurationMs: Long) {
+        this.openDurationMs = openDurationMs
+        openedAt = System.currentTimeMillis()
+        _state.value = CircuitState.Open
+        Timber.tag(TAG).w("Circuit for %s opened for %d ms", name, openDurationMs)
+    }
+
+    private fun close() {
+        outcomes.fill(false)
+        recorded = 0
+        cursor = 0
+        failures = 0
+        consecutiveFailures = 0
+        openDurationMs = config.openDurationMs
+        _state.value = CircuitState.Closed
+        Timber.tag(TAG).i("Circuit for %s closed", name)
+    }
+
+    private companion object {
+        const val TAG = "CircuitBreaker"
+    }
+}
@@ -0,0 +1,123 @@
+package com.application.echo.core.network.resilience
+
+import com.application.echo.core.network.model.HttpStatusCode
+import okhttp3.Interceptor
+import okhttp3.Request
+import okhttp3.Response
+import java.io.IOException
+import java.net.NoRouteToHostException
+import java.net.UnknownHostException
+
+/**
+ * Protection for one backend service.
+ *
+ * @property name Service name, used in logs and [ServiceUnavailableException].
+ * @property pathPrefix Encoded URL path prefix owned by the service (e.g. `/api/v1/media`).
+ * @property healthPath Encoded path of the service's health endpoint. It
+ *   bypasses the guard so [CircuitBreaker] probes can reach the backend.
+ */
+class ServiceGuard(
+    val name: String,
+    val pathPrefix: String,
+    val healthPath: String,
+    val breaker: CircuitBreaker,
+    val limiter: AdaptiveConcurrencyLimiter,
+)
+
+/**
+ * Thrown (as an [IOException], so OkHttp and the call adapter treat it as
+ * a transport failure) when a [ServiceGuard] rejects a call without sending it.
+ */
+class ServiceUnavailableException(
+    val service: String,
+    val reason: Reason,
+) : IOException("$service unavailable: $reason") {
+
+    enum class Reason {
+        /** The service's circuit is open. */
+        CircuitOpen,
+
+        /** No concurrency permit became available in time. */
+        ConcurrencyLimit,
+    }
+}
+
+/**
+ * Application interceptor that runs each call to a known service through
+ * that service's [CircuitBreaker] and [AdaptiveConcurrencyLimiter].
+ *
+ * Calls to URLs no guard claims pass through untouched. Failures that say
+ * nothing about the service — a cancelled call, or the device being
+ * offline (no DNS answer, no route, or any I/O error while [isOnline]
+ * is `false`) — never count against its breaker.
+ *
+ * Calls that send a large or streamed body, such as upload parts, still
+ * take a permit but are kept out of the limiter's RTT signal. Their round
+ * trip measures the upload, not the service, and would otherwise pull the
+ * limit down for every other call to that service.
+ *
+ * @param isOnline Current device connectivity, e.g. from `NetworkMonitor`.
+ */
+class ServiceGuardInterceptor(
+    private val guards: List<ServiceGuard>,
+    private val isOnline: () -> Boolean = { true },
+) : Interceptor {
+
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val request = chain.request()
+        val path = request.url.encodedPath
+        val guard = guards.firstOrNull { path.contains(it.pathPrefix) }
+        if (guard == null || path.endsWith(guard.healthPath)) return chain.proceed(request)
+
+        if (!guard.breaker.tryAcquire()) {
+            throw ServiceUnavailableException(guard.name, ServiceUnavailableException.Reason.CircuitOpen)
+        }
+        if (!guard.limiter.acquire(isCanceled = chain.call()::isCanceled)) {
+            if (chain.call().isCanceled()) throw IOException("Canceled")
+            throw ServiceUnavailableException(guard.name, ServiceUnavailableException.Reason.ConcurrencyLimit)
+        }
+        val sampleRtt = !isBulkUpload(request)
+
+        val startedAt = System.nanoTime()
+        val response = try {
+            chain.proceed(request)
+        } catch (e: IOException) {
+            if (chain.call().isCanceled() || isClientSide(e)) {
+                guard.limiter.releaseIgnored()
+            } else {
+                guard.breaker.onFailure()
+                guard.limiter.release(elapsedMs(startedAt), dropped = true, sampleRtt = sampleRtt)
+            }
+            throw e
+        } catch (e: Throwable) {
+            // Not a transport outcome (e.g. a failing interceptor further down): just return the permit.
+            guard.limiter.releaseIgnored()
+            throw e
+        }
+
+        val status = HttpStatusCode(response.code)
+        // 429 is the backend shedding load on purpose: back off, but it is not an outage.
+        val overloaded = status.isServerError || status.isTooManyRequests
+        if (status.isServerError) guard.breaker.onFailure() else guard.breaker.onSuccess()
+        guard.limiter.release(elapsedMs(startedAt), dropped = overloaded, sampleRtt = sampleRtt)
+        return response
+    }
+
+    /** The request never reached the service, so it says nothing about the service's health. */
+    private fun isClientSide(e: IOException): Boolean =
+        e is UnknownHostException || e is NoRouteToHostException || !isOnline()
+
+    /** A body of unknown length is streamed, so it is treated as large. */
+    private fun isBulkUpload(request: Request): Boolean {
+        val body = request.body ?: return false
+        val length = body.contentLength()
+        return length < 0L || length > BULK_BODY_BYTES
+    }
+
+    private fun elapsedMs(startedAt: Long): Long = (System.nanoTime() - startedAt) / 1_000_000
+
+    private companion object {
+        /** Bodies above this size dominate their own round trip. */
+        const val BULK_BODY_BYTES = 64 * 1024L
+    }
+}
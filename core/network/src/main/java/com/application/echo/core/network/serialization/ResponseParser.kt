@@ -1,5 +1,6 @@
 package com.application.echo.core.network.serialization
 
+import com.application.echo.core.network.metrics.NetworkMetrics
 import com.application.echo.core.network.model.ApiError
 import com.application.echo.core.network.model.Meta
 import com.application.echo.core.network.model.NetworkException
@@ -40,11 +41,13 @@ internal object ResponseParser {
      * @param response The raw HTTP response.
      * @param successType The concrete type of `T` in `NetworkResponse<T>`.
      * @param gson The [Gson] instance to use.
+     * @param metrics Receives the time spent parsing (excluding the body read), if set.
      */
     fun <T> parse(
         response: Response<okhttp3.ResponseBody>,
         successType: Type,
         gson: Gson,
+        metrics: NetworkMetrics? = null,
     ): NetworkResponse<T> {
         val rawBody = try {
             response.body()?.string() ?: response.errorBody()?.string() ?: ""
@@ -57,6 +60,7 @@ internal object ResponseParser {
             return emptyResponseError(response)
         }
 
+        val parseStart = System.nanoTime()
         return try {
             val jsonObject = gson.fromJson(rawBody, com.google.gson.JsonObject::class.java)
             val metaJson = jsonObject.getAsJsonObject("meta")
@@ -79,6 +83,8 @@ internal object ResponseParser {
                 meta = fallbackMeta(response.code()),
                 error = NetworkException.Unknown(e),
             )
+        } finally {
+            metrics?.recordParse(response.raw().request, (System.nanoTime() - parseStart) / 1_000_000)
         }
     }
 
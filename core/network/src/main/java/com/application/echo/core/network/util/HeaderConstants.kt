@@ -12,6 +12,7 @@ object HeaderConstants {
     const val X_PLATFORM = "X-Platform"
     const val X_APP_VERSION = "X-App-Version"
     const val X_REQUEST_ID = "X-Request-Id"
+    const val RETRY_AFTER = "Retry-After"
 
     // ── Header Values ──
     const val BEARER = "Bearer"
@@ -0,0 +1,114 @@
+package com.application.echo.core.network.util
+
+import com.application.echo.core.network.model.NetworkException
+import com.application.echo.core.network.model.NetworkResponse
+import kotlinx.coroutines.cancelChildren
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withTimeoutOrNull
+
+/**
+ * Rolling latency samples for one endpoint, used to pick the hedge delay.
+ *
+ * @param sampleSize Number of most recent samples kept.
+ * @param defaultDelayMs Hedge delay used until [MIN_SAMPLES] samples exist.
+ */
+class LatencyTracker(
+    private val sampleSize: Int = DEFAULT_SAMPLE_SIZE,
+    private val defaultDelayMs: Long = DEFAULT_DELAY_MS,
+) {
+
+    private val lock = Any()
+    private val samples = LongArray(sampleSize)
+    private var count = 0
+    private var cursor = 0
+
+    /** Records one successful call's latency. */
+    fun record(latencyMs: Long) = synchronized(lock) {
+        samples[cursor] = latencyMs
+        cursor = (cursor + 1) % sampleSize
+        if (count < sampleSize) count++
+    }
+
+    /** The 95th-percentile latency, or the default delay while there are too few samples. */
+    fun p95(): Long = synchronized(lock) {
+        if (count < MIN_SAMPLES) return defaultDelayMs
+        val sorted = samples.copyOf(count).also { it.sort() }
+        sorted[((count - 1) * 95) / 100]
+    }
+
+    companion object {
+        const val DEFAULT_SAMPLE_SIZE = 128
+        const val DEFAULT_DELAY_MS = 1_000L
+        const val MIN_SAMPLES = 20
+    }
+}
+
+/**
+ * Runs an **idempotent** request, sending a second copy if the first has
+ * not answered within the [tracker]'s p95 latency. Whichever copy succeeds
+ * first wins and the other is cancelled.
+ *
+ * Only about 5 % of calls are hedged, and each hedge draws a token from
+ * [budget], so hedging trims tail latency without becoming a retry storm
+ * when the backend is slow for everyone.
+ *
+ * ```kotlin
+ * private val profileLatency = LatencyTracker()
+ *
+ * val response = hedgedRequest(profileLatency) { api.getProfile(id) }
+ * ```
+ *
+ * Never use this for calls with side effects (POST, PUT, PATCH, DELETE).
+ */
+suspend fun <T> hedgedRequest(
+    tracker: LatencyTracker,
+    budget: RetryBudget = RetryBudget.DEFAULT,
+    block: suspend () -> NetworkResponse<T>,
+): NetworkResponse<T> = hedging(
+    tracker = tracker,
+    budget = budget,
+    errorOf = { (it as? NetworkResponse.Error)?.error },
+    block = block,
+)
+
+/**
+ * The hedging engine behind [hedgedRequest], for any result type.
+ *
+ * @param errorOf Returns the failure carried by a result, or `null` on success.
+ */
+suspend fun <R> hedging(
+    tracker: LatencyTracker,
+    budget: RetryBudget = RetryBudget.DEFAULT,
+    errorOf: (R) -> NetworkException?,
+    block: suspend () -> R,
+): R = coroutineScope {
+    val results = Channel<R>(capacity = 2)
+    val startedAt = System.currentTimeMillis()
+
+    launch { results.send(block()) }
+    var pending = 1
+
+    var result = withTimeoutOrNull(tracker.p95()) { results.receive() }
+    if (result == null) {
+        if (budget.tryAcquire()) {
+            launch { results.send(block()) }
+            pending++
+        }
+        result = results.receive()
+    }
+    pending--
+
+    // A failed copy only wins if the other copy fails too.
+    if (errorOf(result) != null && pending > 0) {
+        result = results.receive()
+    }
+
+    coroutineContext.cancelChildren()
+    if (errorOf(result) == null) {
+        tracker.record(System.currentTimeMillis() - startedAt)
+        budget.onSuccess()
+    }
+    result
+}
@@ -0,0 +1,44 @@
+package com.application.echo.core.network.util
+
+/**
+ * Token-bucket budget that caps retries relative to successful calls.
+ *
+ * Every retry (or hedge) costs one token; every success refills
+ * [refillPerSuccess] tokens, up to [maxTokens]. While calls mostly
+ * succeed the bucket stays full and retries flow freely. During an
+ * outage it drains after [maxTokens] retries and further failures are
+ * returned immediately — retries can then add at most about
+ * `refillPerSuccess` extra load per real request instead of multiplying it.
+ */
+class RetryBudget(
+    private val maxTokens: Double = 10.0,
+    private val refillPerSuccess: Double = 0.1,
+) {
+
+    private val lock = Any()
+    private var tokens = maxTokens
+
+    /** Takes one token, returning `false` if the budget is exhausted. */
+    fun tryAcquire(): Boolean = synchronized(lock) {
+        if (tokens < 1.0) return false
+        tokens -= 1.0
+        true
+    }
+
+    /** Credits a successful call. */
+    fun onSuccess() = synchronized(lock) {
+        tokens = (tokens + refillPerSuccess).coerceAtMost(maxTokens)
+    }
+
+    companion object {
+        /**
+         * Fallback for retry helpers that aren't given a budget. Calls to an
+         * Echo backend should pass that backend's own budget instead, so one
+         * failing service can't exhaust retries for the others.
+         */
+        val DEFAULT = RetryBudget()
+
+        /** A budget that never runs out. Use only where retries can't amplify backend load. */
+        val UNLIMITED = RetryBudget(maxTokens = Double.MAX_VALUE, refillPerSuccess = 0.0)
+    }
+}
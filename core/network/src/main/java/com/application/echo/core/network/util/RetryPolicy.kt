@@ -2,26 +2,44 @@ package com.application.echo.core.network.util
 
 import com.application.echo.core.network.model.NetworkException
 import com.application.echo.core.network.model.NetworkResponse
+import com.application.echo.core.network.resilience.ServiceUnavailableException
 import kotlinx.coroutines.delay
 import timber.log.Timber
+import kotlin.math.pow
+import kotlin.random.Random
 
 /**
  * Configurable retry policy for transient network errors.
  *
+ * Delays use **full jitter** — each wait is uniformly random in
+ * `0..min(maxDelayMs, initialDelayMs × backoffMultiplier^attempt)` — so
+ * clients that failed together don't retry together. A `Retry-After`
+ * header on a 429/503 overrides the computed delay.
+ *
  * @property maxRetries Maximum number of retry attempts.
- * @property initialDelayMs Initial delay before the first retry.
- * @property backoffMultiplier Multiplier applied to the delay after each retry.
+ * @property initialDelayMs Base delay before the first retry.
+ * @property backoffMultiplier Multiplier applied to the base delay after each retry.
+ * @property maxDelayMs Upper bound for a computed (jittered) delay.
  * @property retryOnTimeout Whether to retry on [NetworkException.Timeout].
  * @property retryOnNetwork Whether to retry on [NetworkException.Network].
  * @property retryOnServerError Whether to retry on 5xx HTTP errors.
+ * @property retryOnRateLimit Whether to retry on 429 HTTP errors.
+ * @property maxRetryAfterMs Longest `Retry-After` honoured; a longer one ends the retries.
+ * @property budget Token bucket every retry draws from — pass the budget
+ *   of the backend being called. When it is empty, failures are returned
+ *   instead of retried.
  */
 data class RetryPolicy(
     val maxRetries: Int = 3,
     val initialDelayMs: Long = 1_000L,
     val backoffMultiplier: Double = 2.0,
+    val maxDelayMs: Long = 30_000L,
     val retryOnTimeout: Boolean = true,
     val retryOnNetwork: Boolean = true,
     val retryOnServerError: Boolean = true,
+    val retryOnRateLimit: Boolean = true,
+    val maxRetryAfterMs: Long = 60_000L,
+    val budget: RetryBudget = RetryBudget.DEFAULT,
 ) {
     companion object {
         /** No retries at all. */
@@ -44,34 +62,79 @@ data class RetryPolicy(
 suspend fun <T> withRetry(
     policy: RetryPolicy = RetryPolicy.DEFAULT,
     block: suspend () -> NetworkResponse<T>,
-): NetworkResponse<T> {
-    var lastResponse: NetworkResponse<T>? = null
-    var currentDelay = policy.initialDelayMs
+): NetworkResponse<T> = retrying(
+    policy = policy,
+    errorOf = { (it as? NetworkResponse.Error)?.error },
+    block = block,
+)
 
-    repeat(policy.maxRetries + 1) { attempt ->
-        val response = block()
+/**
+ * The retry engine behind [withRetry] and every other retry helper.
+ *
+ * Runs [block] until it succeeds, [errorOf] reports a non-retryable
+ * error, [RetryPolicy.maxRetries] is reached, or the [RetryBudget] is
+ * empty — whichever comes first — and returns the last result.
+ *
+ * @param errorOf Returns the failure carried by a result, or `null` on success.
+ */
+suspend fun <R> retrying(
+    policy: RetryPolicy,
+    errorOf: (R) -> NetworkException?,
+    block: suspend () -> R,
+): R {
+    var attempt = 0
+    while (true) {
+        val result = block()
+        val error = errorOf(result)
+        if (error == null) {
+            policy.budget.onSuccess()
+            return result
+        }
 
-        if (response is NetworkResponse.Success) return response
+        if (attempt >= policy.maxRetries || !policy.shouldRetry(error)) return result
 
-        lastResponse = response
+        val delayMs = retryAfterMs(error)
+            ?.also { if (it > policy.maxRetryAfterMs) return result }
+            ?: policy.jitteredDelay(attempt)
 
-        val error = (response as NetworkResponse.Error).error
-        val shouldRetry = when {
-            attempt >= policy.maxRetries -> false
-            error is NetworkException.Timeout && policy.retryOnTimeout -> true
-            error is NetworkException.Network && policy.retryOnNetwork -> true
-            error is NetworkException.Http && error.isServerError && policy.retryOnServerError -> true
-            else -> false
+        if (!policy.budget.tryAcquire()) {
+            Timber.d("Retry budget exhausted, giving up after attempt ${attempt + 1}")
+            return result
         }
 
-        if (shouldRetry) {
-            Timber.d("Retrying request (attempt ${attempt + 1}/${policy.maxRetries})…")
-            delay(currentDelay)
-            currentDelay = (currentDelay * policy.backoffMultiplier).toLong()
-        } else {
-            return response
-        }
+        attempt++
+        Timber.d("Retrying request (attempt $attempt/${policy.maxRetries}) in ${delayMs}ms…")
+        delay(delayMs)
     }
+}
+
+// ──────────────── Internal ────────────────
+
+private fun RetryPolicy.shouldRetry(error: NetworkException): Boolean = when {
+    // A guard rejected the call locally; retrying would only hammer a struggling service.
+    error.throwable is ServiceUnavailableException -> false
+    error is NetworkException.Timeout -> retryOnTimeout
+    error is NetworkException.Network -> retryOnNetwork
+    error is NetworkException.Http && error.isRateLimited -> retryOnRateLimit
+    error is NetworkException.Http && error.isServerError -> retryOnServerError
+    else -> false
+}
+
+private fun RetryPolicy.jitteredDelay(attempt: Int): Long {
+    val ceiling = (initialDelayMs * backoffMultiplier.pow(attempt))
+        .coerceAtMost(maxDelayMs.toDouble())
+        .toLong()
+    return if (ceiling <= 0L) 0L else Random.nextLong(ceiling + 1)
+}
+
+/** `Retry-After` of a 429/503 in milliseconds — delta-seconds or HTTP-date form. */
+private fun retryAfterMs(error: NetworkException): Long? {
+    if (error !is NetworkException.Http) return null
+    if (!error.isRateLimited && !error.statusCode.isServiceUnavailable) return null
 
-    return lastResponse!!
+    val headers = error.throwable.response()?.headers() ?: return null
+    val raw = headers[HeaderConstants.RETRY_AFTER]?.trim() ?: return null
+    raw.toLongOrNull()?.let { seconds -> return (seconds * 1_000).coerceAtLeast(0L) }
+    val date = headers.getDate(HeaderConstants.RETRY_AFTER) ?: return null
+    return (date.time - System.currentTimeMillis()).coerceAtLeast(0L)
 }
@@ -28,6 +28,9 @@ kotlin {
 
 dependencies {
 
+    // Project
+    implementation(projects.core.common)
+
     // AndroidX
     implementation(libs.androidx.core.ktx)
 
@@ -9,7 +9,9 @@ package com.application.echo.core.websocket.config
  * @property readTimeoutMs Read timeout in milliseconds.
  * @property writeTimeoutMs Write timeout in milliseconds.
  * @property headers Additional headers sent during the WebSocket handshake.
- * @property isDebug When `true`, enables verbose payload logging.
+ * @property isDebug `true` for a debug build.
+ * @property logMode Frame logging. Defaults to [WebSocketLogMode.Verbose] for
+ *   debug builds and [WebSocketLogMode.Off] otherwise.
  */
 data class WebSocketConfig(
     val url: String,
@@ -19,6 +21,7 @@ data class WebSocketConfig(
     val writeTimeoutMs: Long = 30_000L,
     val headers: Map<String, String> = emptyMap(),
     val isDebug: Boolean = false,
+    val logMode: WebSocketLogMode = if (isDebug) WebSocketLogMode.Verbose else WebSocketLogMode.Off,
 ) {
     companion object {
         /** Sensible defaults pointing to an empty URL (must be overridden). */
@@ -0,0 +1,25 @@
+package com.application.echo.core.websocket.config
+
+/**
+ * How the WebSocket module logs frames. Chosen once, from [WebSocketConfig].
+ *
+ * Connection lifecycle, reconnect and error events are always logged —
+ * they are rare. This mode only governs the per-frame hot path.
+ */
+sealed interface WebSocketLogMode {
+
+    /** Frames are never logged and the logging interceptor is not installed. */
+    data object Off : WebSocketLogMode
+
+    /** Every frame is logged with its full payload. Debug builds only. */
+    data object Verbose : WebSocketLogMode
+
+    /**
+     * Frame metadata (direction, type, size — never payloads) for a random
+     * [sampleRate] of frames, capped at [maxPerMinute] lines.
+     */
+    data class Sampled(
+        val sampleRate: Double = 0.001,
+        val maxPerMinute: Int = 30,
+    ) : WebSocketLogMode
+}
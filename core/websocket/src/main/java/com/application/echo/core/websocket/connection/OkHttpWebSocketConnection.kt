@@ -56,13 +56,13 @@ internal class OkHttpWebSocketConnection @Inject constructor(
 
             override fun onMessage(webSocket: WebSocket, text: String) {
                 val message = WebSocketMessage.Text(text)
-                logger.logMessageReceived(message)
+                if (logger.logsFrames) logger.logMessageReceived(message)
                 trySend(WebSocketEvent.OnMessage(message))
             }
 
             override fun onMessage(webSocket: WebSocket, bytes: ByteString) {
                 val message = WebSocketMessage.Binary(bytes)
-                logger.logMessageReceived(message)
+                if (logger.logsFrames) logger.logMessageReceived(message)
                 trySend(WebSocketEvent.OnMessage(message))
             }
 
@@ -3,6 +3,7 @@ package com.application.echo.core.websocket.di
 import com.application.echo.core.websocket.channel.BufferedMessageChannel
 import com.application.echo.core.websocket.channel.MessageChannel
 import com.application.echo.core.websocket.config.WebSocketConfig
+import com.application.echo.core.websocket.config.WebSocketLogMode
 import com.application.echo.core.websocket.connection.OkHttpWebSocketConnection
 import com.application.echo.core.websocket.connection.WebSocketConnection
 import com.application.echo.core.websocket.heartbeat.HeartbeatManager
@@ -25,9 +26,12 @@ import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
 import dagger.hilt.components.SingletonComponent
+import dagger.multibindings.ElementsIntoSet
 import dagger.multibindings.IntoSet
+import okhttp3.Dns
 import okhttp3.OkHttpClient
 import java.util.concurrent.TimeUnit
+import javax.inject.Provider
 import javax.inject.Singleton
 
 /**
@@ -81,12 +85,6 @@ internal abstract class WebSocketBindsModule {
 
     // ──────────────── Interceptor Multi-Bindings ────────────────
 
-    @Binds
-    @IntoSet
-    abstract fun bindLoggingInterceptor(
-        impl: LoggingInterceptor,
-    ): MessageInterceptor
-
     @Binds
     @IntoSet
     abstract fun bindTimestampInterceptor(
@@ -107,11 +105,25 @@ internal abstract class WebSocketBindsModule {
 @InstallIn(SingletonComponent::class)
 internal object WebSocketProvidesModule {
 
+    /** The logging interceptor joins the pipeline only when frame logging is on. */
+    @Provides
+    @ElementsIntoSet
+    fun provideLoggingInterceptor(
+        config: WebSocketConfig,
+        interceptor: Provider<LoggingInterceptor>,
+    ): Set<MessageInterceptor> =
+        if (config.logMode == WebSocketLogMode.Off) emptySet() else setOf(interceptor.get())
+
+    /**
+     * [dns] is the app-wide resolver (provided by `:core:network`), so the
+     * socket reuses the addresses the HTTP client already resolved.
+     */
     @Provides
     @Singleton
     @WebSocketOkHttp
-    fun provideWebSocketOkHttpClient(config: WebSocketConfig): OkHttpClient =
+    fun provideWebSocketOkHttpClient(config: WebSocketConfig, dns: Dns): OkHttpClient =
         OkHttpClient.Builder()
+            .dns(dns)
             .pingInterval(config.pingIntervalMs, TimeUnit.MILLISECONDS)
             .connectTimeout(config.connectTimeoutMs, TimeUnit.MILLISECONDS)
             .readTimeout(config.readTimeoutMs, TimeUnit.MILLISECONDS)
@@ -1,55 +1,23 @@
 package com.application.echo.core.websocket.interceptor
 
-import com.application.echo.core.websocket.config.WebSocketConfig
+import com.application.echo.core.websocket.config.WebSocketLogMode
+import com.application.echo.core.websocket.logging.WebSocketLogger
 import com.application.echo.core.websocket.model.WebSocketMessage
-import timber.log.Timber
 import javax.inject.Inject
 
 /**
- * Interceptor that logs all inbound and outbound WebSocket messages.
+ * Interceptor that logs all outbound WebSocket messages (inbound frames
+ * are logged by the connection itself).
  *
- * When [WebSocketConfig.isDebug] is `true`, full payload content is
- * logged. In production builds only metadata (type + size) is logged.
+ * Only installed when frame logging is enabled (see [WebSocketLogMode]),
+ * so with [WebSocketLogMode.Off] it isn't part of the pipeline at all.
  */
 internal class LoggingInterceptor @Inject constructor(
-    private val config: WebSocketConfig,
+    private val logger: WebSocketLogger,
 ) : MessageInterceptor {
 
     override suspend fun interceptOutbound(message: WebSocketMessage): WebSocketMessage {
-        when (message) {
-            is WebSocketMessage.Text -> {
-                if (config.isDebug) {
-                    Timber.tag(TAG).d(">>> SEND text (%d chars): %s", message.payload.length, message.payload)
-                } else {
-                    Timber.tag(TAG).d(">>> SEND text (%d chars)", message.payload.length)
-                }
-            }
-
-            is WebSocketMessage.Binary -> {
-                Timber.tag(TAG).d(">>> SEND binary (%d bytes)", message.payload.size)
-            }
-        }
+        logger.logMessageSent(message)
         return message
     }
-
-    override suspend fun interceptInbound(message: WebSocketMessage): WebSocketMessage {
-        when (message) {
-            is WebSocketMessage.Text -> {
-                if (config.isDebug) {
-                    Timber.tag(TAG).d("<<< RECV text (%d chars): %s", message.payload.length, message.payload)
-                } else {
-                    Timber.tag(TAG).d("<<< RECV text (%d chars)", message.payload.length)
-                }
-            }
-
-            is WebSocketMessage.Binary -> {
-                Timber.tag(TAG).d("<<< RECV binary (%d bytes)", message.payload.size)
-            }
-        }
-        return message
-    }
-
-    private companion object {
-        const val TAG = "EchoWS"
-    }
 }
@@ -1,6 +1,8 @@
 package com.application.echo.core.websocket.logging
 
+import com.application.echo.core.common.logging.LogSampler
 import com.application.echo.core.websocket.config.WebSocketConfig
+import com.application.echo.core.websocket.config.WebSocketLogMode
 import com.application.echo.core.websocket.model.WebSocketException
 import com.application.echo.core.websocket.model.WebSocketMessage
 import timber.log.Timber
@@ -10,8 +12,8 @@ import javax.inject.Inject
  * Centralized logger for the WebSocket module.
  *
  * All log output is routed through Timber with the `EchoWS` tag.
- * Payload content is only logged when [WebSocketConfig.isDebug] is `true`
- * to prevent sensitive data from leaking in production builds.
+ * Frame logging follows [WebSocketConfig.logMode]; payload content is
+ * only ever logged in [WebSocketLogMode.Verbose] (debug builds).
  */
 class WebSocketLogger @Inject constructor(
     private val config: WebSocketConfig,
@@ -29,32 +31,40 @@ class WebSocketLogger @Inject constructor(
 
     // ──────────────── Messages ────────────────
 
-    fun logMessageSent(message: WebSocketMessage) {
-        when (message) {
-            is WebSocketMessage.Text -> {
-                if (config.isDebug) {
-                    Timber.tag(TAG).d(">>> SENT text (%d chars): %s", message.payload.length, message.payload)
-                } else {
-                    Timber.tag(TAG).d(">>> SENT text (%d chars)", message.payload.length)
-                }
-            }
-            is WebSocketMessage.Binary -> {
-                Timber.tag(TAG).d(">>> SENT binary (%d bytes)", message.payload.size)
-            }
-        }
+    private val logMode = config.logMode
+    private val sampler = (logMode as? WebSocketLogMode.Sampled)?.let { mode ->
+        LogSampler(mode.sampleRate, mode.maxPerMinute)
     }
 
-    fun logMessageReceived(message: WebSocketMessage) {
-        when (message) {
-            is WebSocketMessage.Text -> {
-                if (config.isDebug) {
-                    Timber.tag(TAG).d("<<< RECV text (%d chars): %s", message.payload.length, message.payload)
-                } else {
-                    Timber.tag(TAG).d("<<< RECV text (%d chars)", message.payload.length)
+    /**
+     * `false` when frames are never logged. Hot paths check this before
+     * calling [logMessageSent] / [logMessageReceived].
+     */
+    val logsFrames: Boolean = logMode != WebSocketLogMode.Off
+
+    fun logMessageSent(message: WebSocketMessage) = logFrame(outbound = true, message)
+
+    fun logMessageReceived(message: WebSocketMessage) = logFrame(outbound = false, message)
+
+    private fun logFrame(outbound: Boolean, message: WebSocketMessage) {
+        when (logMode) {
+            WebSocketLogMode.Off -> return
+            WebSocketLogMode.Verbose -> {
+                val direction = if (outbound) ">>> SENT" else "<<< RECV"
+                when (message) {
+                    is WebSocketMessage.Text ->
+                        Timber.tag(TAG).d("%s text (%d chars): %s", direction, message.payload.length, message.payload)
+                    is WebSocketMessage.Binary ->
+                        Timber.tag(TAG).d("%s binary (%d bytes)", direction, message.payload.size)
                 }
             }
-            is WebSocketMessage.Binary -> {
-                Timber.tag(TAG).d("<<< RECV binary (%d bytes)", message.payload.size)
+            is WebSocketLogMode.Sampled -> {
+                if (sampler?.shouldLog() != true) return
+                val (type, size) = when (message) {
+                    is WebSocketMessage.Text -> "text" to message.payload.length
+                    is WebSocketMessage.Binary -> "binary" to message.payload.size
+                }
+                Timber.tag(TAG).i("ws direction=%s type=%s size=%d", if (outbound) "out" else "in", type, size)
             }
         }
     }
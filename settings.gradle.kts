@@ -38,6 +38,7 @@ include(":api")
 // ----------------- Core Features -----------------
 include(":core:network")
 include(":core:common")
+include(":core:database")
 include(":core:analytics")
 include(":core:navigation")
 include(":core:websocket")
@@ -47,4 +48,7 @@ include(":ui:components")
 include(":ui:design")
 
 // ----------------- Features -----------------
-include(":feature:auth")
\ No newline at end of file
+include(":feature:auth")
+
+// ----------------- Benchmarks -----------------
+include(":benchmark")
\ No newline at end of file